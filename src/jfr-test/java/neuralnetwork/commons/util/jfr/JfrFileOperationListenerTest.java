@@ -0,0 +1,96 @@
+package neuralnetwork.commons.util.jfr;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import neuralnetwork.NeuralNetwork;
+import neuralnetwork.commons.util.FileInstrumentation;
+import neuralnetwork.commons.util.FileOperationListener;
+import neuralnetwork.commons.util.NeuralNetworkFileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for JfrFileOperationListener class
+ * @author Konstantin Zhdanov
+ */
+public class JfrFileOperationListenerTest {
+
+    private FileOperationListener previous;
+    private Path dir;
+
+    public JfrFileOperationListenerTest() {
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        previous = FileInstrumentation.getListener();
+        FileInstrumentation.setListener(new JfrFileOperationListener());
+        dir = Files.createTempDirectory("jfr");
+    }
+
+    @After
+    public void cleanUp() throws IOException {
+        FileInstrumentation.setListener(previous);
+        for (File file : dir.toFile().listFiles()) {
+            file.delete();
+        }
+        Files.delete(dir);
+    }
+
+    /**
+     * Test of the events recorded for a save and a load of a network.
+     */
+    @Test
+    public void testEvents() throws IOException {
+        System.out.println("events");
+        String fileName = dir.resolve("network.nn").toString();
+        NeuralNetwork nn = new NeuralNetwork(2, new int[] {3}, 1);
+        Path recordingFile = dir.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("neuralnetwork.FileOperation");
+            recording.enable("neuralnetwork.LayerParse");
+            recording.start();
+            NeuralNetworkFileUtils.saveBinary(nn, "net", fileName);
+            NeuralNetworkFileUtils.loadBinary(fileName);
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+        int nLayers = 0;
+        int nOperations = 0;
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals("neuralnetwork.LayerParse")) {
+                nLayers++;
+            }
+            else if (event.getEventType().getName().equals("neuralnetwork.FileOperation")) {
+                nOperations++;
+                assertEquals(fileName, event.getString("fileName"));
+                assertEquals(new File(fileName).length(), event.getLong("bytes"));
+                assertTrue(event.getBoolean("succeeded"));
+                assertFalse(event.getDuration().isZero());
+            }
+        }
+        assertEquals(2, nLayers);
+        assertEquals(2, nOperations);
+    }
+
+    /**
+     * Test of the listener without a recording.
+     */
+    @Test
+    public void testNoRecording() {
+        System.out.println("noRecording");
+        String fileName = dir.resolve("network.nn").toString();
+        NeuralNetworkFileUtils.saveBinary(new NeuralNetwork(2, new int[] {3}, 1), "net",
+                fileName);
+        assertNotNull(NeuralNetworkFileUtils.loadBinary(fileName));
+    }
+}
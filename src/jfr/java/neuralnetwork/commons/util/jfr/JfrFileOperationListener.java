@@ -0,0 +1,178 @@
+package neuralnetwork.commons.util.jfr;
+
+import java.util.ArrayList;
+import java.util.List;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Frequency;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import neuralnetwork.commons.util.FileOperationListener;
+
+/**
+ * {@link FileOperationListener} emitting JDK Flight Recorder events, so the
+ * file operations can be profiled in production by starting a recording,
+ * e.g. with {@code -XX:StartFlightRecording} or {@code jcmd JFR.start},
+ * without any agent. The events are in the "Neural Network" category:
+ * <ul>
+ * <li>{@code neuralnetwork.FileOperation} for every save or load of a file,
+ * with its duration, size and throughput;</li>
+ * <li>{@code neuralnetwork.LayerParse} for every layer read into a network,
+ * disabled by default as a large network has many of them;</li>
+ * <li>{@code neuralnetwork.SamplesParse} for every CSV file of samples, with
+ * the numbers of parsed and skipped lines.</li>
+ * </ul>
+ * An event begins when the operation starts, so its duration is the one of
+ * the operation. The listener is compiled for Java 11 by the jfr profile
+ * and registered as a service provider, so it is used by default on Java 11
+ * or later and skipped by older JVMs. Without a recording an event costs
+ * only the check of whether it is enabled.
+ * @author Konstantin Zhdanov
+ */
+public final class JfrFileOperationListener implements FileOperationListener {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    @Name("neuralnetwork.FileOperation")
+    @Label("Network File Operation")
+    @Description("Save or load of a network or samples file")
+    @Category({"Neural Network", "File I/O"})
+    static final class FileOperationEvent extends Event {
+        @Label("Operation")
+        String operation;
+
+        @Label("File")
+        String fileName;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+
+        @Label("Throughput")
+        @DataAmount
+        @Frequency
+        long throughput;
+
+        @Label("Succeeded")
+        boolean succeeded;
+    }
+
+    @Name("neuralnetwork.LayerParse")
+    @Label("Network Layer Parse")
+    @Description("Weights and biases of a layer read into a network")
+    @Category({"Neural Network", "File I/O"})
+    @StackTrace(false)
+    @Enabled(false)
+    static final class LayerParseEvent extends Event {
+        @Label("Layer")
+        int layer;
+
+        @Label("Values")
+        long values;
+    }
+
+    @Name("neuralnetwork.SamplesParse")
+    @Label("Samples Parse")
+    @Description("Samples parsed from a CSV file")
+    @Category({"Neural Network", "File I/O"})
+    static final class SamplesParseEvent extends Event {
+        @Label("File")
+        String fileName;
+
+        @Label("Rows")
+        long rows;
+
+        @Label("Skipped Lines")
+        long skipped;
+    }
+
+    // events begun by the thread, the operations may be nested
+    private static final ThreadLocal<List<FileOperationEvent>> OPERATIONS =
+            ThreadLocal.withInitial(ArrayList::new);
+    private static final ThreadLocal<LayerParseEvent> LAYER = new ThreadLocal<>();
+    private static final ThreadLocal<SamplesParseEvent> SAMPLES = new ThreadLocal<>();
+
+    /**
+     * Create the listener. The events being timed are kept per thread, so all
+     * the instances are the same.
+     */
+    public JfrFileOperationListener() {
+    }
+
+    @Override
+    public void operationStarted(String operation, String fileName) {
+        FileOperationEvent event = new FileOperationEvent();
+        event.begin();
+        OPERATIONS.get().add(event);
+    }
+
+    @Override
+    public void operationFinished(String operation, String fileName, long bytes, long nanos,
+            boolean succeeded) {
+        List<FileOperationEvent> operations = OPERATIONS.get();
+        FileOperationEvent event = operations.isEmpty() ?
+                new FileOperationEvent() : operations.remove(operations.size() - 1);
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.operation = operation;
+        event.fileName = fileName;
+        event.bytes = bytes;
+        event.throughput = nanos > 0 ? (long)((double)bytes * NANOS_PER_SECOND / nanos) : 0;
+        event.succeeded = succeeded;
+        event.commit();
+    }
+
+    @Override
+    public void layerStarted(int layerIdx) {
+        LayerParseEvent event = new LayerParseEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            LAYER.set(event);
+        }
+    }
+
+    @Override
+    public void layerParsed(int layerIdx, long nValues, long nanos) {
+        LayerParseEvent event = LAYER.get();
+        LAYER.remove();
+        if (event == null) {
+            event = new LayerParseEvent();
+        }
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.layer = layerIdx;
+        event.values = nValues;
+        event.commit();
+    }
+
+    @Override
+    public void samplesStarted(String fileName) {
+        SamplesParseEvent event = new SamplesParseEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            SAMPLES.set(event);
+        }
+    }
+
+    @Override
+    public void samplesParsed(String fileName, long nRows, long nSkipped, long nanos) {
+        SamplesParseEvent event = SAMPLES.get();
+        SAMPLES.remove();
+        if (event == null) {
+            event = new SamplesParseEvent();
+        }
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.fileName = fileName;
+        event.rows = nRows;
+        event.skipped = nSkipped;
+        event.commit();
+    }
+}
@@ -0,0 +1,46 @@
+package neuralnetwork.commons.benchmark;
+
+import java.io.IOException;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code target/benchmarks.jar}. It takes the usual JMH
+ * command line options and always adds the GC profiler, which reports the
+ * allocation rate, and the JSON result file, so the numbers of two builds
+ * can be compared. For example, the text format of the networks up to 10
+ * million weights:
+ * <pre>
+ * java -jar target/benchmarks.jar -p shape=tiny,small,medium,large -rff before.json Text
+ * </pre>
+ * @author Konstantin Zhdanov
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException, 
+            CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || 
+                commandLine.shouldListWithParams() || commandLine.shouldListProfilers()) {
+            // help and listings of the stock entry point
+            Main.main(args);
+            return;
+        }
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        new Runner(options).run();
+    }
+}
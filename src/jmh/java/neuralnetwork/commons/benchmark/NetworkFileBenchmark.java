@@ -0,0 +1,175 @@
+package neuralnetwork.commons.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import neuralnetwork.NeuralNetwork;
+import neuralnetwork.commons.util.NeuralNetworkFileUtils;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of saving and loading networks with {@link NeuralNetworkFileUtils}
+ * in the serialized and the text formats, for networks from a few dozen to
+ * about 50 million weights. Besides the operations per second every
+ * benchmark reports the megabytes of the file moved per second as the
+ * {@code megabytes} counter.
+ * <p>
+ * The weights are drawn from a seeded random generator, so the files and the
+ * numbers are the same from run to run. The files live in a temporary
+ * directory removed after the trial.
+ * @author Konstantin Zhdanov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class NetworkFileBenchmark {
+
+    /**
+     * Shape of the benchmarked network: the number of inputs, the sizes of
+     * the hidden layers and the number of outputs.
+     * <ul>
+     * <li>tiny: 4, 8, 2 (58 values);</li>
+     * <li>small: 64, 128, 10 (9.6 thousand values);</li>
+     * <li>medium: 784, 512, 256, 10 (0.5 million values);</li>
+     * <li>large: 2048, 2048, 2048, 1000 (10.4 million values);</li>
+     * <li>huge: 5000, 5000, 5000, 10 (50 million values).</li>
+     * </ul>
+     */
+    @Param({"tiny", "small", "medium", "large", "huge"})
+    public String shape;
+
+    private NeuralNetwork nn;
+    private Path dir;
+    private String outFile;
+    private String serializedFile;
+    private String textFile;
+    private long serializedSize;
+    private long textSize;
+
+    /**
+     * Megabytes of the files saved or loaded, reported per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Bytes {
+        private long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+
+        public double megabytes() {
+            return bytes / (1024.0 * 1024.0);
+        }
+
+        void add(long size) {
+            bytes += size;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        nn = createNetwork(shape);
+        dir = Files.createTempDirectory("network-benchmark");
+        outFile = dir.resolve("out.nn").toString();
+        serializedFile = dir.resolve("serialized.nn").toString();
+        textFile = dir.resolve("text.nn").toString();
+        NeuralNetworkFileUtils.saveWithName(nn, "benchmark", serializedFile);
+        NeuralNetworkFileUtils.saveWithNameAsText(nn, "benchmark", textFile);
+        serializedSize = new File(serializedFile).length();
+        textSize = new File(textFile).length();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        for (File file : dir.toFile().listFiles()) {
+            file.delete();
+        }
+        Files.delete(dir);
+    }
+
+    @Benchmark
+    public void saveWithName(Bytes counter) {
+        NeuralNetworkFileUtils.saveWithName(nn, "benchmark", outFile);
+        counter.add(serializedSize);
+    }
+
+    @Benchmark
+    public void saveWithNameAsText(Bytes counter) {
+        NeuralNetworkFileUtils.saveWithNameAsText(nn, "benchmark", outFile);
+        counter.add(textSize);
+    }
+
+    @Benchmark
+    public NeuralNetwork load(Bytes counter) {
+        NeuralNetwork loaded = NeuralNetworkFileUtils.load(serializedFile);
+        counter.add(serializedSize);
+        return loaded;
+    }
+
+    @Benchmark
+    public NeuralNetwork loadFromTextFile(Bytes counter) {
+        NeuralNetwork loaded = NeuralNetworkFileUtils.loadFromTextFile(textFile);
+        counter.add(textSize);
+        return loaded;
+    }
+
+    // Network of the shape with weights and biases uniform in [-1, 1)
+    private static NeuralNetwork createNetwork(String shape) {
+        NeuralNetwork nn;
+        switch (shape) {
+            case "tiny":
+                nn = new NeuralNetwork(4, new int[] {8}, 2);
+                break;
+            case "small":
+                nn = new NeuralNetwork(64, new int[] {128}, 10);
+                break;
+            case "medium":
+                nn = new NeuralNetwork(784, new int[] {512, 256}, 10);
+                break;
+            case "large":
+                nn = new NeuralNetwork(2048, new int[] {2048, 2048}, 1000);
+                break;
+            case "huge":
+                nn = new NeuralNetwork(5000, new int[] {5000, 5000}, 10);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown shape " + shape);
+        }
+        Random random = new Random(42);
+        int[] hiddenSizes = nn.getHiddenLayerSizes();
+        int nLayers = hiddenSizes.length + 1;
+        for (int layerIdx = 0; layerIdx < nLayers; layerIdx++) {
+            int prevLayerSize = layerIdx == 0 ? nn.getNumberInputs() : hiddenSizes[layerIdx - 1];
+            int layerSize = layerIdx < hiddenSizes.length ?
+                    hiddenSizes[layerIdx] : nn.getNumberOutputs();
+            for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+                for (int prevNeuron = 0; prevNeuron < prevLayerSize; prevNeuron++) {
+                    nn.setWeight(layerIdx, prevNeuron, curNeuron, random.nextDouble() * 2 - 1);
+                }
+                nn.setBias(layerIdx, curNeuron, random.nextDouble() * 2 - 1);
+            }
+        }
+        return nn;
+    }
+}
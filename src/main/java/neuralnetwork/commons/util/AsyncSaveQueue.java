@@ -0,0 +1,140 @@
+package neuralnetwork.commons.util;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import neuralnetwork.NeuralNetwork;
+
+/**
+ * Queue of the saves of {@link NeuralNetworkFileUtils#saveAsync} written by
+ * a single daemon thread in the order of the calls. At most
+ * {@link #MAX_PENDING_SAVES} saves wait for the thread, so the snapshots
+ * waiting to be written take bounded memory: when the queue is full, the
+ * caller blocks until the oldest waiting save is taken by the thread. A save
+ * into a file which still has a waiting save doesn't take a place in the
+ * queue, it replaces the snapshot of the waiting save instead, and the
+ * futures of both saves complete when the file is written.
+ * @author Konstantin Zhdanov
+ */
+final class AsyncSaveQueue {
+
+    /**
+     * Maximal number of the saves waiting for the thread.
+     */
+    static final int MAX_PENDING_SAVES = 16;
+
+    // a save not taken by the thread yet
+    private static final class PendingSave {
+        NetworkSnapshot snapshot;
+        String name;
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        PendingSave(NetworkSnapshot snapshot, String name) {
+            this.snapshot = snapshot;
+            this.name = name;
+        }
+    }
+
+    // the thread is never stopped, so a rejected save can always wait for
+    // a place in the queue
+    private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(1, 1,
+            0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(MAX_PENDING_SAVES),
+            runnable -> {
+                Thread thread = new Thread(runnable, "network-save");
+                thread.setDaemon(true);
+                return thread;
+            },
+            (runnable, executor) -> {
+                try {
+                    executor.getQueue().put(runnable);
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException("Interrupted while waiting for the queue", e);
+                }
+            });
+
+    // waiting saves by the absolute paths of their files, guarded by itself
+    private static final Map<String, PendingSave> PENDING = new HashMap<>();
+
+    private AsyncSaveQueue() {
+    }
+
+    /**
+     * Write {@code snapshot} with name {@code name} into a file with path
+     * {@code fileName} as by
+     * {@link NeuralNetworkFileUtils#saveWithName(NeuralNetwork, String, String)}
+     * on the thread of the queue. Blocks while the queue is full.
+     * @param snapshot {@link NetworkSnapshot} of the network to save.
+     * @param name {@link String} name of the network.
+     * @param fileName Path to the file where the network will be saved.
+     * @return {@link CompletableFuture} completed when the file is written or
+     * completed exceptionally with the exception of the save.
+     */
+    static CompletableFuture<Void> save(NetworkSnapshot snapshot, String name, String fileName) {
+        String key = new File(fileName).getAbsolutePath();
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        PendingSave pending;
+        synchronized (PENDING) {
+            pending = PENDING.get(key);
+            if (pending != null) {
+                pending.snapshot = snapshot;
+                pending.name = name;
+                pending.futures.add(future);
+                return future;
+            }
+            pending = new PendingSave(snapshot, name);
+            pending.futures.add(future);
+            PENDING.put(key, pending);
+        }
+        PendingSave save = pending;
+        try {
+            EXECUTOR.execute(() -> write(key, save, fileName));
+        }
+        catch (RejectedExecutionException e) {
+            synchronized (PENDING) {
+                PENDING.remove(key);
+            }
+            complete(save.futures, e);
+        }
+        return future;
+    }
+
+    private static void write(String key, PendingSave save, String fileName) {
+        NetworkSnapshot snapshot;
+        String name;
+        List<CompletableFuture<Void>> futures;
+        // the saves from now on wait for this one
+        synchronized (PENDING) {
+            PENDING.remove(key);
+            snapshot = save.snapshot;
+            name = save.name;
+            futures = save.futures;
+        }
+        try {
+            NeuralNetworkFileUtils.saveWithName(snapshot.toNetwork(name), name, fileName);
+            complete(futures, null);
+        }
+        catch (Throwable e) {
+            complete(futures, e);
+        }
+    }
+
+    private static void complete(List<CompletableFuture<Void>> futures, Throwable exception) {
+        for (CompletableFuture<Void> future : futures) {
+            if (exception == null) {
+                future.complete(null);
+            }
+            else {
+                future.completeExceptionally(exception);
+            }
+        }
+    }
+}
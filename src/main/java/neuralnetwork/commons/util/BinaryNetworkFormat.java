@@ -0,0 +1,1110 @@
+package neuralnetwork.commons.util;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.IntStream;
+import neuralnetwork.NamedNeuralNetwork;
+import neuralnetwork.NeuralNetwork;
+
+/**
+ * Writer and reader of the binary network format used by
+ * {@link NeuralNetworkFileUtils#saveBinary(NeuralNetwork, String, String)} and
+ * {@link NeuralNetworkFileUtils#loadBinary(String)}.
+ * <p>
+ * All numbers are little-endian. The file starts with a header:
+ * <pre>
+ * size      content
+ * 4         magic bytes 'N' 'N' 'W' 'B'
+ * 2         format version, currently 1
+ * 2         flags: bits 0-1 hold the {@link WeightPrecision} of the values
+ *           (0 - double, 1 - float, 2 - half, 3 - int8), bit 2 is set if 
+ *           the layers have checksums, bit 3 is set if the layers can be
+ *           sparse, bit 4 is set if the header has a fingerprint, other 
+ *           bits are reserved (0)
+ * 4         length n of the name in bytes
+ * n         name encoded as UTF-8
+ * 4         number of inputs
+ * 4         number of hidden layers h
+ * 4 * h     sizes of the hidden layers
+ * 4         number of outputs
+ * 0..7      zero padding up to a multiple of 8 bytes
+ * 16        if the header has a fingerprint, the {@link NetworkFingerprint}
+ *           of the network read from the file, i.e. of the values in the
+ *           stored precision, as two longs, the most significant first
+ * </pre>
+ * The header is followed by one block per layer (see {@link NetworkLayers}).
+ * A block holds {@code prevLayerSize * layerSize} weights ordered by the
+ * neuron of the previous layer and then by the neuron of the layer, followed
+ * by {@code layerSize} biases, all in the precision given by the flags. That
+ * is the same order the text format uses. As the header is padded, every
+ * value is aligned to its size.
+ * <p>
+ * With {@link WeightPrecision#INT8} a block is:
+ * <pre>
+ * size      content
+ * 8         scale of the layer as double
+ * 4         zero point of the layer
+ * 4         reserved (0)
+ * n         values as signed bytes, see {@link LayerQuantization}
+ * 0..7      zero padding up to a multiple of 8 bytes
+ * </pre>
+ * If the layers can be sparse, every layer block starts with:
+ * <pre>
+ * size      content
+ * 4         encoding of the layer: 0 - dense, 1 - sparse
+ * 4         number n of the non-zero weights of a sparse layer, 0 otherwise
+ * 4         size m of the column indexes of a sparse layer in bytes, 0 
+ *           otherwise
+ * 4         reserved (0)
+ * </pre>
+ * A dense layer goes on as above. A sparse layer keeps its non-zero weights
+ * in the compressed sparse row form, a row per neuron of the previous layer.
+ * With {@code p} neurons in the previous layer, {@code c} neurons in the 
+ * layer and {@code v} bytes per value it is:
+ * <pre>
+ * size      content
+ * 4 * (p+1) number of the non-zero weights before every neuron of the 
+ *           previous layer and the total number n
+ * m         indexes of the neurons of the layer of the non-zero weights,
+ *           row by row, each of them as the distance from the previous 
+ *           index of the row minus 1 (the first one as the index itself) 
+ *           encoded as an unsigned LEB128 varint
+ * 0..7      zero padding up to a multiple of 8 bytes
+ * v * n     non-zero weights in the order of the indexes
+ * v * c     biases
+ * </pre>
+ * The weights and the biases of a sparse layer are stored in the precision
+ * given by the flags, which cannot be {@link WeightPrecision#INT8}.
+ * <p>
+ * If the layers have checksums, every layer block is followed by:
+ * <pre>
+ * size      content
+ * 0..7      zero padding up to a multiple of 8 bytes
+ * 4         CRC-32C of the layer block
+ * 4         reserved (0)
+ * </pre>
+ * @author Konstantin Zhdanov
+ */
+final class BinaryNetworkFormat {
+
+    static final byte[] MAGIC = {'N', 'N', 'W', 'B'};
+
+    static final int VERSION = 1;
+
+    static final int ALIGNMENT = 8;
+
+    private static final int PRECISION_MASK = 0x3;
+
+    private static final int CHECKSUM_FLAG = 0x4;
+
+    private static final int SPARSE_FLAG = 0x8;
+
+    private static final int FINGERPRINT_FLAG = 0x10;
+
+    private static final int FINGERPRINT_SIZE = 16;
+
+    // encoding, number of the non-zero weights, size of the column indexes
+    // and a reserved int at the start of the layers of a sparse file
+    private static final int LAYER_PREFIX_SIZE = 16;
+
+    private static final int DENSE_ENCODING = 0;
+
+    private static final int SPARSE_ENCODING = 1;
+
+    // the longest varint of an int index
+    private static final int MAX_VARINT_SIZE = 5;
+
+    private static final int CHECKSUM_SIZE = 8;
+
+    // the part of the layers verified with ChecksumVerification.SAMPLED
+    private static final int SAMPLED_LAYERS_DIVISOR = 4;
+
+    static final int QUANTIZED_LAYER_HEADER_SIZE = 16;
+    // with 254 steps the rounding of the zero point never moves a value
+    // out of the range of a byte
+    private static final int QUANTIZATION_STEPS = 254;
+
+    // sanity limits protecting from allocating huge arrays for corrupt headers
+    private static final int MAX_NAME_LENGTH = 1 << 16;
+    private static final int MAX_HIDDEN_LAYERS = 1 << 16;
+    private static final int MAX_HEADER_SIZE = 
+            4 + 2 + 2 + 4 + MAX_NAME_LENGTH + 4 * (3 + MAX_HIDDEN_LAYERS) + ALIGNMENT +
+            FINGERPRINT_SIZE;
+
+    /**
+     * Header of a binary network file.
+     */
+    static final class Header {
+        final int version;
+        final int flags;
+        final WeightPrecision precision;
+        final boolean checksums;
+        final boolean sparse;
+        final String name;
+        final int nInputs;
+        final int[] hiddenSizes;
+        final int nOutputs;
+        // null if the header has no fingerprint
+        final NetworkFingerprint fingerprint;
+
+        Header(int version, int flags, String name, int nInputs, int[] hiddenSizes,
+                int nOutputs, NetworkFingerprint fingerprint) {
+            this.version = version;
+            this.flags = flags;
+            this.precision = WeightPrecision.values()[flags & PRECISION_MASK];
+            this.checksums = (flags & CHECKSUM_FLAG) != 0;
+            this.sparse = (flags & SPARSE_FLAG) != 0;
+            this.name = name;
+            this.nInputs = nInputs;
+            this.hiddenSizes = hiddenSizes;
+            this.nOutputs = nOutputs;
+            this.fingerprint = fingerprint;
+        }
+
+        /**
+         * Create the network of the header.
+         * @return New {@link NamedNeuralNetwork} with the sizes and the name
+         * of the header.
+         * @throws IllegalArgumentException if the values of the network
+         * cannot fit in the heap, so the header must be corrupt.
+         */
+        NeuralNetwork createNetwork() {
+            long maxValues = Runtime.getRuntime().maxMemory() / Double.BYTES;
+            long nValues = 0;
+            for (int layerIdx = 0; layerIdx < layerCount(); layerIdx++) {
+                nValues += (prevLayerSize(layerIdx) + 1L) * layerSize(layerIdx);
+                // checked every layer, so the sum doesn't overflow
+                if (nValues > maxValues) {
+                    throw new IllegalArgumentException(
+                            "Wrong file format: network is too large for memory");
+                }
+            }
+            return new NamedNeuralNetwork(nInputs, hiddenSizes, nOutputs, name);
+        }
+
+        /**
+         * Get the smallest number of bytes the layers of the file take, the
+         * prefixes only for the layers of a sparse file.
+         * @return Number of bytes following the header at least.
+         */
+        long minLayersBytes() {
+            long bytes = 0;
+            for (int layerIdx = 0; layerIdx < layerCount(); layerIdx++) {
+                long layerBytes = sparse ? LAYER_PREFIX_SIZE :
+                        layerBytes(prevLayerSize(layerIdx), layerSize(layerIdx), precision);
+                bytes += checksums ? alignUp(layerBytes) + CHECKSUM_SIZE : layerBytes;
+            }
+            return bytes;
+        }
+
+        NetworkSignature signature() {
+            return new NetworkSignature(name, nInputs, hiddenSizes, nOutputs);
+        }
+
+        int layerCount() {
+            return hiddenSizes.length + 1;
+        }
+
+        int prevLayerSize(int layerIdx) {
+            return layerIdx == 0 ? nInputs : hiddenSizes[layerIdx - 1];
+        }
+
+        int layerSize(int layerIdx) {
+            return layerIdx == hiddenSizes.length ? nOutputs : hiddenSizes[layerIdx];
+        }
+    }
+
+    /**
+     * Binary network file mapped into memory: the header and a read-only 
+     * little-endian buffer per layer holding the block of the layer without 
+     * the checksum.
+     */
+    static final class MappedNetwork {
+        final Header header;
+        private final ByteBuffer[] layers;
+
+        MappedNetwork(Header header, ByteBuffer[] layers) {
+            this.header = header;
+            this.layers = layers;
+        }
+
+        /**
+         * Get the block of a layer.
+         * @param layerIdx Index of the layer.
+         * @return New little-endian view of the block positioned at its start.
+         */
+        ByteBuffer layer(int layerIdx) {
+            return layers[layerIdx].duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        /**
+         * Copy the weights and biases into a new network.
+         * @return {@link NamedNeuralNetwork} with the name of the file.
+         */
+        NeuralNetwork toNetwork() {
+            NeuralNetwork nn = header.createNetwork();
+            for (int layerIdx = 0; layerIdx < layers.length; layerIdx++) {
+                long start = FileInstrumentation.layerStarted(layerIdx);
+                if (header.sparse) {
+                    try {
+                        readLayerBlock(new ChannelInput(layer(layerIdx)), header, nn, layerIdx);
+                    }
+                    catch (IOException e) {
+                        // the size of the mapped layer is read from its prefix
+                        throw new IllegalArgumentException("Wrong file format: " + e.toString(), e);
+                    }
+                }
+                else if (header.precision == WeightPrecision.INT8) {
+                    fillQuantizedLayer(layer(layerIdx), nn, layerIdx);
+                }
+                else {
+                    fillLayer(layer(layerIdx), nn, layerIdx, header.precision);
+                }
+                FileInstrumentation.layerParsed(layerIdx, 
+                        (header.prevLayerSize(layerIdx) + 1L) * header.layerSize(layerIdx), start);
+            }
+            return nn;
+        }
+    }
+
+    private BinaryNetworkFormat() {
+    }
+
+    /**
+     * Write the {@code nn} network with name {@code name} into {@code channel}
+     * with the checksum of every layer.
+     * @param nn {@link NeuralNetwork} to write.
+     * @param name {@link String} name to write along with the network.
+     * @param precision {@link WeightPrecision} to store the values in.
+     * @param channel {@link WritableByteChannel} to write into.
+     * @return {@link List} of the quantization parameters of every layer for
+     * {@link WeightPrecision#INT8}, an empty list otherwise.
+     * @throws IOException if the channel cannot be written.
+     * @throws IllegalArgumentException if the network cannot be quantized.
+     */
+    static List<LayerQuantization> write(NeuralNetwork nn, String name, 
+            WeightPrecision precision, WritableByteChannel channel) throws IOException {
+        return write(nn, name, precision, 0, null, new ChannelOutput(channel));
+    }
+
+    /**
+     * Write the {@code nn} network with name {@code name} into {@code channel}
+     * with the checksum of every layer and the {@code fingerprint} of the
+     * network in the header.
+     * @param nn {@link NeuralNetwork} to write.
+     * @param name {@link String} name to write along with the network.
+     * @param precision {@link WeightPrecision} to store the values in.
+     * @param fingerprint {@link NetworkFingerprint} of {@code nn}.
+     * @param channel {@link WritableByteChannel} to write into.
+     * @return {@link List} of the quantization parameters of every layer for
+     * {@link WeightPrecision#INT8}, an empty list otherwise.
+     * @throws IOException if the channel cannot be written.
+     * @throws IllegalArgumentException if the network cannot be quantized.
+     */
+    static List<LayerQuantization> write(NeuralNetwork nn, String name, 
+            WeightPrecision precision, NetworkFingerprint fingerprint, 
+            WritableByteChannel channel) throws IOException {
+        return write(nn, name, precision, 0, fingerprint, new ChannelOutput(channel));
+    }
+
+    /**
+     * Write the {@code nn} network with name {@code name} into {@code channel}
+     * with the checksum of every layer, storing the layers with fewer than
+     * {@code densityThreshold} non-zero weights as sparse.
+     * @param nn {@link NeuralNetwork} to write.
+     * @param name {@link String} name to write along with the network.
+     * @param precision {@link WeightPrecision} to store the values in, cannot
+     * be {@link WeightPrecision#INT8}.
+     * @param densityThreshold Part of the weights of a layer, between 0 
+     * (exclusive) and 1 (inclusive), below which the non-zero weights are 
+     * stored as sparse.
+     * @param channel {@link WritableByteChannel} to write into.
+     * @throws IOException if the channel cannot be written.
+     */
+    static void writeSparse(NeuralNetwork nn, String name, WeightPrecision precision,
+            double densityThreshold, WritableByteChannel channel) throws IOException {
+        write(nn, name, precision, densityThreshold, null, new ChannelOutput(channel));
+    }
+
+    /**
+     * Write the {@code nn} network with name {@code name} into {@code target}
+     * at its position with the checksum of every layer. The values are put 
+     * straight into {@code target}, which can be a direct buffer. On success 
+     * the position of {@code target} is moved past the written network.
+     * @param nn {@link NeuralNetwork} to write.
+     * @param name {@link String} name to write along with the network.
+     * @param precision {@link WeightPrecision} to store the values in.
+     * @param target {@link ByteBuffer} to write into.
+     * @return {@link List} of the quantization parameters of every layer for
+     * {@link WeightPrecision#INT8}, an empty list otherwise.
+     * @throws java.nio.BufferOverflowException if the network doesn't fit 
+     * into the remaining bytes of {@code target}, see {@link #size}.
+     * @throws IllegalArgumentException if the network cannot be quantized.
+     */
+    static List<LayerQuantization> write(NeuralNetwork nn, String name, 
+            WeightPrecision precision, ByteBuffer target) {
+        ChannelOutput out = new ChannelOutput(target);
+        List<LayerQuantization> quantization;
+        try {
+            quantization = write(nn, name, precision, 0, null, out);
+        }
+        catch (IOException e) {
+            // a writer into a buffer has no channel to fail
+            throw new IllegalStateException(e);
+        }
+        ((Buffer)target).position(target.position() + (int)out.position());
+        return quantization;
+    }
+
+    // Write the sparse flag and the prefixes of the layers only with a 
+    // positive density threshold and the fingerprint only if it's not null
+    private static List<LayerQuantization> write(NeuralNetwork nn, String name, 
+            WeightPrecision precision, double densityThreshold, 
+            NetworkFingerprint fingerprint, ChannelOutput out) throws IOException {
+        boolean sparse = densityThreshold > 0;
+        writeHeader(out, nn, name, precision.ordinal() | CHECKSUM_FLAG | 
+                (sparse ? SPARSE_FLAG : 0), fingerprint);
+        List<LayerQuantization> quantization = new ArrayList<>();
+        Crc32c checksum = new Crc32c();
+        for (int layerIdx = 0; layerIdx < NetworkLayers.count(nn); layerIdx++) {
+            out.startChecksum(checksum);
+            SparseRows rows = sparse ? findNonZero(nn, layerIdx, densityThreshold) : null;
+            if (sparse) {
+                writeLayerPrefix(out, rows);
+            }
+            if (rows != null) {
+                writeSparseLayer(out, nn, layerIdx, precision, rows);
+            }
+            else if (precision == WeightPrecision.INT8) {
+                quantization.add(writeQuantizedLayer(out, nn, layerIdx));
+            }
+            else {
+                writeLayer(out, nn, layerIdx, precision);
+            }
+            int layerChecksum = (int)out.finishChecksum();
+            out.padTo(ALIGNMENT);
+            out.writeInt(layerChecksum);
+            out.writeInt(0);
+        }
+        out.flush();
+        return quantization;
+    }
+
+    /**
+     * Read a network written by {@link #write} from {@code channel}.
+     * @param channel {@link ReadableByteChannel} to read from.
+     * @param verification {@link ChecksumVerification} of the layers.
+     * @return {@link NamedNeuralNetwork} read from {@code channel}.
+     * @throws IOException if the channel cannot be read.
+     * @throws IllegalArgumentException if the data is not in the binary
+     * network format or a verified layer has a wrong checksum.
+     */
+    static NeuralNetwork read(ReadableByteChannel channel, ChecksumVerification verification)
+            throws IOException {
+        long available = -1;
+        if (channel instanceof SeekableByteChannel) {
+            SeekableByteChannel seekable = (SeekableByteChannel)channel;
+            available = seekable.size() - seekable.position();
+        }
+        return read(new ChannelInput(channel), verification, available);
+    }
+
+    /**
+     * Read a network written by {@link #write} from the bytes between the 
+     * position and the limit of {@code data}. The values are read in place,
+     * so a direct or mapped buffer is not copied into the heap. The position
+     * of {@code data} is not changed.
+     * @param data {@link ByteBuffer} holding the network.
+     * @param verification {@link ChecksumVerification} of the layers.
+     * @return {@link NamedNeuralNetwork} read from {@code data}.
+     * @throws IOException if {@code data} ends before the network.
+     * @throws IllegalArgumentException if the data is not in the binary
+     * network format or a verified layer has a wrong checksum.
+     */
+    static NeuralNetwork read(ByteBuffer data, ChecksumVerification verification)
+            throws IOException {
+        return read(new ChannelInput(data), verification, data.remaining());
+    }
+
+    // Read a network from the available bytes, -1 if their number is unknown.
+    // The sizes in the header are checked against them before the network
+    // is allocated
+    private static NeuralNetwork read(ChannelInput in, ChecksumVerification verification,
+            long available) throws IOException {
+        Header header = readHeader(in);
+        if (available >= 0 && header.minLayersBytes() > available - in.position()) {
+            throw new IllegalArgumentException("Wrong file format: file is truncated");
+        }
+        NeuralNetwork nn = header.createNetwork();
+        boolean[] verified = selectVerifiedLayers(header, NetworkLayers.count(nn), verification);
+        Crc32c checksum = new Crc32c();
+        for (int layerIdx = 0; layerIdx < NetworkLayers.count(nn); layerIdx++) {
+            long start = FileInstrumentation.layerStarted(layerIdx);
+            if (verified[layerIdx]) {
+                in.startChecksum(checksum);
+            }
+            readLayerBlock(in, header, nn, layerIdx);
+            if (header.checksums) {
+                long actual = verified[layerIdx] ? in.finishChecksum() : 0;
+                in.skipTo(ALIGNMENT);
+                int expected = in.readInt();
+                in.readInt();
+                if (verified[layerIdx] && (int)actual != expected) {
+                    throw new IllegalArgumentException("Checksum mismatch in layer " + layerIdx);
+                }
+            }
+            FileInstrumentation.layerParsed(layerIdx, 
+                    (header.prevLayerSize(layerIdx) + 1L) * header.layerSize(layerIdx), start);
+        }
+        return nn;
+    }
+
+    /**
+     * Read a network written by {@link #write} from a file by mapping it into
+     * memory. Every layer is mapped separately and the network is filled 
+     * straight from the mapped pages, so the only heap memory used is the 
+     * memory of the network itself.
+     * @param channel {@link FileChannel} of the file to read.
+     * @param verification {@link ChecksumVerification} of the layers.
+     * @return {@link NamedNeuralNetwork} read from the file.
+     * @throws IOException if the file cannot be read or mapped.
+     * @throws IllegalArgumentException if the file is not in the binary
+     * network format or a verified layer has a wrong checksum.
+     */
+    static NeuralNetwork readMapped(FileChannel channel, ChecksumVerification verification) 
+            throws IOException {
+        return map(channel, verification).toNetwork();
+    }
+
+    /**
+     * Map a file written by {@link #write} into memory read-only, every layer
+     * separately, verifying the checksums of the layers.
+     * @param channel {@link FileChannel} of the file to map.
+     * @param verification {@link ChecksumVerification} of the layers.
+     * @return {@link MappedNetwork} of the file. The mapping stays valid after
+     * the channel is closed.
+     * @throws IOException if the file cannot be read or mapped.
+     * @throws IllegalArgumentException if the file is not in the binary
+     * network format or a verified layer has a wrong checksum.
+     */
+    static MappedNetwork map(FileChannel channel, ChecksumVerification verification) 
+            throws IOException {
+        long fileSize = channel.size();
+        ChannelInput in = new ChannelInput(channel.map(FileChannel.MapMode.READ_ONLY, 
+                0, Math.min(fileSize, MAX_HEADER_SIZE)));
+        Header header = readHeader(in);
+        ByteBuffer[] layers = new ByteBuffer[header.layerCount()];
+        boolean[] verified = selectVerifiedLayers(header, layers.length, verification);
+        Crc32c checksum = new Crc32c();
+        long offset = in.position();
+        for (int layerIdx = 0; layerIdx < layers.length; layerIdx++) {
+            long layerBytes = layerBytes(header.prevLayerSize(layerIdx), 
+                    header.layerSize(layerIdx), header.precision);
+            if (header.sparse) {
+                if (offset + LAYER_PREFIX_SIZE > fileSize) {
+                    throw new IllegalArgumentException("Wrong file format: file is truncated");
+                }
+                ByteBuffer prefix = channel.map(FileChannel.MapMode.READ_ONLY, offset, 
+                        LAYER_PREFIX_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                if (prefix.getInt(0) == SPARSE_ENCODING) {
+                    layerBytes = sparseLayerBytes(header, layerIdx, prefix.getInt(4), 
+                            prefix.getInt(8));
+                }
+                layerBytes += LAYER_PREFIX_SIZE;
+            }
+            long blockBytes = header.checksums ? alignUp(layerBytes) + CHECKSUM_SIZE : layerBytes;
+            if (blockBytes > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Layer " + layerIdx + " is too large to be mapped");
+            }
+            if (offset + blockBytes > fileSize) {
+                throw new IllegalArgumentException("Wrong file format: file is truncated");
+            }
+            ByteBuffer block = channel.map(FileChannel.MapMode.READ_ONLY, offset, blockBytes);
+            block.order(ByteOrder.LITTLE_ENDIAN);
+            if (verified[layerIdx]) {
+                ByteBuffer values = block.duplicate();
+                ((Buffer)values).limit((int)layerBytes);
+                checksum.reset();
+                checksum.update(values);
+                int expected = block.getInt((int)blockBytes - CHECKSUM_SIZE);
+                if ((int)checksum.getValue() != expected) {
+                    throw new IllegalArgumentException("Checksum mismatch in layer " + layerIdx);
+                }
+            }
+            ((Buffer)block).limit((int)layerBytes);
+            layers[layerIdx] = block.slice().asReadOnlyBuffer();
+            offset += blockBytes;
+        }
+        return new MappedNetwork(header, layers);
+    }
+
+    // Choose the layers to verify the checksums of
+    private static boolean[] selectVerifiedLayers(Header header, int nLayers, 
+            ChecksumVerification verification) {
+        boolean[] verified = new boolean[nLayers];
+        if (!header.checksums || verification == ChecksumVerification.NONE) {
+            return verified;
+        }
+        if (verification == ChecksumVerification.ALL) {
+            Arrays.fill(verified, true);
+            return verified;
+        }
+        // partial Fisher-Yates shuffle choosing distinct random layers
+        int[] layers = IntStream.range(0, nLayers).toArray();
+        int nSampled = (nLayers + SAMPLED_LAYERS_DIVISOR - 1) / SAMPLED_LAYERS_DIVISOR;
+        Random random = ThreadLocalRandom.current();
+        for (int i = 0; i < nSampled; i++) {
+            int j = i + random.nextInt(nLayers - i);
+            int layer = layers[j];
+            layers[j] = layers[i];
+            layers[i] = layer;
+            verified[layer] = true;
+        }
+        return verified;
+    }
+
+    /**
+     * Get the number of bytes {@link #write} writes for the {@code nn} 
+     * network with name {@code name} without a fingerprint.
+     * @param nn {@link NeuralNetwork} to write.
+     * @param name {@link String} name to write along with the network.
+     * @param precision {@link WeightPrecision} to store the values in.
+     * @return Size of the written network in bytes.
+     */
+    static long size(NeuralNetwork nn, String name, WeightPrecision precision) {
+        long headerBytes = 4 + 2 + 2 + 4 + name.getBytes(StandardCharsets.UTF_8).length +
+                4 * (3 + nn.getNumberHiddenLayers());
+        long size = alignUp(headerBytes);
+        for (int layerIdx = 0; layerIdx < NetworkLayers.count(nn); layerIdx++) {
+            size += alignUp(layerBytes(nn, layerIdx, precision)) + CHECKSUM_SIZE;
+        }
+        return size;
+    }
+
+    private static long alignUp(long bytes) {
+        return (bytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    /**
+     * Get the size of the block of layer {@code layerIdx} in bytes.
+     * @param nn {@link NeuralNetwork} the layer belongs to.
+     * @param layerIdx Index of the layer.
+     * @param precision {@link WeightPrecision} of the values.
+     * @return Number of bytes the weights and biases of the layer take.
+     */
+    static long layerBytes(NeuralNetwork nn, int layerIdx, WeightPrecision precision) {
+        return layerBytes(NetworkLayers.prevLayerSize(nn, layerIdx), 
+                NetworkLayers.layerSize(nn, layerIdx), precision);
+    }
+
+    private static long layerBytes(long prevLayerSize, long layerSize, 
+            WeightPrecision precision) {
+        long nValues = (prevLayerSize + 1) * layerSize;
+        if (precision == WeightPrecision.INT8) {
+            return QUANTIZED_LAYER_HEADER_SIZE + alignUp(nValues);
+        }
+        return nValues * precision.getBytesPerValue();
+    }
+
+    static void writeHeader(ChannelOutput out, NeuralNetwork nn, String name, int flags,
+            NetworkFingerprint fingerprint) throws IOException {
+        out.writeBytes(MAGIC);
+        out.writeShort(VERSION);
+        out.writeShort(fingerprint != null ? flags | FINGERPRINT_FLAG : flags);
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        if (nameBytes.length > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Name is too long");
+        }
+        out.writeInt(nameBytes.length);
+        out.writeBytes(nameBytes);
+        out.writeInt(nn.getNumberInputs());
+        out.writeInt(nn.getNumberHiddenLayers());
+        for (int hiddenSize : nn.getHiddenLayerSizes()) {
+            out.writeInt(hiddenSize);
+        }
+        out.writeInt(nn.getNumberOutputs());
+        out.padTo(ALIGNMENT);
+        if (fingerprint != null) {
+            out.writeLong(fingerprint.getMostSignificantBits());
+            out.writeLong(fingerprint.getLeastSignificantBits());
+        }
+    }
+
+    static Header readHeader(ChannelInput in) throws IOException {
+        for (byte magicByte : MAGIC) {
+            if (in.readByte() != magicByte) {
+                throw new IllegalArgumentException("Wrong file format: not a binary network file");
+            }
+        }
+        int version = in.readShort() & 0xFFFF;
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Wrong file format: unsupported version " + version);
+        }
+        int flags = in.readShort() & 0xFFFF;
+        if ((flags & ~(PRECISION_MASK | CHECKSUM_FLAG | SPARSE_FLAG | FINGERPRINT_FLAG)) != 0 || 
+                (flags & PRECISION_MASK) >= WeightPrecision.values().length) {
+            throw new IllegalArgumentException("Wrong file format: unsupported flags " + flags);
+        }
+        int nameLength = in.readInt();
+        if (nameLength < 0 || nameLength > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Wrong file format: bad name length");
+        }
+        String name = new String(in.readBytes(nameLength), StandardCharsets.UTF_8);
+        int nInputs = in.readInt();
+        int nHidden = in.readInt();
+        if (nHidden < 1 || nHidden > MAX_HIDDEN_LAYERS) {
+            throw new IllegalArgumentException("There must be at least one hidden layer");
+        }
+        int[] hiddenSizes = new int[nHidden];
+        for (int i = 0; i < nHidden; i++) {
+            hiddenSizes[i] = in.readInt();
+        }
+        int nOutputs = in.readInt();
+        if (nInputs < 1 || nOutputs < 1 ||
+                Arrays.stream(hiddenSizes).anyMatch(size -> size < 1)) {
+            throw new IllegalArgumentException("Wrong file format: bad layer sizes");
+        }
+        in.skipTo(ALIGNMENT);
+        NetworkFingerprint fingerprint = null;
+        if ((flags & FINGERPRINT_FLAG) != 0) {
+            long mostSigBits = in.readLong();
+            fingerprint = new NetworkFingerprint(mostSigBits, in.readLong());
+        }
+        return new Header(version, flags, name, nInputs, hiddenSizes, nOutputs, fingerprint);
+    }
+
+    // Read the block of a layer in any encoding
+    private static void readLayerBlock(ChannelInput in, Header header, NeuralNetwork nn,
+            int layerIdx) throws IOException {
+        if (header.sparse) {
+            int encoding = in.readInt();
+            int nNonZero = in.readInt();
+            int columnBytes = in.readInt();
+            in.readInt();
+            if (encoding == SPARSE_ENCODING) {
+                readSparseLayer(in, header, nn, layerIdx, nNonZero, columnBytes);
+                return;
+            }
+            if (encoding != DENSE_ENCODING) {
+                throw new IllegalArgumentException(
+                        "Wrong file format: unsupported encoding of layer " + layerIdx);
+            }
+        }
+        if (header.precision == WeightPrecision.INT8) {
+            readQuantizedLayer(in, nn, layerIdx);
+        }
+        else {
+            readLayer(in, nn, layerIdx, header.precision);
+        }
+    }
+
+    /**
+     * Non-zero weights of a layer in the compressed sparse row form.
+     */
+    private static final class SparseRows {
+        // number of the non-zero weights before every row and in total
+        final int[] rowOffsets;
+        // delta-encoded indexes of the non-zero weights, see the class comment
+        final byte[] columns;
+        final int columnBytes;
+
+        SparseRows(int[] rowOffsets, byte[] columns, int columnBytes) {
+            this.rowOffsets = rowOffsets;
+            this.columns = columns;
+            this.columnBytes = columnBytes;
+        }
+
+        int nonZeroCount() {
+            return rowOffsets[rowOffsets.length - 1];
+        }
+    }
+
+    // Find the non-zero weights of the layer, null if the part of them is 
+    // not below densityThreshold
+    private static SparseRows findNonZero(NeuralNetwork nn, int layerIdx, 
+            double densityThreshold) {
+        int prevLayerSize = NetworkLayers.prevLayerSize(nn, layerIdx);
+        int layerSize = NetworkLayers.layerSize(nn, layerIdx);
+        double maxNonZero = Math.min(densityThreshold * prevLayerSize * layerSize, 
+                Integer.MAX_VALUE);
+        int[] rowOffsets = new int[prevLayerSize + 1];
+        byte[] columns = new byte[64];
+        int columnBytes = 0;
+        int nNonZero = 0;
+        for (int prevNeuron = 0; prevNeuron < prevLayerSize; prevNeuron++) {
+            rowOffsets[prevNeuron] = nNonZero;
+            int lastColumn = -1;
+            for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+                // -0.0 is zero as well, NaN is not
+                if (nn.getWeight(layerIdx, prevNeuron, curNeuron) != 0) {
+                    if (++nNonZero >= maxNonZero) {
+                        return null;
+                    }
+                    if (columnBytes + MAX_VARINT_SIZE > columns.length) {
+                        columns = Arrays.copyOf(columns, columns.length * 2);
+                    }
+                    columnBytes = putVarint(columns, columnBytes, curNeuron - lastColumn - 1);
+                    lastColumn = curNeuron;
+                }
+            }
+        }
+        rowOffsets[prevLayerSize] = nNonZero;
+        return new SparseRows(rowOffsets, columns, columnBytes);
+    }
+
+    // Write the unsigned LEB128 varint at offset and return the offset after it
+    private static int putVarint(byte[] bytes, int offset, int value) {
+        while ((value & ~0x7F) != 0) {
+            bytes[offset++] = (byte)(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        bytes[offset++] = (byte)value;
+        return offset;
+    }
+
+    private static int readVarint(ChannelInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 7 * MAX_VARINT_SIZE; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Wrong file format: bad column index");
+    }
+
+    // Write the prefix of a layer of a sparse file, rows is null for a dense
+    // layer
+    private static void writeLayerPrefix(ChannelOutput out, SparseRows rows) 
+            throws IOException {
+        out.writeInt(rows != null ? SPARSE_ENCODING : DENSE_ENCODING);
+        out.writeInt(rows != null ? rows.nonZeroCount() : 0);
+        out.writeInt(rows != null ? rows.columnBytes : 0);
+        out.writeInt(0);
+    }
+
+    private static void writeSparseLayer(ChannelOutput out, NeuralNetwork nn, int layerIdx,
+            WeightPrecision precision, SparseRows rows) throws IOException {
+        int prevLayerSize = NetworkLayers.prevLayerSize(nn, layerIdx);
+        int layerSize = NetworkLayers.layerSize(nn, layerIdx);
+        for (int rowOffset : rows.rowOffsets) {
+            out.writeInt(rowOffset);
+        }
+        out.writeBytes(rows.columns, rows.columnBytes);
+        out.padTo(ALIGNMENT);
+        for (int prevNeuron = 0; prevNeuron < prevLayerSize; prevNeuron++) {
+            for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+                double weight = nn.getWeight(layerIdx, prevNeuron, curNeuron);
+                if (weight != 0) {
+                    writeValue(out, weight, precision);
+                }
+            }
+        }
+        for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+            writeValue(out, nn.getBias(layerIdx, curNeuron), precision);
+        }
+    }
+
+    // Read a sparse layer after its prefix, decoding only the non-zero 
+    // weights. A new network has random weights, so the other ones are set
+    // to 0
+    private static void readSparseLayer(ChannelInput in, Header header, NeuralNetwork nn,
+            int layerIdx, int nNonZero, int columnBytes) throws IOException {
+        int prevLayerSize = NetworkLayers.prevLayerSize(nn, layerIdx);
+        int layerSize = NetworkLayers.layerSize(nn, layerIdx);
+        checkSparseLayer(header, layerIdx, nNonZero, columnBytes);
+        int[] rowOffsets = new int[prevLayerSize + 1];
+        for (int row = 0; row <= prevLayerSize; row++) {
+            rowOffsets[row] = in.readInt();
+            if (row == 0 ? rowOffsets[row] != 0 : rowOffsets[row] < rowOffsets[row - 1] ||
+                    rowOffsets[row] - rowOffsets[row - 1] > layerSize) {
+                throw new IllegalArgumentException("Wrong file format: bad sparse layer " + layerIdx);
+            }
+        }
+        if (rowOffsets[prevLayerSize] != nNonZero) {
+            throw new IllegalArgumentException("Wrong file format: bad sparse layer " + layerIdx);
+        }
+        int[] columns = new int[nNonZero];
+        long columnsStart = in.position();
+        for (int row = 0; row < prevLayerSize; row++) {
+            long column = -1;
+            for (int i = rowOffsets[row]; i < rowOffsets[row + 1]; i++) {
+                column += (readVarint(in) & 0xFFFFFFFFL) + 1;
+                if (column >= layerSize) {
+                    throw new IllegalArgumentException("Wrong file format: bad column index");
+                }
+                columns[i] = (int)column;
+            }
+        }
+        if (in.position() - columnsStart != columnBytes) {
+            throw new IllegalArgumentException("Wrong file format: bad sparse layer " + layerIdx);
+        }
+        in.skipTo(ALIGNMENT);
+        int valueBytes = header.precision.getBytesPerValue();
+        ByteBuffer buffer = in.buffer();
+        for (int prevNeuron = 0; prevNeuron < prevLayerSize; prevNeuron++) {
+            int i = rowOffsets[prevNeuron];
+            for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+                if (i < rowOffsets[prevNeuron + 1] && columns[i] == curNeuron) {
+                    in.require(valueBytes);
+                    nn.setWeight(layerIdx, prevNeuron, curNeuron, 
+                            getValue(buffer, header.precision));
+                    i++;
+                }
+                else {
+                    nn.setWeight(layerIdx, prevNeuron, curNeuron, 0);
+                }
+            }
+        }
+        for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+            in.require(valueBytes);
+            nn.setBias(layerIdx, curNeuron, getValue(buffer, header.precision));
+        }
+    }
+
+    private static void checkSparseLayer(Header header, int layerIdx, int nNonZero, 
+            int columnBytes) {
+        if (header.precision == WeightPrecision.INT8 || nNonZero < 0 || 
+                nNonZero > (long)header.prevLayerSize(layerIdx) * header.layerSize(layerIdx) ||
+                columnBytes < nNonZero || columnBytes > (long)nNonZero * MAX_VARINT_SIZE) {
+            throw new IllegalArgumentException("Wrong file format: bad sparse layer " + layerIdx);
+        }
+    }
+
+    // Size of a sparse layer without its prefix
+    private static long sparseLayerBytes(Header header, int layerIdx, int nNonZero, 
+            int columnBytes) {
+        checkSparseLayer(header, layerIdx, nNonZero, columnBytes);
+        return alignUp(4L * (header.prevLayerSize(layerIdx) + 1) + columnBytes) + 
+                ((long)nNonZero + header.layerSize(layerIdx)) * header.precision.getBytesPerValue();
+    }
+
+    private static void writeLayer(ChannelOutput out, NeuralNetwork nn, int layerIdx,
+            WeightPrecision precision) throws IOException {
+        int prevLayerSize = NetworkLayers.prevLayerSize(nn, layerIdx);
+        int layerSize = NetworkLayers.layerSize(nn, layerIdx);
+        for (int prevNeuron = 0; prevNeuron < prevLayerSize; prevNeuron++) {
+            for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+                writeValue(out, nn.getWeight(layerIdx, prevNeuron, curNeuron), precision);
+            }
+        }
+        for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+            writeValue(out, nn.getBias(layerIdx, curNeuron), precision);
+        }
+    }
+
+    private static void readLayer(ChannelInput in, NeuralNetwork nn, int layerIdx,
+            WeightPrecision precision) throws IOException {
+        int prevLayerSize = NetworkLayers.prevLayerSize(nn, layerIdx);
+        int layerSize = NetworkLayers.layerSize(nn, layerIdx);
+        int valueBytes = precision.getBytesPerValue();
+        ByteBuffer buffer = in.buffer();
+        for (int prevNeuron = 0; prevNeuron < prevLayerSize; prevNeuron++) {
+            int curNeuron = 0;
+            while (curNeuron < layerSize) {
+                in.require(valueBytes);
+                // read as many weights as buffered without further checks
+                int end = Math.min(layerSize, curNeuron + buffer.remaining() / valueBytes);
+                for (; curNeuron < end; curNeuron++) {
+                    nn.setWeight(layerIdx, prevNeuron, curNeuron, getValue(buffer, precision));
+                }
+            }
+        }
+        for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+            in.require(valueBytes);
+            nn.setBias(layerIdx, curNeuron, getValue(buffer, precision));
+        }
+    }
+
+    private static void fillLayer(ByteBuffer values, NeuralNetwork nn, int layerIdx,
+            WeightPrecision precision) {
+        int prevLayerSize = NetworkLayers.prevLayerSize(nn, layerIdx);
+        int layerSize = NetworkLayers.layerSize(nn, layerIdx);
+        for (int prevNeuron = 0; prevNeuron < prevLayerSize; prevNeuron++) {
+            for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+                nn.setWeight(layerIdx, prevNeuron, curNeuron, getValue(values, precision));
+            }
+        }
+        for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+            nn.setBias(layerIdx, curNeuron, getValue(values, precision));
+        }
+    }
+
+    private static LayerQuantization writeQuantizedLayer(ChannelOutput out, 
+            NeuralNetwork nn, int layerIdx) throws IOException {
+        int prevLayerSize = NetworkLayers.prevLayerSize(nn, layerIdx);
+        int layerSize = NetworkLayers.layerSize(nn, layerIdx);
+        LayerQuantization quantization = quantizationOf(nn, layerIdx);
+        double scale = quantization.getScale();
+        int zeroPoint = quantization.getZeroPoint();
+        out.writeDouble(scale);
+        out.writeInt(zeroPoint);
+        out.writeInt(0);
+
+        double maxError = 0;
+        for (int prevNeuron = 0; prevNeuron < prevLayerSize; prevNeuron++) {
+            for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+                double weight = nn.getWeight(layerIdx, prevNeuron, curNeuron);
+                maxError = Math.max(maxError, writeQuantized(out, weight, scale, zeroPoint));
+            }
+        }
+        for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+            double bias = nn.getBias(layerIdx, curNeuron);
+            maxError = Math.max(maxError, writeQuantized(out, bias, scale, zeroPoint));
+        }
+        out.padTo(ALIGNMENT);
+        return new LayerQuantization(layerIdx, scale, zeroPoint, maxError);
+    }
+
+    // scale and zero point of the layer, without the error
+    private static LayerQuantization quantizationOf(NeuralNetwork nn, int layerIdx) {
+        int prevLayerSize = NetworkLayers.prevLayerSize(nn, layerIdx);
+        int layerSize = NetworkLayers.layerSize(nn, layerIdx);
+        // the range always includes 0, so that zero weights stay exact
+        double min = 0;
+        double max = 0;
+        for (int prevNeuron = 0; prevNeuron < prevLayerSize; prevNeuron++) {
+            for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+                double weight = checkFinite(nn.getWeight(layerIdx, prevNeuron, curNeuron));
+                min = Math.min(min, weight);
+                max = Math.max(max, weight);
+            }
+        }
+        for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+            double bias = checkFinite(nn.getBias(layerIdx, curNeuron));
+            min = Math.min(min, bias);
+            max = Math.max(max, bias);
+        }
+        double scale = max > min ? (max - min) / QUANTIZATION_STEPS : 1;
+        int zeroPoint = (int)Math.round(-128 - min / scale);
+        return new LayerQuantization(layerIdx, scale, zeroPoint, 0);
+    }
+
+    // write the quantized value and return its error
+    private static double writeQuantized(ChannelOutput out, double value, double scale, 
+            int zeroPoint) throws IOException {
+        long quantized = quantize(value, scale, zeroPoint);
+        out.writeByte((int)quantized);
+        return Math.abs((quantized - zeroPoint) * scale - value);
+    }
+
+    private static long quantize(double value, double scale, int zeroPoint) {
+        long quantized = Math.round(value / scale) + zeroPoint;
+        return Math.max(Byte.MIN_VALUE, Math.min(Byte.MAX_VALUE, quantized));
+    }
+
+    /**
+     * Get the function giving the value that is read back for a value of
+     * layer {@code layerIdx} of {@code nn} written in the {@code precision}
+     * precision. For {@link WeightPrecision#INT8} the layer is scanned for
+     * its quantization.
+     * @param nn {@link NeuralNetwork} to write.
+     * @param layerIdx Index of the layer.
+     * @param precision {@link WeightPrecision} of the values.
+     * @return {@link DoubleUnaryOperator} rounding the values of the layer.
+     * @throws IllegalArgumentException if the layer cannot be quantized.
+     */
+    static DoubleUnaryOperator rounding(NeuralNetwork nn, int layerIdx, 
+            WeightPrecision precision) {
+        switch (precision) {
+            case DOUBLE:
+                return value -> value;
+            case FLOAT:
+                return value -> (float)value;
+            case HALF:
+                return value -> HalfPrecision.toDouble(HalfPrecision.fromDouble(value));
+            default:
+                LayerQuantization quantization = quantizationOf(nn, layerIdx);
+                double scale = quantization.getScale();
+                int zeroPoint = quantization.getZeroPoint();
+                return value -> (quantize(value, scale, zeroPoint) - zeroPoint) * scale;
+        }
+    }
+
+    private static double checkFinite(double value) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("Cannot quantize a non-finite value");
+        }
+        return value;
+    }
+
+    private static void readQuantizedLayer(ChannelInput in, NeuralNetwork nn, int layerIdx)
+            throws IOException {
+        int prevLayerSize = NetworkLayers.prevLayerSize(nn, layerIdx);
+        int layerSize = NetworkLayers.layerSize(nn, layerIdx);
+        double scale = in.readDouble();
+        int zeroPoint = in.readInt();
+        in.readInt();
+        ByteBuffer buffer = in.buffer();
+        for (int prevNeuron = 0; prevNeuron < prevLayerSize; prevNeuron++) {
+            int curNeuron = 0;
+            while (curNeuron < layerSize) {
+                in.require(1);
+                int end = Math.min(layerSize, curNeuron + buffer.remaining());
+                for (; curNeuron < end; curNeuron++) {
+                    nn.setWeight(layerIdx, prevNeuron, curNeuron, 
+                            (buffer.get() - zeroPoint) * scale);
+                }
+            }
+        }
+        for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+            nn.setBias(layerIdx, curNeuron, (in.readByte() - zeroPoint) * scale);
+        }
+        in.skipTo(ALIGNMENT);
+    }
+
+    private static void fillQuantizedLayer(ByteBuffer values, NeuralNetwork nn, int layerIdx) {
+        int prevLayerSize = NetworkLayers.prevLayerSize(nn, layerIdx);
+        int layerSize = NetworkLayers.layerSize(nn, layerIdx);
+        double scale = values.getDouble();
+        int zeroPoint = values.getInt();
+        values.getInt();
+        for (int prevNeuron = 0; prevNeuron < prevLayerSize; prevNeuron++) {
+            for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+                nn.setWeight(layerIdx, prevNeuron, curNeuron, (values.get() - zeroPoint) * scale);
+            }
+        }
+        for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+            nn.setBias(layerIdx, curNeuron, (values.get() - zeroPoint) * scale);
+        }
+    }
+
+    static void writeValue(ChannelOutput out, double value, WeightPrecision precision)
+            throws IOException {
+        switch (precision) {
+            case DOUBLE:
+                out.writeDouble(value);
+                break;
+            case FLOAT:
+                out.writeFloat((float)value);
+                break;
+            default:
+                out.writeShort(HalfPrecision.fromDouble(value));
+        }
+    }
+
+    static double getValue(ByteBuffer buffer, WeightPrecision precision) {
+        switch (precision) {
+            case DOUBLE:
+                return buffer.getDouble();
+            case FLOAT:
+                return buffer.getFloat();
+            default:
+                return HalfPrecision.toDouble(buffer.getShort());
+        }
+    }
+}
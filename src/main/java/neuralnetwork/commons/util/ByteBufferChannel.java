@@ -0,0 +1,74 @@
+package neuralnetwork.commons.util;
+
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Channel reading and writing the bytes between the position and the limit
+ * of a {@link ByteBuffer}. Reading and writing move the position of the
+ * buffer. Closing the channel doesn't change the buffer.
+ * @author Konstantin Zhdanov
+ */
+final class ByteBufferChannel implements ReadableByteChannel, WritableByteChannel {
+
+    private final ByteBuffer buffer;
+    private boolean open = true;
+
+    /**
+     * Create a channel over {@code buffer}.
+     * @param buffer {@link ByteBuffer} to read from or write into.
+     */
+    ByteBufferChannel(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws ClosedChannelException {
+        ensureOpen();
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+        int length = Math.min(buffer.remaining(), dst.remaining());
+        ByteBuffer src = buffer.duplicate();
+        ((Buffer)src).limit(src.position() + length);
+        dst.put(src);
+        ((Buffer)buffer).position(buffer.position() + length);
+        return length;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws BufferOverflowException if {@code src} doesn't fit into the
+     * remaining bytes of the buffer, nothing is written then.
+     */
+    @Override
+    public int write(ByteBuffer src) throws ClosedChannelException {
+        ensureOpen();
+        if (src.remaining() > buffer.remaining()) {
+            throw new BufferOverflowException();
+        }
+        int length = src.remaining();
+        buffer.put(src);
+        return length;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() {
+        open = false;
+    }
+
+    private void ensureOpen() throws ClosedChannelException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+    }
+}
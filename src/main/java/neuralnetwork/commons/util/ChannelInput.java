@@ -0,0 +1,187 @@
+package neuralnetwork.commons.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Buffered little-endian reader of primitive values from a
+ * {@link ReadableByteChannel}.
+ * @author Konstantin Zhdanov
+ */
+final class ChannelInput {
+
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    private long consumed;
+    private Crc32c checksum;
+    private int checksumFrom;
+
+    /**
+     * Create a reader from {@code channel} with the default buffer size.
+     * @param channel {@link ReadableByteChannel} to read from.
+     */
+    ChannelInput(ReadableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Create a reader from {@code channel} with a buffer of {@code bufferSize}
+     * bytes. A small buffer avoids reading ahead when only the beginning of
+     * the data is needed.
+     * @param channel {@link ReadableByteChannel} to read from.
+     * @param bufferSize Size of the buffer in bytes, at least 8.
+     */
+    ChannelInput(ReadableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(bufferSize).order(ByteOrder.LITTLE_ENDIAN);
+        ((Buffer)buffer).flip();
+    }
+
+    /**
+     * Create a reader of the bytes between the position and the limit of
+     * {@code data}. The bytes are read in place, without copying.
+     * @param data {@link ByteBuffer} holding all the data to read.
+     */
+    ChannelInput(ByteBuffer data) {
+        this.channel = null;
+        this.buffer = data.slice().order(ByteOrder.LITTLE_ENDIAN);
+        this.consumed = buffer.remaining();
+    }
+
+    /**
+     * Get the number of bytes read so far.
+     * @return Number of bytes read.
+     */
+    long position() {
+        return consumed - buffer.remaining();
+    }
+
+    byte readByte() throws IOException {
+        require(1);
+        return buffer.get();
+    }
+
+    short readShort() throws IOException {
+        require(2);
+        return buffer.getShort();
+    }
+
+    int readInt() throws IOException {
+        require(4);
+        return buffer.getInt();
+    }
+
+    long readLong() throws IOException {
+        require(8);
+        return buffer.getLong();
+    }
+
+    float readFloat() throws IOException {
+        require(4);
+        return buffer.getFloat();
+    }
+
+    double readDouble() throws IOException {
+        require(8);
+        return buffer.getDouble();
+    }
+
+    byte[] readBytes(int length) throws IOException {
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            require(1);
+            int len = Math.min(buffer.remaining(), length - offset);
+            buffer.get(bytes, offset, len);
+            offset += len;
+        }
+        return bytes;
+    }
+
+    /**
+     * Skip bytes until {@link #position()} is a multiple of {@code alignment}.
+     * @param alignment Required alignment in bytes.
+     * @throws IOException if the channel cannot be read.
+     */
+    void skipTo(int alignment) throws IOException {
+        while (position() % alignment != 0) {
+            readByte();
+        }
+    }
+
+    /**
+     * Make sure that at least {@code n} bytes are available in the buffer
+     * returned by {@link #buffer()}.
+     * @param n Number of bytes needed, cannot exceed the buffer size.
+     * @throws EOFException if the channel ends before {@code n} bytes are read.
+     * @throws IOException if the channel cannot be read.
+     */
+    void require(int n) throws IOException {
+        if (buffer.remaining() >= n) {
+            return;
+        }
+        if (channel == null) {
+            throw new EOFException("Unexpected end of data");
+        }
+        updateChecksum();
+        checksumFrom = 0;
+        buffer.compact();
+        try {
+            while (buffer.position() < n) {
+                int read = channel.read(buffer);
+                if (read < 0) {
+                    throw new EOFException("Unexpected end of data");
+                }
+                consumed += read;
+            }
+        }
+        finally {
+            ((Buffer)buffer).flip();
+        }
+    }
+
+    /**
+     * Start computing {@code checksum} of the bytes read from now on.
+     * @param checksum {@link Crc32c} to update, it is reset first.
+     */
+    void startChecksum(Crc32c checksum) {
+        checksum.reset();
+        this.checksum = checksum;
+        this.checksumFrom = buffer.position();
+    }
+
+    /**
+     * Stop computing the checksum started by {@link #startChecksum}.
+     * @return Value of the checksum of the bytes read since it was started.
+     */
+    long finishChecksum() {
+        updateChecksum();
+        long value = checksum.getValue();
+        checksum = null;
+        return value;
+    }
+
+    private void updateChecksum() {
+        if (checksum != null) {
+            ByteBuffer read = buffer.duplicate();
+            ((Buffer)read).position(checksumFrom).limit(buffer.position());
+            checksum.update(read);
+            checksumFrom = buffer.position();
+        }
+    }
+
+    /**
+     * Get the underlying buffer for bulk reads. The bytes between the buffer's
+     * position and limit are the next bytes of the channel.
+     * @return Little-endian {@link ByteBuffer}.
+     */
+    ByteBuffer buffer() {
+        return buffer;
+    }
+}
@@ -0,0 +1,165 @@
+package neuralnetwork.commons.util;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Buffered little-endian writer of primitive values into a
+ * {@link WritableByteChannel}.
+ * @author Konstantin Zhdanov
+ */
+final class ChannelOutput {
+
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private long flushed;
+    private Crc32c checksum;
+    private int checksumFrom;
+
+    /**
+     * Create a writer into {@code channel} with the default buffer size.
+     * @param channel {@link WritableByteChannel} to write into.
+     */
+    ChannelOutput(WritableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Create a writer into the bytes between the position and the limit of
+     * {@code target}. The bytes are written in place, without copying. The
+     * position of {@code target} is not changed.
+     * @param target {@link ByteBuffer} to write into.
+     */
+    ChannelOutput(ByteBuffer target) {
+        this.channel = null;
+        this.buffer = target.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Get the number of bytes written so far, including the buffered ones.
+     * @return Number of bytes written.
+     */
+    long position() {
+        return flushed + buffer.position();
+    }
+
+    void writeByte(int value) throws IOException {
+        reserve(1);
+        buffer.put((byte)value);
+    }
+
+    void writeShort(int value) throws IOException {
+        reserve(2);
+        buffer.putShort((short)value);
+    }
+
+    void writeInt(int value) throws IOException {
+        reserve(4);
+        buffer.putInt(value);
+    }
+
+    void writeLong(long value) throws IOException {
+        reserve(8);
+        buffer.putLong(value);
+    }
+
+    void writeFloat(float value) throws IOException {
+        reserve(4);
+        buffer.putFloat(value);
+    }
+
+    void writeDouble(double value) throws IOException {
+        reserve(8);
+        buffer.putDouble(value);
+    }
+
+    void writeBytes(byte[] bytes) throws IOException {
+        writeBytes(bytes, bytes.length);
+    }
+
+    void writeBytes(byte[] bytes, int length) throws IOException {
+        int offset = 0;
+        while (offset < length) {
+            reserve(1);
+            int len = Math.min(buffer.remaining(), length - offset);
+            buffer.put(bytes, offset, len);
+            offset += len;
+        }
+    }
+
+    /**
+     * Write zero bytes until {@link #position()} is a multiple of {@code alignment}.
+     * @param alignment Required alignment in bytes.
+     * @throws IOException if the channel cannot be written.
+     */
+    void padTo(int alignment) throws IOException {
+        while (position() % alignment != 0) {
+            writeByte(0);
+        }
+    }
+
+    /**
+     * Start computing {@code checksum} of the bytes written from now on.
+     * @param checksum {@link Crc32c} to update, it is reset first.
+     */
+    void startChecksum(Crc32c checksum) {
+        checksum.reset();
+        this.checksum = checksum;
+        this.checksumFrom = buffer.position();
+    }
+
+    /**
+     * Stop computing the checksum started by {@link #startChecksum}.
+     * @return Value of the checksum of the bytes written since it was started.
+     */
+    long finishChecksum() {
+        updateChecksum();
+        long value = checksum.getValue();
+        checksum = null;
+        return value;
+    }
+
+    /**
+     * Write all buffered bytes into the channel. Does nothing but updating 
+     * the checksum for a writer into a {@link ByteBuffer}.
+     * @throws IOException if the channel cannot be written.
+     */
+    void flush() throws IOException {
+        updateChecksum();
+        if (channel == null) {
+            return;
+        }
+        checksumFrom = 0;
+        ((Buffer)buffer).flip();
+        while (buffer.hasRemaining()) {
+            flushed += channel.write(buffer);
+        }
+        ((Buffer)buffer).clear();
+    }
+
+    private void updateChecksum() {
+        if (checksum != null) {
+            ByteBuffer written = buffer.duplicate();
+            ((Buffer)written).position(checksumFrom).limit(buffer.position());
+            checksum.update(written);
+            checksumFrom = buffer.position();
+        }
+    }
+
+    // make sure that at least n bytes can be put into the buffer
+    private void reserve(int n) throws IOException {
+        if (buffer.remaining() < n) {
+            if (channel == null) {
+                throw new BufferOverflowException();
+            }
+            flush();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package neuralnetwork.commons.util;
+
+/**
+ * Verification of the per-layer checksums of the binary network format on
+ * load. The checksums are always written, verifying them costs CPU time
+ * but no additional I/O.
+ * @author Konstantin Zhdanov
+ */
+public enum ChecksumVerification {
+    /**
+     * The checksum of every layer is verified.
+     */
+    ALL,
+    /**
+     * The checksums of a random quarter of the layers (at least one layer)
+     * are verified. Repeated loads of a corrupt file find the corruption
+     * with a high probability at a fraction of the cost of {@link #ALL}.
+     */
+    SAMPLED,
+    /**
+     * No checksum is verified.
+     */
+    NONE
+}
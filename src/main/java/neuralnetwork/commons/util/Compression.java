@@ -0,0 +1,125 @@
+package neuralnetwork.commons.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compression applied to network files on the fly by the save methods of
+ * {@link NeuralNetworkFileUtils}. The load methods recognize compressed files
+ * by their first bytes, so the compression doesn't need to be specified on
+ * load.
+ * @author Konstantin Zhdanov
+ */
+public enum Compression {
+    /**
+     * The file is written as is.
+     */
+    NONE,
+    /**
+     * The file is compressed in the gzip format and can also be decompressed
+     * with the usual gzip tools.
+     */
+    GZIP,
+    /**
+     * The file is compressed in the zlib format (deflate with a 2-byte header
+     * and a checksum), which is a little smaller than gzip.
+     */
+    DEFLATE;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int GZIP_MAGIC_0 = 0x1F;
+    private static final int GZIP_MAGIC_1 = 0x8B;
+    // deflate with a 32K window
+    private static final int ZLIB_CMF = 0x78;
+
+    /**
+     * Wrap {@code out} into a stream compressing the written data. Closing the
+     * returned stream closes {@code out}.
+     * @param out {@link OutputStream} to write the compressed data into.
+     * @return Compressing {@link OutputStream} or {@code out} itself for
+     * {@link #NONE}.
+     * @throws IOException if the header of the compressed data cannot be
+     * written.
+     */
+    OutputStream compress(OutputStream out) throws IOException {
+        switch (this) {
+            case GZIP:
+                return new GZIPOutputStream(out, BUFFER_SIZE);
+            case DEFLATE:
+                return new DeflaterOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+            default:
+                return out;
+        }
+    }
+
+    /**
+     * Wrap {@code in} into a stream decompressing its data. Closing the
+     * returned stream closes {@code in}.
+     * @param in {@link InputStream} to read the compressed data from.
+     * @return Decompressing {@link InputStream} or {@code in} itself for
+     * {@link #NONE}.
+     * @throws IOException if the header of the compressed data cannot be read.
+     */
+    InputStream decompress(InputStream in) throws IOException {
+        switch (this) {
+            case GZIP:
+                return new GZIPInputStream(in, BUFFER_SIZE);
+            case DEFLATE:
+                return new InflaterInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+            default:
+                return in;
+        }
+    }
+
+    /**
+     * Find the compression of the file opened as {@code channel} by its first
+     * bytes. The position of the channel is not changed.
+     * @param channel {@link FileChannel} of the file.
+     * @return {@link Compression} of the file, {@link #NONE} if it is not
+     * compressed.
+     * @throws IOException if the channel cannot be read.
+     */
+    static Compression detect(FileChannel channel) throws IOException {
+        ByteBuffer start = ByteBuffer.allocate(2);
+        int read;
+        do {
+            read = channel.read(start, start.position());
+        } while (read > 0 && start.hasRemaining());
+        if (start.hasRemaining()) {
+            return NONE;
+        }
+        return detect(start.get(0), start.get(1));
+    }
+
+    /**
+     * Find the compression of data by its first two bytes.
+     * @param first First byte of the data.
+     * @param second Second byte of the data.
+     * @return {@link Compression} of the data, {@link #NONE} if it is not
+     * compressed.
+     */
+    static Compression detect(byte first, byte second) {
+        int b0 = first & 0xFF;
+        int b1 = second & 0xFF;
+        if (b0 == GZIP_MAGIC_0 && b1 == GZIP_MAGIC_1) {
+            return GZIP;
+        }
+        // only the flags of the fastest, the default and the best levels are
+        // accepted, the other ones are printable characters a text file can
+        // start with
+        if (b0 == ZLIB_CMF && (b1 == 0x01 || b1 == 0x9C || b1 == 0xDA)) {
+            return DEFLATE;
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,104 @@
+package neuralnetwork.commons.util;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.Checksum;
+
+/**
+ * CRC-32C (Castagnoli) checksum, the same as {@code java.util.zip.CRC32C}
+ * of Java 9 and later, computed 8 bytes at a time with the slicing-by-8
+ * tables.
+ * @author Konstantin Zhdanov
+ */
+final class Crc32c implements Checksum {
+
+    // reversed Castagnoli polynomial
+    private static final int POLYNOMIAL = 0x82F63B78;
+
+    // TABLES[k][b] is the CRC of byte b followed by k zero bytes
+    private static final int[][] TABLES = new int[8][256];
+
+    static {
+        for (int b = 0; b < 256; b++) {
+            int crc = b;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc >>> 1) ^ (POLYNOMIAL & -(crc & 1));
+            }
+            TABLES[0][b] = crc;
+        }
+        for (int k = 1; k < TABLES.length; k++) {
+            for (int b = 0; b < 256; b++) {
+                int prev = TABLES[k - 1][b];
+                TABLES[k][b] = (prev >>> 8) ^ TABLES[0][prev & 0xFF];
+            }
+        }
+    }
+
+    private int crc = 0xFFFFFFFF;
+
+    @Override
+    public void update(int b) {
+        crc = (crc >>> 8) ^ TABLES[0][(crc ^ b) & 0xFF];
+    }
+
+    @Override
+    public void update(byte[] b, int off, int len) {
+        int end = off + len;
+        int value = crc;
+        for (; off + 8 <= end; off += 8) {
+            int low = value ^ (b[off] & 0xFF | (b[off + 1] & 0xFF) << 8 |
+                    (b[off + 2] & 0xFF) << 16 | (b[off + 3] & 0xFF) << 24);
+            int high = b[off + 4] & 0xFF | (b[off + 5] & 0xFF) << 8 |
+                    (b[off + 6] & 0xFF) << 16 | (b[off + 7] & 0xFF) << 24;
+            value = slice8(low, high);
+        }
+        for (; off < end; off++) {
+            value = (value >>> 8) ^ TABLES[0][(value ^ b[off]) & 0xFF];
+        }
+        crc = value;
+    }
+
+    /**
+     * Update the checksum with the bytes between the position and the limit
+     * of {@code buffer}. The position is moved to the limit.
+     * @param buffer {@link ByteBuffer} holding the bytes.
+     */
+    public void update(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            ((Buffer)buffer).position(buffer.limit());
+            return;
+        }
+        ByteOrder order = buffer.order();
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        int value = crc;
+        while (buffer.remaining() >= 8) {
+            long bytes = buffer.getLong();
+            value = slice8(value ^ (int)bytes, (int)(bytes >>> 32));
+        }
+        while (buffer.hasRemaining()) {
+            value = (value >>> 8) ^ TABLES[0][(value ^ buffer.get()) & 0xFF];
+        }
+        crc = value;
+        buffer.order(order);
+    }
+
+    @Override
+    public long getValue() {
+        return ~crc & 0xFFFFFFFFL;
+    }
+
+    @Override
+    public void reset() {
+        crc = 0xFFFFFFFF;
+    }
+
+    // CRC of 8 bytes, the first 4 of them already combined with the current CRC
+    private static int slice8(int low, int high) {
+        return TABLES[7][low & 0xFF] ^ TABLES[6][(low >>> 8) & 0xFF] ^
+                TABLES[5][(low >>> 16) & 0xFF] ^ TABLES[4][low >>> 24] ^
+                TABLES[3][high & 0xFF] ^ TABLES[2][(high >>> 8) & 0xFF] ^
+                TABLES[1][(high >>> 16) & 0xFF] ^ TABLES[0][high >>> 24];
+    }
+}
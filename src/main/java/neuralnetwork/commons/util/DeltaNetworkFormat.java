@@ -0,0 +1,292 @@
+package neuralnetwork.commons.util;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import neuralnetwork.NeuralNetwork;
+
+/**
+ * Writer and reader of the delta network format used by
+ * {@link NeuralNetworkFileUtils#saveDelta(NeuralNetwork, NeuralNetwork, double, String)}
+ * and {@link NeuralNetworkFileUtils#applyDeltas(NeuralNetwork, String...)}.
+ * A delta holds the weights and biases of a network that differ from the
+ * ones of a base network with the same structure.
+ * <p>
+ * All numbers are little-endian. The file starts with a header:
+ * <pre>
+ * size      content
+ * 4         magic bytes 'N' 'N' 'W' 'D'
+ * 2         format version, currently 1
+ * 2         flags, reserved (0)
+ * 4         number of inputs
+ * 4         number of hidden layers h
+ * 4 * h     sizes of the hidden layers
+ * 4         number of outputs
+ * 0..7      zero padding up to a multiple of 8 bytes
+ * </pre>
+ * The header is followed by one block per layer (see {@link NetworkLayers}):
+ * <pre>
+ * size      content
+ * 4         number k of changed values
+ * 4         reserved (0)
+ * 4 * k     strictly increasing indexes of the changed values
+ * 0..7      zero padding up to a multiple of 8 bytes
+ * 8 * k     new values of the changed values as doubles
+ * </pre>
+ * The index of a value is its position in the layer block of the binary
+ * network format: weight {@code (prevNeuron, curNeuron)} has index
+ * {@code prevNeuron * layerSize + curNeuron} and bias {@code curNeuron} has
+ * index {@code prevLayerSize * layerSize + curNeuron}. The new values are
+ * stored as they are rather than as differences, so applying a delta
+ * doesn't accumulate rounding errors.
+ * @author Konstantin Zhdanov
+ */
+final class DeltaNetworkFormat {
+
+    static final byte[] MAGIC = {'N', 'N', 'W', 'D'};
+
+    static final int VERSION = 1;
+
+    private static final int ALIGNMENT = BinaryNetworkFormat.ALIGNMENT;
+
+    // sanity limit protecting from allocating huge arrays for corrupt headers
+    private static final int MAX_HIDDEN_LAYERS = 1 << 16;
+
+    /**
+     * Changed values of every layer of a network read from a delta file.
+     */
+    static final class Delta {
+        final int nInputs;
+        final int[] hiddenSizes;
+        final int nOutputs;
+        final int[][] indexes;
+        final double[][] values;
+
+        Delta(int nInputs, int[] hiddenSizes, int nOutputs) {
+            this.nInputs = nInputs;
+            this.hiddenSizes = hiddenSizes;
+            this.nOutputs = nOutputs;
+            this.indexes = new int[hiddenSizes.length + 1][];
+            this.values = new double[hiddenSizes.length + 1][];
+        }
+
+        /**
+         * Check if the delta can be applied to the {@code nn} network.
+         * @param nn {@link NeuralNetwork} to check.
+         * @return {@code true} if {@code nn} has the structure of the network
+         * the delta was made for.
+         */
+        boolean matches(NeuralNetwork nn) {
+            if (nn.getNumberInputs() != nInputs || nn.getNumberOutputs() != nOutputs ||
+                    nn.getNumberHiddenLayers() != hiddenSizes.length) {
+                return false;
+            }
+            for (int i = 0; i < hiddenSizes.length; i++) {
+                if (nn.getHiddenLayerSize(i) != hiddenSizes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Set the changed values in the {@code nn} network.
+         * @param nn {@link NeuralNetwork} to update, must match the delta.
+         */
+        void applyTo(NeuralNetwork nn) {
+            for (int layerIdx = 0; layerIdx < indexes.length; layerIdx++) {
+                int prevLayerSize = NetworkLayers.prevLayerSize(nn, layerIdx);
+                int layerSize = NetworkLayers.layerSize(nn, layerIdx);
+                int nWeights = prevLayerSize * layerSize;
+                int[] layerIndexes = indexes[layerIdx];
+                double[] layerValues = values[layerIdx];
+                for (int i = 0; i < layerIndexes.length; i++) {
+                    int index = layerIndexes[i];
+                    if (index < nWeights) {
+                        nn.setWeight(layerIdx, index / layerSize, index % layerSize, layerValues[i]);
+                    }
+                    else {
+                        nn.setBias(layerIdx, index - nWeights, layerValues[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    private DeltaNetworkFormat() {
+    }
+
+    /**
+     * Write the values of the {@code current} network that differ from the
+     * values of the {@code base} network by more than {@code tolerance} into
+     * {@code channel}.
+     * @param base {@link NeuralNetwork} the delta is relative to.
+     * @param current {@link NeuralNetwork} with the same structure as
+     * {@code base} to take the new values from.
+     * @param tolerance Largest difference of a value that is not written.
+     * @param channel {@link WritableByteChannel} to write into.
+     * @return Number of values written.
+     * @throws IOException if the channel cannot be written.
+     */
+    static long write(NeuralNetwork base, NeuralNetwork current, double tolerance,
+            WritableByteChannel channel) throws IOException {
+        ChannelOutput out = new ChannelOutput(channel);
+        out.writeBytes(MAGIC);
+        out.writeShort(VERSION);
+        out.writeShort(0);
+        out.writeInt(current.getNumberInputs());
+        out.writeInt(current.getNumberHiddenLayers());
+        for (int hiddenSize : current.getHiddenLayerSizes()) {
+            out.writeInt(hiddenSize);
+        }
+        out.writeInt(current.getNumberOutputs());
+        out.padTo(ALIGNMENT);
+
+        long nChanged = 0;
+        for (int layerIdx = 0; layerIdx < NetworkLayers.count(current); layerIdx++) {
+            nChanged += writeLayer(out, base, current, tolerance, layerIdx);
+        }
+        out.flush();
+        return nChanged;
+    }
+
+    /**
+     * Read a delta written by {@link #write} from {@code channel}.
+     * @param channel {@link ReadableByteChannel} to read from.
+     * @return {@link Delta} read from {@code channel}.
+     * @throws IOException if the channel cannot be read.
+     * @throws IllegalArgumentException if the data is not in the delta
+     * network format.
+     */
+    static Delta read(ReadableByteChannel channel) throws IOException {
+        ChannelInput in = new ChannelInput(channel);
+        for (byte magicByte : MAGIC) {
+            if (in.readByte() != magicByte) {
+                throw new IllegalArgumentException("Wrong file format: not a delta network file");
+            }
+        }
+        int version = in.readShort() & 0xFFFF;
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Wrong file format: unsupported version " + version);
+        }
+        int flags = in.readShort() & 0xFFFF;
+        if (flags != 0) {
+            throw new IllegalArgumentException("Wrong file format: unsupported flags " + flags);
+        }
+        int nInputs = in.readInt();
+        int nHidden = in.readInt();
+        if (nHidden < 1 || nHidden > MAX_HIDDEN_LAYERS) {
+            throw new IllegalArgumentException("There must be at least one hidden layer");
+        }
+        int[] hiddenSizes = new int[nHidden];
+        for (int i = 0; i < nHidden; i++) {
+            hiddenSizes[i] = in.readInt();
+        }
+        int nOutputs = in.readInt();
+        if (nInputs < 1 || nOutputs < 1 ||
+                Arrays.stream(hiddenSizes).anyMatch(size -> size < 1)) {
+            throw new IllegalArgumentException("Wrong file format: bad layer sizes");
+        }
+        in.skipTo(ALIGNMENT);
+
+        Delta delta = new Delta(nInputs, hiddenSizes, nOutputs);
+        for (int layerIdx = 0; layerIdx <= nHidden; layerIdx++) {
+            long prevLayerSize = layerIdx == 0 ? nInputs : hiddenSizes[layerIdx - 1];
+            long layerSize = layerIdx == nHidden ? nOutputs : hiddenSizes[layerIdx];
+            readLayer(in, delta, layerIdx, (prevLayerSize + 1) * layerSize);
+        }
+        return delta;
+    }
+
+    private static int writeLayer(ChannelOutput out, NeuralNetwork base,
+            NeuralNetwork current, double tolerance, int layerIdx) throws IOException {
+        int prevLayerSize = NetworkLayers.prevLayerSize(current, layerIdx);
+        int layerSize = NetworkLayers.layerSize(current, layerIdx);
+        if ((prevLayerSize + 1L) * layerSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Layer " + layerIdx + " is too large");
+        }
+        // one pass over both networks keeps only the changed values
+        Changes changes = new Changes();
+        int index = 0;
+        for (int prevNeuron = 0; prevNeuron < prevLayerSize; prevNeuron++) {
+            for (int curNeuron = 0; curNeuron < layerSize; curNeuron++, index++) {
+                double value = current.getWeight(layerIdx, prevNeuron, curNeuron);
+                if (isChanged(base.getWeight(layerIdx, prevNeuron, curNeuron), value, tolerance)) {
+                    changes.add(index, value);
+                }
+            }
+        }
+        for (int curNeuron = 0; curNeuron < layerSize; curNeuron++, index++) {
+            double value = current.getBias(layerIdx, curNeuron);
+            if (isChanged(base.getBias(layerIdx, curNeuron), value, tolerance)) {
+                changes.add(index, value);
+            }
+        }
+
+        out.writeInt(changes.count);
+        out.writeInt(0);
+        if (changes.count == 0) {
+            return 0;
+        }
+        for (int i = 0; i < changes.count; i++) {
+            out.writeInt(changes.indexes[i]);
+        }
+        out.padTo(ALIGNMENT);
+        for (int i = 0; i < changes.count; i++) {
+            out.writeDouble(changes.values[i]);
+        }
+        return changes.count;
+    }
+
+    /**
+     * Changed values of a layer with their indexes, growing as needed.
+     */
+    private static final class Changes {
+        int count;
+        int[] indexes = new int[16];
+        double[] values = new double[16];
+
+        void add(int index, double value) {
+            if (count == indexes.length) {
+                indexes = Arrays.copyOf(indexes, count * 2);
+                values = Arrays.copyOf(values, count * 2);
+            }
+            indexes[count] = index;
+            values[count++] = value;
+        }
+    }
+
+    // NaN differences count as changes unless both values are the same NaN
+    private static boolean isChanged(double baseValue, double value, double tolerance) {
+        return !(Math.abs(value - baseValue) <= tolerance) &&
+                Double.doubleToLongBits(value) != Double.doubleToLongBits(baseValue);
+    }
+
+    private static void readLayer(ChannelInput in, Delta delta, int layerIdx, long nValues)
+            throws IOException {
+        int nChanged = in.readInt();
+        in.readInt();
+        if (nChanged < 0 || nChanged > nValues) {
+            throw new IllegalArgumentException("Wrong file format: bad number of values in layer "
+                    + layerIdx);
+        }
+        int[] indexes = new int[nChanged];
+        double[] values = new double[nChanged];
+        for (int i = 0; i < nChanged; i++) {
+            indexes[i] = in.readInt();
+            if (indexes[i] < 0 || indexes[i] >= nValues || i > 0 && indexes[i] <= indexes[i - 1]) {
+                throw new IllegalArgumentException("Wrong file format: bad index in layer "
+                        + layerIdx);
+            }
+        }
+        if (nChanged > 0) {
+            in.skipTo(ALIGNMENT);
+        }
+        for (int i = 0; i < nChanged; i++) {
+            values[i] = in.readDouble();
+        }
+        delta.indexes[layerIdx] = indexes;
+        delta.values[layerIdx] = values;
+    }
+}
@@ -0,0 +1,254 @@
+package neuralnetwork.commons.util;
+
+import java.math.BigInteger;
+
+/**
+ * Formatter of {@code double} values into a {@code char} array that doesn't
+ * allocate objects.
+ * <p>
+ * The digits are computed with Raffaello Giulietti's Schubfach algorithm,
+ * which gives the shortest decimal that rounds back to the same value. The
+ * layout of the result is the one of {@link Double#toString(double)}: plain
+ * notation with at least one digit after the point for magnitudes from
+ * 10<sup>-3</sup> up to 10<sup>7</sup> and computerized scientific notation
+ * otherwise, e.g. "10.5", "0.001", "1.0E7", "-2.5E-8".
+ * @author Konstantin Zhdanov
+ */
+final class DoubleFormatter {
+
+    /**
+     * Maximal number of characters a formatted value takes.
+     */
+    static final int MAX_CHARS = 24;
+
+    private static final int P = 53;
+    private static final int Q_MIN = -1074;
+    private static final long C_MIN = 1L << (P - 1);
+    private static final long C_TINY = 3;
+    private static final long T_MASK = C_MIN - 1;
+    private static final int BQ_MASK = 0x7FF;
+    private static final long MASK_63 = Long.MAX_VALUE;
+
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+
+    // g = floor(10^-k 2^-r) + 1 with 2^125 <= g < 2^126, split into
+    // the upper and the lower 63 bits
+    private static final long[] G1 = new long[K_MAX - K_MIN + 1];
+    private static final long[] G0 = new long[K_MAX - K_MIN + 1];
+
+    static {
+        BigInteger mask63 = BigInteger.valueOf(MASK_63);
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            int r = flog2pow10(-k) - 125;
+            BigInteger beta;
+            if (k <= 0) {
+                BigInteger pow = BigInteger.TEN.pow(-k);
+                beta = r >= 0 ? pow.shiftRight(r) : pow.shiftLeft(-r);
+            }
+            else {
+                beta = BigInteger.ONE.shiftLeft(-r).divide(BigInteger.TEN.pow(k));
+            }
+            BigInteger g = beta.add(BigInteger.ONE);
+            G1[k - K_MIN] = g.shiftRight(63).longValue();
+            G0[k - K_MIN] = g.and(mask63).longValue();
+        }
+    }
+
+    private DoubleFormatter() {
+    }
+
+    /**
+     * Write the shortest decimal representation of {@code value} into
+     * {@code dst} starting at index {@code pos}.
+     * @param value {@code double} value to format.
+     * @param dst Array to write into, must have at least {@link #MAX_CHARS}
+     * elements from {@code pos} on.
+     * @param pos Index to write the first character at.
+     * @return Index following the last written character.
+     */
+    static int format(double value, char[] dst, int pos) {
+        long bits = Double.doubleToRawLongBits(value);
+        long t = bits & T_MASK;
+        int bq = (int)(bits >>> (P - 1)) & BQ_MASK;
+        if (bq < BQ_MASK) {
+            if (bits < 0) {
+                dst[pos++] = '-';
+            }
+            if (bq != 0) {
+                // normal value
+                int mq = -Q_MIN + 1 - bq;
+                long c = C_MIN | t;
+                if (0 < mq & mq < P) {
+                    // integer value
+                    long f = c >> mq;
+                    if (f << mq == c) {
+                        return toChars(f, 0, dst, pos);
+                    }
+                }
+                return toDecimal(-mq, c, 0, dst, pos);
+            }
+            if (t != 0) {
+                // subnormal value
+                return t < C_TINY ?
+                        toDecimal(Q_MIN, 10 * t, -1, dst, pos) :
+                        toDecimal(Q_MIN, t, 0, dst, pos);
+            }
+            return append("0.0", dst, pos);
+        }
+        if (t != 0) {
+            return append("NaN", dst, pos);
+        }
+        return append(bits > 0 ? "Infinity" : "-Infinity", dst, pos);
+    }
+
+    // find the shortest decimal f 10^e in the rounding interval of c 2^q
+    private static int toDecimal(int q, long c, int dk, char[] dst, int pos) {
+        int out = (int)c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != C_MIN | q == Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        }
+        else {
+            // the interval is asymmetric at the boundary of a binade
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 2;
+
+        long g1 = G1[k - K_MIN];
+        long g0 = G0[k - K_MIN];
+
+        long vb = rop(g1, g0, cb << h);
+        long vbl = rop(g1, g0, cbl << h);
+        long vbr = rop(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+        if (s >= 100) {
+            // try one digit less
+            long sp10 = 10 * DoubleParser.unsignedMultiplyHigh(s, 115_292_150_460_684_698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return toChars(upin ? sp10 : tp10, k, dst, pos);
+            }
+        }
+
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return toChars(uin ? s : t, k + dk, dst, pos);
+        }
+        // both candidates are in the interval => the closest one wins, ties to even
+        long cmp = vb - (s + t << 1);
+        return toChars(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, dst, pos);
+    }
+
+    // round to odd of the product of g and cp
+    private static long rop(long g1, long g0, long cp) {
+        long x1 = DoubleParser.unsignedMultiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = DoubleParser.unsignedMultiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    // write f 10^e in the layout of Double.toString
+    private static int toChars(long f, int e, char[] dst, int pos) {
+        while (f % 10 == 0) {
+            f /= 10;
+            e++;
+        }
+        int len = 1;
+        for (long rest = f / 10; rest != 0; rest /= 10) {
+            len++;
+        }
+        // f 10^e = 0.d1...dlen 10^exp
+        int exp = e + len;
+        if (0 < exp && exp <= 7) {
+            // plain notation
+            if (len <= exp) {
+                writeDigits(f, len, dst, pos);
+                pos += len;
+                for (int i = len; i < exp; i++) {
+                    dst[pos++] = '0';
+                }
+                dst[pos++] = '.';
+                dst[pos++] = '0';
+                return pos;
+            }
+            writeDigits(f, len, dst, pos + 1);
+            System.arraycopy(dst, pos + 1, dst, pos, exp);
+            dst[pos + exp] = '.';
+            return pos + len + 1;
+        }
+        if (-3 < exp && exp <= 0) {
+            // plain notation with leading zeros
+            dst[pos++] = '0';
+            dst[pos++] = '.';
+            for (int i = exp; i < 0; i++) {
+                dst[pos++] = '0';
+            }
+            writeDigits(f, len, dst, pos);
+            return pos + len;
+        }
+        // computerized scientific notation
+        writeDigits(f, len, dst, pos + 1);
+        dst[pos] = dst[pos + 1];
+        dst[pos + 1] = '.';
+        pos += len + 1;
+        if (len == 1) {
+            dst[pos++] = '0';
+        }
+        dst[pos++] = 'E';
+        int sciExp = exp - 1;
+        if (sciExp < 0) {
+            dst[pos++] = '-';
+            sciExp = -sciExp;
+        }
+        if (sciExp >= 100) {
+            dst[pos++] = (char)('0' + sciExp / 100);
+            sciExp %= 100;
+            dst[pos++] = (char)('0' + sciExp / 10);
+        }
+        else if (sciExp >= 10) {
+            dst[pos++] = (char)('0' + sciExp / 10);
+        }
+        dst[pos++] = (char)('0' + sciExp % 10);
+        return pos;
+    }
+
+    private static void writeDigits(long f, int len, char[] dst, int pos) {
+        for (int i = pos + len - 1; i >= pos; i--) {
+            dst[i] = (char)('0' + f % 10);
+            f /= 10;
+        }
+    }
+
+    private static int append(String s, char[] dst, int pos) {
+        s.getChars(0, s.length(), dst, pos);
+        return pos + s.length();
+    }
+
+    // floor(q log10(2))
+    private static int flog10pow2(int q) {
+        return (int)(q * 661_971_961_083L >> 41);
+    }
+
+    // floor(log10(3/4 2^q))
+    private static int flog10threeQuartersPow2(int q) {
+        return (int)(q * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+
+    // floor(e log2(10))
+    private static int flog2pow10(int e) {
+        return (int)(e * 913_124_641_741L >> 38);
+    }
+}
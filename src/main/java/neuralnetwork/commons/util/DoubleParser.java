@@ -0,0 +1,235 @@
+package neuralnetwork.commons.util;
+
+import java.math.BigInteger;
+
+/**
+ * Parser of decimal {@code double} values from a range of a {@code char}
+ * array that doesn't allocate objects for the usual inputs.
+ * <p>
+ * Values with at most 19 significant digits are converted with the exact
+ * fast path of Clinger's algorithm when possible and with the Eisel-Lemire
+ * algorithm otherwise. The rare inputs none of them can handle (longer
+ * mantissas, values close to the limits of the {@code double} range,
+ * "NaN", "Infinity", hexadecimal notation) are delegated to
+ * {@link Double#parseDouble(String)}, so the result is always the same as
+ * the result of that method.
+ * @author Konstantin Zhdanov
+ */
+final class DoubleParser {
+
+    private static final int MAX_MANTISSA_DIGITS = 19;
+
+    private static final int MIN_EXP10 = -342;
+    private static final int MAX_EXP10 = 308;
+
+    // exactly representable powers of ten for the fast path
+    private static final double[] SMALL_POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // 128-bit mantissas of 10^e rounded down, normalized to have the highest bit set
+    private static final long[] POW10_HI = new long[MAX_EXP10 - MIN_EXP10 + 1];
+    private static final long[] POW10_LO = new long[MAX_EXP10 - MIN_EXP10 + 1];
+
+    static {
+        BigInteger mask64 = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+        for (int exp10 = MIN_EXP10; exp10 <= MAX_EXP10; exp10++) {
+            BigInteger mantissa;
+            if (exp10 >= 0) {
+                BigInteger pow = BigInteger.TEN.pow(exp10);
+                int shift = pow.bitLength() - 128;
+                mantissa = shift > 0 ? pow.shiftRight(shift) : pow.shiftLeft(-shift);
+            }
+            else {
+                BigInteger pow = BigInteger.TEN.pow(-exp10);
+                mantissa = BigInteger.ONE.shiftLeft(127 + pow.bitLength()).divide(pow);
+            }
+            POW10_HI[exp10 - MIN_EXP10] = mantissa.shiftRight(64).longValue();
+            POW10_LO[exp10 - MIN_EXP10] = mantissa.and(mask64).longValue();
+        }
+    }
+
+    private DoubleParser() {
+    }
+
+    /**
+     * Parse the {@code double} value written in {@code chars} from index
+     * {@code offset} to index {@code offset + length - 1}.
+     * @param chars Array holding the value.
+     * @param offset Index of the first character of the value.
+     * @param length Number of characters of the value.
+     * @return Parsed {@code double} value.
+     * @throws NumberFormatException if the characters are not a valid
+     * {@code double} value.
+     */
+    static double parse(char[] chars, int offset, int length) {
+        int end = offset + length;
+        int idx = offset;
+        boolean negative = false;
+        if (idx < end && (chars[idx] == '-' || chars[idx] == '+')) {
+            negative = chars[idx] == '-';
+            idx++;
+        }
+
+        long mantissa = 0;
+        int nDigits = 0;
+        int exp10 = 0;
+        boolean anyDigits = false;
+        boolean truncated = false;
+        // integer part
+        for (; idx < end && isDigit(chars[idx]); idx++) {
+            anyDigits = true;
+            int digit = chars[idx] - '0';
+            if (nDigits < MAX_MANTISSA_DIGITS) {
+                if (digit != 0 || nDigits > 0) {
+                    mantissa = mantissa * 10 + digit;
+                    nDigits++;
+                }
+            }
+            else {
+                truncated |= digit != 0;
+                exp10++;
+            }
+        }
+        // fraction part
+        if (idx < end && chars[idx] == '.') {
+            idx++;
+            for (; idx < end && isDigit(chars[idx]); idx++) {
+                anyDigits = true;
+                int digit = chars[idx] - '0';
+                if (nDigits < MAX_MANTISSA_DIGITS) {
+                    if (digit != 0 || nDigits > 0) {
+                        mantissa = mantissa * 10 + digit;
+                        nDigits++;
+                    }
+                    exp10--;
+                }
+                else {
+                    truncated |= digit != 0;
+                }
+            }
+        }
+        // exponent
+        if (anyDigits && idx < end && (chars[idx] == 'e' || chars[idx] == 'E')) {
+            idx++;
+            boolean negativeExp = false;
+            if (idx < end && (chars[idx] == '-' || chars[idx] == '+')) {
+                negativeExp = chars[idx] == '-';
+                idx++;
+            }
+            int expStart = idx;
+            int exp = 0;
+            for (; idx < end && isDigit(chars[idx]); idx++) {
+                if (exp < 100_000) {
+                    exp = exp * 10 + chars[idx] - '0';
+                }
+            }
+            if (idx == expStart) {
+                return parseSlow(chars, offset, length);
+            }
+            exp10 += negativeExp ? -exp : exp;
+        }
+        if (!anyDigits || idx != end || truncated) {
+            return parseSlow(chars, offset, length);
+        }
+
+        if (mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+        // Clinger's fast path: both the mantissa and the power of ten are exact,
+        // the mantissa is unsigned as 19 digits may not fit into a signed long
+        if (Long.compareUnsigned(mantissa, 1L << 53) <= 0 && exp10 >= -22 && exp10 <= 22) {
+            double value = exp10 >= 0 ?
+                    mantissa * SMALL_POW10[exp10] : mantissa / SMALL_POW10[-exp10];
+            return negative ? -value : value;
+        }
+        double value = eiselLemire(mantissa, exp10, negative);
+        if (Double.isNaN(value)) {
+            return parseSlow(chars, offset, length);
+        }
+        return value;
+    }
+
+    // Eisel-Lemire algorithm, returns NaN if it cannot decide the correct rounding
+    private static double eiselLemire(long mantissa, int exp10, boolean negative) {
+        if (exp10 < MIN_EXP10 || exp10 > MAX_EXP10) {
+            return Double.NaN;
+        }
+        int clz = Long.numberOfLeadingZeros(mantissa);
+        mantissa <<= clz;
+        long retExp2 = ((217706L * exp10) >> 16) + 64 + 1023 - clz;
+
+        long powHi = POW10_HI[exp10 - MIN_EXP10];
+        long xHi = unsignedMultiplyHigh(mantissa, powHi);
+        long xLo = mantissa * powHi;
+        if ((xHi & 0x1FF) == 0x1FF && Long.compareUnsigned(xLo + mantissa, mantissa) < 0) {
+            // the product may be imprecise => take the lower half of the power into account
+            long powLo = POW10_LO[exp10 - MIN_EXP10];
+            long yHi = unsignedMultiplyHigh(mantissa, powLo);
+            long yLo = mantissa * powLo;
+            long mergedHi = xHi;
+            long mergedLo = xLo + yHi;
+            if (Long.compareUnsigned(mergedLo, xLo) < 0) {
+                mergedHi++;
+            }
+            if ((mergedHi & 0x1FF) == 0x1FF && mergedLo + 1 == 0 &&
+                    Long.compareUnsigned(yLo + mantissa, mantissa) < 0) {
+                return Double.NaN;
+            }
+            xHi = mergedHi;
+            xLo = mergedLo;
+        }
+
+        long msb = xHi >>> 63;
+        long retMantissa = xHi >>> (msb + 9);
+        retExp2 -= 1 ^ msb;
+        if (xLo == 0 && (xHi & 0x1FF) == 0 && (retMantissa & 3) == 1) {
+            // exactly halfway between two doubles
+            return Double.NaN;
+        }
+        retMantissa += retMantissa & 1;
+        retMantissa >>>= 1;
+        if ((retMantissa >>> 53) > 0) {
+            retMantissa >>>= 1;
+            retExp2++;
+        }
+        if (Long.compareUnsigned(retExp2 - 1, 0x7FF - 1) >= 0) {
+            // subnormal or infinite
+            return Double.NaN;
+        }
+        long bits = retExp2 << 52 | retMantissa & 0x000F_FFFF_FFFF_FFFFL;
+        if (negative) {
+            bits |= Long.MIN_VALUE;
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * Get the upper 64 bits of the unsigned 128-bit product of {@code x}
+     * and {@code y}.
+     * @param x First unsigned factor.
+     * @param y Second unsigned factor.
+     * @return Upper half of the product.
+     */
+    static long unsignedMultiplyHigh(long x, long y) {
+        long x0 = x & 0xFFFF_FFFFL;
+        long x1 = x >>> 32;
+        long y0 = y & 0xFFFF_FFFFL;
+        long y1 = y >>> 32;
+        long p00 = x0 * y0;
+        long p01 = x0 * y1;
+        long p10 = x1 * y0;
+        long p11 = x1 * y1;
+        long middle = p10 + (p00 >>> 32) + (p01 & 0xFFFF_FFFFL);
+        return p11 + (middle >>> 32) + (p01 >>> 32);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static double parseSlow(char[] chars, int offset, int length) {
+        return Double.parseDouble(new String(chars, offset, length));
+    }
+}
@@ -0,0 +1,227 @@
+package neuralnetwork.commons.util;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.function.Supplier;
+
+/**
+ * Holder of the {@link FileOperationListener} the file operations report to.
+ * Initially it is the combination of all the providers of
+ * {@link FileOperationListener} found by {@link ServiceLoader}, such as
+ * {@code neuralnetwork.commons.util.jfr.JfrFileOperationListener} built by
+ * the jfr profile, which emits JDK Flight Recorder events. A provider that
+ * cannot be loaded, e.g. because it needs a newer JVM, is skipped.
+ * @author Konstantin Zhdanov
+ */
+public final class FileInstrumentation {
+
+    private static volatile FileOperationListener listener = loadProviders();
+
+    private FileInstrumentation() {
+    }
+
+    /**
+     * Set the listener of the file operations, replacing the current one.
+     * @param listener {@link FileOperationListener} to report to,
+     * {@link FileOperationListener#NONE} to turn the reports off.
+     * @throws NullPointerException if {@code listener} is {@code null}.
+     */
+    public static void setListener(FileOperationListener listener) {
+        if (listener == null) {
+            throw new NullPointerException("Listener cannot be null");
+        }
+        FileInstrumentation.listener = listener;
+    }
+
+    /**
+     * Get the listener of the file operations.
+     * @return Current {@link FileOperationListener}.
+     */
+    public static FileOperationListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Run an operation with {@code file} reporting its start, and its
+     * duration and the size of the file when it finishes, whether it succeeds
+     * or throws. An exception thrown by the listener is ignored, so it never
+     * replaces the result or the exception of {@code body}.
+     * @param operation Name of the operation.
+     * @param file {@link File} of the operation.
+     * @param body Operation to run.
+     * @return Result of {@code body}.
+     */
+    static <T> T run(String operation, File file, Supplier<T> body) {
+        FileOperationListener l = listener;
+        try {
+            l.operationStarted(operation, file.getPath());
+        }
+        catch (RuntimeException e) {
+            // the listener must not affect the operation
+        }
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            T result = body.get();
+            succeeded = true;
+            return result;
+        }
+        finally {
+            try {
+                l.operationFinished(operation, file.getPath(), file.length(),
+                        System.nanoTime() - start, succeeded);
+            }
+            catch (RuntimeException e) {
+                // the listener must not affect the operation
+            }
+        }
+    }
+
+    /**
+     * Report that the reading of layer {@code layerIdx} starts.
+     * @param layerIdx Index of the layer.
+     * @return Value of {@link System#nanoTime()} to pass to
+     * {@link #layerParsed}.
+     */
+    static long layerStarted(int layerIdx) {
+        try {
+            listener.layerStarted(layerIdx);
+        }
+        catch (RuntimeException e) {
+            // the listener must not affect the reading
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Report that {@code nValues} values of layer {@code layerIdx} were read
+     * since {@code start}.
+     * @param layerIdx Index of the layer.
+     * @param nValues Number of the values read.
+     * @param start Value returned by {@link #layerStarted} when the reading
+     * started.
+     */
+    static void layerParsed(int layerIdx, long nValues, long start) {
+        try {
+            listener.layerParsed(layerIdx, nValues, System.nanoTime() - start);
+        }
+        catch (RuntimeException e) {
+            // the listener must not affect the reading
+        }
+    }
+
+    /**
+     * Report that the parsing of the samples of {@code file} starts.
+     * @param file {@link File} of the samples.
+     * @return Value of {@link System#nanoTime()} to pass to
+     * {@link #samplesParsed}.
+     */
+    static long samplesStarted(File file) {
+        try {
+            listener.samplesStarted(file.getPath());
+        }
+        catch (RuntimeException e) {
+            // the listener must not affect the parsing
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Report that {@code nRows} samples of {@code file} were parsed and
+     * {@code nSkipped} lines skipped since {@code start}.
+     * @param file {@link File} of the samples.
+     * @param nRows Number of the samples parsed.
+     * @param nSkipped Number of the lines skipped.
+     * @param start Value returned by {@link #samplesStarted} when the parsing
+     * started.
+     */
+    static void samplesParsed(File file, long nRows, long nSkipped, long start) {
+        try {
+            listener.samplesParsed(file.getPath(), nRows, nSkipped, System.nanoTime() - start);
+        }
+        catch (RuntimeException e) {
+            // the listener must not affect the parsing
+        }
+    }
+
+    private static FileOperationListener loadProviders() {
+        List<FileOperationListener> providers = new ArrayList<>();
+        Iterator<FileOperationListener> it = ServiceLoader.load(FileOperationListener.class,
+                FileInstrumentation.class.getClassLoader()).iterator();
+        while (true) {
+            try {
+                if (!it.hasNext()) {
+                    break;
+                }
+                providers.add(it.next());
+            }
+            catch (ServiceConfigurationError | LinkageError e) {
+                // the provider needs what this JVM doesn't have
+            }
+        }
+        switch (providers.size()) {
+            case 0:
+                return FileOperationListener.NONE;
+            case 1:
+                return providers.get(0);
+            default:
+                return new CompositeListener(providers);
+        }
+    }
+
+    // Listener passing the events to all the providers
+    private static final class CompositeListener implements FileOperationListener {
+        private final FileOperationListener[] listeners;
+
+        CompositeListener(List<FileOperationListener> listeners) {
+            this.listeners = listeners.toArray(new FileOperationListener[0]);
+        }
+
+        @Override
+        public void operationStarted(String operation, String fileName) {
+            for (FileOperationListener l : listeners) {
+                l.operationStarted(operation, fileName);
+            }
+        }
+
+        @Override
+        public void operationFinished(String operation, String fileName, long bytes, long nanos,
+                boolean succeeded) {
+            for (FileOperationListener l : listeners) {
+                l.operationFinished(operation, fileName, bytes, nanos, succeeded);
+            }
+        }
+
+        @Override
+        public void layerStarted(int layerIdx) {
+            for (FileOperationListener l : listeners) {
+                l.layerStarted(layerIdx);
+            }
+        }
+
+        @Override
+        public void layerParsed(int layerIdx, long nValues, long nanos) {
+            for (FileOperationListener l : listeners) {
+                l.layerParsed(layerIdx, nValues, nanos);
+            }
+        }
+
+        @Override
+        public void samplesStarted(String fileName) {
+            for (FileOperationListener l : listeners) {
+                l.samplesStarted(fileName);
+            }
+        }
+
+        @Override
+        public void samplesParsed(String fileName, long nRows, long nSkipped, long nanos) {
+            for (FileOperationListener l : listeners) {
+                l.samplesParsed(fileName, nRows, nSkipped, nanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package neuralnetwork.commons.util;
+
+/**
+ * Listener of the file operations of {@link NeuralNetworkFileUtils} and
+ * {@link SamplesFileUtils}, which reports how long the operations take and
+ * how much data they move. All the methods do nothing by default, so a
+ * listener overrides only the ones it needs.
+ * <p>
+ * The listener is set with {@link FileInstrumentation#setListener}, or found
+ * by {@link java.util.ServiceLoader} as a provider of this interface. The
+ * methods are called from the threads doing the operations, including the
+ * tasks of parallel loads, so they must be safe to call concurrently. They
+ * should return quickly and must not throw, an exception thrown by a
+ * listener is ignored.
+ * <p>
+ * Every call of a start method is followed on the same thread by the call of
+ * the matching finish method, e.g. {@link #operationStarted} by
+ * {@link #operationFinished}, unless the operation fails before the finish
+ * is reported; the calls for a layer or a file of samples may be between
+ * them.
+ * @author Konstantin Zhdanov
+ */
+public interface FileOperationListener {
+
+    /**
+     * Listener which ignores all the events.
+     */
+    FileOperationListener NONE = new FileOperationListener() {
+    };
+
+    /**
+     * Called when an operation with a whole file starts.
+     * @param operation Name of the method of the operation.
+     * @param fileName Path to the file.
+     */
+    default void operationStarted(String operation, String fileName) {
+    }
+
+    /**
+     * Called when an operation with a whole file finishes.
+     * @param operation Name of the method of the operation, e.g.
+     * {@code "saveBinary"} or {@code "loadFromTextFile"}.
+     * @param fileName Path to the file.
+     * @param bytes Size of the file after the operation, i.e. the number of
+     * bytes written into it or read from it if the whole file is read.
+     * @param nanos Duration of the operation in nanoseconds.
+     * @param succeeded {@code false} if the operation threw an exception.
+     */
+    default void operationFinished(String operation, String fileName, long bytes, long nanos,
+            boolean succeeded) {
+    }
+
+    /**
+     * Called when the reading of the weights and biases of a layer starts.
+     * @param layerIdx Index of the layer, 0 for the first hidden layer.
+     */
+    default void layerStarted(int layerIdx) {
+    }
+
+    /**
+     * Called when the weights and biases of a layer are read into a network.
+     * A layer parsed in parallel is reported in several parts, one per task.
+     * @param layerIdx Index of the layer, 0 for the first hidden layer.
+     * @param nValues Number of the weights and biases read.
+     * @param nanos Time spent reading the values in nanoseconds.
+     */
+    default void layerParsed(int layerIdx, long nValues, long nanos) {
+    }
+
+    /**
+     * Called when the parsing of the samples of a CSV file starts.
+     * @param fileName Path to the file.
+     */
+    default void samplesStarted(String fileName) {
+    }
+
+    /**
+     * Called when the samples of a CSV file are parsed.
+     * @param fileName Path to the file.
+     * @param nRows Number of the samples added to the repository.
+     * @param nSkipped Number of the lines skipped as invalid or of a wrong
+     * size.
+     * @param nanos Time spent parsing the lines in nanoseconds.
+     */
+    default void samplesParsed(String fileName, long nRows, long nSkipped, long nanos) {
+    }
+}
@@ -0,0 +1,68 @@
+package neuralnetwork.commons.util;
+
+/**
+ * Conversions between {@code double} and IEEE 754 half precision values
+ * stored in a {@code short}.
+ * @author Konstantin Zhdanov
+ */
+final class HalfPrecision {
+
+    // the smallest magnitude rounding to infinity: halfway between 65504 and 2^16
+    private static final double OVERFLOW_THRESHOLD = 65520.0;
+    private static final double MIN_NORMAL = 0x1p-14;
+
+    private HalfPrecision() {
+    }
+
+    /**
+     * Round {@code value} to the nearest half precision value, ties to even.
+     * @param value {@code double} value to convert.
+     * @return Bits of the half precision value.
+     */
+    static short fromDouble(double value) {
+        int sign = (int)(Double.doubleToRawLongBits(value) >>> 48) & 0x8000;
+        double abs = Math.abs(value);
+        if (Double.isNaN(value)) {
+            return (short)(sign | 0x7E00);
+        }
+        if (abs >= OVERFLOW_THRESHOLD) {
+            return (short)(sign | 0x7C00);
+        }
+        if (abs < MIN_NORMAL) {
+            // subnormal: the value is m 2^-24, m = 1024 gives the smallest normal
+            long m = (long)Math.rint(abs * 0x1p24);
+            return (short)(sign | (int)m);
+        }
+        int exp = Math.getExponent(abs);
+        long m = (long)Math.rint(Math.scalb(abs, 10 - exp));
+        int biasedExp = exp + 15;
+        if (m == 2048) {
+            // rounded up to the next power of two
+            m = 1024;
+            biasedExp++;
+        }
+        return (short)(sign | biasedExp << 10 | (int)(m - 1024));
+    }
+
+    /**
+     * Convert the half precision value to {@code double} exactly.
+     * @param half Bits of the half precision value.
+     * @return {@code double} value.
+     */
+    static double toDouble(short half) {
+        int bits = half & 0xFFFF;
+        int exp = (bits >>> 10) & 0x1F;
+        int mantissa = bits & 0x3FF;
+        double abs;
+        if (exp == 0x1F) {
+            abs = mantissa == 0 ? Double.POSITIVE_INFINITY : Double.NaN;
+        }
+        else if (exp == 0) {
+            abs = mantissa * 0x1p-24;
+        }
+        else {
+            abs = Math.scalb(1024 + mantissa, exp - 25);
+        }
+        return (bits & 0x8000) != 0 ? -abs : abs;
+    }
+}
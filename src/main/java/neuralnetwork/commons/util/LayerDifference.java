@@ -0,0 +1,63 @@
+package neuralnetwork.commons.util;
+
+/**
+ * Absolute differences between the weights and biases of one layer of two
+ * networks compared with {@link NetworkComparator}. Two values with the same
+ * bits, including two equal NaNs, differ by 0, while a NaN compared with a
+ * number makes both the maximal and the mean difference NaN.
+ * @author Konstantin Zhdanov
+ */
+public final class LayerDifference {
+    private final int layerIdx;
+    private final long nValues;
+    private final double maxDifference;
+    private final double meanDifference;
+
+    LayerDifference(int layerIdx, long nValues, double maxDifference, double meanDifference) {
+        this.layerIdx = layerIdx;
+        this.nValues = nValues;
+        this.maxDifference = maxDifference;
+        this.meanDifference = meanDifference;
+    }
+
+    /**
+     * Get the index of the layer, 0 being the layer between the inputs and
+     * the first hidden layer.
+     * @return Index of the layer.
+     */
+    public int getLayerIndex() {
+        return layerIdx;
+    }
+
+    /**
+     * Get the number of the weights and biases of the layer compared.
+     * @return Number of values of the layer.
+     */
+    public long getNumberValues() {
+        return nValues;
+    }
+
+    /**
+     * Get the largest absolute difference between a weight or bias of the
+     * layer in the two networks.
+     * @return Maximal difference of the layer.
+     */
+    public double getMaxDifference() {
+        return maxDifference;
+    }
+
+    /**
+     * Get the mean of the absolute differences between the weights and
+     * biases of the layer in the two networks.
+     * @return Mean difference of the layer.
+     */
+    public double getMeanDifference() {
+        return meanDifference;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Layer %d: %d values, max difference %g, mean difference %g",
+                layerIdx, nValues, maxDifference, meanDifference);
+    }
+}
@@ -0,0 +1,72 @@
+package neuralnetwork.commons.util;
+
+/**
+ * Parameters and error of the 8-bit quantization of one layer of a network
+ * saved with {@link NeuralNetworkFileUtils#saveQuantized}. A value {@code v}
+ * of the layer is stored as the integer 
+ * {@code q = round(v / scale) + zeroPoint} in range [-128, 127] and loaded
+ * back as {@code (q - zeroPoint) * scale}.
+ * @author Konstantin Zhdanov
+ */
+public final class LayerQuantization {
+    private final int layerIdx;
+    private final double scale;
+    private final int zeroPoint;
+    private final double maxError;
+
+    LayerQuantization(int layerIdx, double scale, int zeroPoint, double maxError) {
+        this.layerIdx = layerIdx;
+        this.scale = scale;
+        this.zeroPoint = zeroPoint;
+        this.maxError = maxError;
+    }
+
+    /**
+     * Get the index of the layer, 0 being the layer between the inputs and 
+     * the first hidden layer.
+     * @return Index of the layer.
+     */
+    public int getLayerIndex() {
+        return layerIdx;
+    }
+
+    /**
+     * Get the distance between two neighboring quantized values of the layer.
+     * @return Scale of the layer.
+     */
+    public double getScale() {
+        return scale;
+    }
+
+    /**
+     * Get the integer the value 0 is stored as.
+     * @return Zero point of the layer.
+     */
+    public int getZeroPoint() {
+        return zeroPoint;
+    }
+
+    /**
+     * Get the largest absolute difference between a weight or bias of the 
+     * layer and its quantized value.
+     * @return Actual maximal error of the layer.
+     */
+    public double getMaxError() {
+        return maxError;
+    }
+
+    /**
+     * Get the largest absolute error the quantization of the layer can 
+     * introduce, which is a half of the scale.
+     * @return Bound of the error of the layer.
+     */
+    public double getErrorBound() {
+        return scale / 2;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Layer %d: scale %g, zero point %d, max error %g (bound %g)",
+                layerIdx, scale, zeroPoint, maxError, getErrorBound());
+    }
+}
@@ -0,0 +1,326 @@
+package neuralnetwork.commons.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import neuralnetwork.NeuralNetwork;
+
+/**
+ * Cache of the networks loaded from files by
+ * {@link NeuralNetworkFileUtils#loadAny(String)}, bounded by the number of
+ * networks or by their estimated size and evicting the least recently used
+ * ones. A cached network is keyed by the canonical path of its file along
+ * with the modification time and the size of the file, so a changed file is
+ * loaded again on the next access.
+ * <p>
+ * Concurrent requests for a network which is not cached yet wait for a
+ * single load of it. A failed load is not cached, the next request tries
+ * again.
+ * <p>
+ * The cached networks are shared by all the callers and must not be
+ * changed. The cache is safe to use from several threads.
+ * @author Konstantin Zhdanov
+ */
+public final class NetworkCache {
+
+    // estimated memory of a network besides its values
+    private static final long NETWORK_OVERHEAD_BYTES = 1024;
+
+    private final long capacity;
+    private final boolean boundedByBytes;
+    private final Object lock = new Object();
+    // access order, the eldest entry is the least recently used one
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // estimated size of the loaded networks
+    private long bytes;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Statistics of a cache at some moment.
+     */
+    public static final class Stats {
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+
+        private Stats(long hitCount, long missCount, long evictionCount) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+        }
+
+        /**
+         * Get the number of requests served without loading the network,
+         * including the ones that waited for the load started by another
+         * request.
+         * @return Number of hits.
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * Get the number of requests that loaded the network.
+         * @return Number of misses.
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * Get the number of networks removed from the cache to stay within
+         * its bound.
+         * @return Number of evictions.
+         */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits: %d, misses: %d, evictions: %d",
+                    hitCount, missCount, evictionCount);
+        }
+    }
+
+    private static final class Entry {
+        final long lastModified;
+        final long size;
+        final CompletableFuture<NeuralNetwork> network = new CompletableFuture<>();
+        // 0 until the network is loaded
+        long bytes;
+
+        Entry(long lastModified, long size) {
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+    }
+
+    private NetworkCache(long capacity, boolean boundedByBytes) {
+        this.capacity = capacity;
+        this.boundedByBytes = boundedByBytes;
+    }
+
+    /**
+     * Create a cache holding at most {@code maxCount} networks.
+     * @param maxCount Maximum number of cached networks, must be positive.
+     * @return Empty {@link NetworkCache}.
+     * @throws IllegalArgumentException if {@code maxCount} is not positive.
+     */
+    public static NetworkCache boundedByCount(int maxCount) {
+        if (maxCount < 1) {
+            throw new IllegalArgumentException("Maximum count must be positive");
+        }
+        return new NetworkCache(maxCount, false);
+    }
+
+    /**
+     * Create a cache holding networks of at most {@code maxBytes} estimated
+     * bytes in total. A network is estimated to take 8 bytes per weight and
+     * bias. A network larger than the whole cache is loaded but not cached,
+     * and the cached networks are kept.
+     * @param maxBytes Maximum estimated size of the cached networks in
+     * bytes, must be positive.
+     * @return Empty {@link NetworkCache}.
+     * @throws IllegalArgumentException if {@code maxBytes} is not positive.
+     */
+    public static NetworkCache boundedByBytes(long maxBytes) {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        return new NetworkCache(maxBytes, true);
+    }
+
+    /**
+     * Get the network stored in a file with path {@code fileName}, loading
+     * it if it is not cached or the file has changed since it was loaded.
+     * @param fileName {@link String} path to a network file in any format.
+     * @return Cached {@link NeuralNetwork}, which must not be changed.
+     * @throws NullPointerException if {@code fileName} is {@code null}.
+     * @throws IllegalArgumentException if there was an error while reading the
+     * file or the file has a wrong format.
+     */
+    public NeuralNetwork get(String fileName) {
+        if (fileName == null) {
+            throw new NullPointerException("File name cannot be null");
+        }
+        String path;
+        BasicFileAttributes attributes;
+        try {
+            path = new File(fileName).getCanonicalPath();
+            attributes = Files.readAttributes(new File(path).toPath(), BasicFileAttributes.class);
+        }
+        catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read from file", e);
+        }
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        Entry entry;
+        boolean load = false;
+        synchronized (lock) {
+            entry = entries.get(path);
+            if (entry != null && entry.lastModified == lastModified &&
+                    entry.size == attributes.size()) {
+                hitCount++;
+            }
+            else {
+                missCount++;
+                if (entry != null) {
+                    remove(path);
+                }
+                entry = new Entry(lastModified, attributes.size());
+                entries.put(path, entry);
+                evict();
+                load = true;
+            }
+        }
+        if (load) {
+            load(path, entry);
+        }
+        try {
+            return entry.network.join();
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error)e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Remove the network stored in a file with path {@code fileName} from the
+     * cache. Requests waiting for its load still get it.
+     * @param fileName {@link String} path to a network file.
+     * @throws NullPointerException if {@code fileName} is {@code null}.
+     */
+    public void invalidate(String fileName) {
+        if (fileName == null) {
+            throw new NullPointerException("File name cannot be null");
+        }
+        String path;
+        try {
+            path = new File(fileName).getCanonicalPath();
+        }
+        catch (IOException e) {
+            // a path that cannot be resolved cannot be cached
+            return;
+        }
+        synchronized (lock) {
+            remove(path);
+        }
+    }
+
+    /**
+     * Remove all the networks from the cache. The statistics are kept.
+     */
+    public void clear() {
+        synchronized (lock) {
+            entries.clear();
+            bytes = 0;
+        }
+    }
+
+    /**
+     * Get the number of cached networks, including the ones being loaded.
+     * @return Number of networks in the cache.
+     */
+    public int size() {
+        synchronized (lock) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Get the estimated size of the cached networks in bytes.
+     * @return Total estimated size of the loaded networks.
+     */
+    public long estimatedBytes() {
+        synchronized (lock) {
+            return bytes;
+        }
+    }
+
+    /**
+     * Get the hit, miss and eviction statistics of the cache.
+     * @return {@link Stats} of the cache at the moment of the call.
+     */
+    public Stats getStats() {
+        synchronized (lock) {
+            return new Stats(hitCount, missCount, evictionCount);
+        }
+    }
+
+    // Load the network outside of the lock and account for it
+    private void load(String path, Entry entry) {
+        NeuralNetwork nn;
+        try {
+            nn = NeuralNetworkFileUtils.loadAny(path);
+        }
+        catch (RuntimeException | Error e) {
+            synchronized (lock) {
+                if (entries.get(path) == entry) {
+                    remove(path);
+                }
+            }
+            entry.network.completeExceptionally(e);
+            return;
+        }
+        entry.network.complete(nn);
+        synchronized (lock) {
+            // the entry could be evicted or invalidated during the load
+            if (entries.get(path) == entry) {
+                entry.bytes = estimateBytes(nn);
+                bytes += entry.bytes;
+                if (boundedByBytes && entry.bytes > capacity) {
+                    // evicting the other networks couldn't make it fit
+                    remove(path);
+                    evictionCount++;
+                }
+                else {
+                    evict();
+                }
+            }
+        }
+    }
+
+    private void remove(String path) {
+        Entry entry = entries.remove(path);
+        if (entry != null) {
+            bytes -= entry.bytes;
+        }
+    }
+
+    // Remove the least recently used loaded networks until the cache is in
+    // its bound, the networks being loaded are kept for their waiters
+    private void evict() {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while ((boundedByBytes ? bytes : entries.size()) > capacity && it.hasNext()) {
+            Entry entry = it.next().getValue();
+            if (entry.network.isDone()) {
+                it.remove();
+                bytes -= entry.bytes;
+                evictionCount++;
+            }
+        }
+    }
+
+    private static long estimateBytes(NeuralNetwork nn) {
+        long nValues = 0;
+        for (int layerIdx = 0; layerIdx < NetworkLayers.count(nn); layerIdx++) {
+            nValues += (NetworkLayers.prevLayerSize(nn, layerIdx) + 1L) *
+                    NetworkLayers.layerSize(nn, layerIdx);
+        }
+        return NETWORK_OVERHEAD_BYTES + nValues * Double.BYTES;
+    }
+}
@@ -0,0 +1,706 @@
+package neuralnetwork.commons.util;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Index of the network files of a directory kept in a catalog file inside
+ * the directory. For every file the catalog records its size, modification
+ * time, SHA-256 hash of the content and the {@link NetworkSignature} of the
+ * network, so the networks of a directory can be listed by reading a single
+ * file. Only the files whose size or modification time differ from the
+ * recorded ones are opened by {@link #refresh()}.
+ * <p>
+ * Once a directory has a catalog, the save methods of
+ * {@link NeuralNetworkFileUtils} append the new entry of the saved file to a
+ * journal next to the catalog and pass it to the catalogs of the directory
+ * open in the JVM. The journal is merged into the catalog by {@link #open},
+ * {@link #refresh()} and by a save once the journal has grown larger than
+ * the catalog. The catalog is always replaced atomically, so readers never
+ * see a partly written catalog, and the updates are serialized between
+ * processes by a lock file. If the catalog cannot be updated after a save,
+ * the save doesn't fail and the old entry of the file is replaced by the
+ * next {@link #refresh()}, since it no longer matches the size or the
+ * modification time of the file. Saves by other processes are picked up by
+ * the next {@link #refresh()}.
+ * @author Konstantin Zhdanov
+ */
+public final class NetworkCatalog {
+
+    /**
+     * Name of the catalog file inside the directory.
+     */
+    public static final String CATALOG_FILE_NAME = ".network-catalog";
+
+    private static final String CATALOG_HEADER = "# network catalog 1";
+    private static final String NO_NAME = "\\N";
+    private static final String NOT_NETWORK = "-";
+    private static final String JOURNAL_FILE_NAME = CATALOG_FILE_NAME + ".journal";
+    private static final String LOCK_FILE_NAME = CATALOG_FILE_NAME + ".lock";
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+    // the journal is merged into the catalog once it is larger than both
+    // the catalog and this size
+    private static final long MIN_MERGE_SIZE = 64 * 1024;
+
+    // serializes the updates of the catalogs within the JVM, the lock file
+    // serializes them between processes
+    private static final Object UPDATE_LOCK = new Object();
+
+    // catalogs open in the JVM by their directories, guarded by UPDATE_LOCK
+    private static final Map<Path, Set<NetworkCatalog>> OPEN_CATALOGS = new HashMap<>();
+
+    /**
+     * Catalog record of a single file.
+     */
+    public static final class Entry {
+        private final String fileName;
+        private final long size;
+        private final long lastModified;
+        private final String contentHash;
+        private final NetworkSignature signature;
+
+        Entry(String fileName, long size, long lastModified, String contentHash,
+                NetworkSignature signature) {
+            this.fileName = fileName;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.contentHash = contentHash;
+            this.signature = signature;
+        }
+
+        /**
+         * Get the name of the file relative to the directory.
+         * @return {@link String} name of the file.
+         */
+        public String getFileName() {
+            return fileName;
+        }
+
+        /**
+         * Get the size of the file.
+         * @return Size of the file in bytes.
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * Get the modification time of the file.
+         * @return Modification time in milliseconds since the epoch.
+         */
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Get the hash of the content of the file.
+         * @return Lowercase hexadecimal SHA-256 of the file.
+         */
+        public String getContentHash() {
+            return contentHash;
+        }
+
+        /**
+         * Get the signature of the network stored in the file.
+         * @return {@link NetworkSignature} of the network or {@code null} if
+         * the file is not a network file.
+         */
+        public NetworkSignature getSignature() {
+            return signature;
+        }
+
+        /**
+         * Whether the file holds a network.
+         * @return {@code true} if the file is a network file readable by
+         * {@link NeuralNetworkFileUtils#readSignature(String)}.
+         */
+        public boolean isNetwork() {
+            return signature != null;
+        }
+
+        private boolean isUpToDate(BasicFileAttributes attributes) {
+            return size == attributes.size() &&
+                    lastModified == attributes.lastModifiedTime().toMillis();
+        }
+
+        private boolean isSameFile(Entry other) {
+            return size == other.size && lastModified == other.lastModified &&
+                    contentHash.equals(other.contentHash);
+        }
+    }
+
+    private final Path directory;
+    private final Map<String, Entry> entries;
+
+    private NetworkCatalog(Path directory, Map<String, Entry> entries) {
+        this.directory = directory;
+        this.entries = entries;
+    }
+
+    /**
+     * Open the catalog of directory {@code directory} and bring it up to date
+     * with {@link #refresh()}. The catalog file is created if the directory
+     * doesn't have one yet.
+     * @param directory {@link String} path to the directory.
+     * @return {@link NetworkCatalog} of the directory.
+     * @throws NullPointerException if {@code directory} is null.
+     * A catalog file of a wrong format is created anew as well.
+     * @param directory {@link String} path to the directory.
+     * @return {@link NetworkCatalog} of the directory.
+     * @throws NullPointerException if {@code directory} is null.
+     * @throws IllegalArgumentException if the directory or the catalog cannot
+     * be read or the catalog cannot be written.
+     */
+    public static NetworkCatalog open(String directory) {
+        if (directory == null) {
+            throw new NullPointerException("Directory cannot be null");
+        }
+        Path dir = Paths.get(directory).toAbsolutePath().normalize();
+        synchronized (UPDATE_LOCK) {
+            NetworkCatalog catalog;
+            try {
+                FileChannel lock = lockCatalog(dir);
+                try {
+                    try {
+                        catalog = new NetworkCatalog(dir, readCatalog(dir));
+                    }
+                    catch (NoSuchFileException | IllegalArgumentException e) {
+                        catalog = new NetworkCatalog(dir, new TreeMap<>());
+                    }
+                    catalog.update(false);
+                }
+                finally {
+                    lock.close();
+                }
+            }
+            catch (IOException e) {
+                throw new IllegalArgumentException("Cannot read catalog of " + directory, e);
+            }
+            Set<NetworkCatalog> catalogs = OPEN_CATALOGS.get(dir);
+            if (catalogs == null) {
+                catalogs = Collections.newSetFromMap(new WeakHashMap<NetworkCatalog, Boolean>());
+                OPEN_CATALOGS.put(dir, catalogs);
+            }
+            catalogs.add(catalog);
+            return catalog;
+        }
+    }
+
+    /**
+     * Bring the catalog up to date with the directory: the entries of
+     * the new files and of the files with a different size or modification
+     * time are created, the entries of the removed files are dropped. The
+     * entries saved by other processes are taken from the journal. The
+     * catalog file is rewritten if anything has changed or the journal is
+     * not empty.
+     * @return {@code true} if the catalog has changed.
+     * @throws IllegalArgumentException if the directory cannot be read or the
+     * catalog cannot be written.
+     */
+    public boolean refresh() {
+        synchronized (UPDATE_LOCK) {
+            try {
+                FileChannel lock = lockCatalog(directory);
+                try {
+                    return update(readJournal(directory.resolve(JOURNAL_FILE_NAME), entries));
+                }
+                finally {
+                    lock.close();
+                }
+            }
+            catch (IOException e) {
+                throw new IllegalArgumentException("Cannot write catalog of " + directory, e);
+            }
+        }
+    }
+
+    /**
+     * Get the entries of all the files of the directory.
+     * @return Unmodifiable {@link List} of the {@link Entry} objects in the
+     * order of the file names.
+     */
+    public List<Entry> getEntries() {
+        synchronized (UPDATE_LOCK) {
+            return Collections.unmodifiableList(new ArrayList<>(entries.values()));
+        }
+    }
+
+    /**
+     * Get the entry of file {@code fileName}.
+     * @param fileName {@link String} name of the file relative to the directory.
+     * @return {@link Entry} of the file or {@code null} if the catalog doesn't
+     * have it.
+     * @throws NullPointerException if {@code fileName} is null.
+     */
+    public Entry getEntry(String fileName) {
+        if (fileName == null) {
+            throw new NullPointerException("File name cannot be null");
+        }
+        synchronized (UPDATE_LOCK) {
+            return entries.get(fileName);
+        }
+    }
+
+    /**
+     * Create the digest to hash the content of {@code file} while it is
+     * saved, see {@link #digesting(OutputStream, MessageDigest)}, so
+     * {@link #fileSaved} doesn't read the file again.
+     * @param file {@link File} to be saved.
+     * @return {@link MessageDigest} for {@link #fileSaved} or {@code null} if
+     * the directory of {@code file} has no catalog.
+     */
+    static MessageDigest contentDigest(File file) {
+        Path catalogFile = file.toPath().toAbsolutePath().resolveSibling(CATALOG_FILE_NAME);
+        return Files.exists(catalogFile) ? newDigest() : null;
+    }
+
+    /**
+     * Pass the bytes written into {@code out} to {@code digest} as well.
+     * @param out {@link OutputStream} to write into.
+     * @param digest {@link MessageDigest} from {@link #contentDigest} or
+     * {@code null}.
+     * @return {@link OutputStream} hashing the bytes, {@code out} if
+     * {@code digest} is null.
+     */
+    static OutputStream digesting(OutputStream out, MessageDigest digest) {
+        return digest == null ? out : new DigestOutputStream(out, digest);
+    }
+
+    /**
+     * Pass the bytes written into {@code channel} to {@code digest} as well.
+     * @param channel {@link WritableByteChannel} to write into.
+     * @param digest {@link MessageDigest} from {@link #contentDigest} or
+     * {@code null}.
+     * @return {@link WritableByteChannel} hashing the bytes, {@code channel}
+     * if {@code digest} is null.
+     */
+    static WritableByteChannel digesting(WritableByteChannel channel, MessageDigest digest) {
+        return digest == null ? channel : 
+                Channels.newChannel(new DigestOutputStream(Channels.newOutputStream(channel),
+                        digest));
+    }
+
+    /**
+     * Update the entry of {@code file} in the catalog of its directory after
+     * the file has been saved: the entry is appended to the journal of the
+     * catalog and put into the catalogs of the directory open in the JVM.
+     * Nothing is done if the directory has no catalog. If the journal cannot
+     * be written, the catalog is left as it is: its old entry of the file
+     * doesn't match the size or the modification time of the file any more,
+     * so the next {@link #refresh()} replaces it. The save itself never fails
+     * because of the catalog.
+     * @param file {@link File} that has been saved.
+     * @param signature {@link NetworkSignature} of the saved network.
+     * @param digest {@link MessageDigest} from {@link #contentDigest} which
+     * has hashed all the saved bytes, or {@code null} to hash the file.
+     */
+    static void fileSaved(File file, NetworkSignature signature, MessageDigest digest) {
+        Path path = file.toPath().toAbsolutePath().normalize();
+        Path directory = path.getParent();
+        Path catalogFile = directory.resolve(CATALOG_FILE_NAME);
+        if (!Files.exists(catalogFile)) {
+            return;
+        }
+        String fileName = path.getFileName().toString();
+        Entry entry;
+        try {
+            BasicFileAttributes attributes = 
+                    Files.readAttributes(path, BasicFileAttributes.class);
+            // the catalog may have been created during the save
+            String contentHash = digest != null ? toHex(digest.digest()) : hash(path);
+            entry = new Entry(fileName, attributes.size(),
+                    attributes.lastModifiedTime().toMillis(), contentHash, signature);
+        }
+        catch (IOException e) {
+            // the old entry is replaced by the next refresh
+            return;
+        }
+        synchronized (UPDATE_LOCK) {
+            try {
+                FileChannel lock = lockCatalog(directory);
+                try {
+                    appendJournal(directory, entry);
+                }
+                finally {
+                    lock.close();
+                }
+            }
+            catch (IOException | IllegalArgumentException e) {
+                // the old entry is replaced by the next refresh
+            }
+            Set<NetworkCatalog> catalogs = OPEN_CATALOGS.get(directory);
+            if (catalogs != null) {
+                for (NetworkCatalog catalog : catalogs) {
+                    catalog.entries.put(fileName, entry);
+                }
+            }
+        }
+    }
+
+    // Lock the catalog of the directory against the other processes until
+    // the returned channel is closed. Within the JVM the lock must be taken
+    // under UPDATE_LOCK only, a second lock of the same file would fail
+    private static FileChannel lockCatalog(Path directory) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE_NAME),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            channel.lock();
+        }
+        catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    // Append the entry to the journal as one line and merge the journal into
+    // the catalog once it has grown larger than the catalog, so the cost of
+    // the merges is spread over the saves. Called with the catalog locked
+    private static void appendJournal(Path directory, Entry entry) throws IOException {
+        Path catalogFile = directory.resolve(CATALOG_FILE_NAME);
+        Path journalFile = directory.resolve(JOURNAL_FILE_NAME);
+        if (!Files.exists(catalogFile)) {
+            // deleted during the save
+            return;
+        }
+        StringWriter line = new StringWriter();
+        writeEntry(line, entry);
+        ByteBuffer bytes = ByteBuffer.wrap(line.toString().getBytes(StandardCharsets.UTF_8));
+        long journalSize;
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            long size = channel.size();
+            try {
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+            }
+            catch (IOException e) {
+                // don't leave a partly written line for the next append
+                channel.truncate(size);
+                throw e;
+            }
+            journalSize = channel.size();
+        }
+        if (journalSize > Math.max(MIN_MERGE_SIZE, Files.size(catalogFile))) {
+            new NetworkCatalog(directory, readCatalog(directory)).writeCatalog();
+        }
+    }
+
+    private Path catalogFile() {
+        return directory.resolve(CATALOG_FILE_NAME);
+    }
+
+    // Update the entries from the directory and rewrite the catalog if it has
+    // changed, doesn't exist or has a journal. Called with the catalog locked
+    private boolean update(boolean changed) {
+        changed |= refreshEntries();
+        if (changed || !Files.exists(catalogFile()) ||
+                Files.exists(directory.resolve(JOURNAL_FILE_NAME))) {
+            writeCatalog();
+        }
+        return changed;
+    }
+
+    // Update the entries from the directory and return whether anything has changed
+    private boolean refreshEntries() {
+        Map<String, Entry> refreshed = new TreeMap<>();
+        boolean changed = false;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                String fileName = file.getFileName().toString();
+                if (fileName.startsWith(CATALOG_FILE_NAME)) {
+                    // the catalog and its temporary files
+                    continue;
+                }
+                BasicFileAttributes attributes =
+                        Files.readAttributes(file, BasicFileAttributes.class);
+                if (!attributes.isRegularFile()) {
+                    continue;
+                }
+                Entry entry = entries.get(fileName);
+                if (entry == null || !entry.isUpToDate(attributes)) {
+                    entry = new Entry(fileName, attributes.size(),
+                            attributes.lastModifiedTime().toMillis(), hash(file),
+                            probeSignature(file));
+                    changed = true;
+                }
+                refreshed.put(fileName, entry);
+            }
+        }
+        catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read directory " + directory, e);
+        }
+        changed |= !refreshed.keySet().equals(entries.keySet());
+        entries.clear();
+        entries.putAll(refreshed);
+        return changed;
+    }
+
+    private static NetworkSignature probeSignature(Path file) {
+        try {
+            return NeuralNetworkFileUtils.readSignature(file.toString());
+        }
+        catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String hash(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[HASH_BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] hash) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : hash) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    // Read the catalog of the directory together with its journal. Throws
+    // IllegalArgumentException if the catalog has a wrong format
+    private static Map<String, Entry> readCatalog(Path directory) throws IOException {
+        Map<String, Entry> entries = new TreeMap<>();
+        try (BufferedReader in = Files.newBufferedReader(directory.resolve(CATALOG_FILE_NAME),
+                StandardCharsets.UTF_8)) {
+            String line = in.readLine();
+            if (!CATALOG_HEADER.equals(line)) {
+                throw new IllegalArgumentException("Wrong catalog format");
+            }
+            while ((line = in.readLine()) != null) {
+                Entry entry = parseEntry(line);
+                entries.put(entry.fileName, entry);
+            }
+        }
+        readJournal(directory.resolve(JOURNAL_FILE_NAME), entries);
+        return entries;
+    }
+
+    // Put the entries of the complete lines of the journal into entries and
+    // return whether any of them has changed. A line that cannot be parsed is
+    // skipped, its file is checked by the refresh of the entries anyway
+    private static boolean readJournal(Path journalFile, Map<String, Entry> entries)
+            throws IOException {
+        String journal;
+        try {
+            journal = new String(Files.readAllBytes(journalFile), StandardCharsets.UTF_8);
+        }
+        catch (NoSuchFileException e) {
+            return false;
+        }
+        boolean changed = false;
+        int start = 0;
+        int end;
+        while ((end = journal.indexOf('\n', start)) >= 0) {
+            try {
+                Entry entry = parseEntry(journal.substring(start, end));
+                Entry old = entries.put(entry.fileName, entry);
+                changed |= old == null || !old.isSameFile(entry);
+            }
+            catch (IllegalArgumentException e) {
+                // skipped
+            }
+            start = end + 1;
+        }
+        return changed;
+    }
+
+    // Line format: file name, size, modification time, hash, network name,
+    // signature as "inputs,hidden...,outputs", separated by tabs
+    private static Entry parseEntry(String line) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length != 6) {
+            throw new IllegalArgumentException("Wrong catalog format");
+        }
+        String fileName = unescape(fields[0]);
+        return new Entry(fileName, Long.parseLong(fields[1]), Long.parseLong(fields[2]),
+                fields[3], parseSignature(fields[4], fields[5]));
+    }
+
+    private static NetworkSignature parseSignature(String name, String sizes) {
+        if (NOT_NETWORK.equals(sizes)) {
+            return null;
+        }
+        String[] split = sizes.split(",");
+        if (split.length < 3) {
+            throw new IllegalArgumentException("Wrong signature " + sizes);
+        }
+        int[] hiddenSizes = new int[split.length - 2];
+        for (int i = 0; i < hiddenSizes.length; i++) {
+            hiddenSizes[i] = Integer.parseInt(split[i + 1]);
+        }
+        return new NetworkSignature(NO_NAME.equals(name) ? null : unescape(name),
+                Integer.parseInt(split[0]), hiddenSizes, Integer.parseInt(split[split.length - 1]));
+    }
+
+    // Write the catalog into a temporary file, move it over the catalog and
+    // delete the journal merged into it. Called with the catalog locked
+    private void writeCatalog() {
+        Path catalogFile = catalogFile();
+        Path tempFile = null;
+        try {
+            // not Files.createTempFile, which makes the file readable only
+            // by its owner
+            Path newFile = catalogFile.resolveSibling(CATALOG_FILE_NAME + "." + 
+                    Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+            try (BufferedWriter out = Files.newBufferedWriter(newFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW)) {
+                tempFile = newFile;
+                out.write(CATALOG_HEADER);
+                out.write('\n');
+                for (Entry entry : entries.values()) {
+                    writeEntry(out, entry);
+                }
+            }
+            try {
+                Files.move(tempFile, catalogFile, StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+            catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, catalogFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            tempFile = null;
+            Files.deleteIfExists(directory.resolve(JOURNAL_FILE_NAME));
+        }
+        catch (IOException e) {
+            throw new IllegalArgumentException("Cannot write catalog of " + directory, e);
+        }
+        finally {
+            if (tempFile != null) {
+                tempFile.toFile().delete();
+            }
+        }
+    }
+
+    private static void writeEntry(Writer out, Entry entry) throws IOException {
+        out.write(escape(entry.fileName));
+        out.write('\t');
+        out.write(Long.toString(entry.size));
+        out.write('\t');
+        out.write(Long.toString(entry.lastModified));
+        out.write('\t');
+        out.write(entry.contentHash);
+        out.write('\t');
+        NetworkSignature signature = entry.signature;
+        if (signature == null) {
+            out.write(NO_NAME);
+            out.write('\t');
+            out.write(NOT_NETWORK);
+        }
+        else {
+            out.write(signature.getName() == null ? NO_NAME : escape(signature.getName()));
+            out.write('\t');
+            out.write(Integer.toString(signature.getNumberInputs()));
+            for (int hiddenSize : signature.getHiddenLayerSizes()) {
+                out.write(',');
+                out.write(Integer.toString(hiddenSize));
+            }
+            out.write(',');
+            out.write(Integer.toString(signature.getNumberOutputs()));
+        }
+        out.write('\n');
+    }
+
+    private static String escape(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String unescape(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            if (++i == s.length()) {
+                throw new IllegalArgumentException("Wrong escape sequence in " + s);
+            }
+            switch (s.charAt(i)) {
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                default:
+                    sb.append(s.charAt(i));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,382 @@
+package neuralnetwork.commons.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import neuralnetwork.NeuralNetwork;
+
+/**
+ * Comparator of the weights and biases of two networks with the same
+ * structure, e.g. two checkpoints of a training. The networks are compared
+ * in place: {@link NeuralNetwork} objects are read value by value and
+ * {@link NetworkSnapshot} objects straight from their flat arrays, so
+ * nothing is copied. Layers of more than 65536 values are split into parts
+ * compared in parallel in the common {@link ForkJoinPool}.
+ * <p>
+ * The networks must not be changed while they are compared.
+ * @author Konstantin Zhdanov
+ */
+public final class NetworkComparator {
+
+    // values of a layer compared by one task
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private NetworkComparator() {
+    }
+
+    /**
+     * Compare all the weights and biases of the {@code expected} and
+     * {@code actual} networks.
+     * @param expected {@link NeuralNetwork} to compare.
+     * @param actual {@link NeuralNetwork} with the same structure as
+     * {@code expected} to compare.
+     * @return {@link List} of {@link LayerDifference} with the differences of
+     * every layer.
+     * @throws NullPointerException if {@code expected} or {@code actual} is
+     * null.
+     * @throws IllegalArgumentException if the networks have different
+     * structure.
+     */
+    public static List<LayerDifference> compare(NeuralNetwork expected, NeuralNetwork actual) {
+        checkStructure(expected, actual);
+        return compare(new Layers(expected, actual));
+    }
+
+    /**
+     * Compare all the weights and biases of the {@code expected} and
+     * {@code actual} snapshots.
+     * @param expected {@link NetworkSnapshot} to compare.
+     * @param actual {@link NetworkSnapshot} with the same structure as
+     * {@code expected} to compare.
+     * @return {@link List} of {@link LayerDifference} with the differences of
+     * every layer.
+     * @throws NullPointerException if {@code expected} or {@code actual} is
+     * null.
+     * @throws IllegalArgumentException if the snapshots have different
+     * structure.
+     */
+    public static List<LayerDifference> compare(NetworkSnapshot expected,
+            NetworkSnapshot actual) {
+        checkStructure(expected, actual);
+        return compare(new Layers(expected, actual));
+    }
+
+    /**
+     * Check if every weight and bias of the {@code actual} network differs
+     * from the one of the {@code expected} network by at most
+     * {@code tolerance}. The comparison stops at the first value beyond the
+     * tolerance.
+     * @param expected {@link NeuralNetwork} to compare.
+     * @param actual {@link NeuralNetwork} with the same structure as
+     * {@code expected} to compare.
+     * @param tolerance Largest allowed absolute difference, cannot be
+     * negative.
+     * @return {@code true} if all the values are within {@code tolerance}.
+     * @throws NullPointerException if {@code expected} or {@code actual} is
+     * null.
+     * @throws IllegalArgumentException if the networks have different
+     * structure or {@code tolerance} is negative.
+     */
+    public static boolean isWithinTolerance(NeuralNetwork expected, NeuralNetwork actual,
+            double tolerance) {
+        checkStructure(expected, actual);
+        return isWithinTolerance(new Layers(expected, actual), tolerance);
+    }
+
+    /**
+     * Check if every weight and bias of the {@code actual} snapshot differs
+     * from the one of the {@code expected} snapshot by at most
+     * {@code tolerance}. The comparison stops at the first value beyond the
+     * tolerance.
+     * @param expected {@link NetworkSnapshot} to compare.
+     * @param actual {@link NetworkSnapshot} with the same structure as
+     * {@code expected} to compare.
+     * @param tolerance Largest allowed absolute difference, cannot be
+     * negative.
+     * @return {@code true} if all the values are within {@code tolerance}.
+     * @throws NullPointerException if {@code expected} or {@code actual} is
+     * null.
+     * @throws IllegalArgumentException if the snapshots have different
+     * structure or {@code tolerance} is negative.
+     */
+    public static boolean isWithinTolerance(NetworkSnapshot expected, NetworkSnapshot actual,
+            double tolerance) {
+        checkStructure(expected, actual);
+        return isWithinTolerance(new Layers(expected, actual), tolerance);
+    }
+
+    private static void checkStructure(NeuralNetwork expected, NeuralNetwork actual) {
+        if (expected == null || actual == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        if (expected.getNumberInputs() != actual.getNumberInputs() ||
+                expected.getNumberOutputs() != actual.getNumberOutputs() ||
+                !Arrays.equals(expected.getHiddenLayerSizes(),
+                        actual.getHiddenLayerSizes())) {
+            throw new IllegalArgumentException("Networks must have the same structure");
+        }
+    }
+
+    private static void checkStructure(NetworkSnapshot expected, NetworkSnapshot actual) {
+        if (expected == null || actual == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        if (!expected.matches(actual)) {
+            throw new IllegalArgumentException("Networks must have the same structure");
+        }
+    }
+
+    private static boolean isWithinTolerance(Layers layers, double tolerance) {
+        if (!(tolerance >= 0)) {
+            throw new IllegalArgumentException("Tolerance cannot be negative");
+        }
+        AtomicBoolean mismatch = new AtomicBoolean();
+        for (int layerIdx = 0; layerIdx < layers.count() && !mismatch.get(); layerIdx++) {
+            int nValues = layers.size(layerIdx);
+            RangeCheck task = new RangeCheck(layers, layerIdx, 0, nValues, tolerance, mismatch);
+            if (nValues <= CHUNK_SIZE) {
+                task.compute();
+            }
+            else {
+                ForkJoinPool.commonPool().invoke(task);
+            }
+        }
+        return !mismatch.get();
+    }
+
+    private static List<LayerDifference> compare(Layers layers) {
+        List<LayerDifference> differences = new ArrayList<>(layers.count());
+        for (int layerIdx = 0; layerIdx < layers.count(); layerIdx++) {
+            int nValues = layers.size(layerIdx);
+            RangeCompare task = new RangeCompare(layers, layerIdx, 0, nValues);
+            Differences layer = nValues <= CHUNK_SIZE ?
+                    task.compute() : ForkJoinPool.commonPool().invoke(task);
+            differences.add(new LayerDifference(layerIdx, nValues, layer.max,
+                    layer.sum / nValues));
+        }
+        return differences;
+    }
+
+    // 0 for two values with the same bits, so that equal NaNs don't differ
+    private static double difference(double expected, double actual) {
+        return Double.doubleToLongBits(expected) == Double.doubleToLongBits(actual) ?
+                0 : Math.abs(expected - actual);
+    }
+
+    /**
+     * Layers of the two networks, either flat arrays of snapshots or
+     * networks read value by value.
+     */
+    private static final class Layers {
+        final NeuralNetwork expected;
+        final NeuralNetwork actual;
+        final NetworkSnapshot expectedSnapshot;
+        final NetworkSnapshot actualSnapshot;
+
+        Layers(NeuralNetwork expected, NeuralNetwork actual) {
+            this.expected = expected;
+            this.actual = actual;
+            this.expectedSnapshot = null;
+            this.actualSnapshot = null;
+        }
+
+        Layers(NetworkSnapshot expected, NetworkSnapshot actual) {
+            this.expected = null;
+            this.actual = null;
+            this.expectedSnapshot = expected;
+            this.actualSnapshot = actual;
+        }
+
+        int count() {
+            return expected != null ?
+                    NetworkLayers.count(expected) : expectedSnapshot.getNumberLayers();
+        }
+
+        int prevLayerSize(int layerIdx) {
+            return expected != null ? NetworkLayers.prevLayerSize(expected, layerIdx) :
+                    expectedSnapshot.getPrevLayerSize(layerIdx);
+        }
+
+        int layerSize(int layerIdx) {
+            return expected != null ? NetworkLayers.layerSize(expected, layerIdx) :
+                    expectedSnapshot.getLayerSize(layerIdx);
+        }
+
+        // the network values are read with int indexes, so a layer must fit
+        // in an array like in a snapshot
+        int size(int layerIdx) {
+            long size = (prevLayerSize(layerIdx) + 1L) * layerSize(layerIdx);
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Layer " + layerIdx + " is too large");
+            }
+            return (int)size;
+        }
+    }
+
+    /**
+     * Sum and maximum of the absolute differences of a part of a layer.
+     */
+    private static final class Differences {
+        double sum;
+        double max;
+
+        void add(double expected, double actual) {
+            double difference = difference(expected, actual);
+            sum += difference;
+            max = Math.max(max, difference);
+        }
+
+        Differences merge(Differences other) {
+            sum += other.sum;
+            max = Math.max(max, other.max);
+            return this;
+        }
+    }
+
+    // Sum up the differences of the values from to to of a layer in the
+    // order of the binary network format
+    private static final class RangeCompare extends RecursiveTask<Differences> {
+        private static final long serialVersionUID = 1L;
+
+        private final Layers layers;
+        private final int layerIdx;
+        private final int from;
+        private final int to;
+
+        RangeCompare(Layers layers, int layerIdx, int from, int to) {
+            this.layers = layers;
+            this.layerIdx = layerIdx;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Differences compute() {
+            if (to - from > CHUNK_SIZE) {
+                int middle = from + (to - from) / 2;
+                RangeCompare left = new RangeCompare(layers, layerIdx, from, middle);
+                left.fork();
+                Differences right = new RangeCompare(layers, layerIdx, middle, to).compute();
+                return left.join().merge(right);
+            }
+            Differences differences = new Differences();
+            if (layers.expected == null) {
+                double[] expected = layers.expectedSnapshot.values();
+                double[] actual = layers.actualSnapshot.values();
+                int offset = layers.expectedSnapshot.getLayerOffset(layerIdx);
+                for (int i = offset + from; i < offset + to; i++) {
+                    differences.add(expected[i], actual[i]);
+                }
+                return differences;
+            }
+            // the weights up to weightsEnd and then the biases
+            NeuralNetwork expected = layers.expected;
+            NeuralNetwork actual = layers.actual;
+            int layerSize = layers.layerSize(layerIdx);
+            int weightsEnd = Math.min(to, layers.prevLayerSize(layerIdx) * layerSize);
+            int prevNeuron = from / layerSize;
+            int curNeuron = from % layerSize;
+            for (int i = from; i < weightsEnd; i++) {
+                differences.add(expected.getWeight(layerIdx, prevNeuron, curNeuron),
+                        actual.getWeight(layerIdx, prevNeuron, curNeuron));
+                if (++curNeuron == layerSize) {
+                    curNeuron = 0;
+                    prevNeuron++;
+                }
+            }
+            for (int i = Math.max(from, weightsEnd); i < to; i++) {
+                differences.add(expected.getBias(layerIdx, curNeuron),
+                        actual.getBias(layerIdx, curNeuron));
+                curNeuron++;
+            }
+            return differences;
+        }
+    }
+
+    // Check the values from to to of a layer against the tolerance. The
+    // first value beyond it sets mismatch, which stops all the tasks not
+    // started or split yet
+    private static final class RangeCheck extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Layers layers;
+        private final int layerIdx;
+        private final int from;
+        private final int to;
+        private final double tolerance;
+        private final AtomicBoolean mismatch;
+
+        RangeCheck(Layers layers, int layerIdx, int from, int to, double tolerance,
+                AtomicBoolean mismatch) {
+            this.layers = layers;
+            this.layerIdx = layerIdx;
+            this.from = from;
+            this.to = to;
+            this.tolerance = tolerance;
+            this.mismatch = mismatch;
+        }
+
+        @Override
+        protected void compute() {
+            if (mismatch.get()) {
+                return;
+            }
+            if (to - from > CHUNK_SIZE) {
+                int middle = from + (to - from) / 2;
+                RangeCheck left = new RangeCheck(layers, layerIdx, from, middle, tolerance,
+                        mismatch);
+                left.fork();
+                new RangeCheck(layers, layerIdx, middle, to, tolerance, mismatch).compute();
+                left.join();
+                return;
+            }
+            boolean within = layers.expected != null ? checkNetworks() : checkSnapshots();
+            if (!within) {
+                mismatch.set(true);
+            }
+        }
+
+        private boolean checkSnapshots() {
+            double[] expected = layers.expectedSnapshot.values();
+            double[] actual = layers.actualSnapshot.values();
+            int offset = layers.expectedSnapshot.getLayerOffset(layerIdx);
+            for (int i = offset + from; i < offset + to; i++) {
+                if (!(difference(expected[i], actual[i]) <= tolerance)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean checkNetworks() {
+            NeuralNetwork expected = layers.expected;
+            NeuralNetwork actual = layers.actual;
+            int layerSize = layers.layerSize(layerIdx);
+            int weightsEnd = Math.min(to, layers.prevLayerSize(layerIdx) * layerSize);
+            int prevNeuron = from / layerSize;
+            int curNeuron = from % layerSize;
+            for (int i = from; i < weightsEnd; i++) {
+                if (!(difference(expected.getWeight(layerIdx, prevNeuron, curNeuron),
+                        actual.getWeight(layerIdx, prevNeuron, curNeuron)) <= tolerance)) {
+                    return false;
+                }
+                if (++curNeuron == layerSize) {
+                    curNeuron = 0;
+                    prevNeuron++;
+                }
+            }
+            for (int i = Math.max(from, weightsEnd); i < to; i++) {
+                if (!(difference(expected.getBias(layerIdx, curNeuron),
+                        actual.getBias(layerIdx, curNeuron)) <= tolerance)) {
+                    return false;
+                }
+                curNeuron++;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package neuralnetwork.commons.util;
+
+import java.io.ObjectStreamConstants;
+
+/**
+ * Formats of the network files written by {@link NeuralNetworkFileUtils},
+ * recognized by the first bytes of the (decompressed) data.
+ * @author Konstantin Zhdanov
+ */
+enum NetworkFileFormat {
+    /**
+     * Binary network format, see {@link BinaryNetworkFormat}.
+     */
+    BINARY,
+    /**
+     * Java serialization of the network object.
+     */
+    SERIALIZED,
+    /**
+     * Text network format.
+     */
+    TEXT;
+
+    /**
+     * Number of bytes needed to recognize a format.
+     */
+    static final int DETECT_LENGTH = BinaryNetworkFormat.MAGIC.length;
+
+    /**
+     * Find the format of data by its first bytes.
+     * @param start Array holding the first bytes of the data.
+     * @param length Number of bytes in {@code start}, can be less than
+     * {@link #DETECT_LENGTH} for short data.
+     * @return {@link NetworkFileFormat} of the data, {@link #TEXT} if it is
+     * not a binary format.
+     */
+    static NetworkFileFormat detect(byte[] start, int length) {
+        if (length >= BinaryNetworkFormat.MAGIC.length) {
+            boolean binary = true;
+            for (int i = 0; i < BinaryNetworkFormat.MAGIC.length; i++) {
+                binary &= start[i] == BinaryNetworkFormat.MAGIC[i];
+            }
+            if (binary) {
+                return BINARY;
+            }
+        }
+        if (length >= 2 && (short)((start[0] & 0xFF) << 8 | start[1] & 0xFF) ==
+                ObjectStreamConstants.STREAM_MAGIC) {
+            return SERIALIZED;
+        }
+        return TEXT;
+    }
+}
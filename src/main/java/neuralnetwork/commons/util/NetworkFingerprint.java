@@ -0,0 +1,223 @@
+package neuralnetwork.commons.util;
+
+import java.util.function.DoubleUnaryOperator;
+import neuralnetwork.NeuralNetwork;
+
+/**
+ * 128-bit hash of the content of a network: the number of inputs, the sizes
+ * of the hidden layers, the number of outputs and the bits of all the
+ * weights and biases. Networks with the same fingerprint are the same
+ * network with overwhelming probability, so a fingerprint can be used as a
+ * cache key or to skip saving a network which didn't change. The name of a
+ * network is not part of the fingerprint.
+ * <p>
+ * The fingerprint is the MurmurHash3 x64 128-bit hash with seed 0 of the
+ * little-endian 64-bit integers: the number of inputs, the number of the
+ * hidden layers, their sizes, the number of outputs and then the bits of
+ * every weight and bias in the order of {@link NetworkSnapshot} as given by
+ * {@link Double#doubleToLongBits}. It is computed in one pass over the
+ * values without copying them and doesn't change between versions and
+ * platforms. Two values with different bits, such as 0 and -0, make
+ * different fingerprints.
+ * @author Konstantin Zhdanov
+ */
+public final class NetworkFingerprint {
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private final long mostSigBits;
+    private final long leastSigBits;
+
+    /**
+     * Create a fingerprint from its bits.
+     * @param mostSigBits The first 64 bits of the hash.
+     * @param leastSigBits The last 64 bits of the hash.
+     */
+    public NetworkFingerprint(long mostSigBits, long leastSigBits) {
+        this.mostSigBits = mostSigBits;
+        this.leastSigBits = leastSigBits;
+    }
+
+    /**
+     * Compute the fingerprint of the {@code nn} network. The network must not
+     * be changed by other threads while it is hashed.
+     * @param nn {@link NeuralNetwork} to hash.
+     * @return {@link NetworkFingerprint} of {@code nn}.
+     * @throws NullPointerException if {@code nn} is null.
+     */
+    public static NetworkFingerprint of(NeuralNetwork nn) {
+        if (nn == null) {
+            throw new NullPointerException("Network cannot be null");
+        }
+        return of(nn, WeightPrecision.DOUBLE);
+    }
+
+    /**
+     * Compute the fingerprint of the network read back from the binary
+     * format after {@code nn} is written in the {@code precision} precision,
+     * without writing it.
+     * @param nn {@link NeuralNetwork} to hash.
+     * @param precision {@link WeightPrecision} the values are rounded to.
+     * @return {@link NetworkFingerprint} of the rounded {@code nn}.
+     * @throws IllegalArgumentException if {@code nn} cannot be quantized.
+     */
+    static NetworkFingerprint of(NeuralNetwork nn, WeightPrecision precision) {
+        Hasher hasher = new Hasher();
+        hasher.add(nn.getNumberInputs());
+        hasher.add(nn.getNumberHiddenLayers());
+        for (int hiddenSize : nn.getHiddenLayerSizes()) {
+            hasher.add(hiddenSize);
+        }
+        hasher.add(nn.getNumberOutputs());
+        for (int layerIdx = 0; layerIdx < NetworkLayers.count(nn); layerIdx++) {
+            int prevLayerSize = NetworkLayers.prevLayerSize(nn, layerIdx);
+            int layerSize = NetworkLayers.layerSize(nn, layerIdx);
+            DoubleUnaryOperator rounding = BinaryNetworkFormat.rounding(nn, layerIdx, precision);
+            for (int prevNeuron = 0; prevNeuron < prevLayerSize; prevNeuron++) {
+                for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+                    hasher.add(Double.doubleToLongBits(rounding.applyAsDouble(
+                            nn.getWeight(layerIdx, prevNeuron, curNeuron))));
+                }
+            }
+            for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+                hasher.add(Double.doubleToLongBits(rounding.applyAsDouble(
+                        nn.getBias(layerIdx, curNeuron))));
+            }
+        }
+        return hasher.finish();
+    }
+
+    /**
+     * Compute the fingerprint of the network copied into {@code snapshot},
+     * which is the same as the fingerprint of the network.
+     * @param snapshot {@link NetworkSnapshot} to hash.
+     * @return {@link NetworkFingerprint} of the copied network.
+     * @throws NullPointerException if {@code snapshot} is null.
+     */
+    public static NetworkFingerprint of(NetworkSnapshot snapshot) {
+        if (snapshot == null) {
+            throw new NullPointerException("Snapshot cannot be null");
+        }
+        Hasher hasher = new Hasher();
+        hasher.add(snapshot.getNumberInputs());
+        hasher.add(snapshot.getNumberLayers() - 1);
+        for (int hiddenSize : snapshot.getHiddenLayerSizes()) {
+            hasher.add(hiddenSize);
+        }
+        hasher.add(snapshot.getNumberOutputs());
+        for (double value : snapshot.values()) {
+            hasher.add(Double.doubleToLongBits(value));
+        }
+        return hasher.finish();
+    }
+
+    /**
+     * Get the first 64 bits of the fingerprint.
+     * @return The most significant bits.
+     */
+    public long getMostSignificantBits() {
+        return mostSigBits;
+    }
+
+    /**
+     * Get the last 64 bits of the fingerprint.
+     * @return The least significant bits.
+     */
+    public long getLeastSignificantBits() {
+        return leastSigBits;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof NetworkFingerprint)) {
+            return false;
+        }
+        NetworkFingerprint other = (NetworkFingerprint)obj;
+        return mostSigBits == other.mostSigBits && leastSigBits == other.leastSigBits;
+    }
+
+    @Override
+    public int hashCode() {
+        // the bits are already well mixed
+        return (int)leastSigBits;
+    }
+
+    /**
+     * Get the fingerprint as 32 hexadecimal digits, the most significant
+     * first.
+     * @return {@link String} of the fingerprint.
+     */
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", mostSigBits, leastSigBits);
+    }
+
+    /**
+     * MurmurHash3 x64 128-bit taking the data 8 bytes at a time.
+     */
+    private static final class Hasher {
+        private long h1;
+        private long h2;
+        private long pending;
+        private boolean hasPending;
+        private long length;
+
+        void add(long value) {
+            if (hasPending) {
+                mixBlock(pending, value);
+            }
+            else {
+                pending = value;
+            }
+            hasPending = !hasPending;
+            length += 8;
+        }
+
+        NetworkFingerprint finish() {
+            if (hasPending) {
+                // a tail of 8 bytes is mixed into h1 only
+                h1 ^= mixK1(pending);
+            }
+            h1 ^= length;
+            h2 ^= length;
+            h1 += h2;
+            h2 += h1;
+            h1 = fmix(h1);
+            h2 = fmix(h2);
+            h1 += h2;
+            h2 += h1;
+            return new NetworkFingerprint(h1, h2);
+        }
+
+        private void mixBlock(long k1, long k2) {
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        private static long mixK1(long k1) {
+            return Long.rotateLeft(k1 * C1, 31) * C2;
+        }
+
+        private static long mixK2(long k2) {
+            return Long.rotateLeft(k2 * C2, 33) * C1;
+        }
+
+        private static long fmix(long k) {
+            k ^= k >>> 33;
+            k *= 0xff51afd7ed558ccdL;
+            k ^= k >>> 33;
+            k *= 0xc4ceb9fe1a85ec53L;
+            k ^= k >>> 33;
+            return k;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package neuralnetwork.commons.util;
+
+import neuralnetwork.NeuralNetwork;
+
+/**
+ * Helper class describing the layers of a {@link NeuralNetwork} the way
+ * the file formats store them: layer 0 connects the inputs with the first
+ * hidden layer, layer {@code i} connects hidden layers {@code i - 1} and
+ * {@code i}, the last layer connects the last hidden layer with the outputs.
+ * @author Konstantin Zhdanov
+ */
+final class NetworkLayers {
+
+    private NetworkLayers() {
+    }
+
+    /**
+     * Get the number of weight layers of the {@code nn} network.
+     * @param nn {@link NeuralNetwork} to get the number of layers of.
+     * @return Number of hidden layers plus one.
+     */
+    static int count(NeuralNetwork nn) {
+        return nn.getNumberHiddenLayers() + 1;
+    }
+
+    /**
+     * Get the number of neurons feeding the layer {@code layerIdx}.
+     * @param nn {@link NeuralNetwork} the layer belongs to.
+     * @param layerIdx Index of the layer.
+     * @return Size of the previous layer (or number of inputs for the first layer).
+     */
+    static int prevLayerSize(NeuralNetwork nn, int layerIdx) {
+        return layerIdx == 0 ? nn.getNumberInputs() : nn.getHiddenLayerSize(layerIdx - 1);
+    }
+
+    /**
+     * Get the number of neurons of the layer {@code layerIdx}.
+     * @param nn {@link NeuralNetwork} the layer belongs to.
+     * @param layerIdx Index of the layer.
+     * @return Size of the layer (or number of outputs for the last layer).
+     */
+    static int layerSize(NeuralNetwork nn, int layerIdx) {
+        return layerIdx == nn.getNumberHiddenLayers() ?
+                nn.getNumberOutputs() : nn.getHiddenLayerSize(layerIdx);
+    }
+}
@@ -0,0 +1,137 @@
+package neuralnetwork.commons.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+import neuralnetwork.NamedNeuralNetwork;
+import neuralnetwork.NeuralNetwork;
+
+/**
+ * Name and architecture of a network stored in a file: the number of
+ * inputs, the sizes of the hidden layers and the number of outputs.
+ * @author Konstantin Zhdanov
+ */
+public final class NetworkSignature {
+    private final String name;
+    private final int nInputs;
+    private final int[] hiddenSizes;
+    private final int nOutputs;
+
+    /**
+     * Create a signature.
+     * @param name {@link String} name of the network or {@code null} if the
+     * network has no name.
+     * @param nInputs Number of inputs.
+     * @param hiddenSizes Sizes of the hidden layers.
+     * @param nOutputs Number of outputs.
+     * @throws NullPointerException if {@code hiddenSizes} is null.
+     */
+    public NetworkSignature(String name, int nInputs, int[] hiddenSizes, int nOutputs) {
+        if (hiddenSizes == null) {
+            throw new NullPointerException("Hidden layer sizes cannot be null");
+        }
+        this.name = name;
+        this.nInputs = nInputs;
+        this.hiddenSizes = hiddenSizes.clone();
+        this.nOutputs = nOutputs;
+    }
+
+    /**
+     * Create the signature of the {@code nn} network.
+     * @param nn {@link NeuralNetwork} to get the signature of.
+     * @return {@link NetworkSignature} of {@code nn} with the name of
+     * {@code nn} if it is a {@link NamedNeuralNetwork}.
+     * @throws NullPointerException if {@code nn} is null.
+     */
+    public static NetworkSignature of(NeuralNetwork nn) {
+        if (nn == null) {
+            throw new NullPointerException("Network cannot be null");
+        }
+        String name = nn instanceof NamedNeuralNetwork ? ((NamedNeuralNetwork)nn).getName() : null;
+        return new NetworkSignature(name, nn.getNumberInputs(), nn.getHiddenLayerSizes(),
+                nn.getNumberOutputs());
+    }
+
+    /**
+     * Get the name of the network.
+     * @return {@link String} name of the network or {@code null} if the
+     * network has no name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the number of inputs of the network.
+     * @return Number of inputs.
+     */
+    public int getNumberInputs() {
+        return nInputs;
+    }
+
+    /**
+     * Get the number of hidden layers of the network.
+     * @return Number of hidden layers.
+     */
+    public int getNumberHiddenLayers() {
+        return hiddenSizes.length;
+    }
+
+    /**
+     * Get the sizes of the hidden layers of the network.
+     * @return Copy of the array of the sizes of the hidden layers.
+     */
+    public int[] getHiddenLayerSizes() {
+        return hiddenSizes.clone();
+    }
+
+    /**
+     * Get the number of outputs of the network.
+     * @return Number of outputs.
+     */
+    public int getNumberOutputs() {
+        return nOutputs;
+    }
+
+    /**
+     * Create a network with this signature.
+     * @return {@link NamedNeuralNetwork} if the signature has a name,
+     * {@link NeuralNetwork} otherwise.
+     */
+    NeuralNetwork createNetwork() {
+        if (name == null) {
+            return new NeuralNetwork(nInputs, hiddenSizes.clone(), nOutputs);
+        }
+        return new NamedNeuralNetwork(nInputs, hiddenSizes.clone(), nOutputs, name);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof NetworkSignature)) {
+            return false;
+        }
+        NetworkSignature other = (NetworkSignature)obj;
+        return nInputs == other.nInputs && nOutputs == other.nOutputs &&
+                Arrays.equals(hiddenSizes, other.hiddenSizes) && Objects.equals(name, other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, nInputs, Arrays.hashCode(hiddenSizes), nOutputs);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (name != null) {
+            sb.append(name).append(": ");
+        }
+        sb.append(nInputs);
+        for (int hiddenSize : hiddenSizes) {
+            sb.append(", ").append(hiddenSize);
+        }
+        return sb.append(", ").append(nOutputs).toString();
+    }
+}
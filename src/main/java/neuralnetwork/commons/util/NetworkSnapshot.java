@@ -0,0 +1,326 @@
+package neuralnetwork.commons.util;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import neuralnetwork.NamedNeuralNetwork;
+import neuralnetwork.NeuralNetwork;
+
+/**
+ * Copy of the structure, the weights and the biases of a network in a
+ * single flat array. Taking a snapshot costs one pass over the network and
+ * one allocation, so it can be done on a thread that cannot wait for I/O,
+ * while the snapshot is written later on another thread. Code going over the
+ * values several times, e.g. to compare, hash or average networks, reads the
+ * array instead of calling {@link NeuralNetwork#getWeight(int, int, int)}
+ * for every value on every pass.
+ * <p>
+ * The values of every layer (layer 0 connects the inputs with the first
+ * hidden layer, the last one connects the last hidden layer with the
+ * outputs) are stored in the order of the binary network format: the
+ * weights ordered by the neuron of the previous layer and then by the
+ * neuron of the layer, followed by the biases. The layers follow each other
+ * without gaps, the values of layer {@code layerIdx} start at
+ * {@link #getLayerOffset(int)}.
+ * <p>
+ * A snapshot is immutable, so it can be shared between threads.
+ * @author Konstantin Zhdanov
+ */
+public final class NetworkSnapshot {
+    private final int nInputs;
+    private final int[] hiddenSizes;
+    private final int nOutputs;
+    // offsets of the layers in values, the last one is the number of values
+    private final int[] layerOffsets;
+    private final double[] values;
+
+    private NetworkSnapshot(int nInputs, int[] hiddenSizes, int nOutputs, int[] layerOffsets,
+            double[] values) {
+        this.nInputs = nInputs;
+        this.hiddenSizes = hiddenSizes;
+        this.nOutputs = nOutputs;
+        this.layerOffsets = layerOffsets;
+        this.values = values;
+    }
+
+    /**
+     * Copy the {@code nn} network. The network must not be changed by other
+     * threads while it is copied.
+     * @param nn {@link NeuralNetwork} to copy.
+     * @return {@link NetworkSnapshot} of {@code nn}.
+     * @throws NullPointerException if {@code nn} is null.
+     * @throws IllegalArgumentException if the network has more values than
+     * an array can hold.
+     */
+    public static NetworkSnapshot capture(NeuralNetwork nn) {
+        if (nn == null) {
+            throw new NullPointerException("Network cannot be null");
+        }
+        int nLayers = NetworkLayers.count(nn);
+        int[] layerOffsets = new int[nLayers + 1];
+        long size = 0;
+        for (int layerIdx = 0; layerIdx < nLayers; layerIdx++) {
+            size += (NetworkLayers.prevLayerSize(nn, layerIdx) + 1L) *
+                    NetworkLayers.layerSize(nn, layerIdx);
+            if (size > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Network is too large for a snapshot");
+            }
+            layerOffsets[layerIdx + 1] = (int)size;
+        }
+
+        double[] values = new double[(int)size];
+        int idx = 0;
+        for (int layerIdx = 0; layerIdx < nLayers; layerIdx++) {
+            int prevLayerSize = NetworkLayers.prevLayerSize(nn, layerIdx);
+            int layerSize = NetworkLayers.layerSize(nn, layerIdx);
+            for (int prevNeuron = 0; prevNeuron < prevLayerSize; prevNeuron++) {
+                for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+                    values[idx++] = nn.getWeight(layerIdx, prevNeuron, curNeuron);
+                }
+            }
+            for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+                values[idx++] = nn.getBias(layerIdx, curNeuron);
+            }
+        }
+        return new NetworkSnapshot(nn.getNumberInputs(), nn.getHiddenLayerSizes().clone(),
+                nn.getNumberOutputs(), layerOffsets, values);
+    }
+
+    /**
+     * Create a new network with the structure and the values of the snapshot.
+     * @param name {@link String} name of the network.
+     * @return {@link NamedNeuralNetwork} equal to the copied network.
+     * @throws NullPointerException if {@code name} is null.
+     */
+    public NeuralNetwork toNetwork(String name) {
+        if (name == null) {
+            throw new NullPointerException("Name cannot be null");
+        }
+        NeuralNetwork nn = new NamedNeuralNetwork(nInputs, hiddenSizes.clone(), nOutputs, name);
+        setValues(nn);
+        return nn;
+    }
+
+    /**
+     * Set the weights and the biases of the {@code nn} network to the values
+     * of the snapshot in one pass.
+     * @param nn {@link NeuralNetwork} with the structure of the copied
+     * network.
+     * @throws NullPointerException if {@code nn} is null.
+     * @throws IllegalArgumentException if {@code nn} has another structure.
+     */
+    public void writeTo(NeuralNetwork nn) {
+        if (nn == null) {
+            throw new NullPointerException("Network cannot be null");
+        }
+        if (!matches(nn)) {
+            throw new IllegalArgumentException("Network has another structure than the snapshot");
+        }
+        setValues(nn);
+    }
+
+    /**
+     * Check if the {@code nn} network has the structure of the copied network.
+     * @param nn {@link NeuralNetwork} to check.
+     * @return {@code true} if {@code nn} has the same numbers of inputs and
+     * outputs and the same hidden layers.
+     * @throws NullPointerException if {@code nn} is null.
+     */
+    public boolean matches(NeuralNetwork nn) {
+        if (nn.getNumberInputs() != nInputs || nn.getNumberOutputs() != nOutputs ||
+                nn.getNumberHiddenLayers() != hiddenSizes.length) {
+            return false;
+        }
+        for (int i = 0; i < hiddenSizes.length; i++) {
+            if (nn.getHiddenLayerSize(i) != hiddenSizes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check if the {@code other} snapshot has the structure of this one.
+     * @param other {@link NetworkSnapshot} to check.
+     * @return {@code true} if the layers of the snapshots have the same sizes.
+     * @throws NullPointerException if {@code other} is null.
+     */
+    public boolean matches(NetworkSnapshot other) {
+        return other.nInputs == nInputs && other.nOutputs == nOutputs &&
+                Arrays.equals(other.hiddenSizes, hiddenSizes);
+    }
+
+    /**
+     * Get the number of inputs of the copied network.
+     * @return Number of inputs.
+     */
+    public int getNumberInputs() {
+        return nInputs;
+    }
+
+    /**
+     * Get the sizes of the hidden layers of the copied network.
+     * @return Copy of the array of the hidden layer sizes.
+     */
+    public int[] getHiddenLayerSizes() {
+        return hiddenSizes.clone();
+    }
+
+    /**
+     * Get the number of outputs of the copied network.
+     * @return Number of outputs.
+     */
+    public int getNumberOutputs() {
+        return nOutputs;
+    }
+
+    /**
+     * Get the number of weight layers of the copied network.
+     * @return Number of hidden layers plus one.
+     */
+    public int getNumberLayers() {
+        return hiddenSizes.length + 1;
+    }
+
+    /**
+     * Get the number of neurons feeding the layer {@code layerIdx}.
+     * @param layerIdx Index of the layer.
+     * @return Size of the previous layer (or number of inputs for the first layer).
+     * @throws IndexOutOfBoundsException if there is no such layer.
+     */
+    public int getPrevLayerSize(int layerIdx) {
+        checkLayer(layerIdx);
+        return layerIdx == 0 ? nInputs : hiddenSizes[layerIdx - 1];
+    }
+
+    /**
+     * Get the number of neurons of the layer {@code layerIdx}.
+     * @param layerIdx Index of the layer.
+     * @return Size of the layer (or number of outputs for the last layer).
+     * @throws IndexOutOfBoundsException if there is no such layer.
+     */
+    public int getLayerSize(int layerIdx) {
+        checkLayer(layerIdx);
+        return layerIdx == hiddenSizes.length ? nOutputs : hiddenSizes[layerIdx];
+    }
+
+    /**
+     * Get the position of the first weight of the layer {@code layerIdx} in
+     * the values of the snapshot. Weight {@code (prevNeuron, curNeuron)} is
+     * at {@code getLayerOffset(layerIdx) + prevNeuron * getLayerSize(layerIdx) + curNeuron}.
+     * @param layerIdx Index of the layer, the number of layers gives the
+     * number of values.
+     * @return Offset of the layer.
+     * @throws IndexOutOfBoundsException if there is no such layer.
+     */
+    public int getLayerOffset(int layerIdx) {
+        if (layerIdx < 0 || layerIdx >= layerOffsets.length) {
+            throw new IndexOutOfBoundsException("No layer " + layerIdx);
+        }
+        return layerOffsets[layerIdx];
+    }
+
+    /**
+     * Get the position of the first bias of the layer {@code layerIdx} in
+     * the values of the snapshot. Bias {@code curNeuron} is at
+     * {@code getBiasOffset(layerIdx) + curNeuron}.
+     * @param layerIdx Index of the layer.
+     * @return Offset of the biases of the layer.
+     * @throws IndexOutOfBoundsException if there is no such layer.
+     */
+    public int getBiasOffset(int layerIdx) {
+        return layerOffsets[layerIdx + 1] - getLayerSize(layerIdx);
+    }
+
+    /**
+     * Get the number of the weights and the biases of the snapshot.
+     * @return Number of values.
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Get a weight of the copied network.
+     * @param layerIdx Index of the layer.
+     * @param prevNeuron Neuron of the previous layer.
+     * @param curNeuron Neuron of the layer.
+     * @return Value of the weight.
+     * @throws IndexOutOfBoundsException if there is no such weight.
+     */
+    public double getWeight(int layerIdx, int prevNeuron, int curNeuron) {
+        int layerSize = getLayerSize(layerIdx);
+        if (prevNeuron < 0 || prevNeuron >= getPrevLayerSize(layerIdx) ||
+                curNeuron < 0 || curNeuron >= layerSize) {
+            throw new IndexOutOfBoundsException("No weight " + prevNeuron + ", " + curNeuron +
+                    " in layer " + layerIdx);
+        }
+        return values[layerOffsets[layerIdx] + prevNeuron * layerSize + curNeuron];
+    }
+
+    /**
+     * Get a bias of the copied network.
+     * @param layerIdx Index of the layer.
+     * @param curNeuron Neuron of the layer.
+     * @return Value of the bias.
+     * @throws IndexOutOfBoundsException if there is no such bias.
+     */
+    public double getBias(int layerIdx, int curNeuron) {
+        if (curNeuron < 0 || curNeuron >= getLayerSize(layerIdx)) {
+            throw new IndexOutOfBoundsException("No bias " + curNeuron + " in layer " + layerIdx);
+        }
+        return values[getBiasOffset(layerIdx) + curNeuron];
+    }
+
+    /**
+     * Get all the values of the snapshot without copying them.
+     * @return Read-only {@link DoubleBuffer} of the values, positioned at 0.
+     */
+    public DoubleBuffer getValues() {
+        return DoubleBuffer.wrap(values).asReadOnlyBuffer();
+    }
+
+    /**
+     * Get the weights and the biases of the layer {@code layerIdx} without
+     * copying them.
+     * @param layerIdx Index of the layer.
+     * @return Read-only {@link DoubleBuffer} of the values of the layer,
+     * positioned at 0.
+     * @throws IndexOutOfBoundsException if there is no such layer.
+     */
+    public DoubleBuffer getLayerValues(int layerIdx) {
+        checkLayer(layerIdx);
+        return DoubleBuffer.wrap(values, layerOffsets[layerIdx],
+                layerOffsets[layerIdx + 1] - layerOffsets[layerIdx]).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Get the array of the values for the code of this package, which must
+     * not change it.
+     * @return Values of the snapshot.
+     */
+    double[] values() {
+        return values;
+    }
+
+    private void setValues(NeuralNetwork nn) {
+        int idx = 0;
+        for (int layerIdx = 0; layerIdx < NetworkLayers.count(nn); layerIdx++) {
+            int prevLayerSize = NetworkLayers.prevLayerSize(nn, layerIdx);
+            int layerSize = NetworkLayers.layerSize(nn, layerIdx);
+            for (int prevNeuron = 0; prevNeuron < prevLayerSize; prevNeuron++) {
+                for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+                    nn.setWeight(layerIdx, prevNeuron, curNeuron, values[idx++]);
+                }
+            }
+            for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+                nn.setBias(layerIdx, curNeuron, values[idx++]);
+            }
+        }
+    }
+
+    private void checkLayer(int layerIdx) {
+        if (layerIdx < 0 || layerIdx > hiddenSizes.length) {
+            throw new IndexOutOfBoundsException("No layer " + layerIdx);
+        }
+    }
+}
@@ -1,333 +1,1708 @@
-package neuralnetwork.commons.util;
-
-import java.io.BufferedReader;
-import neuralnetwork.NamedNeuralNetwork;
-import neuralnetwork.NeuralNetwork;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.io.OutputStream;
-import java.io.Reader;
-import java.io.Writer;
-import java.util.Arrays;
-import java.util.stream.Collectors;
-
-/**
- * Helper class for serializing and de-serializing {@link NeuralNetwork} objects
- * to/from files.
- * @author Konstantin Zhdanov
- */
-public class NeuralNetworkFileUtils {
-    
-    /**
-     * Save the {@code nn} network with name {@code name} into a file with path 
-     * {@code fileName}.
-     * @param nn {@link NeuralNetwork} to be written in file {@code fileName} along
-     * with the name {@code name}.
-     * @param name {@link String} name to be written in file {@code fileName} along 
-     * with the network {@code nn}.
-     * @param fileName Path to the file where the {@code nn} will be saved.
-     * @throws NullPointerException if {@code nn}, {@code name} or {@code fileName}
-     * is null.
-     * @throws IllegalArgumentException if there was an error while saving the 
-     * network.
-     */
-    public static void saveWithName(NeuralNetwork nn, String name, String fileName) {
-        if (nn == null || name == null || fileName == null) {
-            throw new NullPointerException("Arguments cannot be null");
-        }
-        File file = new File(fileName);
-        try (OutputStream out = new FileOutputStream(file)) {
-            try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
-                oos.writeObject(new NamedNeuralNetwork(nn, name));
-            }
-        }
-        catch(IOException e) {
-            throw new IllegalArgumentException("Cannot write into file", e);
-        }
-    }
-    
-    /**
-     * Save the {@code nn} network with name {@code name} into a text file with 
-     * path {@code fileName} as text.
-     * @param nn {@link NeuralNetwork} to be written in file {@code fileName} along
-     * with the name {@code name}.
-     * @param name {@link String} name to be written in file {@code fileName} along 
-     * with the network {@code nn}.
-     * @param fileName Path to the file where the {@code nn} will be saved.
-     * @throws NullPointerException if {@code nn}, {@code name} or {@code fileName}
-     * is null.
-     * @throws IllegalArgumentException if there was an error while saving the 
-     * network.
-     */
-    public static void saveWithNameAsText(NeuralNetwork nn, String name, String fileName) {
-        if (nn == null || name == null || fileName == null) {
-            throw new NullPointerException("Arguments cannot be null");
-        }
-        File file = new File(fileName);
-        try (Writer out = new FileWriter(file)) {
-            // write name
-            out.write(name);
-            out.write("\n");
-            
-            // write signature
-            String hiddenSizes = Arrays.stream(nn.getHiddenLayerSizes()).
-                    mapToObj(v -> String.valueOf(v)).collect(
-                            Collectors.joining(", "));
-            String signature = String.format("%d, %s, %d", nn.getNumberInputs(),
-                    hiddenSizes, nn.getNumberOutputs());
-            out.write(signature);
-            out.write("\n");
-
-            int curLayerIdx = 0;
-            int prevLayerSize = nn.getNumberInputs();
-            int curLayerSize = nn.getHiddenLayerSize(curLayerIdx);
-
-            // input <--> layer 1
-            String layerStr = layerToString(nn, curLayerIdx, 
-                    curLayerSize, prevLayerSize);
-            out.write(layerStr);
-            out.write("\n");
-
-            // hidden layers
-            for (curLayerIdx = 1; curLayerIdx < nn.getNumberHiddenLayers(); curLayerIdx++) {
-                prevLayerSize = nn.getHiddenLayerSize(curLayerIdx - 1);
-                curLayerSize = nn.getHiddenLayerSize(curLayerIdx);
-                layerStr = layerToString(nn, curLayerIdx, 
-                    curLayerSize, prevLayerSize);
-                out.write(layerStr);
-                out.write("\n");
-            }
-            
-            // last layer <--> output
-            prevLayerSize = nn.getHiddenLayerSize(nn.getNumberHiddenLayers() - 1);
-            curLayerSize = nn.getNumberOutputs();
-            curLayerIdx = nn.getNumberHiddenLayers();
-            layerStr = layerToString(nn, curLayerIdx, 
-                curLayerSize, prevLayerSize);
-            out.write(layerStr);
-            out.flush();
-        }
-        catch (IOException e) {
-            throw new IllegalArgumentException("Cannot write into file", e);
-        }
-    }
-    
-    private static String layerToString(NeuralNetwork nn, int layerNum, int layerSize, 
-            int prevLayerSize) {
-        StringBuilder sb = new StringBuilder();
-        for (int prevNeuron = 0; prevNeuron < prevLayerSize - 1; prevNeuron++) {
-            for (int curNeuron = 0; curNeuron < layerSize - 1; curNeuron++) {
-                sb.append(nn.getWeight(layerNum, prevNeuron, curNeuron));
-                sb.append(" ");
-            }
-            sb.append(nn.getWeight(layerNum, prevNeuron, layerSize - 1));
-            sb.append("\n");
-        }
-        
-        // last neuron of layerNum - 1
-        for (int curNeuron = 0; curNeuron < layerSize - 1; curNeuron++) {
-            sb.append(nn.getWeight(layerNum, prevLayerSize - 1, curNeuron));
-            sb.append(" ");
-        }
-        sb.append(nn.getWeight(layerNum, prevLayerSize - 1, layerSize - 1));
-        sb.append("\n");
-        
-        // biases
-        for (int curNeuron = 0; curNeuron < layerSize - 1; curNeuron++) {
-            sb.append(nn.getBias(layerNum, curNeuron));
-            sb.append(" ");
-        }
-        sb.append(nn.getBias(layerNum, layerSize - 1));
-        
-        return sb.toString();
-    }
-    
-    /**
-     * Load instance of {@link NeuralNetwork} from a binary file with path 
-     * {@code fileName}.
-     * @param fileName {@link String} path to a binary file containing an
-     * instance of {@link NeuralNetwork}.
-     * @return An instance of {@link NeuralNetwork} loaded from file {@code fileName}.
-     * @throws NullPointerException if {@code fileName} is {@code null}.
-     * @throws IllegalArgumentException if there was an error while reading the
-     * file.
-     */
-    public static NeuralNetwork load(String fileName) {
-        if (fileName == null) {
-            throw new NullPointerException("File name cannot be null");
-        }
-        NeuralNetwork nn;
-        File file = new File(fileName);
-        try (InputStream in = new FileInputStream(file)) {
-            try (ObjectInputStream oos = new ObjectInputStream(in)) {
-                nn = (NeuralNetwork)oos.readObject();
-            }
-        }
-        catch(IOException e) {
-            throw new IllegalArgumentException("Cannot read from file", e);
-        }
-        catch(ClassNotFoundException | ClassCastException e) {
-            throw new IllegalArgumentException("Wrong file format", e);
-        }
-        return nn;
-    }
-    
-    /**
-     * Load instance of {@link NeuralNetwork} from a text file with path 
-     * {@code fileName}.
-     * @param fileName {@link String} path to a text file containing an
-     * instance of {@link NeuralNetwork}.
-     * @return An instance of {@link NeuralNetwork} loaded from file {@code fileName}.
-     * @throws NullPointerException if {@code fileName} is {@code null}.
-     * @throws IllegalArgumentException if there was an error while reading the
-     * file.
-     */
-    public static NeuralNetwork loadFromTextFile(String fileName) {
-        if (fileName == null) {
-            throw new NullPointerException("File name cannot be null");
-        }
-        File file = new File(fileName);
-
-        // Read name and signature
-        String name;
-        String[] signatureSplit;
-        try (Reader in = new FileReader(file)) {
-            try (BufferedReader bufIn = new BufferedReader(in)) {
-                name = bufIn.readLine();
-                String signature = bufIn.readLine();
-                signatureSplit = signature.split(", ");
-                if (signatureSplit.length < 3) {
-                    // try split the name
-                    signatureSplit = name.split(", ");
-                    if (signatureSplit.length < 3) {
-                        throw new IOException("Cannot read signature");
-                    }
-                    name = null;
-                }
-            }
-        }
-        catch (IOException | NumberFormatException e) {
-            throw new IllegalArgumentException("Wrong file format: " + e.toString(), e);
-        }
-        
-        NeuralNetwork nn = parseEmptyNetwork(name, signatureSplit);
-        
-        fillNetworkFromFile(nn, file, name != null);
-        
-        return nn;
-    }
-
-    private static NeuralNetwork parseEmptyNetwork(String name, String[] signatureSplit) {
-        NeuralNetwork nn;
-        int nInputs = Integer.parseInt(signatureSplit[0]);
-        int nOutputs = Integer.parseInt(signatureSplit[signatureSplit.length - 1]);
-        int[] hiddenSizes = new int[signatureSplit.length - 2];
-        if (hiddenSizes.length < 1) {
-            throw new IllegalArgumentException("There must be at least one hidden layer");
-        }
-        for (int i = 0; i < hiddenSizes.length; i++) {
-            hiddenSizes[i] = Integer.parseInt(signatureSplit[i + 1]);
-        }
-        if (name == null) {
-            // create NeuralNetwork
-            nn = new NeuralNetwork(nInputs, hiddenSizes, nOutputs);
-        }
-        else {
-            // create NamedNeuralNetwork
-            nn = new NamedNeuralNetwork(nInputs, hiddenSizes, nOutputs,
-                    name);
-        }
-        return nn;
-    }
-
-    private static void fillNetworkFromFile(NeuralNetwork nn, File file, boolean namePresent) {
-        try (Reader in = new FileReader(file)) {
-            try (BufferedReader bufIn = new BufferedReader(in)) {
-                bufIn.readLine();
-                if (namePresent) {
-                    // There is a name in file => skip another line
-                    bufIn.readLine();
-                }
-
-                // input <--> first hidden
-                int curLayerIdx = 0;
-                int prevLayerSize = nn.getNumberInputs();
-                int curLayerSize = nn.getHiddenLayerSize(curLayerIdx);
-
-                readLayerIntoNetwork(nn, curLayerIdx, curLayerSize, 
-                        prevLayerSize, bufIn);
-
-                // hidden layers
-                for (curLayerIdx = 1; curLayerIdx < nn.getNumberHiddenLayers(); curLayerIdx++) {
-                    prevLayerSize = nn.getHiddenLayerSize(curLayerIdx - 1);
-                    curLayerSize = nn.getHiddenLayerSize(curLayerIdx);
-                    readLayerIntoNetwork(nn, curLayerIdx, curLayerSize, 
-                        prevLayerSize, bufIn);
-                }
-
-                // last layer <--> output
-                prevLayerSize = nn.getHiddenLayerSize(nn.getNumberHiddenLayers() - 1);
-                curLayerSize = nn.getNumberOutputs();
-                curLayerIdx = nn.getNumberHiddenLayers();
-                readLayerIntoNetwork(nn, curLayerIdx, curLayerSize, 
-                        prevLayerSize, bufIn);
-            }
-        }
-        catch (IOException | NumberFormatException e) {
-            throw new IllegalArgumentException("Wrong file format: " + e.toString(), e);
-        }
-    }
-    
-    private static void readLayerIntoNetwork(NeuralNetwork nn, int layerNum, int layerSize, 
-            int prevLayerSize, BufferedReader br) throws IOException, NumberFormatException {
-        String line;
-        String[] lineSplit;
-        int expectedSize = layerSize;
-        int curWeightIdx;
-        for (int prevNeuron = 0; prevNeuron < prevLayerSize - 1; prevNeuron++) {
-            line = br.readLine();
-            lineSplit = line.split(" ");
-            if (lineSplit.length != expectedSize) {
-                throw new IOException("Wrong number of weights for layer");
-            }
-            curWeightIdx = 0;
-            for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
-                nn.setWeight(layerNum, prevNeuron, curNeuron, 
-                        Double.parseDouble(lineSplit[curWeightIdx++]));
-            }
-        }
-        
-        // last neuron of layerNum - 1
-        line = br.readLine();
-        lineSplit = line.split(" ");
-        expectedSize = layerSize;
-        if (lineSplit.length != expectedSize) {
-            throw new IOException("Wrong number of weights for layer");
-        }
-        curWeightIdx = 0;
-        for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
-            nn.setWeight(layerNum, prevLayerSize - 1, curNeuron, 
-                    Double.parseDouble(lineSplit[curWeightIdx++]));
-        }
-        
-        // biases
-        line = br.readLine();
-        lineSplit = line.split(" ");
-        expectedSize = layerSize;
-        if (lineSplit.length != expectedSize) {
-            throw new IOException("Wrong number of weights for layer");
-        }
-        curWeightIdx = 0;
-        for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
-            nn.setBias(layerNum, curNeuron, Double.parseDouble(lineSplit[curWeightIdx++]));
-        }
-    }
-}
-
+package neuralnetwork.commons.util;
+
+import neuralnetwork.NamedNeuralNetwork;
+import neuralnetwork.NeuralNetwork;
+import neuralnetwork.commons.repository.NamedObjectRepository;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamConstants;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+
+/**
+ * Helper class for serializing and de-serializing {@link NeuralNetwork} objects
+ * to/from files. The operations with whole files report their durations and
+ * the sizes of the files to {@link FileInstrumentation#getListener()}.
+ * @author Konstantin Zhdanov
+ */
+public class NeuralNetworkFileUtils {
+    
+    // enough for the header of a usual network, larger headers are read in parts
+    private static final int SIGNATURE_BUFFER_SIZE = 4096;
+    
+    // layers with fewer non-zero weights are saved as sparse by default
+    private static final double DEFAULT_DENSITY_THRESHOLD = 0.5;
+    
+    /**
+     * Save the {@code nn} network with name {@code name} into a file with path 
+     * {@code fileName}.
+     * @param nn {@link NeuralNetwork} to be written in file {@code fileName} along
+     * with the name {@code name}.
+     * @param name {@link String} name to be written in file {@code fileName} along 
+     * with the network {@code nn}.
+     * @param fileName Path to the file where the {@code nn} will be saved.
+     * @throws NullPointerException if {@code nn}, {@code name} or {@code fileName}
+     * is null.
+     * @throws IllegalArgumentException if there was an error while saving the 
+     * network.
+     */
+    public static void saveWithName(NeuralNetwork nn, String name, String fileName) {
+        saveWithName(nn, name, fileName, Compression.NONE);
+    }
+    
+    /**
+     * Save the {@code nn} network with name {@code name} into a file with path 
+     * {@code fileName} compressing it with {@code compression}. The file can 
+     * be loaded with {@link #load(String)}, which detects the compression.
+     * @param nn {@link NeuralNetwork} to be written in file {@code fileName} along
+     * with the name {@code name}.
+     * @param name {@link String} name to be written in file {@code fileName} along 
+     * with the network {@code nn}.
+     * @param fileName Path to the file where the {@code nn} will be saved.
+     * @param compression {@link Compression} to apply to the file.
+     * @throws NullPointerException if {@code nn}, {@code name}, {@code fileName}
+     * or {@code compression} is null.
+     * @throws IllegalArgumentException if there was an error while saving the 
+     * network.
+     */
+    public static void saveWithName(NeuralNetwork nn, String name, String fileName,
+            Compression compression) {
+        if (nn == null || name == null || fileName == null || compression == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        File file = new File(fileName);
+        FileInstrumentation.run("saveWithName", file, () -> {
+            MessageDigest digest = NetworkCatalog.contentDigest(file);
+            try (OutputStream out = openOutputStream(file, compression, digest)) {
+                writeSerialized(nn, name, out);
+            }
+            catch(IOException e) {
+                throw new IllegalArgumentException("Cannot write into file", e);
+            }
+            updateCatalog(file, nn, name, digest);
+            return null;
+        });
+    }
+    
+    /**
+     * Save the {@code nn} network with name {@code name} into {@code channel}
+     * in the format of {@link #saveWithName(NeuralNetwork, String, String)}.
+     * The data is not compressed. The channel is not closed, so it can be a 
+     * socket, a pipe or an open {@link FileChannel} the caller keeps writing to.
+     * @param nn {@link NeuralNetwork} to be written into {@code channel} along
+     * with the name {@code name}.
+     * @param name {@link String} name to be written into {@code channel} along 
+     * with the network {@code nn}.
+     * @param channel {@link WritableByteChannel} in blocking mode to write the 
+     * network into.
+     * @throws NullPointerException if {@code nn}, {@code name} or {@code channel}
+     * is null.
+     * @throws IllegalArgumentException if there was an error while writing the 
+     * network.
+     */
+    public static void saveWithName(NeuralNetwork nn, String name, WritableByteChannel channel) {
+        if (nn == null || name == null || channel == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        try {
+            writeSerialized(nn, name, Channels.newOutputStream(channel));
+        }
+        catch (IOException e) {
+            throw new IllegalArgumentException("Cannot write into channel", e);
+        }
+    }
+    
+    /**
+     * Save the {@code nn} network with name {@code name} into {@code buffer}
+     * at its position in the format of 
+     * {@link #saveWithName(NeuralNetwork, String, String)}. The data is not 
+     * compressed. The position of {@code buffer} is moved past the network 
+     * if it fits into the remaining bytes and is not changed otherwise.
+     * @param nn {@link NeuralNetwork} to be written into {@code buffer} along
+     * with the name {@code name}.
+     * @param name {@link String} name to be written into {@code buffer} along 
+     * with the network {@code nn}.
+     * @param buffer {@link ByteBuffer} to write the network into, can be direct.
+     * @throws NullPointerException if {@code nn}, {@code name} or {@code buffer}
+     * is null.
+     * @throws IllegalArgumentException if the network doesn't fit into the 
+     * remaining bytes of {@code buffer}.
+     */
+    public static void saveWithName(NeuralNetwork nn, String name, ByteBuffer buffer) {
+        if (nn == null || name == null || buffer == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        writeIntoBuffer(buffer, channel -> saveWithName(nn, name, channel));
+    }
+    
+    private static void writeSerialized(NeuralNetwork nn, String name, OutputStream out) 
+            throws IOException {
+        ObjectOutputStream oos = new ObjectOutputStream(out);
+        // a network made by the library with this name is written as it is, 
+        // a copy would only double the memory of large networks
+        oos.writeObject(nn.getClass() == NamedNeuralNetwork.class && 
+                name.equals(((NamedNeuralNetwork)nn).getName()) ? 
+                nn : new NamedNeuralNetwork(nn, name));
+        oos.flush();
+    }
+    
+    // Write into a duplicate of the buffer, so the position of the buffer 
+    // moves only if the whole network fits
+    private static void writeIntoBuffer(ByteBuffer buffer, 
+            Consumer<WritableByteChannel> writer) {
+        ByteBuffer target = buffer.duplicate();
+        try {
+            writer.accept(new ByteBufferChannel(target));
+        }
+        catch (BufferOverflowException e) {
+            throw new IllegalArgumentException("Buffer is too small", e);
+        }
+        ((Buffer)buffer).position(target.position());
+    }
+    
+    /**
+     * Save the {@code nn} network with name {@code name} into a file with path 
+     * {@code fileName} without waiting for the file to be written. The 
+     * weights and biases are copied into a flat snapshot on the calling thread
+     * before the method returns, so the network can be changed right after 
+     * the call. The file is written as by 
+     * {@link #saveWithName(NeuralNetwork, String, String)} on a background 
+     * thread of the library, one file at a time in the order of the calls.
+     * At most 16 saves wait for the thread: when that many are waiting, the
+     * call blocks until the oldest one is taken by the thread. A save into a
+     * file which still has a waiting save replaces the network of that save
+     * rather than waiting for a place, and the futures of both complete when
+     * the file is written. The thread doesn't keep the JVM running, so wait 
+     * for the returned future before exiting.
+     * @param nn {@link NeuralNetwork} to be written in file {@code fileName} along
+     * with the name {@code name}.
+     * @param name {@link String} name to be written in file {@code fileName} along 
+     * with the network {@code nn}.
+     * @param fileName Path to the file where the {@code nn} will be saved.
+     * @return {@link CompletableFuture} completed when the file is written or
+     * completed exceptionally with {@link IllegalArgumentException} if there 
+     * was an error while saving the network.
+     * @throws NullPointerException if {@code nn}, {@code name} or {@code fileName}
+     * is null.
+     */
+    public static CompletableFuture<Void> saveAsync(NeuralNetwork nn, String name, 
+            String fileName) {
+        if (nn == null || name == null || fileName == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        return AsyncSaveQueue.save(NetworkSnapshot.capture(nn), name, fileName);
+    }
+    
+    /**
+     * Save the {@code nn} network with name {@code name} into a file with path 
+     * {@code fileName} without waiting for the file to be written. The 
+     * weights and biases are copied into a flat snapshot on the calling thread
+     * before the method returns, so the network can be changed right after 
+     * the call. The file is written as by 
+     * {@link #saveWithName(NeuralNetwork, String, String)} by {@code executor}.
+     * @param nn {@link NeuralNetwork} to be written in file {@code fileName} along
+     * with the name {@code name}.
+     * @param name {@link String} name to be written in file {@code fileName} along 
+     * with the network {@code nn}.
+     * @param fileName Path to the file where the {@code nn} will be saved.
+     * @param executor {@link Executor} to write the file with.
+     * @return {@link CompletableFuture} completed when the file is written or
+     * completed exceptionally with {@link IllegalArgumentException} if there 
+     * was an error while saving the network.
+     * @throws NullPointerException if {@code nn}, {@code name}, {@code fileName}
+     * or {@code executor} is null.
+     */
+    public static CompletableFuture<Void> saveAsync(NeuralNetwork nn, String name, 
+            String fileName, Executor executor) {
+        if (nn == null || name == null || fileName == null || executor == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        NetworkSnapshot snapshot = NetworkSnapshot.capture(nn);
+        // unlike runAsync, the future gets the exception itself rather than 
+        // a CompletionException wrapping it
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                saveWithName(snapshot.toNetwork(name), name, fileName);
+                future.complete(null);
+            }
+            catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+    
+    /**
+     * Save the {@code nn} network with name {@code name} into a text file with 
+     * path {@code fileName} as text.
+     * @param nn {@link NeuralNetwork} to be written in file {@code fileName} along
+     * with the name {@code name}.
+     * @param name {@link String} name to be written in file {@code fileName} along 
+     * with the network {@code nn}.
+     * @param fileName Path to the file where the {@code nn} will be saved.
+     * @throws NullPointerException if {@code nn}, {@code name} or {@code fileName}
+     * is null.
+     * @throws IllegalArgumentException if there was an error while saving the 
+     * network.
+     */
+    public static void saveWithNameAsText(NeuralNetwork nn, String name, String fileName) {
+        saveWithNameAsText(nn, name, fileName, Compression.NONE);
+    }
+    
+    /**
+     * Save the {@code nn} network with name {@code name} into a text file with 
+     * path {@code fileName} as text compressing it with {@code compression}.
+     * Text files usually become about 4 times smaller. The file can be loaded
+     * with {@link #loadFromTextFile(String)}, which detects the compression.
+     * @param nn {@link NeuralNetwork} to be written in file {@code fileName} along
+     * with the name {@code name}.
+     * @param name {@link String} name to be written in file {@code fileName} along 
+     * with the network {@code nn}.
+     * @param fileName Path to the file where the {@code nn} will be saved.
+     * @param compression {@link Compression} to apply to the file.
+     * @throws NullPointerException if {@code nn}, {@code name}, {@code fileName}
+     * or {@code compression} is null.
+     * @throws IllegalArgumentException if there was an error while saving the 
+     * network.
+     */
+    public static void saveWithNameAsText(NeuralNetwork nn, String name, String fileName,
+            Compression compression) {
+        if (nn == null || name == null || fileName == null || compression == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        File file = new File(fileName);
+        FileInstrumentation.run("saveWithNameAsText", file, () -> {
+            MessageDigest digest = NetworkCatalog.contentDigest(file);
+            try (Writer out = new OutputStreamWriter(openOutputStream(file, compression, 
+                    digest))) {
+                writeNetworkAsText(nn, name, new TextWeightWriter(out));
+            }
+            catch (IOException e) {
+                throw new IllegalArgumentException("Cannot write into file", e);
+            }
+            updateCatalog(file, nn, name, digest);
+            return null;
+        });
+    }
+    
+    /**
+     * Save the {@code nn} network with name {@code name} into {@code channel}
+     * as text in the format of 
+     * {@link #saveWithNameAsText(NeuralNetwork, String, String)}. The data is 
+     * not compressed. The channel is not closed.
+     * @param nn {@link NeuralNetwork} to be written into {@code channel} along
+     * with the name {@code name}.
+     * @param name {@link String} name to be written into {@code channel} along 
+     * with the network {@code nn}.
+     * @param channel {@link WritableByteChannel} in blocking mode to write the 
+     * network into.
+     * @throws NullPointerException if {@code nn}, {@code name} or {@code channel}
+     * is null.
+     * @throws IllegalArgumentException if there was an error while writing the 
+     * network.
+     */
+    public static void saveWithNameAsText(NeuralNetwork nn, String name, 
+            WritableByteChannel channel) {
+        if (nn == null || name == null || channel == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        try {
+            Writer out = new OutputStreamWriter(Channels.newOutputStream(channel));
+            writeNetworkAsText(nn, name, new TextWeightWriter(out));
+        }
+        catch (IOException e) {
+            throw new IllegalArgumentException("Cannot write into channel", e);
+        }
+    }
+    
+    /**
+     * Save the {@code nn} network with name {@code name} into {@code buffer}
+     * at its position as text in the format of 
+     * {@link #saveWithNameAsText(NeuralNetwork, String, String)}. The data is
+     * not compressed. The position of {@code buffer} is moved past the 
+     * network if it fits into the remaining bytes and is not changed otherwise.
+     * @param nn {@link NeuralNetwork} to be written into {@code buffer} along
+     * with the name {@code name}.
+     * @param name {@link String} name to be written into {@code buffer} along 
+     * with the network {@code nn}.
+     * @param buffer {@link ByteBuffer} to write the network into, can be direct.
+     * @throws NullPointerException if {@code nn}, {@code name} or {@code buffer}
+     * is null.
+     * @throws IllegalArgumentException if the network doesn't fit into the 
+     * remaining bytes of {@code buffer}.
+     */
+    public static void saveWithNameAsText(NeuralNetwork nn, String name, ByteBuffer buffer) {
+        if (nn == null || name == null || buffer == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        writeIntoBuffer(buffer, channel -> saveWithNameAsText(nn, name, channel));
+    }
+    
+    private static void writeNetworkAsText(NeuralNetwork nn, String name, 
+            TextWeightWriter out) throws IOException {
+        // write name
+        out.write(name);
+        out.write('\n');
+
+        // write signature
+        String hiddenSizes = Arrays.stream(nn.getHiddenLayerSizes()).
+                mapToObj(v -> String.valueOf(v)).collect(
+                        Collectors.joining(", "));
+        String signature = String.format("%d, %s, %d", nn.getNumberInputs(),
+                hiddenSizes, nn.getNumberOutputs());
+        out.write(signature);
+        out.write('\n');
+
+        for (int layerIdx = 0; layerIdx < NetworkLayers.count(nn); layerIdx++) {
+            if (layerIdx > 0) {
+                out.write('\n');
+            }
+            writeLayer(nn, layerIdx, out);
+        }
+        out.flush();
+    }
+    
+    // Write one line per neuron of the previous layer and a line of biases,
+    // without the line terminator after the biases
+    private static void writeLayer(NeuralNetwork nn, int layerNum, 
+            TextWeightWriter out) throws IOException {
+        int prevLayerSize = NetworkLayers.prevLayerSize(nn, layerNum);
+        int layerSize = NetworkLayers.layerSize(nn, layerNum);
+        for (int prevNeuron = 0; prevNeuron < prevLayerSize; prevNeuron++) {
+            for (int curNeuron = 0; curNeuron < layerSize - 1; curNeuron++) {
+                out.writeDouble(nn.getWeight(layerNum, prevNeuron, curNeuron));
+                out.write(' ');
+            }
+            out.writeDouble(nn.getWeight(layerNum, prevNeuron, layerSize - 1));
+            out.write('\n');
+        }
+        
+        // biases
+        for (int curNeuron = 0; curNeuron < layerSize - 1; curNeuron++) {
+            out.writeDouble(nn.getBias(layerNum, curNeuron));
+            out.write(' ');
+        }
+        out.writeDouble(nn.getBias(layerNum, layerSize - 1));
+    }
+    
+    // Update the entry of the saved file in the catalog of its directory
+    private static void updateCatalog(File file, NeuralNetwork nn, String name, 
+            MessageDigest digest) {
+        NetworkCatalog.fileSaved(file, new NetworkSignature(name, nn.getNumberInputs(),
+                nn.getHiddenLayerSizes(), nn.getNumberOutputs()), digest);
+    }
+    
+    // Open the file for writing compressing the data on the fly and hashing 
+    // the written bytes with digest if it's not null
+    private static OutputStream openOutputStream(File file, Compression compression, 
+            MessageDigest digest) throws IOException {
+        OutputStream out = NetworkCatalog.digesting(new FileOutputStream(file), digest);
+        try {
+            return compression.compress(out);
+        }
+        catch (IOException e) {
+            out.close();
+            throw e;
+        }
+    }
+    
+    // Open the file for reading decompressing the data on the fly if the file 
+    // is compressed
+    private static InputStream openInputStream(File file) throws IOException {
+        FileInputStream in = new FileInputStream(file);
+        try {
+            return Compression.detect(in.getChannel()).decompress(in);
+        }
+        catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Load instance of {@link NeuralNetwork} from a binary file with path 
+     * {@code fileName}. The file can be compressed.
+     * @param fileName {@link String} path to a binary file containing an
+     * instance of {@link NeuralNetwork}.
+     * @return An instance of {@link NeuralNetwork} loaded from file {@code fileName}.
+     * @throws NullPointerException if {@code fileName} is {@code null}.
+     * @throws IllegalArgumentException if there was an error while reading the
+     * file.
+     */
+    public static NeuralNetwork load(String fileName) {
+        if (fileName == null) {
+            throw new NullPointerException("File name cannot be null");
+        }
+        File file = new File(fileName);
+        return FileInstrumentation.run("load", file, () -> {
+            try (InputStream in = openInputStream(file)) {
+                return readSerialized(in);
+            }
+            catch(IOException e) {
+                throw new IllegalArgumentException("Cannot read from file", e);
+            }
+            catch(ClassNotFoundException | ClassCastException e) {
+                throw new IllegalArgumentException("Wrong file format", e);
+            }
+        });
+    }
+    
+    /**
+     * Load instance of {@link NeuralNetwork} from {@code channel} holding the 
+     * data written by 
+     * {@link #saveWithName(NeuralNetwork, String, WritableByteChannel)}. The 
+     * data cannot be compressed. The channel is not closed.
+     * @param channel {@link ReadableByteChannel} in blocking mode to read the
+     * network from.
+     * @return An instance of {@link NeuralNetwork} read from {@code channel}.
+     * @throws NullPointerException if {@code channel} is {@code null}.
+     * @throws IllegalArgumentException if there was an error while reading the
+     * channel or the data has a wrong format.
+     */
+    public static NeuralNetwork load(ReadableByteChannel channel) {
+        if (channel == null) {
+            throw new NullPointerException("Channel cannot be null");
+        }
+        try {
+            return readSerialized(Channels.newInputStream(channel));
+        }
+        catch(IOException e) {
+            throw new IllegalArgumentException("Cannot read from channel", e);
+        }
+        catch(ClassNotFoundException | ClassCastException e) {
+            throw new IllegalArgumentException("Wrong data format", e);
+        }
+    }
+    
+    /**
+     * Load instance of {@link NeuralNetwork} from the bytes between the 
+     * position and the limit of {@code data} written by 
+     * {@link #saveWithName(NeuralNetwork, String, ByteBuffer)}. The data 
+     * cannot be compressed. The position of {@code data} is not changed.
+     * @param data {@link ByteBuffer} holding the network, can be direct.
+     * @return An instance of {@link NeuralNetwork} read from {@code data}.
+     * @throws NullPointerException if {@code data} is {@code null}.
+     * @throws IllegalArgumentException if the data has a wrong format.
+     */
+    public static NeuralNetwork load(ByteBuffer data) {
+        if (data == null) {
+            throw new NullPointerException("Buffer cannot be null");
+        }
+        return load(new ByteBufferChannel(data.duplicate()));
+    }
+    
+    private static NeuralNetwork readSerialized(InputStream in) 
+            throws IOException, ClassNotFoundException {
+        return (NeuralNetwork)new ObjectInputStream(in).readObject();
+    }
+    
+    /**
+     * Load instance of {@link NeuralNetwork} from a text file with path 
+     * {@code fileName}. The file can be compressed.
+     * @param fileName {@link String} path to a text file containing an
+     * instance of {@link NeuralNetwork}.
+     * @return An instance of {@link NeuralNetwork} loaded from file {@code fileName}.
+     * @throws NullPointerException if {@code fileName} is {@code null}.
+     * @throws IllegalArgumentException if there was an error while reading the
+     * file.
+     */
+    public static NeuralNetwork loadFromTextFile(String fileName) {
+        if (fileName == null) {
+            throw new NullPointerException("File name cannot be null");
+        }
+        File file = new File(fileName);
+        return FileInstrumentation.run("loadFromTextFile", file, () -> {
+            try (Reader in = new InputStreamReader(openInputStream(file))) {
+                return readNetworkFromText(new TextWeightReader(in));
+            }
+            catch (IOException | NumberFormatException e) {
+                throw new IllegalArgumentException("Wrong file format: " + e.toString(), e);
+            }
+        });
+    }
+    
+    /**
+     * Load instance of {@link NeuralNetwork} from a text file with path 
+     * {@code fileName} parsing its layers in parallel in the common 
+     * {@link ForkJoinPool}. See 
+     * {@link #loadFromTextFileParallel(String, ForkJoinPool)}.
+     * @param fileName {@link String} path to a text file containing an
+     * instance of {@link NeuralNetwork}.
+     * @return An instance of {@link NeuralNetwork} loaded from file {@code fileName}.
+     * @throws NullPointerException if {@code fileName} is {@code null}.
+     * @throws IllegalArgumentException if there was an error while reading the
+     * file.
+     */
+    public static NeuralNetwork loadFromTextFileParallel(String fileName) {
+        return loadFromTextFileParallel(fileName, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Load instance of {@link NeuralNetwork} from a text file with path 
+     * {@code fileName} parsing its layers in parallel by the tasks of 
+     * {@code pool}. The file is mapped into memory and scanned for the line 
+     * terminators first, which gives the byte range of every layer. Then the 
+     * lines of the layers are parsed by separate tasks straight into the 
+     * network, so the load time of a large file goes down with the number of
+     * processors. The result is the same as with 
+     * {@link #loadFromTextFile(String)}. A compressed file cannot be mapped,
+     * so it is read as by {@link #loadFromTextFile(String)}.
+     * @param fileName {@link String} path to a text file containing an
+     * instance of {@link NeuralNetwork}.
+     * @param pool {@link ForkJoinPool} to parse the layers in.
+     * @return An instance of {@link NeuralNetwork} loaded from file {@code fileName}.
+     * @throws NullPointerException if {@code fileName} or {@code pool} is 
+     * {@code null}.
+     * @throws IllegalArgumentException if there was an error while reading the
+     * file.
+     */
+    public static NeuralNetwork loadFromTextFileParallel(String fileName, ForkJoinPool pool) {
+        if (fileName == null || pool == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        File file = new File(fileName);
+        return FileInstrumentation.run("loadFromTextFileParallel", file, () -> {
+            try (FileChannel channel = new FileInputStream(file).getChannel()) {
+                if (Compression.detect(channel) != Compression.NONE) {
+                    return loadFromTextFile(fileName);
+                }
+                // the stream is not closed to keep the channel open for mapping
+                NetworkSignature signature = readTextSignature(new TextWeightReader(
+                        new InputStreamReader(Channels.newInputStream(channel)), 
+                        SIGNATURE_BUFFER_SIZE));
+                NeuralNetwork nn = signature.createNetwork();
+                ParallelTextReader.readLayers(channel, signature.getName() == null ? 1 : 2, 
+                        nn, pool);
+                return nn;
+            }
+            catch (IOException | NumberFormatException e) {
+                throw new IllegalArgumentException("Wrong file format: " + e.toString(), e);
+            }
+        });
+    }
+    
+    /**
+     * Load instance of {@link NeuralNetwork} from {@code channel} holding the
+     * text written by 
+     * {@link #saveWithNameAsText(NeuralNetwork, String, WritableByteChannel)}.
+     * The data cannot be compressed. The channel is read to its end and is 
+     * not closed.
+     * @param channel {@link ReadableByteChannel} in blocking mode to read the
+     * network from.
+     * @return An instance of {@link NeuralNetwork} read from {@code channel}.
+     * @throws NullPointerException if {@code channel} is {@code null}.
+     * @throws IllegalArgumentException if there was an error while reading the
+     * channel or the data has a wrong format.
+     */
+    public static NeuralNetwork loadFromTextFile(ReadableByteChannel channel) {
+        if (channel == null) {
+            throw new NullPointerException("Channel cannot be null");
+        }
+        try {
+            return readNetworkFromText(new TextWeightReader(
+                    new InputStreamReader(Channels.newInputStream(channel))));
+        }
+        catch (IOException | NumberFormatException e) {
+            throw new IllegalArgumentException("Wrong data format: " + e.toString(), e);
+        }
+    }
+    
+    /**
+     * Load instance of {@link NeuralNetwork} from the text between the 
+     * position and the limit of {@code data} written by 
+     * {@link #saveWithNameAsText(NeuralNetwork, String, ByteBuffer)}. The data 
+     * cannot be compressed. The position of {@code data} is not changed.
+     * @param data {@link ByteBuffer} holding the network, can be direct.
+     * @return An instance of {@link NeuralNetwork} read from {@code data}.
+     * @throws NullPointerException if {@code data} is {@code null}.
+     * @throws IllegalArgumentException if the data has a wrong format.
+     */
+    public static NeuralNetwork loadFromTextFile(ByteBuffer data) {
+        if (data == null) {
+            throw new NullPointerException("Buffer cannot be null");
+        }
+        return loadFromTextFile(new ByteBufferChannel(data.duplicate()));
+    }
+    
+    /**
+     * Load instance of {@link NeuralNetwork} from a file with path 
+     * {@code fileName} in any format: written by 
+     * {@link #saveWithName(NeuralNetwork, String, String)}, 
+     * {@link #saveWithNameAsText(NeuralNetwork, String, String)} or 
+     * {@link #saveBinary(NeuralNetwork, String, String)}, compressed or not.
+     * The format is recognized by the first bytes of the file, which are 
+     * peeked at once and then passed to the decoder of the format, so the 
+     * file is opened and read only once. The checksums of all the layers of
+     * a binary file are verified.
+     * @param fileName {@link String} path to a network file in any format.
+     * @return An instance of {@link NeuralNetwork} loaded from file 
+     * {@code fileName}.
+     * @throws NullPointerException if {@code fileName} is {@code null}.
+     * @throws IllegalArgumentException if there was an error while reading the
+     * file or the file has a wrong format.
+     */
+    public static NeuralNetwork loadAny(String fileName) {
+        if (fileName == null) {
+            throw new NullPointerException("File name cannot be null");
+        }
+        File file = new File(fileName);
+        return FileInstrumentation.run("loadAny", file, () -> {
+            try (InputStream in = new FileInputStream(file)) {
+                return readAny(in);
+            }
+            catch (IOException | NumberFormatException e) {
+                throw new IllegalArgumentException("Wrong file format: " + e.toString(), e);
+            }
+            catch (ClassNotFoundException | ClassCastException e) {
+                throw new IllegalArgumentException("Wrong file format", e);
+            }
+        });
+    }
+    
+    /**
+     * Load instance of {@link NeuralNetwork} in any format from 
+     * {@code channel} as {@link #loadAny(String)} does. The data can be 
+     * compressed. The channel is read ahead, so it should not hold other data
+     * after the network. The channel is not closed.
+     * @param channel {@link ReadableByteChannel} in blocking mode holding a 
+     * network in any format.
+     * @return An instance of {@link NeuralNetwork} read from {@code channel}.
+     * @throws NullPointerException if {@code channel} is {@code null}.
+     * @throws IllegalArgumentException if there was an error while reading the
+     * channel or the data has a wrong format.
+     */
+    public static NeuralNetwork loadAny(ReadableByteChannel channel) {
+        if (channel == null) {
+            throw new NullPointerException("Channel cannot be null");
+        }
+        try {
+            return readAny(Channels.newInputStream(channel));
+        }
+        catch (IOException | NumberFormatException e) {
+            throw new IllegalArgumentException("Wrong data format: " + e.toString(), e);
+        }
+        catch (ClassNotFoundException | ClassCastException e) {
+            throw new IllegalArgumentException("Wrong data format", e);
+        }
+    }
+    
+    /**
+     * Load instance of {@link NeuralNetwork} in any format from the bytes 
+     * between the position and the limit of {@code data} as 
+     * {@link #loadAny(String)} does. The data can be compressed. An 
+     * uncompressed binary network is read in place as by 
+     * {@link #loadBinary(ByteBuffer)}. The position of {@code data} is not 
+     * changed.
+     * @param data {@link ByteBuffer} holding a network in any format.
+     * @return An instance of {@link NeuralNetwork} read from {@code data}.
+     * @throws NullPointerException if {@code data} is {@code null}.
+     * @throws IllegalArgumentException if the data has a wrong format.
+     */
+    public static NeuralNetwork loadAny(ByteBuffer data) {
+        if (data == null) {
+            throw new NullPointerException("Buffer cannot be null");
+        }
+        byte[] start = new byte[NetworkFileFormat.DETECT_LENGTH];
+        int length = Math.min(start.length, data.remaining());
+        for (int i = 0; i < length; i++) {
+            start[i] = data.get(data.position() + i);
+        }
+        if (NetworkFileFormat.detect(start, length) == NetworkFileFormat.BINARY) {
+            return loadBinary(data);
+        }
+        return loadAny(new ByteBufferChannel(data.duplicate()));
+    }
+    
+    // Find the compression and the format by the first bytes of the data, 
+    // peeking at the decompressed data again only if it is compressed, and
+    // decode the network from the same stream
+    private static NeuralNetwork readAny(InputStream data) 
+            throws IOException, ClassNotFoundException {
+        InputStream in = new BufferedInputStream(data);
+        byte[] start = new byte[NetworkFileFormat.DETECT_LENGTH];
+        int length = peek(in, start);
+        Compression compression = length >= 2 ? 
+                Compression.detect(start[0], start[1]) : Compression.NONE;
+        if (compression != Compression.NONE) {
+            in = new BufferedInputStream(compression.decompress(in));
+            length = peek(in, start);
+        }
+        switch (NetworkFileFormat.detect(start, length)) {
+            case BINARY:
+                return BinaryNetworkFormat.read(Channels.newChannel(in), 
+                        ChecksumVerification.ALL);
+            case SERIALIZED:
+                return readSerialized(in);
+            default:
+                return readNetworkFromText(new TextWeightReader(new InputStreamReader(in)));
+        }
+    }
+    
+    // Read the name, the signature and the weights in one pass
+    private static NeuralNetwork readNetworkFromText(TextWeightReader in) throws IOException {
+        NeuralNetwork nn = readTextSignature(in).createNetwork();
+        for (int layerIdx = 0; layerIdx < NetworkLayers.count(nn); layerIdx++) {
+            long start = FileInstrumentation.layerStarted(layerIdx);
+            readLayerIntoNetwork(nn, layerIdx, in);
+            FileInstrumentation.layerParsed(layerIdx, 
+                    (NetworkLayers.prevLayerSize(nn, layerIdx) + 1L) * 
+                    NetworkLayers.layerSize(nn, layerIdx), start);
+        }
+        return nn;
+    }
+    
+    // Read the optional name line and the signature line
+    private static NetworkSignature readTextSignature(TextWeightReader in) throws IOException {
+        String name = in.readLine();
+        if (name == null) {
+            throw new IOException("Cannot read signature");
+        }
+        String signature;
+        if (in.isSignatureNext()) {
+            signature = in.readLine();
+        }
+        else {
+            // There is no name in file => the first line is the signature
+            signature = name;
+            name = null;
+        }
+        String[] signatureSplit = signature.split(", ");
+        if (signatureSplit.length < 3) {
+            throw new IOException("Cannot read signature");
+        }
+        
+        return parseSignature(name, signatureSplit);
+    }
+
+    private static NetworkSignature parseSignature(String name, String[] signatureSplit) {
+        int nInputs = Integer.parseInt(signatureSplit[0]);
+        int nOutputs = Integer.parseInt(signatureSplit[signatureSplit.length - 1]);
+        int[] hiddenSizes = new int[signatureSplit.length - 2];
+        if (hiddenSizes.length < 1) {
+            throw new IllegalArgumentException("There must be at least one hidden layer");
+        }
+        for (int i = 0; i < hiddenSizes.length; i++) {
+            hiddenSizes[i] = Integer.parseInt(signatureSplit[i + 1]);
+        }
+        return new NetworkSignature(name, nInputs, hiddenSizes, nOutputs);
+    }
+    
+    // Read weights and biases of the layer, one line per neuron of the 
+    // previous layer and a line of biases
+    private static void readLayerIntoNetwork(NeuralNetwork nn, int layerNum, 
+            TextWeightReader in) throws IOException, NumberFormatException {
+        int prevLayerSize = NetworkLayers.prevLayerSize(nn, layerNum);
+        int layerSize = NetworkLayers.layerSize(nn, layerNum);
+        for (int prevNeuron = 0; prevNeuron < prevLayerSize; prevNeuron++) {
+            for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+                nn.setWeight(layerNum, prevNeuron, curNeuron, in.nextDouble());
+            }
+            in.endLine();
+        }
+        
+        // biases
+        for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+            nn.setBias(layerNum, curNeuron, in.nextDouble());
+        }
+        in.endLine();
+    }
+    
+    /**
+     * Save the {@code nn} network with name {@code name} into a file with path 
+     * {@code fileName} in the compact binary format. Unlike 
+     * {@link #saveWithName(NeuralNetwork, String, String)} the format doesn't 
+     * depend on the Java serialization of the network classes. It stores a
+     * versioned header with the name and the signature of the network followed
+     * by the raw little-endian weights and biases of every layer.
+     * @param nn {@link NeuralNetwork} to be written in file {@code fileName} along
+     * with the name {@code name}.
+     * @param name {@link String} name to be written in file {@code fileName} along 
+     * with the network {@code nn}.
+     * @param fileName Path to the file where the {@code nn} will be saved.
+     * @throws NullPointerException if {@code nn}, {@code name} or {@code fileName}
+     * is null.
+     * @throws IllegalArgumentException if there was an error while saving the 
+     * network.
+     */
+    public static void saveBinary(NeuralNetwork nn, String name, String fileName) {
+        saveBinary(nn, name, fileName, WeightPrecision.DOUBLE);
+    }
+    
+    /**
+     * Save the {@code nn} network with name {@code name} into a file with path 
+     * {@code fileName} in the compact binary format storing the weights and
+     * biases in the {@code precision} precision. The precision is recorded in
+     * the file, the values are widened back to {@code double} on load.
+     * Reduced precision makes the file 2 ({@link WeightPrecision#FLOAT}) or 
+     * 4 ({@link WeightPrecision#HALF}) times smaller.
+     * @param nn {@link NeuralNetwork} to be written in file {@code fileName} along
+     * with the name {@code name}.
+     * @param name {@link String} name to be written in file {@code fileName} along 
+     * with the network {@code nn}.
+     * @param fileName Path to the file where the {@code nn} will be saved.
+     * @param precision {@link WeightPrecision} to store the weights and biases in.
+     * @throws NullPointerException if {@code nn}, {@code name}, {@code fileName}
+     * or {@code precision} is null.
+     * @throws IllegalArgumentException if there was an error while saving the 
+     * network.
+     */
+    public static void saveBinary(NeuralNetwork nn, String name, String fileName,
+            WeightPrecision precision) {
+        saveBinary(nn, name, fileName, precision, Compression.NONE);
+    }
+    
+    /**
+     * Save the {@code nn} network with name {@code name} into a file with path 
+     * {@code fileName} in the compact binary format storing the weights and
+     * biases in the {@code precision} precision and compressing the file with 
+     * {@code compression}. The file can be loaded with 
+     * {@link #loadBinary(String)}, which detects the compression.
+     * @param nn {@link NeuralNetwork} to be written in file {@code fileName} along
+     * with the name {@code name}.
+     * @param name {@link String} name to be written in file {@code fileName} along 
+     * with the network {@code nn}.
+     * @param fileName Path to the file where the {@code nn} will be saved.
+     * @param precision {@link WeightPrecision} to store the weights and biases in.
+     * @param compression {@link Compression} to apply to the file.
+     * @throws NullPointerException if {@code nn}, {@code name}, {@code fileName},
+     * {@code precision} or {@code compression} is null.
+     * @throws IllegalArgumentException if there was an error while saving the 
+     * network.
+     */
+    public static void saveBinary(NeuralNetwork nn, String name, String fileName,
+            WeightPrecision precision, Compression compression) {
+        saveBinary(nn, name, fileName, precision, compression, false);
+    }
+    
+    /**
+     * Save the {@code nn} network with name {@code name} into a file with path 
+     * {@code fileName} in the compact binary format of 
+     * {@link #saveBinary(NeuralNetwork, String, String, WeightPrecision, Compression)},
+     * storing the {@link NetworkFingerprint} of the network in the header if
+     * {@code storeFingerprint} is {@code true}. Computing the fingerprint 
+     * takes one more pass over the network. The stored fingerprint is read
+     * with {@link #readFingerprint(String)} without loading the network. It
+     * is the fingerprint of the network loaded from the file, so with a 
+     * reduced precision it is the one of the rounded values rather than of 
+     * {@code nn}.
+     * @param nn {@link NeuralNetwork} to be written in file {@code fileName} along
+     * with the name {@code name}.
+     * @param name {@link String} name to be written in file {@code fileName} along 
+     * with the network {@code nn}.
+     * @param fileName Path to the file where the {@code nn} will be saved.
+     * @param precision {@link WeightPrecision} to store the weights and biases in.
+     * @param compression {@link Compression} to apply to the file.
+     * @param storeFingerprint Whether to store the fingerprint of the network.
+     * @throws NullPointerException if {@code nn}, {@code name}, {@code fileName},
+     * {@code precision} or {@code compression} is null.
+     * @throws IllegalArgumentException if there was an error while saving the 
+     * network.
+     */
+    public static void saveBinary(NeuralNetwork nn, String name, String fileName,
+            WeightPrecision precision, Compression compression, boolean storeFingerprint) {
+        if (nn == null || name == null || fileName == null || precision == null || 
+                compression == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        File file = new File(fileName);
+        FileInstrumentation.run("saveBinary", file, () -> {
+            NetworkFingerprint fingerprint = storeFingerprint ? 
+                    NetworkFingerprint.of(nn, precision) : null;
+            MessageDigest digest = NetworkCatalog.contentDigest(file);
+            try (WritableByteChannel channel = 
+                    Channels.newChannel(openOutputStream(file, compression, digest))) {
+                BinaryNetworkFormat.write(nn, name, precision, fingerprint, channel);
+            }
+            catch (IOException e) {
+                throw new IllegalArgumentException("Cannot write into file", e);
+            }
+            updateCatalog(file, nn, name, digest);
+            return null;
+        });
+    }
+    
+    /**
+     * Save the {@code nn} network with name {@code name} into {@code channel}
+     * in the compact binary format of 
+     * {@link #saveBinary(NeuralNetwork, String, String, WeightPrecision)}. 
+     * The data is not compressed. The channel is not closed.
+     * @param nn {@link NeuralNetwork} to be written into {@code channel} along
+     * with the name {@code name}.
+     * @param name {@link String} name to be written into {@code channel} along 
+     * with the network {@code nn}.
+     * @param channel {@link WritableByteChannel} to write the network into.
+     * @param precision {@link WeightPrecision} to store the weights and biases in.
+     * @throws NullPointerException if {@code nn}, {@code name}, {@code channel}
+     * or {@code precision} is null.
+     * @throws IllegalArgumentException if there was an error while writing the 
+     * network.
+     */
+    public static void saveBinary(NeuralNetwork nn, String name, WritableByteChannel channel,
+            WeightPrecision precision) {
+        if (nn == null || name == null || channel == null || precision == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        try {
+            BinaryNetworkFormat.write(nn, name, precision, channel);
+        }
+        catch (IOException e) {
+            throw new IllegalArgumentException("Cannot write into channel", e);
+        }
+    }
+    
+    /**
+     * Save the {@code nn} network with name {@code name} into {@code buffer}
+     * at its position in the compact binary format of 
+     * {@link #saveBinary(NeuralNetwork, String, String, WeightPrecision)}. 
+     * The values are put straight into {@code buffer} without intermediate 
+     * copies. {@link #binarySize(NeuralNetwork, String, WeightPrecision)} 
+     * gives the number of bytes needed. The position of {@code buffer} is 
+     * moved past the network if it fits into the remaining bytes and is not 
+     * changed otherwise.
+     * @param nn {@link NeuralNetwork} to be written into {@code buffer} along
+     * with the name {@code name}.
+     * @param name {@link String} name to be written into {@code buffer} along 
+     * with the network {@code nn}.
+     * @param buffer {@link ByteBuffer} to write the network into, can be direct.
+     * @param precision {@link WeightPrecision} to store the weights and biases in.
+     * @throws NullPointerException if {@code nn}, {@code name}, {@code buffer}
+     * or {@code precision} is null.
+     * @throws IllegalArgumentException if the network doesn't fit into the 
+     * remaining bytes of {@code buffer} or cannot be quantized.
+     */
+    public static void saveBinary(NeuralNetwork nn, String name, ByteBuffer buffer,
+            WeightPrecision precision) {
+        if (nn == null || name == null || buffer == null || precision == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        try {
+            BinaryNetworkFormat.write(nn, name, precision, buffer);
+        }
+        catch (BufferOverflowException e) {
+            throw new IllegalArgumentException("Buffer is too small", e);
+        }
+    }
+    
+    /**
+     * Get the number of bytes the {@code nn} network with name {@code name} 
+     * takes in the binary format without compression.
+     * @param nn {@link NeuralNetwork} to be saved.
+     * @param name {@link String} name to be saved along with the network.
+     * @param precision {@link WeightPrecision} to store the weights and biases in.
+     * @return Size of the saved network in bytes.
+     * @throws NullPointerException if {@code nn}, {@code name} or 
+     * {@code precision} is null.
+     */
+    public static long binarySize(NeuralNetwork nn, String name, WeightPrecision precision) {
+        if (nn == null || name == null || precision == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        return BinaryNetworkFormat.size(nn, name, precision);
+    }
+    
+    /**
+     * Save the {@code nn} network with name {@code name} into a file with path 
+     * {@code fileName} in the compact binary format with the weights in the
+     * {@code double} precision, storing the layers with fewer than half of 
+     * the weights non-zero as sparse. See 
+     * {@link #saveBinarySparse(NeuralNetwork, String, String, WeightPrecision, double)}.
+     * @param nn {@link NeuralNetwork} to be written in file {@code fileName} along
+     * with the name {@code name}.
+     * @param name {@link String} name to be written in file {@code fileName} along 
+     * with the network {@code nn}.
+     * @param fileName Path to the file where the {@code nn} will be saved.
+     * @throws NullPointerException if {@code nn}, {@code name} or {@code fileName}
+     * is null.
+     * @throws IllegalArgumentException if there was an error while saving the 
+     * network.
+     */
+    public static void saveBinarySparse(NeuralNetwork nn, String name, String fileName) {
+        saveBinarySparse(nn, name, fileName, WeightPrecision.DOUBLE, DEFAULT_DENSITY_THRESHOLD);
+    }
+    
+    /**
+     * Save the {@code nn} network with name {@code name} into a file with path 
+     * {@code fileName} in the compact binary format for pruned networks. Every
+     * layer with the part of non-zero weights below {@code densityThreshold} 
+     * is stored as sparse: only its non-zero weights are written along with
+     * their delta-encoded indexes, while the other layers are stored as 
+     * dense. A network with 90% of zero weights takes about 5 times less
+     * space in the {@code double} precision. The file is loaded with 
+     * {@link #loadBinary(String)}, {@link #loadBinaryMapped(String)} or 
+     * {@link #loadAny(String)}, which decode only the non-zero weights of the 
+     * sparse layers. Negative zeros are stored as zeros. The file cannot be
+     * opened as a {@link SharedWeightStore}.
+     * @param nn {@link NeuralNetwork} to be written in file {@code fileName} along
+     * with the name {@code name}.
+     * @param name {@link String} name to be written in file {@code fileName} along 
+     * with the network {@code nn}.
+     * @param fileName Path to the file where the {@code nn} will be saved.
+     * @param precision {@link WeightPrecision} to store the weights and biases 
+     * in, cannot be {@link WeightPrecision#INT8}.
+     * @param densityThreshold Part of the weights of a layer, greater than 0
+     * and at most 1, below which the layer is stored as sparse.
+     * @throws NullPointerException if {@code nn}, {@code name}, {@code fileName}
+     * or {@code precision} is null.
+     * @throws IllegalArgumentException if {@code precision} is 
+     * {@link WeightPrecision#INT8}, {@code densityThreshold} is out of range 
+     * or there was an error while saving the network.
+     */
+    public static void saveBinarySparse(NeuralNetwork nn, String name, String fileName,
+            WeightPrecision precision, double densityThreshold) {
+        if (nn == null || name == null || fileName == null || precision == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        if (precision == WeightPrecision.INT8) {
+            throw new IllegalArgumentException("Sparse layers cannot be quantized");
+        }
+        if (!(densityThreshold > 0 && densityThreshold <= 1)) {
+            throw new IllegalArgumentException("Density threshold must be in (0, 1]");
+        }
+        File file = new File(fileName);
+        FileInstrumentation.run("saveBinarySparse", file, () -> {
+            MessageDigest digest = NetworkCatalog.contentDigest(file);
+            try (FileChannel channel = new FileOutputStream(file).getChannel()) {
+                BinaryNetworkFormat.writeSparse(nn, name, precision, densityThreshold, 
+                        NetworkCatalog.digesting(channel, digest));
+            }
+            catch (IOException e) {
+                throw new IllegalArgumentException("Cannot write into file", e);
+            }
+            updateCatalog(file, nn, name, digest);
+            return null;
+        });
+    }
+    
+    /**
+     * Save the {@code nn} network with name {@code name} into a file with path 
+     * {@code fileName} in the compact binary format with the weights and biases
+     * of every layer quantized to 8-bit integers with a per-layer scale and 
+     * zero point (see {@link WeightPrecision#INT8}). The file is about 8 times
+     * smaller than with the {@code double} precision. It can be loaded with 
+     * {@link #loadBinary(String)} and {@link #loadBinaryMapped(String)}.
+     * @param nn {@link NeuralNetwork} to be written in file {@code fileName} along
+     * with the name {@code name}.
+     * @param name {@link String} name to be written in file {@code fileName} along 
+     * with the network {@code nn}.
+     * @param fileName Path to the file where the {@code nn} will be saved.
+     * @return {@link List} of {@link LayerQuantization} with the parameters and 
+     * the errors of every layer, in the order of the layers.
+     * @throws NullPointerException if {@code nn}, {@code name} or {@code fileName}
+     * is null.
+     * @throws IllegalArgumentException if there was an error while saving the 
+     * network or the network has non-finite weights.
+     */
+    public static List<LayerQuantization> saveQuantized(NeuralNetwork nn, String name, 
+            String fileName) {
+        if (nn == null || name == null || fileName == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        File file = new File(fileName);
+        return FileInstrumentation.run("saveQuantized", file, () -> {
+            List<LayerQuantization> quantization;
+            MessageDigest digest = NetworkCatalog.contentDigest(file);
+            try (FileChannel channel = new FileOutputStream(file).getChannel()) {
+                quantization = BinaryNetworkFormat.write(nn, name, WeightPrecision.INT8, 
+                        NetworkCatalog.digesting(channel, digest));
+            }
+            catch (IOException e) {
+                throw new IllegalArgumentException("Cannot write into file", e);
+            }
+            updateCatalog(file, nn, name, digest);
+            return quantization;
+        });
+    }
+    
+    /**
+     * Load every file of directory {@code directory} whose name matches 
+     * {@code glob} into {@code repository} using all the available 
+     * processors. See 
+     * {@link #loadDirectory(String, String, NamedObjectRepository, Executor)}.
+     * @param directory {@link String} path to the directory.
+     * @param glob Glob pattern of the file names, e.g. {@code "*.nn"}.
+     * @param repository {@link NamedObjectRepository} to add the loaded 
+     * networks to.
+     * @return {@link Map} of the paths of the files that failed to load to 
+     * the errors, in the order of the paths. Empty if all the files are loaded.
+     * @throws NullPointerException if any of the arguments is null.
+     * @throws IllegalArgumentException if the directory cannot be listed or
+     * {@code glob} is not a valid pattern.
+     */
+    public static Map<String, Exception> loadDirectory(String directory, String glob,
+            NamedObjectRepository<NeuralNetwork> repository) {
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors());
+        try {
+            return loadDirectory(directory, glob, repository, executor);
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+    
+    /**
+     * Load every file of directory {@code directory} whose name matches 
+     * {@code glob} into {@code repository}. The files are loaded in parallel 
+     * by {@code executor}, each one reading and parsing its file, so the I/O 
+     * of some files overlaps with the parsing of the others. Every file is 
+     * loaded by {@link #loadAny(String)}, so its format (binary, text or Java
+     * serialization, compressed or not) is recognized by its first bytes.
+     * <p>
+     * A network is added under its name stored in the file or, if the file
+     * has no name, under the file name without the extension. The networks 
+     * are added in the order of the paths. The failure of a file doesn't stop
+     * the loading of the others: it is returned along with the failures of 
+     * all the other files. A file whose network name is already in the 
+     * repository counts as a failure, the stored network is not replaced.
+     * @param directory {@link String} path to the directory.
+     * @param glob Glob pattern of the file names, e.g. {@code "*.nn"}.
+     * @param repository {@link NamedObjectRepository} to add the loaded 
+     * networks to.
+     * @param executor {@link Executor} to load the files with.
+     * @return {@link Map} of the paths of the files that failed to load to 
+     * the errors, in the order of the paths. Empty if all the files are loaded.
+     * @throws NullPointerException if any of the arguments is null.
+     * @throws IllegalArgumentException if the directory cannot be listed or
+     * {@code glob} is not a valid pattern.
+     */
+    public static Map<String, Exception> loadDirectory(String directory, String glob,
+            NamedObjectRepository<NeuralNetwork> repository, Executor executor) {
+        if (directory == null || glob == null || repository == null || executor == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get(directory), glob)) {
+            for (Path file : stream) {
+                if (Files.isRegularFile(file)) {
+                    files.add(file);
+                }
+            }
+        }
+        catch (IOException | PatternSyntaxException e) {
+            throw new IllegalArgumentException("Cannot read directory " + directory, e);
+        }
+        Collections.sort(files);
+        
+        List<CompletableFuture<NeuralNetwork>> results = new ArrayList<>(files.size());
+        for (Path file : files) {
+            results.add(CompletableFuture.supplyAsync(
+                    () -> loadAny(file.toString()), executor));
+        }
+        Map<String, Exception> failures = new LinkedHashMap<>();
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            NeuralNetwork nn;
+            try {
+                nn = results.get(i).join();
+            }
+            catch (CompletionException e) {
+                if (e.getCause() instanceof Error) {
+                    throw (Error)e.getCause();
+                }
+                failures.put(file.toString(), (Exception)e.getCause());
+                continue;
+            }
+            String name = nn instanceof NamedNeuralNetwork ? 
+                    ((NamedNeuralNetwork)nn).getName() : baseName(file);
+            if (repository.containsName(name)) {
+                failures.put(file.toString(), new IllegalArgumentException(
+                        "Network with name " + name + " already exists"));
+            }
+            else {
+                repository.add(name, nn);
+            }
+        }
+        return failures;
+    }
+    
+    // Read up to start.length first bytes of the stream and go back to the
+    // start, so the bytes are read again by the decoder
+    private static int peek(InputStream in, byte[] start) throws IOException {
+        in.mark(start.length);
+        int length = readStart(in, start);
+        in.reset();
+        return length;
+    }
+    
+    // Read up to start.length first bytes of the stream
+    private static int readStart(InputStream in, byte[] start) throws IOException {
+        int length = 0;
+        int read;
+        while (length < start.length && 
+                (read = in.read(start, length, start.length - length)) > 0) {
+            length += read;
+        }
+        return length;
+    }
+    
+    private static String baseName(Path file) {
+        String fileName = file.getFileName().toString();
+        int dotIdx = fileName.lastIndexOf('.');
+        return dotIdx > 0 ? fileName.substring(0, dotIdx) : fileName;
+    }
+    
+    /**
+     * Save the weights and biases of the {@code current} network that differ
+     * from the ones of the {@code base} network into a delta file with path
+     * {@code fileName}. Applying the delta to {@code base} with 
+     * {@link #applyDeltas(NeuralNetwork, String...)} gives {@code current}.
+     * @param base {@link NeuralNetwork} the delta is relative to.
+     * @param current {@link NeuralNetwork} with the same structure as 
+     * {@code base} to be saved.
+     * @param fileName Path to the file where the delta will be saved.
+     * @return Number of weights and biases saved.
+     * @throws NullPointerException if {@code base}, {@code current} or 
+     * {@code fileName} is null.
+     * @throws IllegalArgumentException if the networks have different 
+     * structure or there was an error while saving the delta.
+     */
+    public static long saveDelta(NeuralNetwork base, NeuralNetwork current, String fileName) {
+        return saveDelta(base, current, 0, fileName);
+    }
+    
+    /**
+     * Save the weights and biases of the {@code current} network that differ
+     * from the ones of the {@code base} network by more than {@code tolerance}
+     * into a delta file with path {@code fileName}. Only the changed values are
+     * saved, along with their indexes, so a delta of a network with a few 
+     * updates between saves is much smaller than the network.
+     * <p>
+     * Applying the delta to {@code base} with 
+     * {@link #applyDeltas(NeuralNetwork, String...)} gives a network which 
+     * differs from {@code current} by at most {@code tolerance}. When the 
+     * deltas of a chain are saved with a positive tolerance, the base of every
+     * delta should be the network restored from the previous ones rather than 
+     * the network saved before, otherwise the errors add up.
+     * @param base {@link NeuralNetwork} the delta is relative to.
+     * @param current {@link NeuralNetwork} with the same structure as 
+     * {@code base} to be saved.
+     * @param tolerance Largest change of a value that is not saved, cannot be 
+     * negative.
+     * @param fileName Path to the file where the delta will be saved.
+     * @return Number of weights and biases saved.
+     * @throws NullPointerException if {@code base}, {@code current} or 
+     * {@code fileName} is null.
+     * @throws IllegalArgumentException if the networks have different 
+     * structure, {@code tolerance} is negative or there was an error while 
+     * saving the delta.
+     */
+    public static long saveDelta(NeuralNetwork base, NeuralNetwork current, double tolerance,
+            String fileName) {
+        if (base == null || current == null || fileName == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        if (!(tolerance >= 0)) {
+            throw new IllegalArgumentException("Tolerance cannot be negative");
+        }
+        if (base.getNumberInputs() != current.getNumberInputs() ||
+                base.getNumberOutputs() != current.getNumberOutputs() ||
+                !Arrays.equals(base.getHiddenLayerSizes(), current.getHiddenLayerSizes())) {
+            throw new IllegalArgumentException("Networks must have the same structure");
+        }
+        File file = new File(fileName);
+        return FileInstrumentation.run("saveDelta", file, () -> {
+            try (FileChannel channel = new FileOutputStream(file).getChannel()) {
+                return DeltaNetworkFormat.write(base, current, tolerance, channel);
+            }
+            catch (IOException e) {
+                throw new IllegalArgumentException("Cannot write into file", e);
+            }
+        });
+    }
+    
+    /**
+     * Apply the deltas saved by 
+     * {@link #saveDelta(NeuralNetwork, NeuralNetwork, double, String)} in 
+     * files with paths {@code deltaFileNames} to the {@code nn} network in 
+     * the given order. All the files are read before {@code nn} is changed, 
+     * so {@code nn} stays unchanged if any of them cannot be read.
+     * @param nn {@link NeuralNetwork} to apply the deltas to.
+     * @param deltaFileNames Paths to the delta files, from the oldest to the 
+     * newest one. The files can be compressed.
+     * @throws NullPointerException if {@code nn}, {@code deltaFileNames} or any
+     * of the paths is null.
+     * @throws IllegalArgumentException if there was an error while reading a 
+     * file, a file has a wrong format or a delta was made for a network with 
+     * a different structure.
+     */
+    public static void applyDeltas(NeuralNetwork nn, String... deltaFileNames) {
+        if (nn == null || deltaFileNames == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        List<DeltaNetworkFormat.Delta> deltas = new ArrayList<>(deltaFileNames.length);
+        for (String fileName : deltaFileNames) {
+            if (fileName == null) {
+                throw new NullPointerException("File name cannot be null");
+            }
+            File file = new File(fileName);
+            DeltaNetworkFormat.Delta delta = FileInstrumentation.run("applyDeltas", file, () -> {
+                try (ReadableByteChannel channel = Channels.newChannel(openInputStream(file))) {
+                    return DeltaNetworkFormat.read(channel);
+                }
+                catch (IOException e) {
+                    throw new IllegalArgumentException("Cannot read from file", e);
+                }
+            });
+            if (!delta.matches(nn)) {
+                throw new IllegalArgumentException("Delta " + fileName + 
+                        " was made for a network with a different structure");
+            }
+            deltas.add(delta);
+        }
+        for (DeltaNetworkFormat.Delta delta : deltas) {
+            delta.applyTo(nn);
+        }
+    }
+    
+    /**
+     * Load instance of {@link NeuralNetwork} from a file with path 
+     * {@code fileName} written by 
+     * {@link #saveBinary(NeuralNetwork, String, String)}. The file can be 
+     * compressed. The checksums of all the layers are verified.
+     * @param fileName {@link String} path to a binary network file.
+     * @return An instance of {@link NamedNeuralNetwork} loaded from file 
+     * {@code fileName}.
+     * @throws NullPointerException if {@code fileName} is {@code null}.
+     * @throws IllegalArgumentException if there was an error while reading the
+     * file, the file has a wrong format or is corrupt.
+     */
+    public static NeuralNetwork loadBinary(String fileName) {
+        return loadBinary(fileName, ChecksumVerification.ALL);
+    }
+    
+    /**
+     * Load instance of {@link NeuralNetwork} from a file with path 
+     * {@code fileName} written by 
+     * {@link #saveBinary(NeuralNetwork, String, String)} verifying the 
+     * checksums of its layers as {@code verification} says. The file can be 
+     * compressed. Files written without checksums are loaded without 
+     * verification.
+     * @param fileName {@link String} path to a binary network file.
+     * @param verification {@link ChecksumVerification} of the layers.
+     * @return An instance of {@link NamedNeuralNetwork} loaded from file 
+     * {@code fileName}.
+     * @throws NullPointerException if {@code fileName} or {@code verification}
+     * is {@code null}.
+     * @throws IllegalArgumentException if there was an error while reading the
+     * file, the file has a wrong format or a verified layer is corrupt.
+     */
+    public static NeuralNetwork loadBinary(String fileName, ChecksumVerification verification) {
+        if (fileName == null || verification == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        File file = new File(fileName);
+        return FileInstrumentation.run("loadBinary", file, () -> {
+            // an uncompressed file is read straight through its FileChannel
+            try (ReadableByteChannel channel = Channels.newChannel(openInputStream(file))) {
+                return BinaryNetworkFormat.read(channel, verification);
+            }
+            catch (IOException e) {
+                throw new IllegalArgumentException("Cannot read from file", e);
+            }
+        });
+    }
+    
+    /**
+     * Load instance of {@link NeuralNetwork} from {@code channel} holding the
+     * data written by 
+     * {@link #saveBinary(NeuralNetwork, String, WritableByteChannel, WeightPrecision)}.
+     * The checksums of all the layers are verified. See 
+     * {@link #loadBinary(ReadableByteChannel, ChecksumVerification)}.
+     * @param channel {@link ReadableByteChannel} to read the network from.
+     * @return An instance of {@link NamedNeuralNetwork} read from {@code channel}.
+     * @throws NullPointerException if {@code channel} is {@code null}.
+     * @throws IllegalArgumentException if there was an error while reading the
+     * channel, the data has a wrong format or is corrupt.
+     */
+    public static NeuralNetwork loadBinary(ReadableByteChannel channel) {
+        return loadBinary(channel, ChecksumVerification.ALL);
+    }
+    
+    /**
+     * Load instance of {@link NeuralNetwork} from {@code channel} holding the
+     * data written by 
+     * {@link #saveBinary(NeuralNetwork, String, WritableByteChannel, WeightPrecision)}
+     * verifying the checksums of its layers as {@code verification} says. The
+     * data cannot be compressed. The channel is read ahead in large blocks, 
+     * so it should not hold other data after the network. The channel is not
+     * closed.
+     * @param channel {@link ReadableByteChannel} to read the network from.
+     * @param verification {@link ChecksumVerification} of the layers.
+     * @return An instance of {@link NamedNeuralNetwork} read from {@code channel}.
+     * @throws NullPointerException if {@code channel} or {@code verification}
+     * is {@code null}.
+     * @throws IllegalArgumentException if there was an error while reading the
+     * channel, the data has a wrong format or a verified layer is corrupt.
+     */
+    public static NeuralNetwork loadBinary(ReadableByteChannel channel, 
+            ChecksumVerification verification) {
+        if (channel == null || verification == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        try {
+            return BinaryNetworkFormat.read(channel, verification);
+        }
+        catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read from channel", e);
+        }
+    }
+    
+    /**
+     * Load instance of {@link NeuralNetwork} from the bytes between the 
+     * position and the limit of {@code data} written by 
+     * {@link #saveBinary(NeuralNetwork, String, ByteBuffer, WeightPrecision)}.
+     * The checksums of all the layers are verified. See 
+     * {@link #loadBinary(ByteBuffer, ChecksumVerification)}.
+     * @param data {@link ByteBuffer} holding the network.
+     * @return An instance of {@link NamedNeuralNetwork} read from {@code data}.
+     * @throws NullPointerException if {@code data} is {@code null}.
+     * @throws IllegalArgumentException if the data has a wrong format, is 
+     * truncated or corrupt.
+     */
+    public static NeuralNetwork loadBinary(ByteBuffer data) {
+        return loadBinary(data, ChecksumVerification.ALL);
+    }
+    
+    /**
+     * Load instance of {@link NeuralNetwork} from the bytes between the 
+     * position and the limit of {@code data} written by 
+     * {@link #saveBinary(NeuralNetwork, String, ByteBuffer, WeightPrecision)}
+     * verifying the checksums of its layers as {@code verification} says. The
+     * layers are filled straight from {@code data} without intermediate 
+     * copies, so a direct or a mapped buffer is not copied into the heap. The 
+     * data cannot be compressed. The position of {@code data} is not changed.
+     * @param data {@link ByteBuffer} holding the network.
+     * @param verification {@link ChecksumVerification} of the layers.
+     * @return An instance of {@link NamedNeuralNetwork} read from {@code data}.
+     * @throws NullPointerException if {@code data} or {@code verification}
+     * is {@code null}.
+     * @throws IllegalArgumentException if the data has a wrong format, is 
+     * truncated or a verified layer is corrupt.
+     */
+    public static NeuralNetwork loadBinary(ByteBuffer data, ChecksumVerification verification) {
+        if (data == null || verification == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        try {
+            return BinaryNetworkFormat.read(data, verification);
+        }
+        catch (IOException e) {
+            throw new IllegalArgumentException("Wrong data format: " + e.toString(), e);
+        }
+    }
+    
+    /**
+     * Load instance of {@link NeuralNetwork} from a file with path 
+     * {@code fileName} written by 
+     * {@link #saveBinary(NeuralNetwork, String, String)} by mapping the file 
+     * into memory. The layers are filled straight from the mapped file without
+     * intermediate copies, which keeps the peak memory close to the size of 
+     * the network itself. Use this method for large networks. A compressed 
+     * file cannot be mapped, so it is read as by {@link #loadBinary(String)}.
+     * The checksums of all the layers are verified.
+     * @param fileName {@link String} path to a binary network file.
+     * @return An instance of {@link NamedNeuralNetwork} loaded from file 
+     * {@code fileName}.
+     * @throws NullPointerException if {@code fileName} is {@code null}.
+     * @throws IllegalArgumentException if there was an error while reading the
+     * file, the file has a wrong format or is corrupt.
+     */
+    public static NeuralNetwork loadBinaryMapped(String fileName) {
+        return loadBinaryMapped(fileName, ChecksumVerification.ALL);
+    }
+    
+    /**
+     * Load instance of {@link NeuralNetwork} from a file with path 
+     * {@code fileName} written by 
+     * {@link #saveBinary(NeuralNetwork, String, String)} by mapping the file 
+     * into memory as {@link #loadBinaryMapped(String)} does, verifying the 
+     * checksums of its layers as {@code verification} says.
+     * @param fileName {@link String} path to a binary network file.
+     * @param verification {@link ChecksumVerification} of the layers.
+     * @return An instance of {@link NamedNeuralNetwork} loaded from file 
+     * {@code fileName}.
+     * @throws NullPointerException if {@code fileName} or {@code verification}
+     * is {@code null}.
+     * @throws IllegalArgumentException if there was an error while reading the
+     * file, the file has a wrong format or a verified layer is corrupt.
+     */
+    public static NeuralNetwork loadBinaryMapped(String fileName, 
+            ChecksumVerification verification) {
+        if (fileName == null || verification == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        File file = new File(fileName);
+        return FileInstrumentation.run("loadBinaryMapped", file, () -> {
+            try (FileChannel channel = new FileInputStream(file).getChannel()) {
+                if (Compression.detect(channel) != Compression.NONE) {
+                    return loadBinary(fileName, verification);
+                }
+                return BinaryNetworkFormat.readMapped(channel, verification);
+            }
+            catch (IOException e) {
+                throw new IllegalArgumentException("Cannot read from file", e);
+            }
+        });
+    }
+    
+    /**
+     * Read the name and the architecture of the network stored in a file with
+     * path {@code fileName} without loading the weights. For the text and the 
+     * binary formats only the first bytes of the file are read, compressed 
+     * files included. A file written by 
+     * {@link #saveWithName(NeuralNetwork, String, String)} has no separate 
+     * header, so the network is loaded from it.
+     * @param fileName {@link String} path to a network file in any format.
+     * @return {@link NetworkSignature} of the network in the file with 
+     * {@code null} name if the file doesn't have one.
+     * @throws NullPointerException if {@code fileName} is {@code null}.
+     * @throws IllegalArgumentException if there was an error while reading the
+     * file or the file has a wrong format.
+     */
+    public static NetworkSignature readSignature(String fileName) {
+        if (fileName == null) {
+            throw new NullPointerException("File name cannot be null");
+        }
+        File file = new File(fileName);
+        try (InputStream in = openInputStream(file)) {
+            return readSignature(in);
+        }
+        catch (IOException | NumberFormatException e) {
+            throw new IllegalArgumentException("Wrong file format: " + e.toString(), e);
+        }
+        catch (ClassNotFoundException | ClassCastException e) {
+            throw new IllegalArgumentException("Wrong file format", e);
+        }
+    }
+    
+    /**
+     * Read the {@link NetworkFingerprint} of the network stored in a file 
+     * with path {@code fileName}. If the file was saved with the fingerprint
+     * by {@link #saveBinary(NeuralNetwork, String, String, WeightPrecision, Compression, boolean)},
+     * only the header is read, compressed files included. Otherwise the 
+     * network is loaded with {@link #loadAny(String)} and hashed. Either way
+     * it is the fingerprint of the network loaded from the file, which for
+     * a reduced precision is the one of the rounded values.
+     * @param fileName {@link String} path to a network file in any format.
+     * @return {@link NetworkFingerprint} of the network in the file.
+     * @throws NullPointerException if {@code fileName} is {@code null}.
+     * @throws IllegalArgumentException if there was an error while reading the
+     * file or the file has a wrong format.
+     */
+    public static NetworkFingerprint readFingerprint(String fileName) {
+        if (fileName == null) {
+            throw new NullPointerException("File name cannot be null");
+        }
+        File file = new File(fileName);
+        try (InputStream data = openInputStream(file)) {
+            InputStream in = new BufferedInputStream(data);
+            byte[] start = new byte[NetworkFileFormat.DETECT_LENGTH];
+            if (NetworkFileFormat.detect(start, peek(in, start)) == NetworkFileFormat.BINARY) {
+                NetworkFingerprint fingerprint = BinaryNetworkFormat.readHeader(
+                        new ChannelInput(Channels.newChannel(in), SIGNATURE_BUFFER_SIZE))
+                        .fingerprint;
+                if (fingerprint != null) {
+                    return fingerprint;
+                }
+            }
+        }
+        catch (IOException e) {
+            throw new IllegalArgumentException("Wrong file format: " + e.toString(), e);
+        }
+        return NetworkFingerprint.of(loadAny(fileName));
+    }
+    
+    /**
+     * Read the name and the architecture of the network at the start of 
+     * {@code channel} without loading the weights, as 
+     * {@link #readSignature(String)} does. The data cannot be compressed. 
+     * The channel is not closed, but more bytes than the header can be read 
+     * from it.
+     * @param channel {@link ReadableByteChannel} in blocking mode holding a 
+     * network in any format.
+     * @return {@link NetworkSignature} of the network in {@code channel} with
+     * {@code null} name if the network doesn't have one.
+     * @throws NullPointerException if {@code channel} is {@code null}.
+     * @throws IllegalArgumentException if there was an error while reading the
+     * channel or the data has a wrong format.
+     */
+    public static NetworkSignature readSignature(ReadableByteChannel channel) {
+        if (channel == null) {
+            throw new NullPointerException("Channel cannot be null");
+        }
+        try {
+            return readSignature(Channels.newInputStream(channel));
+        }
+        catch (IOException | NumberFormatException e) {
+            throw new IllegalArgumentException("Wrong data format: " + e.toString(), e);
+        }
+        catch (ClassNotFoundException | ClassCastException e) {
+            throw new IllegalArgumentException("Wrong data format", e);
+        }
+    }
+    
+    /**
+     * Read the name and the architecture of the network at the position of 
+     * {@code data} without loading the weights, as 
+     * {@link #readSignature(String)} does. The data cannot be compressed. The
+     * position of {@code data} is not changed.
+     * @param data {@link ByteBuffer} holding a network in any format.
+     * @return {@link NetworkSignature} of the network in {@code data} with 
+     * {@code null} name if the network doesn't have one.
+     * @throws NullPointerException if {@code data} is {@code null}.
+     * @throws IllegalArgumentException if the data has a wrong format.
+     */
+    public static NetworkSignature readSignature(ByteBuffer data) {
+        if (data == null) {
+            throw new NullPointerException("Buffer cannot be null");
+        }
+        return readSignature(new ByteBufferChannel(data.duplicate()));
+    }
+    
+    // Peek at the first bytes to find the format, then read only the header 
+    // of the binary and the text formats
+    private static NetworkSignature readSignature(InputStream data) 
+            throws IOException, ClassNotFoundException {
+        InputStream in = new BufferedInputStream(data);
+        byte[] start = new byte[NetworkFileFormat.DETECT_LENGTH];
+        switch (NetworkFileFormat.detect(start, peek(in, start))) {
+            case BINARY:
+                return BinaryNetworkFormat.readHeader(new ChannelInput(Channels.newChannel(in),
+                        SIGNATURE_BUFFER_SIZE)).signature();
+            case SERIALIZED:
+                // Java serialization has no separate header
+                return NetworkSignature.of(readSerialized(in));
+            default:
+                return readTextSignature(new TextWeightReader(new InputStreamReader(in),
+                        SIGNATURE_BUFFER_SIZE));
+        }
+    }
+}
+
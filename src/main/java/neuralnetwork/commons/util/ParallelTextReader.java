@@ -0,0 +1,223 @@
+package neuralnetwork.commons.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import neuralnetwork.NeuralNetwork;
+
+/**
+ * Reader of the layers of a text network file in parallel. The file is read
+ * in two passes over mapped parts of it:
+ * <ol>
+ * <li>the offsets of all the line terminators are found, every part of the
+ * file by its own task;</li>
+ * <li>the lines of the layers are split into ranges of a few megabytes and
+ * every range is parsed by its own task straight into the network.</li>
+ * </ol>
+ * A layer takes one line per neuron of the previous layer and a line of
+ * biases, so the number of lines is about the number of neurons and the
+ * offsets take little memory even for files of several gigabytes.
+ * <p>
+ * The tasks write distinct weights and biases of the network, which is
+ * safely published to the caller when all of them are joined.
+ * @author Konstantin Zhdanov
+ */
+final class ParallelTextReader {
+
+    // the line terminators of a part of the file of this size are found by
+    // one task
+    private static final long SCAN_CHUNK_SIZE = 16L << 20;
+    // the lines parsed by one task take about this many bytes
+    private static final long PARSE_CHUNK_SIZE = 4L << 20;
+
+    private ParallelTextReader() {
+    }
+
+    /**
+     * Read the weights and biases of all the layers of {@code nn} from a text
+     * network file.
+     * @param channel {@link FileChannel} of the uncompressed file.
+     * @param firstLine Index of the first line of the first layer, i.e. the
+     * number of the lines of the name and the signature.
+     * @param nn {@link NeuralNetwork} with the signature of the file to fill.
+     * @param pool {@link ForkJoinPool} to run the tasks in.
+     * @throws IOException if the file cannot be read or has too few lines.
+     * @throws NumberFormatException if the file holds a wrong number.
+     */
+    static void readLayers(FileChannel channel, int firstLine, NeuralNetwork nn,
+            ForkJoinPool pool) throws IOException {
+        try {
+            long[] newlines = pool.invoke(new NewlineScan(channel, 0, channel.size()));
+            Lines lines = new Lines(newlines, channel.size());
+            List<RowsParse> layers = new ArrayList<>();
+            int line = firstLine;
+            for (int layerIdx = 0; layerIdx < NetworkLayers.count(nn); layerIdx++) {
+                int nRows = NetworkLayers.prevLayerSize(nn, layerIdx) + 1;
+                if (line + nRows > lines.count()) {
+                    throw new EOFException("Unexpected end of file");
+                }
+                layers.add(new RowsParse(channel, lines, nn, layerIdx, line, 0, nRows));
+                line += nRows;
+            }
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(layers);
+                }
+            });
+        }
+        catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Line offsets of the file
+    private static final class Lines {
+        private final long[] newlines;
+        private final long fileSize;
+
+        Lines(long[] newlines, long fileSize) {
+            this.newlines = newlines;
+            this.fileSize = fileSize;
+        }
+
+        // the last line may have no terminator
+        int count() {
+            return newlines.length + 1;
+        }
+
+        long start(int line) {
+            return line == 0 ? 0 : newlines[line - 1] + 1;
+        }
+
+        // offset of the terminator of the line or the size of the file
+        long end(int line) {
+            return line < newlines.length ? newlines[line] : fileSize;
+        }
+    }
+
+    // Find the offsets of '\n' between from and to
+    private static final class NewlineScan extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long from;
+        private final long to;
+
+        NewlineScan(FileChannel channel, long from, long to) {
+            this.channel = channel;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from > SCAN_CHUNK_SIZE) {
+                long middle = from + (to - from) / 2;
+                NewlineScan left = new NewlineScan(channel, from, middle);
+                left.fork();
+                long[] right = new NewlineScan(channel, middle, to).compute();
+                long[] result = left.join();
+                int leftLength = result.length;
+                result = Arrays.copyOf(result, leftLength + right.length);
+                System.arraycopy(right, 0, result, leftLength, right.length);
+                return result;
+            }
+            ByteBuffer part = map(channel, from, to);
+            long[] newlines = new long[16];
+            int count = 0;
+            for (int i = 0; i < part.limit(); i++) {
+                if (part.get(i) == '\n') {
+                    if (count == newlines.length) {
+                        newlines = Arrays.copyOf(newlines, count * 2);
+                    }
+                    newlines[count++] = from + i;
+                }
+            }
+            return Arrays.copyOf(newlines, count);
+        }
+    }
+
+    // Parse the rows from firstRow (inclusive) to endRow (exclusive) of a
+    // layer: a row per neuron of the previous layer and a row of biases
+    private static final class RowsParse extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final Lines lines;
+        private final NeuralNetwork nn;
+        private final int layerIdx;
+        private final int layerLine;
+        private final int firstRow;
+        private final int endRow;
+
+        RowsParse(FileChannel channel, Lines lines, NeuralNetwork nn, int layerIdx,
+                int layerLine, int firstRow, int endRow) {
+            this.channel = channel;
+            this.lines = lines;
+            this.nn = nn;
+            this.layerIdx = layerIdx;
+            this.layerLine = layerLine;
+            this.firstRow = firstRow;
+            this.endRow = endRow;
+        }
+
+        @Override
+        protected void compute() {
+            long start = lines.start(layerLine + firstRow);
+            long end = lines.end(layerLine + endRow - 1);
+            if (endRow - firstRow > 1 && end - start > PARSE_CHUNK_SIZE) {
+                int middle = firstRow + (endRow - firstRow) / 2;
+                invokeAll(new RowsParse(channel, lines, nn, layerIdx, layerLine, firstRow, middle),
+                        new RowsParse(channel, lines, nn, layerIdx, layerLine, middle, endRow));
+                return;
+            }
+            TextWeightReader in = new TextWeightReader(new InputStreamReader(
+                    Channels.newInputStream(new ByteBufferChannel(map(channel, start, end)))));
+            try {
+                long parseStart = FileInstrumentation.layerStarted(layerIdx);
+                readRows(in);
+                FileInstrumentation.layerParsed(layerIdx, (endRow - firstRow) * 
+                        (long)NetworkLayers.layerSize(nn, layerIdx), parseStart);
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void readRows(TextWeightReader in) throws IOException {
+            int prevLayerSize = NetworkLayers.prevLayerSize(nn, layerIdx);
+            int layerSize = NetworkLayers.layerSize(nn, layerIdx);
+            for (int row = firstRow; row < endRow; row++) {
+                for (int curNeuron = 0; curNeuron < layerSize; curNeuron++) {
+                    if (row < prevLayerSize) {
+                        nn.setWeight(layerIdx, row, curNeuron, in.nextDouble());
+                    }
+                    else {
+                        nn.setBias(layerIdx, curNeuron, in.nextDouble());
+                    }
+                }
+                in.endLine();
+            }
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, long from, long to) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package neuralnetwork.commons.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.concurrent.ThreadLocalRandom;
+import neuralnetwork.NamedNeuralNetwork;
+import neuralnetwork.NeuralNetwork;
+
+/**
+ * Read-only weights and biases of a network kept in a memory-mapped binary
+ * network file. The values stay in the file's pages of the operating system
+ * cache, so all the processes of a host that open the same file share one
+ * copy of them. Placed on a memory file system such as {@code /dev/shm}, the
+ * file never touches a disk.
+ * <p>
+ * The store is the binary format written by
+ * {@link NeuralNetworkFileUtils#saveBinary(NeuralNetwork, String, String)}
+ * (uncompressed), where every value is aligned to its size. Use
+ * {@link #publish(NeuralNetwork, String, String)} to replace a store that
+ * other processes may have open: the new file is written aside and moved
+ * into place, so the mapped old file stays intact until it is unmapped.
+ * <p>
+ * The values are read with {@link #getWeight(int, int, int)} and
+ * {@link #getBias(int, int)} or, for the {@link WeightPrecision#DOUBLE}
+ * precision, through the flat views of {@link #getLayerValues(int)}, none of
+ * which copy the data into the heap. A {@link NeuralNetwork} keeps its values
+ * in the heap, so {@link #toNetwork()} necessarily makes a private copy. The
+ * mapping is released when the store is garbage collected. The store is
+ * immutable and safe to use from several threads.
+ * @author Konstantin Zhdanov
+ */
+public final class SharedWeightStore {
+    private final BinaryNetworkFormat.MappedNetwork mapped;
+    private final ByteBuffer[] layers;
+    // quantization parameters of the layers for WeightPrecision.INT8
+    private final double[] scales;
+    private final int[] zeroPoints;
+
+    private SharedWeightStore(BinaryNetworkFormat.MappedNetwork mapped) {
+        this.mapped = mapped;
+        int nLayers = mapped.header.layerCount();
+        this.layers = new ByteBuffer[nLayers];
+        this.scales = new double[nLayers];
+        this.zeroPoints = new int[nLayers];
+        for (int layerIdx = 0; layerIdx < nLayers; layerIdx++) {
+            layers[layerIdx] = mapped.layer(layerIdx);
+            if (mapped.header.precision == WeightPrecision.INT8) {
+                // the values follow the scale and the zero point
+                scales[layerIdx] = layers[layerIdx].getDouble(0);
+                zeroPoints[layerIdx] = layers[layerIdx].getInt(8);
+            }
+        }
+    }
+
+    /**
+     * Open the store in a file with path {@code fileName} verifying the
+     * checksums of all the layers.
+     * @param fileName {@link String} path to an uncompressed binary network file.
+     * @return {@link SharedWeightStore} of the file.
+     * @throws NullPointerException if {@code fileName} is {@code null}.
+     * @throws IllegalArgumentException if there was an error while mapping the
+     * file, the file has a wrong format or is corrupt.
+     */
+    public static SharedWeightStore open(String fileName) {
+        return open(fileName, ChecksumVerification.ALL);
+    }
+
+    /**
+     * Open the store in a file with path {@code fileName} verifying the
+     * checksums of its layers as {@code verification} says. Verifying reads
+     * the whole file, which brings it into the shared cache rather than into
+     * the heap.
+     * @param fileName {@link String} path to an uncompressed binary network file.
+     * @param verification {@link ChecksumVerification} of the layers.
+     * @return {@link SharedWeightStore} of the file.
+     * @throws NullPointerException if {@code fileName} or {@code verification}
+     * is {@code null}.
+     * @throws IllegalArgumentException if there was an error while mapping the
+     * file, the file has a wrong format, is compressed, has sparse layers or a
+     * verified layer is corrupt.
+     */
+    public static SharedWeightStore open(String fileName, ChecksumVerification verification) {
+        if (fileName == null || verification == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        try (FileChannel channel = new FileInputStream(new File(fileName)).getChannel()) {
+            if (Compression.detect(channel) != Compression.NONE) {
+                throw new IllegalArgumentException("Compressed file cannot be mapped");
+            }
+            BinaryNetworkFormat.MappedNetwork mapped = BinaryNetworkFormat.map(channel, verification);
+            if (mapped.header.sparse) {
+                throw new IllegalArgumentException("File with sparse layers cannot be shared");
+            }
+            return new SharedWeightStore(mapped);
+        }
+        catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read from file", e);
+        }
+    }
+
+    /**
+     * Write the {@code nn} network with name {@code name} into a store with
+     * path {@code fileName} in the {@link WeightPrecision#DOUBLE} precision.
+     * See {@link #publish(NeuralNetwork, String, String, WeightPrecision)}.
+     * @param nn {@link NeuralNetwork} to be written.
+     * @param name {@link String} name to be written along with the network.
+     * @param fileName Path to the file of the store.
+     * @throws NullPointerException if {@code nn}, {@code name} or {@code fileName}
+     * is null.
+     * @throws IllegalArgumentException if there was an error while writing the
+     * store.
+     */
+    public static void publish(NeuralNetwork nn, String name, String fileName) {
+        publish(nn, name, fileName, WeightPrecision.DOUBLE);
+    }
+
+    /**
+     * Write the {@code nn} network with name {@code name} into a store with
+     * path {@code fileName} in the {@code precision} precision. The network
+     * is written into a temporary file of the same directory, which then
+     * replaces the file {@code fileName} atomically. The processes that have
+     * the old store open keep reading the old values, the processes that
+     * open the store afterwards read the new ones, and none of them can see
+     * a partly written file.
+     * @param nn {@link NeuralNetwork} to be written.
+     * @param name {@link String} name to be written along with the network.
+     * @param fileName Path to the file of the store.
+     * @param precision {@link WeightPrecision} to store the weights and biases in.
+     * @throws NullPointerException if {@code nn}, {@code name}, {@code fileName}
+     * or {@code precision} is null.
+     * @throws IllegalArgumentException if there was an error while writing the
+     * store.
+     */
+    public static void publish(NeuralNetwork nn, String name, String fileName,
+            WeightPrecision precision) {
+        if (nn == null || name == null || fileName == null || precision == null) {
+            throw new NullPointerException("Arguments cannot be null");
+        }
+        File file = new File(fileName).getAbsoluteFile();
+        Path target = file.toPath();
+        Path tempFile = null;
+        try {
+            // not Files.createTempFile, which makes the file readable only
+            // by its owner
+            Path newFile = target.resolveSibling("." + file.getName() + "." + 
+                    Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+            MessageDigest digest = NetworkCatalog.contentDigest(file);
+            try (FileChannel channel = FileChannel.open(newFile, StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE_NEW)) {
+                tempFile = newFile;
+                BinaryNetworkFormat.write(nn, name, precision, 
+                        NetworkCatalog.digesting(channel, digest));
+            }
+            try {
+                Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+            catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            tempFile = null;
+            NetworkCatalog.fileSaved(file, new NetworkSignature(name, nn.getNumberInputs(),
+                    nn.getHiddenLayerSizes(), nn.getNumberOutputs()), digest);
+        }
+        catch (IOException e) {
+            throw new IllegalArgumentException("Cannot write into file", e);
+        }
+        finally {
+            if (tempFile != null) {
+                tempFile.toFile().delete();
+            }
+        }
+    }
+
+    /**
+     * Get the name and the architecture of the stored network.
+     * @return {@link NetworkSignature} of the network.
+     */
+    public NetworkSignature getSignature() {
+        return mapped.header.signature();
+    }
+
+    /**
+     * Get the precision the values are stored in.
+     * @return {@link WeightPrecision} of the store.
+     */
+    public WeightPrecision getPrecision() {
+        return mapped.header.precision;
+    }
+
+    /**
+     * Get the weight between neuron {@code prevNeuron} of the previous layer
+     * and neuron {@code curNeuron} of layer {@code layerIdx}, numbered as in
+     * {@link NeuralNetwork#getWeight(int, int, int)}.
+     * @param layerIdx Index of the layer.
+     * @param prevNeuron Index of the neuron of the previous layer.
+     * @param curNeuron Index of the neuron of the layer.
+     * @return Value of the weight widened to {@code double}.
+     * @throws IndexOutOfBoundsException if any of the indexes is out of range.
+     */
+    public double getWeight(int layerIdx, int prevNeuron, int curNeuron) {
+        checkIndex(prevNeuron, mapped.header.prevLayerSize(layerIdx));
+        int layerSize = mapped.header.layerSize(layerIdx);
+        checkIndex(curNeuron, layerSize);
+        return getValue(layerIdx, prevNeuron * layerSize + curNeuron);
+    }
+
+    /**
+     * Get the bias of neuron {@code curNeuron} of layer {@code layerIdx},
+     * numbered as in {@link NeuralNetwork#getBias(int, int)}.
+     * @param layerIdx Index of the layer.
+     * @param curNeuron Index of the neuron of the layer.
+     * @return Value of the bias widened to {@code double}.
+     * @throws IndexOutOfBoundsException if any of the indexes is out of range.
+     */
+    public double getBias(int layerIdx, int curNeuron) {
+        int layerSize = mapped.header.layerSize(layerIdx);
+        checkIndex(curNeuron, layerSize);
+        return getValue(layerIdx, mapped.header.prevLayerSize(layerIdx) * layerSize + curNeuron);
+    }
+
+    /**
+     * Get a flat read-only view of the values of layer {@code layerIdx}
+     * mapped from the file: the weights ordered by the neuron of the
+     * previous layer and then by the neuron of the layer, followed by the
+     * biases. The weight between neurons {@code p} and {@code c} is at index
+     * {@code p * layerSize + c}, the bias of neuron {@code c} is at index
+     * {@code prevLayerSize * layerSize + c}. Every call returns a new view
+     * of the same memory.
+     * @param layerIdx Index of the layer.
+     * @return Read-only {@link DoubleBuffer} of the values of the layer.
+     * @throws IndexOutOfBoundsException if {@code layerIdx} is out of range.
+     * @throws IllegalStateException if the values are not stored as
+     * {@link WeightPrecision#DOUBLE}.
+     */
+    public DoubleBuffer getLayerValues(int layerIdx) {
+        if (mapped.header.precision != WeightPrecision.DOUBLE) {
+            throw new IllegalStateException("Values are stored as " + mapped.header.precision);
+        }
+        return mapped.layer(layerIdx).asDoubleBuffer();
+    }
+
+    /**
+     * Copy the stored network into the heap.
+     * @return New {@link NamedNeuralNetwork} with the name and the values of
+     * the store.
+     */
+    public NeuralNetwork toNetwork() {
+        return mapped.toNetwork();
+    }
+
+    private double getValue(int layerIdx, int index) {
+        ByteBuffer layer = layers[layerIdx];
+        int offset = index * mapped.header.precision.getBytesPerValue();
+        switch (mapped.header.precision) {
+            case DOUBLE:
+                return layer.getDouble(offset);
+            case FLOAT:
+                return layer.getFloat(offset);
+            case HALF:
+                return HalfPrecision.toDouble(layer.getShort(offset));
+            default:
+                return (layer.get(BinaryNetworkFormat.QUANTIZED_LAYER_HEADER_SIZE + offset) - 
+                        zeroPoints[layerIdx]) * scales[layerIdx];
+        }
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of range");
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package neuralnetwork.commons.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Tokenizer of the text network format reading numbers straight from a
+ * reusable {@code char} buffer. Weights are parsed with {@link DoubleParser}
+ * without creating a {@link String} per number or per line, so lines of
+ * any length are read in constant memory.
+ * @author Konstantin Zhdanov
+ */
+final class TextWeightReader {
+
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+    private boolean eof;
+
+    /**
+     * Create a tokenizer of the characters of {@code reader}.
+     * @param reader {@link Reader} to read characters from. No additional
+     * buffering is needed.
+     */
+    TextWeightReader(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Create a tokenizer of the characters of {@code reader} with a buffer
+     * of {@code bufferSize} characters, which limits the length of a number.
+     * @param reader {@link Reader} to read characters from.
+     * @param bufferSize Size of the buffer in characters.
+     */
+    TextWeightReader(Reader reader, int bufferSize) {
+        this.reader = reader;
+        this.buffer = new char[bufferSize];
+    }
+
+    /**
+     * Read the rest of the current line.
+     * @return {@link String} content of the line without the line terminator
+     * or {@code null} if the end of the stream has been reached.
+     * @throws IOException if the stream cannot be read.
+     */
+    String readLine() throws IOException {
+        if (!available()) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        while (available()) {
+            int start = position;
+            while (position < limit && buffer[position] != '\n') {
+                position++;
+            }
+            sb.append(buffer, start, position - start);
+            if (position < limit) {
+                // skip '\n'
+                position++;
+                break;
+            }
+        }
+        int length = sb.length();
+        if (length > 0 && sb.charAt(length - 1) == '\r') {
+            sb.setLength(length - 1);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Check if the current line is a network signature, i.e. its first number
+     * is followed by a comma. Nothing is consumed.
+     * @return {@code true} if the current line starts like a signature.
+     * @throws IOException if the stream cannot be read.
+     */
+    boolean isSignatureNext() throws IOException {
+        skipSpaces();
+        int end = scanToken();
+        return end < limit && buffer[end] == ',';
+    }
+
+    /**
+     * Read the next number of the current line.
+     * @return {@code double} value of the number.
+     * @throws IOException if the stream cannot be read, has ended or there
+     * are no more numbers in the current line.
+     * @throws NumberFormatException if the next token is not a number.
+     */
+    double nextDouble() throws IOException {
+        skipSpaces();
+        if (!available()) {
+            throw new EOFException("Unexpected end of file");
+        }
+        if (buffer[position] == '\n' || buffer[position] == '\r') {
+            throw new IOException("Wrong number of weights for layer");
+        }
+        int end = scanToken();
+        double value = DoubleParser.parse(buffer, position, end - position);
+        position = end;
+        return value;
+    }
+
+    /**
+     * Move to the next line, making sure there's nothing but spaces left
+     * in the current one.
+     * @throws IOException if the stream cannot be read or the current line
+     * holds more numbers.
+     */
+    void endLine() throws IOException {
+        skipSpaces();
+        while (available() && buffer[position] == '\r') {
+            position++;
+        }
+        if (!available()) {
+            return;
+        }
+        if (buffer[position] != '\n') {
+            throw new IOException("Wrong number of weights for layer");
+        }
+        position++;
+    }
+
+    private void skipSpaces() throws IOException {
+        while (available() && (buffer[position] == ' ' || buffer[position] == '\t')) {
+            position++;
+        }
+    }
+
+    // Make the whole token starting at the current position available in the
+    // buffer and return the index following its last character
+    private int scanToken() throws IOException {
+        int end = position;
+        while (true) {
+            if (end == limit) {
+                int tokenLength = end - position;
+                if (!fillKeepingToken()) {
+                    return limit;
+                }
+                end = position + tokenLength;
+                continue;
+            }
+            char c = buffer[end];
+            if (c == ' ' || c == ',' || c == '\n' || c == '\r' || c == '\t') {
+                return end;
+            }
+            end++;
+        }
+    }
+
+    private boolean available() throws IOException {
+        return position < limit || fillKeepingToken();
+    }
+
+    // Read more characters keeping the ones from the current position
+    private boolean fillKeepingToken() throws IOException {
+        if (eof) {
+            return false;
+        }
+        int kept = limit - position;
+        if (kept == buffer.length) {
+            throw new NumberFormatException("Number is too long");
+        }
+        System.arraycopy(buffer, position, buffer, 0, kept);
+        position = 0;
+        limit = kept;
+        int read;
+        do {
+            read = reader.read(buffer, limit, buffer.length - limit);
+        } while (read == 0);
+        if (read < 0) {
+            eof = true;
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+}
@@ -0,0 +1,71 @@
+package neuralnetwork.commons.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writer of the text network format formatting numbers straight into a
+ * reusable {@code char} buffer with {@link DoubleFormatter} and passing it
+ * to the underlying {@link Writer} in chunks, so the memory used doesn't
+ * depend on the size of the layers.
+ * @author Konstantin Zhdanov
+ */
+final class TextWeightWriter {
+
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final Writer writer;
+    private final char[] buffer;
+    private int position;
+
+    /**
+     * Create a writer into {@code writer}.
+     * @param writer {@link Writer} to write into. No additional buffering
+     * is needed.
+     */
+    TextWeightWriter(Writer writer) {
+        this.writer = writer;
+        this.buffer = new char[DEFAULT_BUFFER_SIZE];
+    }
+
+    void write(char c) throws IOException {
+        reserve(1);
+        buffer[position++] = c;
+    }
+
+    void write(String s) throws IOException {
+        int offset = 0;
+        while (offset < s.length()) {
+            reserve(1);
+            int len = Math.min(buffer.length - position, s.length() - offset);
+            s.getChars(offset, offset + len, buffer, position);
+            position += len;
+            offset += len;
+        }
+    }
+
+    void writeDouble(double value) throws IOException {
+        reserve(DoubleFormatter.MAX_CHARS);
+        position = DoubleFormatter.format(value, buffer, position);
+    }
+
+    /**
+     * Pass the buffered characters to the underlying writer and flush it.
+     * @throws IOException if the writer fails.
+     */
+    void flush() throws IOException {
+        writeBuffer();
+        writer.flush();
+    }
+
+    private void reserve(int n) throws IOException {
+        if (buffer.length - position < n) {
+            writeBuffer();
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        writer.write(buffer, 0, position);
+        position = 0;
+    }
+}
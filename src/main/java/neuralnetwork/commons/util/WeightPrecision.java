@@ -0,0 +1,47 @@
+package neuralnetwork.commons.util;
+
+/**
+ * Precision used to store the weights and biases of a network in the
+ * binary network format. Values are widened back to {@code double} on load.
+ * @author Konstantin Zhdanov
+ */
+public enum WeightPrecision {
+    /**
+     * IEEE 754 double precision, 8 bytes per value. The values are stored 
+     * without any loss.
+     */
+    DOUBLE(8),
+    /**
+     * IEEE 754 single precision, 4 bytes per value, about 7 significant
+     * decimal digits.
+     */
+    FLOAT(4),
+    /**
+     * IEEE 754 half precision, 2 bytes per value, about 3 significant 
+     * decimal digits. Values are rounded to the nearest, ties to even, so
+     * magnitudes below 65520 round to at most 65504 and magnitudes from 65520
+     * up become infinite.
+     */
+    HALF(2),
+    /**
+     * 8-bit integers with a scale and a zero point per layer, 1 byte per 
+     * value. The error of a value is at most a half of the scale of its layer,
+     * which is 1/254 of the range of the values of the layer.
+     * @see NeuralNetworkFileUtils#saveQuantized
+     */
+    INT8(1);
+    
+    private final int bytesPerValue;
+
+    private WeightPrecision(int bytesPerValue) {
+        this.bytesPerValue = bytesPerValue;
+    }
+
+    /**
+     * Get the number of bytes a single weight or bias takes in this precision.
+     * @return Number of bytes per value.
+     */
+    public int getBytesPerValue() {
+        return bytesPerValue;
+    }
+}
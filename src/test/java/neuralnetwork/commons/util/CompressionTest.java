@@ -0,0 +1,75 @@
+package neuralnetwork.commons.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for Compression enum
+ * @author Konstantin Zhdanov
+ */
+public class CompressionTest {
+
+    public CompressionTest() {
+    }
+
+    /**
+     * Test of detect method, of enum Compression.
+     */
+    @Test
+    public void testDetect_CompressedData_CompressionFound() throws IOException {
+        System.out.println("detect");
+        for (Compression compression : Compression.values()) {
+            byte[] data = compress("Network test\n2, 3, 4\n".getBytes("UTF-8"), compression);
+
+            assertEquals(compression, Compression.detect(data[0], data[1]));
+        }
+    }
+
+    @Test
+    public void testDetect_TextAndBinaryData_None() {
+        System.out.println("detect");
+        assertEquals(Compression.NONE, Compression.detect((byte)'x', (byte)'^'));
+        assertEquals(Compression.NONE, Compression.detect((byte)'2', (byte)','));
+        assertEquals(Compression.NONE, Compression.detect((byte)'N', (byte)'N'));
+        assertEquals(Compression.NONE, Compression.detect((byte)0xAC, (byte)0xED));
+    }
+
+    /**
+     * Test of decompress method, of enum Compression.
+     */
+    @Test
+    public void testDecompress_CompressedData_SameData() throws IOException {
+        System.out.println("decompress");
+        byte[] expected = new byte[100_000];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = (byte)(i % 251);
+        }
+        for (Compression compression : Compression.values()) {
+            byte[] data = compress(expected, compression);
+
+            ByteArrayOutputStream actual = new ByteArrayOutputStream();
+            try (InputStream in = compression.decompress(new ByteArrayInputStream(data))) {
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    actual.write(buffer, 0, read);
+                }
+            }
+
+            assertArrayEquals(expected, actual.toByteArray());
+        }
+    }
+
+    private static byte[] compress(byte[] data, Compression compression) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = compression.compress(bytes)) {
+            out.write(data);
+        }
+        return bytes.toByteArray();
+    }
+}
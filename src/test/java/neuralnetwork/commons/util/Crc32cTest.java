@@ -0,0 +1,67 @@
+package neuralnetwork.commons.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for Crc32c class
+ * @author Konstantin Zhdanov
+ */
+public class Crc32cTest {
+
+    public Crc32cTest() {
+    }
+
+    /**
+     * Test of update method, of class Crc32c.
+     */
+    @Test
+    public void testUpdate_CheckString_StandardCheckValue() {
+        System.out.println("update");
+        Crc32c crc = new Crc32c();
+
+        crc.update("123456789".getBytes(StandardCharsets.US_ASCII), 0, 9);
+
+        assertEquals(0xE3069283L, crc.getValue());
+    }
+
+    @Test
+    public void testUpdate_ArrayBufferAndBytes_SameValue() {
+        System.out.println("update");
+        byte[] data = new byte[1000];
+        new Random(1).nextBytes(data);
+        for (int length = 0; length < 40; length++) {
+            Crc32c arrayCrc = new Crc32c();
+            arrayCrc.update(data, 3, length);
+            Crc32c directCrc = new Crc32c();
+            ByteBuffer direct = ByteBuffer.allocateDirect(length);
+            direct.put(data, 3, length).flip();
+            directCrc.update(direct);
+            Crc32c byteCrc = new Crc32c();
+            for (int i = 0; i < length; i++) {
+                byteCrc.update(data[3 + i]);
+            }
+
+            assertEquals(arrayCrc.getValue(), directCrc.getValue());
+            assertEquals(arrayCrc.getValue(), byteCrc.getValue());
+            assertFalse(direct.hasRemaining());
+        }
+    }
+
+    /**
+     * Test of reset method, of class Crc32c.
+     */
+    @Test
+    public void testReset_AfterUpdate_EmptyValue() {
+        System.out.println("reset");
+        Crc32c crc = new Crc32c();
+        crc.update(42);
+
+        crc.reset();
+
+        assertEquals(0, crc.getValue());
+    }
+}
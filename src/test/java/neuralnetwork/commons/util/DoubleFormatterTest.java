@@ -0,0 +1,60 @@
+package neuralnetwork.commons.util;
+
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for DoubleFormatter class
+ * @author Konstantin Zhdanov
+ */
+public class DoubleFormatterTest {
+    
+    public DoubleFormatterTest() {
+    }
+    
+    /**
+     * Test of format method, of class DoubleFormatter.
+     */
+    @Test
+    public void testFormat_KnownValues_LayoutOfToString() {
+        System.out.println("format");
+        assertEquals("10.5", format(10.5));
+        assertEquals("-1.9", format(-1.9));
+        assertEquals("1.0", format(1));
+        assertEquals("0.0", format(0));
+        assertEquals("-0.0", format(-0.0));
+        assertEquals("0.001", format(0.001));
+        assertEquals("1.0E-4", format(0.0001));
+        assertEquals("9999999.0", format(9999999));
+        assertEquals("1.0E7", format(1e7));
+        assertEquals("-1.2345E-8", format(-1.2345e-8));
+        assertEquals("0.30000000000000004", format(0.1 + 0.2));
+        assertEquals("1.7976931348623157E308", format(Double.MAX_VALUE));
+        assertEquals("4.9E-324", format(Double.MIN_VALUE));
+        assertEquals("NaN", format(Double.NaN));
+        assertEquals("-Infinity", format(Double.NEGATIVE_INFINITY));
+    }
+    
+    @Test
+    public void testFormat_RandomValues_ParsedBackToSameValue() {
+        System.out.println("format");
+        Random random = new Random(1);
+        for (int i = 0; i < 100000; i++) {
+            double value = i % 2 == 0 ? random.nextGaussian() : 
+                    Double.longBitsToDouble(random.nextLong());
+            String formatted = format(value);
+            assertEquals("Wrong value for " + formatted, 
+                    Double.doubleToLongBits(value), 
+                    Double.doubleToLongBits(Double.parseDouble(formatted)));
+            assertTrue("Longer than " + value, 
+                    formatted.length() <= Double.toString(value).length());
+        }
+    }
+    
+    private static String format(double value) {
+        char[] chars = new char[DoubleFormatter.MAX_CHARS];
+        int end = DoubleFormatter.format(value, chars, 0);
+        return new String(chars, 0, end);
+    }
+}
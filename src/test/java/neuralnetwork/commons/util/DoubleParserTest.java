@@ -0,0 +1,70 @@
+package neuralnetwork.commons.util;
+
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for DoubleParser class
+ * @author Konstantin Zhdanov
+ */
+public class DoubleParserTest {
+    
+    public DoubleParserTest() {
+    }
+    
+    /**
+     * Test of parse method, of class DoubleParser.
+     */
+    @Test
+    public void testParse_ValuesWrittenByToString_SameBitsAsParseDouble() {
+        System.out.println("parse");
+        Random random = new Random(1);
+        for (int i = 0; i < 100000; i++) {
+            double value = i % 2 == 0 ? random.nextGaussian() : 
+                    Double.longBitsToDouble(random.nextLong());
+            assertParsedLikeParseDouble(Double.toString(value));
+        }
+    }
+    
+    @Test
+    public void testParse_EdgeCases_SameBitsAsParseDouble() {
+        System.out.println("parse");
+        String[] values = {"0", "-0.0", "1", "1.", ".5", "+1.5", "10.5", "-1.9", 
+            "1e23", "8.41e21", "9007199254740993", "9999999999999999999",
+            "123456789012345678901234567890", "1.7976931348623157E308", 
+            "1.7976931348623159E308", "4.9E-324", "2.2250738585072011E-308",
+            "1e-400", "1e400", "NaN", "-Infinity", "1.0d",
+            "1.00000000000000011102230246251565404236316680908203125"};
+        for (String value : values) {
+            assertParsedLikeParseDouble(value);
+        }
+    }
+    
+    @Test(expected = NumberFormatException.class)
+    public void testParse_NotANumber_Throw() {
+        System.out.println("parse");
+        char[] chars = "1.5x".toCharArray();
+        
+        DoubleParser.parse(chars, 0, chars.length);
+        
+        fail("The test case must throw");
+    }
+    
+    @Test
+    public void testParse_RangeOfArray_OnlyRangeParsed() {
+        System.out.println("parse");
+        char[] chars = "1.5 -2.25 3".toCharArray();
+        
+        double actual = DoubleParser.parse(chars, 4, 5);
+        
+        assertEquals(-2.25, actual, 0);
+    }
+    
+    private static void assertParsedLikeParseDouble(String value) {
+        long expected = Double.doubleToRawLongBits(Double.parseDouble(value));
+        long actual = Double.doubleToRawLongBits(
+                DoubleParser.parse(value.toCharArray(), 0, value.length()));
+        assertEquals("Wrong value for " + value, expected, actual);
+    }
+}
@@ -0,0 +1,212 @@
+package neuralnetwork.commons.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import neuralnetwork.NeuralNetwork;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for FileInstrumentation class
+ * @author Konstantin Zhdanov
+ */
+public class FileInstrumentationTest {
+
+    private FileOperationListener previous;
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    private Path dir;
+    private File file;
+
+    public FileInstrumentationTest() {
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        previous = FileInstrumentation.getListener();
+        FileInstrumentation.setListener(new FileOperationListener() {
+            @Override
+            public void operationStarted(String operation, String fileName) {
+                events.add("start " + operation + " " + new File(fileName).getName());
+            }
+
+            @Override
+            public void operationFinished(String operation, String fileName, long bytes,
+                    long nanos, boolean succeeded) {
+                assertTrue(nanos >= 0);
+                events.add(operation + " " + new File(fileName).getName() + " " + bytes +
+                        " " + succeeded);
+            }
+
+            @Override
+            public void layerStarted(int layerIdx) {
+                events.add("start layer " + layerIdx);
+            }
+
+            @Override
+            public void layerParsed(int layerIdx, long nValues, long nanos) {
+                assertTrue(nanos >= 0);
+                events.add("layer " + layerIdx + " " + nValues);
+            }
+
+            @Override
+            public void samplesStarted(String fileName) {
+                events.add("start samples " + new File(fileName).getName());
+            }
+
+            @Override
+            public void samplesParsed(String fileName, long nRows, long nSkipped, long nanos) {
+                assertTrue(nanos >= 0);
+                events.add("samples " + nRows + " " + nSkipped);
+            }
+        });
+        dir = Files.createTempDirectory("instrumented");
+        file = dir.resolve("network.nn").toFile();
+    }
+
+    @After
+    public void cleanUp() throws IOException {
+        FileInstrumentation.setListener(previous);
+        for (File f : dir.toFile().listFiles()) {
+            f.delete();
+        }
+        Files.delete(dir);
+    }
+
+    /**
+     * Test of saveBinary and loadBinary reporting the operations and the layers.
+     */
+    @Test
+    public void testBinaryOperations() {
+        System.out.println("binaryOperations");
+        NeuralNetwork nn = new NeuralNetwork(2, new int[] {3}, 1);
+        NeuralNetworkFileUtils.saveBinary(nn, "net", file.getPath());
+        long size = file.length();
+        assertEquals(Arrays.asList("start saveBinary " + file.getName(),
+                "saveBinary " + file.getName() + " " + size + " true"), events);
+        events.clear();
+        NeuralNetworkFileUtils.loadBinary(file.getPath());
+        assertEquals(Arrays.asList("start loadBinary " + file.getName(),
+                "start layer 0", "layer 0 9", "start layer 1", "layer 1 4",
+                "loadBinary " + file.getName() + " " + size + " true"), events);
+    }
+
+    /**
+     * Test of loadFromTextFile and loadFromTextFileParallel reporting the layers.
+     */
+    @Test
+    public void testTextLayers() {
+        System.out.println("textLayers");
+        NeuralNetwork nn = new NeuralNetwork(2, new int[] {3}, 1);
+        NeuralNetworkFileUtils.saveWithNameAsText(nn, "net", file.getPath());
+        events.clear();
+        NeuralNetworkFileUtils.loadFromTextFile(file.getPath());
+        assertEquals(Arrays.asList("start loadFromTextFile " + file.getName(),
+                "start layer 0", "layer 0 9", "start layer 1", "layer 1 4",
+                "loadFromTextFile " + file.getName() + " " + file.length() + " true"), events);
+        events.clear();
+        NeuralNetworkFileUtils.loadFromTextFileParallel(file.getPath());
+        assertEquals(6, events.size());
+        assertTrue(events.contains("start layer 0"));
+        assertTrue(events.contains("layer 0 9"));
+        assertTrue(events.contains("layer 1 4"));
+    }
+
+    /**
+     * Test of a failed load reported as not succeeded.
+     */
+    @Test
+    public void testFailedOperation() throws IOException {
+        System.out.println("failedOperation");
+        Files.write(file.toPath(), "not a network".getBytes(StandardCharsets.US_ASCII));
+        try {
+            NeuralNetworkFileUtils.loadBinary(file.getPath());
+            fail("The test case must throw");
+        }
+        catch (IllegalArgumentException e) {
+        }
+        assertEquals(Arrays.asList("start loadBinary " + file.getName(),
+                "loadBinary " + file.getName() + " 13 false"), events);
+    }
+
+    /**
+     * Test of loadFromCSV reporting the parsed and the skipped lines.
+     */
+    @Test
+    public void testSamples() throws IOException {
+        System.out.println("samples");
+        Files.write(file.toPath(), Arrays.asList("a, b", "1, 2", "x, 3", "3, 4", "5"),
+                StandardCharsets.US_ASCII);
+        assertEquals(2, SamplesFileUtils.loadFromCSV(file.getPath()).size());
+        assertEquals(Arrays.asList("start loadFromCSV " + file.getName(),
+                "start samples " + file.getName(), "samples 2 2",
+                "loadFromCSV " + file.getName() + " " + file.length() + " true"), events);
+    }
+
+    /**
+     * Test of the operations with a listener which throws.
+     */
+    @Test
+    public void testThrowingListener() throws IOException {
+        System.out.println("throwingListener");
+        FileInstrumentation.setListener(new FileOperationListener() {
+            @Override
+            public void operationStarted(String operation, String fileName) {
+                throw new IllegalStateException();
+            }
+
+            @Override
+            public void operationFinished(String operation, String fileName, long bytes,
+                    long nanos, boolean succeeded) {
+                throw new IllegalStateException();
+            }
+
+            @Override
+            public void layerParsed(int layerIdx, long nValues, long nanos) {
+                throw new IllegalStateException();
+            }
+        });
+        NeuralNetwork nn = new NeuralNetwork(2, new int[] {3}, 1);
+        NeuralNetworkFileUtils.saveBinary(nn, "net", file.getPath());
+        assertEquals(nn.getWeight(0, 1, 2),
+                NeuralNetworkFileUtils.loadBinary(file.getPath()).getWeight(0, 1, 2), 0);
+        Files.write(file.toPath(), "not a network".getBytes(StandardCharsets.US_ASCII));
+        try {
+            NeuralNetworkFileUtils.loadBinary(file.getPath());
+            fail("The test case must throw");
+        }
+        catch (IllegalArgumentException e) {
+        }
+    }
+
+    /**
+     * Test of setListener method, of class FileInstrumentation.
+     */
+    @Test
+    public void testSetListener() {
+        System.out.println("setListener");
+        FileInstrumentation.setListener(FileOperationListener.NONE);
+        assertSame(FileOperationListener.NONE, FileInstrumentation.getListener());
+        NeuralNetworkFileUtils.saveBinary(new NeuralNetwork(2, new int[] {3}, 1), "net",
+                file.getPath());
+        assertTrue(events.isEmpty());
+    }
+
+    /**
+     * Test of setListener method, of class FileInstrumentation, with null.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testSetNullListener() {
+        System.out.println("setNullListener");
+        FileInstrumentation.setListener(null);
+        fail("The test case must throw");
+    }
+}
@@ -0,0 +1,67 @@
+package neuralnetwork.commons.util;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for HalfPrecision class
+ * @author Konstantin Zhdanov
+ */
+public class HalfPrecisionTest {
+    
+    public HalfPrecisionTest() {
+    }
+    
+    /**
+     * Test of fromDouble method, of class HalfPrecision.
+     */
+    @Test
+    public void testFromDouble_KnownValues_CorrectBits() {
+        System.out.println("fromDouble");
+        assertEquals(0x3C00, HalfPrecision.fromDouble(1.0) & 0xFFFF);
+        assertEquals(0xC000, HalfPrecision.fromDouble(-2.0) & 0xFFFF);
+        assertEquals(0x7BFF, HalfPrecision.fromDouble(65504.0) & 0xFFFF);
+        assertEquals(0x7C00, HalfPrecision.fromDouble(65520.0) & 0xFFFF);
+        assertEquals(0x0001, HalfPrecision.fromDouble(0x1p-24) & 0xFFFF);
+        assertEquals(0x0000, HalfPrecision.fromDouble(0x1p-26) & 0xFFFF);
+        assertEquals(0x8000, HalfPrecision.fromDouble(-0.0) & 0xFFFF);
+        // 1 + 2^-11 is halfway between 1 and 1 + 2^-10 => ties to even
+        assertEquals(0x3C00, HalfPrecision.fromDouble(1 + 0x1p-11) & 0xFFFF);
+        assertEquals(0x3C02, HalfPrecision.fromDouble(1 + 3 * 0x1p-11) & 0xFFFF);
+    }
+    
+    /**
+     * Test of fromDouble method, of class HalfPrecision, around the largest
+     * finite half precision value.
+     */
+    @Test
+    public void testFromDouble_NearOverflow_RoundedToMaxOrInfinity() {
+        System.out.println("fromDouble");
+        assertEquals(65504.0, HalfPrecision.toDouble(HalfPrecision.fromDouble(65504.5)), 0);
+        assertEquals(65504.0, HalfPrecision.toDouble(
+                HalfPrecision.fromDouble(Math.nextDown(65520.0))), 0);
+        assertEquals(-65504.0, HalfPrecision.toDouble(
+                HalfPrecision.fromDouble(-Math.nextDown(65520.0))), 0);
+        assertEquals(Double.POSITIVE_INFINITY, HalfPrecision.toDouble(
+                HalfPrecision.fromDouble(65520.0)), 0);
+        assertEquals(Double.NEGATIVE_INFINITY, HalfPrecision.toDouble(
+                HalfPrecision.fromDouble(-65520.0)), 0);
+    }
+    
+    /**
+     * Test of toDouble method, of class HalfPrecision.
+     */
+    @Test
+    public void testToDouble_AllFiniteValues_RoundTrip() {
+        System.out.println("toDouble");
+        for (int bits = 0; bits < 0x10000; bits++) {
+            if ((bits & 0x7C00) == 0x7C00) {
+                continue;
+            }
+            double value = HalfPrecision.toDouble((short)bits);
+            assertEquals(bits, HalfPrecision.fromDouble(value) & 0xFFFF);
+        }
+        assertEquals(Double.NEGATIVE_INFINITY, HalfPrecision.toDouble((short)0xFC00), 0);
+        assertTrue(Double.isNaN(HalfPrecision.toDouble((short)0x7E00)));
+    }
+}
@@ -0,0 +1,192 @@
+package neuralnetwork.commons.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import neuralnetwork.NamedNeuralNetwork;
+import neuralnetwork.NeuralNetwork;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for NetworkCache class
+ * @author Konstantin Zhdanov
+ */
+public class NetworkCacheTest {
+
+    private Path dir;
+
+    public NetworkCacheTest() {
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("cache");
+    }
+
+    @After
+    public void cleanUp() throws IOException {
+        for (File file : dir.toFile().listFiles()) {
+            file.delete();
+        }
+        Files.delete(dir);
+    }
+
+    /**
+     * Test of get method, of class NetworkCache.
+     */
+    @Test
+    public void testGet_SameFileTwice_LoadedOnce() {
+        System.out.println("get");
+        NeuralNetworkFileUtils.saveBinary(new NeuralNetwork(2, new int[] {3}, 4), "a", file("a.nn"));
+        NetworkCache cache = NetworkCache.boundedByCount(2);
+
+        NeuralNetwork first = cache.get(file("a.nn"));
+        NeuralNetwork second = cache.get(dir.resolve(".").resolve("a.nn").toString());
+
+        assertSame(first, second);
+        assertEquals("a", ((NamedNeuralNetwork)first).getName());
+        assertEquals(1, cache.getStats().getMissCount());
+        assertEquals(1, cache.getStats().getHitCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testGet_FileChanged_LoadedAgain() {
+        System.out.println("get");
+        NeuralNetworkFileUtils.saveBinary(new NeuralNetwork(2, new int[] {3}, 4), "old", file("a.nn"));
+        NetworkCache cache = NetworkCache.boundedByCount(2);
+        cache.get(file("a.nn"));
+
+        NeuralNetworkFileUtils.saveWithNameAsText(new NeuralNetwork(2, new int[] {3}, 4), "new", 
+                file("a.nn"));
+        NeuralNetwork nn = cache.get(file("a.nn"));
+
+        assertEquals("new", ((NamedNeuralNetwork)nn).getName());
+        assertEquals(2, cache.getStats().getMissCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testGet_CountBoundExceeded_LeastRecentlyUsedEvicted() {
+        System.out.println("get");
+        for (String name : new String[] {"a", "b", "c"}) {
+            NeuralNetworkFileUtils.saveBinary(new NeuralNetwork(2, new int[] {3}, 4), name, 
+                    file(name + ".nn"));
+        }
+        NetworkCache cache = NetworkCache.boundedByCount(2);
+        NeuralNetwork a = cache.get(file("a.nn"));
+        cache.get(file("b.nn"));
+        cache.get(file("a.nn"));
+
+        cache.get(file("c.nn"));
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getStats().getEvictionCount());
+        assertSame(a, cache.get(file("a.nn")));
+        assertEquals(3, cache.getStats().getMissCount());
+    }
+
+    @Test
+    public void testGet_BytesBoundExceeded_Evicted() {
+        System.out.println("get");
+        NeuralNetworkFileUtils.saveBinary(new NeuralNetwork(10, new int[] {10}, 10), "a", file("a.nn"));
+        NeuralNetworkFileUtils.saveBinary(new NeuralNetwork(10, new int[] {10}, 10), "b", file("b.nn"));
+        NetworkCache cache = NetworkCache.boundedByBytes(5000);
+
+        cache.get(file("a.nn"));
+        long bytes = cache.estimatedBytes();
+        cache.get(file("b.nn"));
+
+        assertTrue(bytes > 2 * 110 * 8);
+        assertEquals(bytes, cache.estimatedBytes());
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getStats().getEvictionCount());
+    }
+
+    @Test
+    public void testGet_NetworkLargerThanCache_OthersKept() {
+        System.out.println("get");
+        NeuralNetworkFileUtils.saveBinary(new NeuralNetwork(2, new int[] {3}, 4), "a", file("a.nn"));
+        NeuralNetworkFileUtils.saveBinary(new NeuralNetwork(50, new int[] {200}, 50), "b", file("b.nn"));
+        NetworkCache cache = NetworkCache.boundedByBytes(5000);
+        NeuralNetwork small = cache.get(file("a.nn"));
+        long bytes = cache.estimatedBytes();
+
+        NeuralNetwork large = cache.get(file("b.nn"));
+
+        assertNotSame(large, cache.get(file("b.nn")));
+        assertSame(small, cache.get(file("a.nn")));
+        assertEquals(1, cache.size());
+        assertEquals(bytes, cache.estimatedBytes());
+        assertEquals(2, cache.getStats().getEvictionCount());
+    }
+
+    @Test
+    public void testGet_ConcurrentMisses_SingleLoad() throws Exception {
+        System.out.println("get");
+        NeuralNetworkFileUtils.saveBinary(new NeuralNetwork(50, new int[] {200}, 50), "a", file("a.nn"));
+        NetworkCache cache = NetworkCache.boundedByCount(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<NeuralNetwork>> results = new ArrayList<>();
+
+        for (int i = 0; i < 16; i++) {
+            results.add(executor.submit(() -> cache.get(file("a.nn"))));
+        }
+        NeuralNetwork first = results.get(0).get();
+        for (Future<NeuralNetwork> result : results) {
+            assertSame(first, result.get());
+        }
+        executor.shutdown();
+
+        assertEquals(1, cache.getStats().getMissCount());
+        assertEquals(15, cache.getStats().getHitCount());
+    }
+
+    @Test
+    public void testGet_WrongFile_ThrowNotCached() throws IOException {
+        System.out.println("get");
+        Files.write(dir.resolve("bad.nn"), new byte[] {'N', 'N', 'W', 'B', 7, 0});
+        NetworkCache cache = NetworkCache.boundedByCount(2);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.get(file("bad.nn"));
+                fail("The test case must throw");
+            }
+            catch (IllegalArgumentException e) {
+                assertEquals(0, cache.size());
+            }
+        }
+        assertEquals(2, cache.getStats().getMissCount());
+    }
+
+    /**
+     * Test of invalidate method, of class NetworkCache.
+     */
+    @Test
+    public void testInvalidate_CachedFile_LoadedAgain() {
+        System.out.println("invalidate");
+        NeuralNetworkFileUtils.saveBinary(new NeuralNetwork(2, new int[] {3}, 4), "a", file("a.nn"));
+        NetworkCache cache = NetworkCache.boundedByCount(2);
+        NeuralNetwork first = cache.get(file("a.nn"));
+
+        cache.invalidate(file("a.nn"));
+
+        assertEquals(0, cache.size());
+        assertNotSame(first, cache.get(file("a.nn")));
+        assertEquals(0, cache.getStats().getEvictionCount());
+    }
+
+    private String file(String name) {
+        return dir.resolve(name).toString();
+    }
+}
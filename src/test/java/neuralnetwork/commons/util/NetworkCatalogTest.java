@@ -0,0 +1,157 @@
+package neuralnetwork.commons.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import neuralnetwork.NeuralNetwork;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for NetworkCatalog class
+ * @author Konstantin Zhdanov
+ */
+public class NetworkCatalogTest {
+
+    private Path dir;
+
+    public NetworkCatalogTest() {
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("catalog");
+    }
+
+    @After
+    public void cleanUp() throws IOException {
+        for (File file : dir.toFile().listFiles()) {
+            file.delete();
+        }
+        Files.delete(dir);
+    }
+
+    /**
+     * Test of open method, of class NetworkCatalog.
+     */
+    @Test
+    public void testOpen_DirectoryWithNetworks_EntriesCreatedAndSaved() throws IOException {
+        System.out.println("open");
+        NeuralNetwork nn = new NeuralNetwork(2, new int[] {3, 4}, 5);
+        NeuralNetworkFileUtils.saveBinary(nn, "binary", file("a.nn"));
+        NeuralNetworkFileUtils.saveWithNameAsText(nn, "text\twith tab", file("b.txt"));
+        Files.write(dir.resolve("notes"), "not a network".getBytes(StandardCharsets.UTF_8));
+
+        NetworkCatalog catalog = NetworkCatalog.open(dir.toString());
+        List<NetworkCatalog.Entry> entries = NetworkCatalog.open(dir.toString()).getEntries();
+
+        assertTrue(Files.exists(dir.resolve(NetworkCatalog.CATALOG_FILE_NAME)));
+        assertEquals(3, entries.size());
+        assertEquals("a.nn", entries.get(0).getFileName());
+        assertEquals(new NetworkSignature("binary", 2, new int[] {3, 4}, 5),
+                entries.get(0).getSignature());
+        assertEquals(new File(file("a.nn")).length(), entries.get(0).getSize());
+        assertEquals(64, entries.get(0).getContentHash().length());
+        assertEquals("text\twith tab", entries.get(1).getSignature().getName());
+        assertFalse(entries.get(2).isNetwork());
+        assertEquals(catalog.getEntry("a.nn").getContentHash(), entries.get(0).getContentHash());
+        assertFalse(catalog.refresh());
+    }
+
+    /**
+     * Test of refresh method, of class NetworkCatalog.
+     */
+    @Test
+    public void testRefresh_FileChangedAndRemoved_EntriesUpdated() throws IOException {
+        System.out.println("refresh");
+        NeuralNetwork nn = new NeuralNetwork(2, new int[] {3}, 5);
+        Files.write(dir.resolve("a.nn"), "not a network".getBytes(StandardCharsets.UTF_8));
+        Files.write(dir.resolve("b.nn"), "removed".getBytes(StandardCharsets.UTF_8));
+        NetworkCatalog catalog = NetworkCatalog.open(dir.toString());
+        String oldHash = catalog.getEntry("a.nn").getContentHash();
+        NeuralNetworkFileUtils.saveBinary(nn, "changed", file("a.nn"));
+        Files.delete(dir.resolve("b.nn"));
+
+        boolean changed = catalog.refresh();
+
+        assertTrue(changed);
+        assertNull(catalog.getEntry("b.nn"));
+        assertNotEquals(oldHash, catalog.getEntry("a.nn").getContentHash());
+        assertEquals("changed", catalog.getEntry("a.nn").getSignature().getName());
+    }
+
+    /**
+     * Test of the update of the catalog by the save methods of NeuralNetworkFileUtils.
+     */
+    @Test
+    public void testSave_DirectoryWithCatalog_CatalogUpdated() throws IOException {
+        System.out.println("fileSaved");
+        NetworkCatalog catalog = NetworkCatalog.open(dir.toString());
+        Path catalogFile = dir.resolve(NetworkCatalog.CATALOG_FILE_NAME);
+        Path journalFile = dir.resolve(NetworkCatalog.CATALOG_FILE_NAME + ".journal");
+        byte[] catalogBytes = Files.readAllBytes(catalogFile);
+        NeuralNetwork nn = new NeuralNetwork(2, new int[] {3}, 5);
+
+        NeuralNetworkFileUtils.saveWithName(nn, "saved", file("c.nn"));
+
+        // the save is appended to the journal, the catalog is not rewritten
+        assertArrayEquals(catalogBytes, Files.readAllBytes(catalogFile));
+        String journalText = new String(Files.readAllBytes(journalFile), StandardCharsets.UTF_8);
+        assertTrue(journalText.startsWith("c.nn\t" + new File(file("c.nn")).length() + "\t"));
+        assertTrue(journalText.endsWith("\tsaved\t2,3,5\n"));
+        // the open catalog is told about the save
+        assertEquals("saved", catalog.getEntry("c.nn").getSignature().getName());
+        assertFalse(catalog.refresh());
+        assertFalse(Files.exists(journalFile));
+        String catalogText = new String(Files.readAllBytes(catalogFile), StandardCharsets.UTF_8);
+        assertTrue(catalogText.contains("\tsaved\t2,3,5\n"));
+        NeuralNetworkFileUtils.saveQuantized(nn, "quantized", file("c.nn"));
+        assertEquals(sha256(dir.resolve("c.nn")),
+                NetworkCatalog.open(dir.toString()).getEntry("c.nn").getContentHash());
+        // no temporary catalog or journal is left behind, only the lock file
+        assertEquals(3, dir.toFile().list().length);
+    }
+
+    /**
+     * Test of a save into a directory whose catalog cannot be read.
+     */
+    @Test
+    public void testSave_CorruptCatalog_SavedAndCatalogRebuilt() throws IOException {
+        System.out.println("fileSaved corrupt catalog");
+        Path catalogFile = dir.resolve(NetworkCatalog.CATALOG_FILE_NAME);
+        Files.write(catalogFile, "corrupt".getBytes(StandardCharsets.UTF_8));
+        NeuralNetwork nn = new NeuralNetwork(2, new int[] {3}, 5);
+
+        NeuralNetworkFileUtils.saveBinary(nn, "saved", file("d.nn"));
+
+        assertEquals("corrupt", new String(Files.readAllBytes(catalogFile),
+                StandardCharsets.UTF_8));
+        assertEquals("saved", NeuralNetworkFileUtils.readSignature(file("d.nn")).getName());
+        NetworkCatalog catalog = NetworkCatalog.open(dir.toString());
+        assertEquals("saved", catalog.getEntry("d.nn").getSignature().getName());
+    }
+
+    private String file(String name) {
+        return dir.resolve(name).toString();
+    }
+
+    private static String sha256(Path file) throws IOException {
+        try {
+            StringBuilder sb = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file))) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package neuralnetwork.commons.util;
+
+import java.util.List;
+import java.util.Random;
+import neuralnetwork.NeuralNetwork;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for NetworkComparator class
+ * @author Konstantin Zhdanov
+ */
+public class NetworkComparatorTest {
+
+    public NetworkComparatorTest() {
+    }
+
+    /**
+     * Test of compare method, of class NetworkComparator.
+     */
+    @Test
+    public void testCompare_ChangedValues_MaxAndMeanPerLayer() {
+        System.out.println("compare");
+        NeuralNetwork expected = createTestNetwork();
+        NeuralNetwork actual = createTestNetwork();
+        actual.setWeight(0, 1, 2, 0.5);
+        actual.setBias(0, 0, 1.1);
+        actual.setBias(1, 1, Double.NaN);
+
+        List<LayerDifference> differences = NetworkComparator.compare(expected, actual);
+
+        assertEquals(2, differences.size());
+        assertEquals(0, differences.get(0).getLayerIndex());
+        assertEquals(9, differences.get(0).getNumberValues());
+        assertEquals(0.5, differences.get(0).getMaxDifference(), 1e-12);
+        assertEquals(0.8 / 9, differences.get(0).getMeanDifference(), 1e-12);
+        assertEquals(8, differences.get(1).getNumberValues());
+        assertTrue(Double.isNaN(differences.get(1).getMaxDifference()));
+        assertTrue(Double.isNaN(differences.get(1).getMeanDifference()));
+    }
+
+    @Test
+    public void testCompare_SameNetworkWithNaN_NoDifference() {
+        System.out.println("compare");
+        NeuralNetwork nn = createTestNetwork();
+        nn.setWeight(1, 2, 1, Double.NaN);
+
+        for (LayerDifference difference : NetworkComparator.compare(nn, nn)) {
+            assertEquals(0, difference.getMaxDifference(), 0);
+            assertEquals(0, difference.getMeanDifference(), 0);
+        }
+    }
+
+    @Test
+    public void testCompare_LargeLayers_NetworksAndSnapshotsSame() {
+        System.out.println("compare");
+        NeuralNetwork expected = createRandomNetwork(1);
+        NeuralNetwork actual = createRandomNetwork(2);
+
+        List<LayerDifference> fromNetworks = NetworkComparator.compare(expected, actual);
+        List<LayerDifference> fromSnapshots = NetworkComparator.compare(
+                NetworkSnapshot.capture(expected), NetworkSnapshot.capture(actual));
+
+        assertEquals(fromNetworks.size(), fromSnapshots.size());
+        for (int layerIdx = 0; layerIdx < fromNetworks.size(); layerIdx++) {
+            double max = 0;
+            double sum = 0;
+            for (int prev = 0; prev < NetworkLayers.prevLayerSize(expected, layerIdx); prev++) {
+                for (int cur = 0; cur < NetworkLayers.layerSize(expected, layerIdx); cur++) {
+                    double difference = Math.abs(expected.getWeight(layerIdx, prev, cur) -
+                            actual.getWeight(layerIdx, prev, cur));
+                    max = Math.max(max, difference);
+                    sum += difference;
+                }
+            }
+            for (int cur = 0; cur < NetworkLayers.layerSize(expected, layerIdx); cur++) {
+                double difference = Math.abs(expected.getBias(layerIdx, cur) -
+                        actual.getBias(layerIdx, cur));
+                max = Math.max(max, difference);
+                sum += difference;
+            }
+            LayerDifference difference = fromNetworks.get(layerIdx);
+            assertEquals(max, difference.getMaxDifference(), 0);
+            assertEquals(sum / difference.getNumberValues(), difference.getMeanDifference(), 1e-12);
+            assertEquals(max, fromSnapshots.get(layerIdx).getMaxDifference(), 0);
+            assertEquals(difference.getMeanDifference(),
+                    fromSnapshots.get(layerIdx).getMeanDifference(), 1e-12);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCompare_DifferentStructure_Throw() {
+        System.out.println("compare");
+
+        NetworkComparator.compare(createTestNetwork(), new NeuralNetwork(2, new int[] {4}, 2));
+
+        fail("The test case must throw");
+    }
+
+    /**
+     * Test of isWithinTolerance method, of class NetworkComparator.
+     */
+    @Test
+    public void testIsWithinTolerance_SmallChange_TrueOnlyWithinTolerance() {
+        System.out.println("isWithinTolerance");
+        NeuralNetwork expected = createTestNetwork();
+        NeuralNetwork actual = createTestNetwork();
+        actual.setBias(1, 1, -1.3);
+
+        assertTrue(NetworkComparator.isWithinTolerance(expected, actual, 0.2));
+        assertFalse(NetworkComparator.isWithinTolerance(expected, actual, 0.05));
+        assertTrue(NetworkComparator.isWithinTolerance(expected, expected, 0));
+    }
+
+    @Test
+    public void testIsWithinTolerance_LargeLayersOneChange_MismatchFound() {
+        System.out.println("isWithinTolerance");
+        NeuralNetwork expected = createRandomNetwork(1);
+        NetworkSnapshot expectedSnapshot = NetworkSnapshot.capture(expected);
+        NeuralNetwork actual = createRandomNetwork(1);
+        actual.setWeight(1, 299, 250, actual.getWeight(1, 299, 250) + 1e-3);
+        NetworkSnapshot actualSnapshot = NetworkSnapshot.capture(actual);
+
+        assertFalse(NetworkComparator.isWithinTolerance(expected, actual, 1e-4));
+        assertFalse(NetworkComparator.isWithinTolerance(expectedSnapshot, actualSnapshot, 1e-4));
+        assertTrue(NetworkComparator.isWithinTolerance(expected, actual, 1e-2));
+        assertTrue(NetworkComparator.isWithinTolerance(expectedSnapshot, actualSnapshot, 1e-2));
+    }
+
+    @Test
+    public void testIsWithinTolerance_NaN_MismatchUnlessSameBits() {
+        System.out.println("isWithinTolerance");
+        NeuralNetwork expected = createTestNetwork();
+        NeuralNetwork actual = createTestNetwork();
+        expected.setWeight(0, 0, 0, Double.NaN);
+
+        assertFalse(NetworkComparator.isWithinTolerance(expected, actual, 100));
+        actual.setWeight(0, 0, 0, Double.NaN);
+        assertTrue(NetworkComparator.isWithinTolerance(expected, actual, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIsWithinTolerance_NegativeTolerance_Throw() {
+        System.out.println("isWithinTolerance");
+
+        NetworkComparator.isWithinTolerance(createTestNetwork(), createTestNetwork(), -1);
+
+        fail("The test case must throw");
+    }
+
+    // Network with layers of more values than compared by one task
+    private static NeuralNetwork createRandomNetwork(long seed) {
+        NeuralNetwork nn = new NeuralNetwork(300, new int[] {300}, 300);
+        Random random = new Random(seed);
+        for (int layerIdx = 0; layerIdx < 2; layerIdx++) {
+            for (int cur = 0; cur < 300; cur++) {
+                for (int prev = 0; prev < 300; prev++) {
+                    nn.setWeight(layerIdx, prev, cur, random.nextGaussian());
+                }
+                nn.setBias(layerIdx, cur, random.nextGaussian());
+            }
+        }
+        return nn;
+    }
+
+    private static NeuralNetwork createTestNetwork() {
+        NeuralNetwork nn = new NeuralNetwork(2, new int[] {3}, 2);
+        nn.setWeight(0, 0, 0, 10.5); nn.setWeight(0, 0, 1, 4.1); nn.setWeight(0, 0, 2, 1);
+        nn.setWeight(0, 1, 0, -1.9); nn.setWeight(0, 1, 1, 0.2); nn.setWeight(0, 1, 2, 0);
+        nn.setBias(0, 0, 1.4);       nn.setBias(0, 1, -1.4);     nn.setBias(0, 2, 3.2);
+
+        nn.setWeight(1, 0, 0, 2); nn.setWeight(1, 0, 1, 5);
+        nn.setWeight(1, 1, 0, 3); nn.setWeight(1, 1, 1, 6);
+        nn.setWeight(1, 2, 0, 4); nn.setWeight(1, 2, 1, 7);
+        nn.setBias(1, 0, 1.4);    nn.setBias(1, 1, -1.4);
+        return nn;
+    }
+}
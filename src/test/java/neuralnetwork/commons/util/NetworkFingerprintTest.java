@@ -0,0 +1,95 @@
+package neuralnetwork.commons.util;
+
+import neuralnetwork.NamedNeuralNetwork;
+import neuralnetwork.NeuralNetwork;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for NetworkFingerprint class
+ * @author Konstantin Zhdanov
+ */
+public class NetworkFingerprintTest {
+
+    public NetworkFingerprintTest() {
+    }
+
+    /**
+     * Test of of method, of class NetworkFingerprint.
+     */
+    @Test
+    public void testOf_KnownNetworks_MurmurHash3OfValues() {
+        System.out.println("of");
+        NeuralNetwork nn = new NeuralNetwork(1, new int[] {1}, 1);
+        nn.setWeight(0, 0, 0, 0.5);
+        nn.setBias(0, 0, -1);
+        nn.setWeight(1, 0, 0, 2);
+        nn.setBias(1, 0, 0.25);
+
+        // 21 values with an odd tail and 8 values without it
+        assertEquals("236658f66aad47b6053966e0a37a7b40",
+                NetworkFingerprint.of(createTestNetwork()).toString());
+        assertEquals("678ed1f3055e3f7a35827ad65e08a23e", NetworkFingerprint.of(nn).toString());
+    }
+
+    @Test
+    public void testOf_Snapshot_SameAsNetwork() {
+        System.out.println("of");
+        NeuralNetwork nn = createTestNetwork();
+
+        assertEquals(NetworkFingerprint.of(nn),
+                NetworkFingerprint.of(NetworkSnapshot.capture(nn)));
+    }
+
+    @Test
+    public void testOf_NamedCopy_SameFingerprint() {
+        System.out.println("of");
+        NeuralNetwork nn = createTestNetwork();
+        NeuralNetwork copy = new NamedNeuralNetwork(2, new int[] {3}, 2, "copy");
+        NetworkSnapshot.capture(nn).writeTo(copy);
+
+        assertEquals(NetworkFingerprint.of(nn), NetworkFingerprint.of(copy));
+        assertEquals(NetworkFingerprint.of(nn).hashCode(), NetworkFingerprint.of(copy).hashCode());
+    }
+
+    @Test
+    public void testOf_ChangedValueOrStructure_OtherFingerprint() {
+        System.out.println("of");
+        NetworkFingerprint fingerprint = NetworkFingerprint.of(createTestNetwork());
+        NeuralNetwork changed = createTestNetwork();
+        changed.setWeight(0, 1, 2, -0.0);
+        NeuralNetwork other = new NeuralNetwork(2, new int[] {3, 1}, 2);
+
+        assertNotEquals(fingerprint, NetworkFingerprint.of(changed));
+        assertNotEquals(fingerprint, NetworkFingerprint.of(other));
+    }
+
+    /**
+     * Test of equals method, of class NetworkFingerprint.
+     */
+    @Test
+    public void testEquals_SameBits_Equal() {
+        System.out.println("equals");
+        NetworkFingerprint fingerprint = NetworkFingerprint.of(createTestNetwork());
+
+        NetworkFingerprint copy = new NetworkFingerprint(fingerprint.getMostSignificantBits(),
+                fingerprint.getLeastSignificantBits());
+
+        assertEquals(fingerprint, copy);
+        assertNotEquals(fingerprint, new NetworkFingerprint(
+                fingerprint.getMostSignificantBits(), ~fingerprint.getLeastSignificantBits()));
+    }
+
+    private static NeuralNetwork createTestNetwork() {
+        NeuralNetwork nn = new NeuralNetwork(2, new int[] {3}, 2);
+        nn.setWeight(0, 0, 0, 10.5); nn.setWeight(0, 0, 1, 4.1); nn.setWeight(0, 0, 2, 1);
+        nn.setWeight(0, 1, 0, -1.9); nn.setWeight(0, 1, 1, 0.2); nn.setWeight(0, 1, 2, 0);
+        nn.setBias(0, 0, 1.4);       nn.setBias(0, 1, -1.4);     nn.setBias(0, 2, 3.2);
+
+        nn.setWeight(1, 0, 0, 2); nn.setWeight(1, 0, 1, 5);
+        nn.setWeight(1, 1, 0, 3); nn.setWeight(1, 1, 1, 6);
+        nn.setWeight(1, 2, 0, 4); nn.setWeight(1, 2, 1, 7);
+        nn.setBias(1, 0, 1.4);    nn.setBias(1, 1, -1.4);
+        return nn;
+    }
+}
@@ -0,0 +1,63 @@
+package neuralnetwork.commons.util;
+
+import neuralnetwork.NamedNeuralNetwork;
+import neuralnetwork.NeuralNetwork;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for NetworkSignature class
+ * @author Konstantin Zhdanov
+ */
+public class NetworkSignatureTest {
+
+    public NetworkSignatureTest() {
+    }
+
+    /**
+     * Test of of method, of class NetworkSignature.
+     */
+    @Test
+    public void testOf_NamedAndNotNamedNetworks_SignatureWithName() {
+        System.out.println("of");
+        NeuralNetwork nn = new NeuralNetwork(2, new int[] {3, 4}, 5);
+        NeuralNetwork namedNN = new NamedNeuralNetwork(nn, "abc");
+
+        NetworkSignature signature = NetworkSignature.of(nn);
+        NetworkSignature namedSignature = NetworkSignature.of(namedNN);
+
+        assertNull(signature.getName());
+        assertEquals("abc", namedSignature.getName());
+        assertEquals(2, namedSignature.getNumberInputs());
+        assertEquals(2, namedSignature.getNumberHiddenLayers());
+        assertArrayEquals(new int[] {3, 4}, namedSignature.getHiddenLayerSizes());
+        assertEquals(5, namedSignature.getNumberOutputs());
+    }
+
+    /**
+     * Test of equals method, of class NetworkSignature.
+     */
+    @Test
+    public void testEquals_SameAndDifferentSignatures_CorrectResult() {
+        System.out.println("equals");
+        NetworkSignature signature = new NetworkSignature("abc", 2, new int[] {3, 4}, 5);
+
+        assertEquals(signature, new NetworkSignature("abc", 2, new int[] {3, 4}, 5));
+        assertEquals(signature.hashCode(), 
+                new NetworkSignature("abc", 2, new int[] {3, 4}, 5).hashCode());
+        assertNotEquals(signature, new NetworkSignature(null, 2, new int[] {3, 4}, 5));
+        assertNotEquals(signature, new NetworkSignature("abc", 2, new int[] {3, 3}, 5));
+        assertNotEquals(signature, new NetworkSignature("abc", 2, new int[] {3, 4}, 6));
+    }
+
+    /**
+     * Test of toString method, of class NetworkSignature.
+     */
+    @Test
+    public void testToString_NamedSignature_NameAndSizes() {
+        System.out.println("toString");
+        NetworkSignature signature = new NetworkSignature("abc", 2, new int[] {3, 4}, 5);
+
+        assertEquals("abc: 2, 3, 4, 5", signature.toString());
+    }
+}
@@ -0,0 +1,166 @@
+package neuralnetwork.commons.util;
+
+import java.nio.DoubleBuffer;
+import java.nio.ReadOnlyBufferException;
+import neuralnetwork.NamedNeuralNetwork;
+import neuralnetwork.NeuralNetwork;
+import neuralnetwork.commons.testutil.TestUtils;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for NetworkSnapshot class
+ * @author Konstantin Zhdanov
+ */
+public class NetworkSnapshotTest {
+
+    public NetworkSnapshotTest() {
+    }
+
+    /**
+     * Test of capture method, of class NetworkSnapshot.
+     */
+    @Test
+    public void testCapture_Network_ValuesInBinaryFormatOrder() {
+        System.out.println("capture");
+        NeuralNetwork nn = createTestNetwork();
+
+        NetworkSnapshot snapshot = NetworkSnapshot.capture(nn);
+
+        assertEquals(2, snapshot.getNumberLayers());
+        assertEquals(2, snapshot.getNumberInputs());
+        assertArrayEquals(new int[] {3}, snapshot.getHiddenLayerSizes());
+        assertEquals(2, snapshot.getNumberOutputs());
+        assertEquals(9 + 8, snapshot.size());
+        assertEquals(0, snapshot.getLayerOffset(0));
+        assertEquals(6, snapshot.getBiasOffset(0));
+        assertEquals(9, snapshot.getLayerOffset(1));
+        assertEquals(15, snapshot.getBiasOffset(1));
+        assertEquals(17, snapshot.getLayerOffset(2));
+        double[] values = new double[snapshot.size()];
+        snapshot.getValues().get(values);
+        assertArrayEquals(new double[] {10.5, 4.1, 1, -1.9, 0.2, 0, 1.4, -1.4, 3.2,
+            2, 5, 3, 6, 4, 7, 1.4, -1.4}, values, 0);
+        assertEquals(nn.getWeight(1, 2, 0), snapshot.getWeight(1, 2, 0), 0);
+        assertEquals(nn.getBias(0, 2), snapshot.getBias(0, 2), 0);
+    }
+
+    @Test
+    public void testCapture_NetworkChangedAfterCapture_SnapshotUnchanged() {
+        System.out.println("capture");
+        NeuralNetwork nn = createTestNetwork();
+        NetworkSnapshot snapshot = NetworkSnapshot.capture(nn);
+
+        nn.setWeight(0, 1, 1, 100);
+
+        assertEquals(0.2, snapshot.getWeight(0, 1, 1), 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testCapture_NullNetwork_Throw() {
+        System.out.println("capture");
+
+        NetworkSnapshot.capture(null);
+
+        fail("The test case must throw");
+    }
+
+    /**
+     * Test of writeTo method, of class NetworkSnapshot.
+     */
+    @Test
+    public void testWriteTo_SameStructure_ValuesRestored() {
+        System.out.println("writeTo");
+        NeuralNetwork nn = createTestNetwork();
+        NetworkSnapshot snapshot = NetworkSnapshot.capture(nn);
+        NeuralNetwork other = new NeuralNetwork(2, new int[] {3}, 2);
+
+        snapshot.writeTo(other);
+
+        TestUtils.assertNNEquals(nn, other);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWriteTo_OtherStructure_Throw() {
+        System.out.println("writeTo");
+        NetworkSnapshot snapshot = NetworkSnapshot.capture(createTestNetwork());
+
+        snapshot.writeTo(new NeuralNetwork(2, new int[] {4}, 2));
+
+        fail("The test case must throw");
+    }
+
+    /**
+     * Test of toNetwork method, of class NetworkSnapshot.
+     */
+    @Test
+    public void testToNetwork_Snapshot_NamedNetworkEqual() {
+        System.out.println("toNetwork");
+        NeuralNetwork nn = createTestNetwork();
+
+        NeuralNetwork copy = NetworkSnapshot.capture(nn).toNetwork("copy");
+
+        TestUtils.assertNNEquals(nn, copy);
+        assertEquals("copy", ((NamedNeuralNetwork)copy).getName());
+    }
+
+    /**
+     * Test of getLayerValues method, of class NetworkSnapshot.
+     */
+    @Test
+    public void testGetLayerValues_LastLayer_ReadOnlyViewOfLayer() {
+        System.out.println("getLayerValues");
+        NetworkSnapshot snapshot = NetworkSnapshot.capture(createTestNetwork());
+
+        DoubleBuffer values = snapshot.getLayerValues(1);
+
+        assertEquals(8, values.remaining());
+        assertEquals(2, values.get(0), 0);
+        assertEquals(-1.4, values.get(7), 0);
+        try {
+            values.put(0, 1);
+            fail("The buffer must be read-only");
+        }
+        catch (ReadOnlyBufferException e) {
+            assertEquals(2, snapshot.getWeight(1, 0, 0), 0);
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetWeight_WrongNeuron_Throw() {
+        System.out.println("getWeight");
+        NetworkSnapshot snapshot = NetworkSnapshot.capture(createTestNetwork());
+
+        snapshot.getWeight(1, 0, 2);
+
+        fail("The test case must throw");
+    }
+
+    /**
+     * Test of matches method, of class NetworkSnapshot.
+     */
+    @Test
+    public void testMatches_NetworksAndSnapshots_SameStructureMatched() {
+        System.out.println("matches");
+        NetworkSnapshot snapshot = NetworkSnapshot.capture(createTestNetwork());
+        NeuralNetwork other = new NeuralNetwork(2, new int[] {3, 3}, 2);
+
+        assertTrue(snapshot.matches(new NeuralNetwork(2, new int[] {3}, 2)));
+        assertFalse(snapshot.matches(other));
+        assertTrue(snapshot.matches(NetworkSnapshot.capture(createTestNetwork())));
+        assertFalse(snapshot.matches(NetworkSnapshot.capture(other)));
+    }
+
+    private static NeuralNetwork createTestNetwork() {
+        NeuralNetwork nn = new NeuralNetwork(2, new int[] {3}, 2);
+        nn.setWeight(0, 0, 0, 10.5); nn.setWeight(0, 0, 1, 4.1); nn.setWeight(0, 0, 2, 1);
+        nn.setWeight(0, 1, 0, -1.9); nn.setWeight(0, 1, 1, 0.2); nn.setWeight(0, 1, 2, 0);
+        nn.setBias(0, 0, 1.4);       nn.setBias(0, 1, -1.4);     nn.setBias(0, 2, 3.2);
+
+        nn.setWeight(1, 0, 0, 2); nn.setWeight(1, 0, 1, 5);
+        nn.setWeight(1, 1, 0, 3); nn.setWeight(1, 1, 1, 6);
+        nn.setWeight(1, 2, 0, 4); nn.setWeight(1, 2, 1, 7);
+        nn.setBias(1, 0, 1.4);    nn.setBias(1, 1, -1.4);
+        return nn;
+    }
+}
@@ -1,200 +1,1204 @@
-package neuralnetwork.commons.util;
-
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
-import neuralnetwork.NamedNeuralNetwork;
-import neuralnetwork.NeuralNetwork;
-import neuralnetwork.commons.testutil.TestUtils;
-import org.hamcrest.CoreMatchers;
-import org.junit.After;
-import org.junit.Test;
-import static org.junit.Assert.*;
-import org.junit.Before;
-
-/**
- * Test cases for NeuralNetworkFileUtils class
- * @author Konstantin Zhdanov
- */
-public class NeuralNetworkFileUtilsTest {
-    
-    private final String fileName = "./network.txt";
-
-    public NeuralNetworkFileUtilsTest() {
-    }
-    
-    @Before
-    public void setUp() {
-        
-    }
-    
-    @After
-    public void cleanUp() {
-        File file = new File(fileName);
-        if (file.exists()) {
-            file.delete();
-        }
-    }
-    
-    /**
-     * Test of saveWithName method, of class NeuralNetworkLoader.
-     */
-    @Test
-    public void testSaveWithName_NetworkWithoutNameSaved_ReadNamedNetwork() {
-        System.out.println("saveWithName");
-        int nInputs = 2;
-        int[] hiddenSizes = {3, 4};
-        int nOutputs = 5;
-        String name = "Network test";
-        NeuralNetwork nn = new NeuralNetwork(nInputs, hiddenSizes, nOutputs);
-        nn.setWeight(0, 0, 0, 10.5); nn.setWeight(0, 0, 1, 4.1); nn.setWeight(0, 0, 2, 1);
-        nn.setWeight(0, 1, 0, -1.9); nn.setWeight(0, 1, 1, 0.2); nn.setWeight(0, 1, 2, 0);
-        nn.setBias(0, 0, 1.4);       nn.setBias(0, 1, -1.4);     nn.setBias(0, 2, 3.2);
-        
-        nn.setWeight(1, 0, 0, 2); nn.setWeight(1, 0, 1, 5); nn.setWeight(1, 0, 2, 8); nn.setWeight(1, 0, 3, 11);
-        nn.setWeight(1, 1, 0, 3); nn.setWeight(1, 1, 1, 6); nn.setWeight(1, 1, 2, 9); nn.setWeight(1, 1, 3, 12);
-        nn.setWeight(1, 2, 0, 4); nn.setWeight(1, 2, 1, 7); nn.setWeight(1, 2, 2, 10); nn.setWeight(1, 2, 3, 13);
-        nn.setBias(1, 0, 1.4);    nn.setBias(1, 1, -1.4);   nn.setBias(1, 2, 3.2);     nn.setBias(1, 3, 4.2);
-        
-        nn.setWeight(2, 0, 0, -2); nn.setWeight(2, 0, 1, -6); nn.setWeight(2, 0, 2, 0.5); nn.setWeight(2, 0, 3, 4.5); nn.setWeight(2, 0, 4, 8.5);
-        nn.setWeight(2, 1, 0, -3); nn.setWeight(2, 1, 1, -7); nn.setWeight(2, 1, 2, 1.5); nn.setWeight(2, 1, 3, 5.5); nn.setWeight(2, 1, 4, 9.5);
-        nn.setWeight(2, 2, 0, -4); nn.setWeight(2, 2, 1, -8); nn.setWeight(2, 2, 2, 2.5); nn.setWeight(2, 2, 3, 6.5); nn.setWeight(2, 2, 4, 10.5);
-        nn.setWeight(2, 3, 0, -5); nn.setWeight(2, 3, 1, -9); nn.setWeight(2, 3, 2, 3.5); nn.setWeight(2, 3, 3, 7.5); nn.setWeight(2, 3, 4, 11.5);
-        nn.setBias(2, 0, 1.4);     nn.setBias(2, 1, -1.4);    nn.setBias(2, 2, 3.2);      nn.setBias(2, 3, 4.2);      nn.setBias(2, 4, 5.2);
-
-        NeuralNetworkFileUtils.saveWithName(nn, name, fileName);
-        
-        File file = new File(fileName);
-        assertTrue(file.exists());
-        
-        NeuralNetwork actualNN = NeuralNetworkFileUtils.load(fileName);
-        assertTrue(actualNN instanceof NamedNeuralNetwork);
-        
-        TestUtils.assertNNEquals(nn, actualNN);
-        assertEquals(name, ((NamedNeuralNetwork)actualNN).getName());
-    }
-    
-    /**
-     * Test of saveWithNameAsText method, of class NeuralNetworkLoader.
-     */
-    @Test
-    public void testSaveWithNameAsText_NeuralNetworkWithoutName_NameWritten() {
-        System.out.println("saveWithNameAsText");
-        int nInputs = 2;
-        int[] hiddenSizes = {3, 4};
-        int nOutputs = 5;
-        String name = "Network test";
-        NeuralNetwork nn = new NeuralNetwork(nInputs, hiddenSizes, nOutputs);
-        nn.setWeight(0, 0, 0, 10.5); nn.setWeight(0, 0, 1, 4.1); nn.setWeight(0, 0, 2, 1);
-        nn.setWeight(0, 1, 0, -1.9); nn.setWeight(0, 1, 1, 0.2); nn.setWeight(0, 1, 2, 0);
-        nn.setBias(0, 0, 1.4);       nn.setBias(0, 1, -1.4);     nn.setBias(0, 2, 3.2);
-        
-        nn.setWeight(1, 0, 0, 2); nn.setWeight(1, 0, 1, 5); nn.setWeight(1, 0, 2, 8); nn.setWeight(1, 0, 3, 11);
-        nn.setWeight(1, 1, 0, 3); nn.setWeight(1, 1, 1, 6); nn.setWeight(1, 1, 2, 9); nn.setWeight(1, 1, 3, 12);
-        nn.setWeight(1, 2, 0, 4); nn.setWeight(1, 2, 1, 7); nn.setWeight(1, 2, 2, 10); nn.setWeight(1, 2, 3, 13);
-        nn.setBias(1, 0, 1.4);    nn.setBias(1, 1, -1.4);   nn.setBias(1, 2, 3.2);     nn.setBias(1, 3, 4.2);
-        
-        nn.setWeight(2, 0, 0, -2); nn.setWeight(2, 0, 1, -6); nn.setWeight(2, 0, 2, 0.5); nn.setWeight(2, 0, 3, 4.5); nn.setWeight(2, 0, 4, 8.5);
-        nn.setWeight(2, 1, 0, -3); nn.setWeight(2, 1, 1, -7); nn.setWeight(2, 1, 2, 1.5); nn.setWeight(2, 1, 3, 5.5); nn.setWeight(2, 1, 4, 9.5);
-        nn.setWeight(2, 2, 0, -4); nn.setWeight(2, 2, 1, -8); nn.setWeight(2, 2, 2, 2.5); nn.setWeight(2, 2, 3, 6.5); nn.setWeight(2, 2, 4, 10.5);
-        nn.setWeight(2, 3, 0, -5); nn.setWeight(2, 3, 1, -9); nn.setWeight(2, 3, 2, 3.5); nn.setWeight(2, 3, 3, 7.5); nn.setWeight(2, 3, 4, 11.5);
-        nn.setBias(2, 0, 1.4);     nn.setBias(2, 1, -1.4);    nn.setBias(2, 2, 3.2);      nn.setBias(2, 3, 4.2);      nn.setBias(2, 4, 5.2);
-        
-        NeuralNetworkFileUtils.saveWithNameAsText(nn, name, fileName);
-        
-        List<String> expectedLines = new ArrayList<String>() {{
-            add(name);
-            add("2, 3, 4, 5");
-            add("10.5 4.1 1.0");
-            add("-1.9 0.2 0.0");
-            add("1.4 -1.4 3.2");
-            add("2.0 5.0 8.0 11.0");
-            add("3.0 6.0 9.0 12.0");
-            add("4.0 7.0 10.0 13.0");
-            add("1.4 -1.4 3.2 4.2");
-            add("-2.0 -6.0 0.5 4.5 8.5");
-            add("-3.0 -7.0 1.5 5.5 9.5");
-            add("-4.0 -8.0 2.5 6.5 10.5");
-            add("-5.0 -9.0 3.5 7.5 11.5");
-            add("1.4 -1.4 3.2 4.2 5.2");
-        }};
-
-        File file = new File(fileName);
-        assertTrue(file.exists());
-        try {
-            List<String> lines = Files.readAllLines(Paths.get(file.toURI()));
-            assertThat(lines, CoreMatchers.is(expectedLines));
-        }
-        catch(IOException e) {
-            fail("Cannot read file: " + e.toString());
-        }
-    }
-    
-    @Test
-    public void testLoadFromTextFile_CorrectFile_CorrectNamedNetworkCreated() {
-        System.out.println("loadFromTextFile");
-        
-        String testFileName = getClass().getResource("/neuralnetwork/commons/util/named_2_3_4_correct.txt").getFile();
-        
-        NeuralNetwork nn = NeuralNetworkFileUtils.loadFromTextFile(testFileName);
-        
-        assertTrue(nn instanceof NamedNeuralNetwork);
-        NamedNeuralNetwork namedNN = (NamedNeuralNetwork)nn;
-        assertEquals("Network Name", namedNN.getName());
-        assertEquals(2, namedNN.getNumberInputs());
-        assertEquals(1, namedNN.getNumberHiddenLayers());
-        assertEquals(3, namedNN.getHiddenLayerSize(0));
-        assertEquals(4, namedNN.getNumberOutputs());
-        
-        double[][][] weights = TestUtils.extractNNWeights(namedNN);
-        double[][] biases = TestUtils.extractNNBiases(namedNN);
-        
-        double[][][] expectedWeights = {
-            {{1, 4}, {2, 5}, {3, 6}}, 
-            {{1.5, 5.5, 9.5}, {2.5, 6.5, 10.5}, {3.5, 7.5, 11.5}, {4.5, 8.5, 12.5}}
-        };
-    
-        double[][] expectedBiases = {
-            {-1, -2, -3}, 
-            {-1.5, -2.5, -3.5, -4.5}
-        };
-        
-        TestUtils.assertArraysEqual(expectedWeights, weights);
-        TestUtils.assertArraysEqual(expectedBiases, biases);
-    }
-    
-    @Test
-    public void testLoadFromTextFile_CorrectNoNameFile_CorrectNetworkCreated() {
-        System.out.println("loadFromTextFile");
-        String testFileName = getClass().getResource("/neuralnetwork/commons/util/no_named_2_3_4_correct.txt").getFile();
-        
-        NeuralNetwork nn = NeuralNetworkFileUtils.loadFromTextFile(testFileName);
-        
-        assertTrue(!(nn instanceof NamedNeuralNetwork));
-
-        assertEquals(2, nn.getNumberInputs());
-        assertEquals(1, nn.getNumberHiddenLayers());
-        assertEquals(3, nn.getHiddenLayerSize(0));
-        assertEquals(4, nn.getNumberOutputs());
-        
-        double[][][] weights = TestUtils.extractNNWeights(nn);
-        double[][] biases = TestUtils.extractNNBiases(nn);
-        
-        double[][][] expectedWeights = {
-            {{1, 4}, {2, 5}, {3, 6}}, 
-            {{1.5, 5.5, 9.5}, {2.5, 6.5, 10.5}, {3.5, 7.5, 11.5}, {4.5, 8.5, 12.5}}
-        };
-    
-        double[][] expectedBiases = {
-            {-1, -2, -3}, 
-            {-1.5, -2.5, -3.5, -4.5}
-        };
-        
-        TestUtils.assertArraysEqual(expectedWeights, weights);
-        TestUtils.assertArraysEqual(expectedBiases, biases);
-    }
-    
-}
+package neuralnetwork.commons.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import neuralnetwork.NamedNeuralNetwork;
+import neuralnetwork.NeuralNetwork;
+import neuralnetwork.commons.repository.NamedObjectRepository;
+import neuralnetwork.commons.testutil.TestUtils;
+import org.hamcrest.CoreMatchers;
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.Before;
+
+/**
+ * Test cases for NeuralNetworkFileUtils class
+ * @author Konstantin Zhdanov
+ */
+public class NeuralNetworkFileUtilsTest {
+    
+    private final String fileName = "./network.txt";
+    private final String secondFileName = "./network2.txt";
+
+    public NeuralNetworkFileUtilsTest() {
+    }
+    
+    @Before
+    public void setUp() {
+        
+    }
+    
+    @After
+    public void cleanUp() {
+        for (String name : new String[] {fileName, secondFileName}) {
+            File file = new File(name);
+            if (file.exists()) {
+                file.delete();
+            }
+        }
+    }
+    
+    /**
+     * Test of saveWithName method, of class NeuralNetworkLoader.
+     */
+    @Test
+    public void testSaveWithName_NetworkWithoutNameSaved_ReadNamedNetwork() {
+        System.out.println("saveWithName");
+        int nInputs = 2;
+        int[] hiddenSizes = {3, 4};
+        int nOutputs = 5;
+        String name = "Network test";
+        NeuralNetwork nn = new NeuralNetwork(nInputs, hiddenSizes, nOutputs);
+        nn.setWeight(0, 0, 0, 10.5); nn.setWeight(0, 0, 1, 4.1); nn.setWeight(0, 0, 2, 1);
+        nn.setWeight(0, 1, 0, -1.9); nn.setWeight(0, 1, 1, 0.2); nn.setWeight(0, 1, 2, 0);
+        nn.setBias(0, 0, 1.4);       nn.setBias(0, 1, -1.4);     nn.setBias(0, 2, 3.2);
+        
+        nn.setWeight(1, 0, 0, 2); nn.setWeight(1, 0, 1, 5); nn.setWeight(1, 0, 2, 8); nn.setWeight(1, 0, 3, 11);
+        nn.setWeight(1, 1, 0, 3); nn.setWeight(1, 1, 1, 6); nn.setWeight(1, 1, 2, 9); nn.setWeight(1, 1, 3, 12);
+        nn.setWeight(1, 2, 0, 4); nn.setWeight(1, 2, 1, 7); nn.setWeight(1, 2, 2, 10); nn.setWeight(1, 2, 3, 13);
+        nn.setBias(1, 0, 1.4);    nn.setBias(1, 1, -1.4);   nn.setBias(1, 2, 3.2);     nn.setBias(1, 3, 4.2);
+        
+        nn.setWeight(2, 0, 0, -2); nn.setWeight(2, 0, 1, -6); nn.setWeight(2, 0, 2, 0.5); nn.setWeight(2, 0, 3, 4.5); nn.setWeight(2, 0, 4, 8.5);
+        nn.setWeight(2, 1, 0, -3); nn.setWeight(2, 1, 1, -7); nn.setWeight(2, 1, 2, 1.5); nn.setWeight(2, 1, 3, 5.5); nn.setWeight(2, 1, 4, 9.5);
+        nn.setWeight(2, 2, 0, -4); nn.setWeight(2, 2, 1, -8); nn.setWeight(2, 2, 2, 2.5); nn.setWeight(2, 2, 3, 6.5); nn.setWeight(2, 2, 4, 10.5);
+        nn.setWeight(2, 3, 0, -5); nn.setWeight(2, 3, 1, -9); nn.setWeight(2, 3, 2, 3.5); nn.setWeight(2, 3, 3, 7.5); nn.setWeight(2, 3, 4, 11.5);
+        nn.setBias(2, 0, 1.4);     nn.setBias(2, 1, -1.4);    nn.setBias(2, 2, 3.2);      nn.setBias(2, 3, 4.2);      nn.setBias(2, 4, 5.2);
+
+        NeuralNetworkFileUtils.saveWithName(nn, name, fileName);
+        
+        File file = new File(fileName);
+        assertTrue(file.exists());
+        
+        NeuralNetwork actualNN = NeuralNetworkFileUtils.load(fileName);
+        assertTrue(actualNN instanceof NamedNeuralNetwork);
+        
+        TestUtils.assertNNEquals(nn, actualNN);
+        assertEquals(name, ((NamedNeuralNetwork)actualNN).getName());
+    }
+    
+    /**
+     * Test of saveWithNameAsText method, of class NeuralNetworkLoader.
+     */
+    @Test
+    public void testSaveWithNameAsText_NeuralNetworkWithoutName_NameWritten() {
+        System.out.println("saveWithNameAsText");
+        int nInputs = 2;
+        int[] hiddenSizes = {3, 4};
+        int nOutputs = 5;
+        String name = "Network test";
+        NeuralNetwork nn = new NeuralNetwork(nInputs, hiddenSizes, nOutputs);
+        nn.setWeight(0, 0, 0, 10.5); nn.setWeight(0, 0, 1, 4.1); nn.setWeight(0, 0, 2, 1);
+        nn.setWeight(0, 1, 0, -1.9); nn.setWeight(0, 1, 1, 0.2); nn.setWeight(0, 1, 2, 0);
+        nn.setBias(0, 0, 1.4);       nn.setBias(0, 1, -1.4);     nn.setBias(0, 2, 3.2);
+        
+        nn.setWeight(1, 0, 0, 2); nn.setWeight(1, 0, 1, 5); nn.setWeight(1, 0, 2, 8); nn.setWeight(1, 0, 3, 11);
+        nn.setWeight(1, 1, 0, 3); nn.setWeight(1, 1, 1, 6); nn.setWeight(1, 1, 2, 9); nn.setWeight(1, 1, 3, 12);
+        nn.setWeight(1, 2, 0, 4); nn.setWeight(1, 2, 1, 7); nn.setWeight(1, 2, 2, 10); nn.setWeight(1, 2, 3, 13);
+        nn.setBias(1, 0, 1.4);    nn.setBias(1, 1, -1.4);   nn.setBias(1, 2, 3.2);     nn.setBias(1, 3, 4.2);
+        
+        nn.setWeight(2, 0, 0, -2); nn.setWeight(2, 0, 1, -6); nn.setWeight(2, 0, 2, 0.5); nn.setWeight(2, 0, 3, 4.5); nn.setWeight(2, 0, 4, 8.5);
+        nn.setWeight(2, 1, 0, -3); nn.setWeight(2, 1, 1, -7); nn.setWeight(2, 1, 2, 1.5); nn.setWeight(2, 1, 3, 5.5); nn.setWeight(2, 1, 4, 9.5);
+        nn.setWeight(2, 2, 0, -4); nn.setWeight(2, 2, 1, -8); nn.setWeight(2, 2, 2, 2.5); nn.setWeight(2, 2, 3, 6.5); nn.setWeight(2, 2, 4, 10.5);
+        nn.setWeight(2, 3, 0, -5); nn.setWeight(2, 3, 1, -9); nn.setWeight(2, 3, 2, 3.5); nn.setWeight(2, 3, 3, 7.5); nn.setWeight(2, 3, 4, 11.5);
+        nn.setBias(2, 0, 1.4);     nn.setBias(2, 1, -1.4);    nn.setBias(2, 2, 3.2);      nn.setBias(2, 3, 4.2);      nn.setBias(2, 4, 5.2);
+        
+        NeuralNetworkFileUtils.saveWithNameAsText(nn, name, fileName);
+        
+        List<String> expectedLines = new ArrayList<String>() {{
+            add(name);
+            add("2, 3, 4, 5");
+            add("10.5 4.1 1.0");
+            add("-1.9 0.2 0.0");
+            add("1.4 -1.4 3.2");
+            add("2.0 5.0 8.0 11.0");
+            add("3.0 6.0 9.0 12.0");
+            add("4.0 7.0 10.0 13.0");
+            add("1.4 -1.4 3.2 4.2");
+            add("-2.0 -6.0 0.5 4.5 8.5");
+            add("-3.0 -7.0 1.5 5.5 9.5");
+            add("-4.0 -8.0 2.5 6.5 10.5");
+            add("-5.0 -9.0 3.5 7.5 11.5");
+            add("1.4 -1.4 3.2 4.2 5.2");
+        }};
+
+        File file = new File(fileName);
+        assertTrue(file.exists());
+        try {
+            List<String> lines = Files.readAllLines(Paths.get(file.toURI()));
+            assertThat(lines, CoreMatchers.is(expectedLines));
+        }
+        catch(IOException e) {
+            fail("Cannot read file: " + e.toString());
+        }
+    }
+    
+    @Test
+    public void testSaveWithNameAsText_RandomWeights_LoadedNetworkEqual() {
+        System.out.println("saveWithNameAsText");
+        String name = "Network test";
+        NeuralNetwork nn = new NeuralNetwork(7, new int[] {30, 20}, 3);
+        Random random = new Random(1);
+        for (int layer = 0; layer < 3; layer++) {
+            int prevSize = layer == 0 ? 7 : layer == 1 ? 30 : 20;
+            int size = layer == 0 ? 30 : layer == 1 ? 20 : 3;
+            for (int prev = 0; prev < prevSize; prev++) {
+                for (int cur = 0; cur < size; cur++) {
+                    nn.setWeight(layer, prev, cur, random.nextGaussian() * Math.pow(10, random.nextInt(20) - 10));
+                }
+            }
+            for (int cur = 0; cur < size; cur++) {
+                nn.setBias(layer, cur, random.nextGaussian());
+            }
+        }
+        
+        NeuralNetworkFileUtils.saveWithNameAsText(nn, name, fileName);
+        NeuralNetwork actualNN = NeuralNetworkFileUtils.loadFromTextFile(fileName);
+        
+        assertEquals(name, ((NamedNeuralNetwork)actualNN).getName());
+        assertTrue(TestUtils.arraysEqual(TestUtils.extractNNWeights(nn), TestUtils.extractNNWeights(actualNN)));
+        assertTrue(TestUtils.arraysEqual(TestUtils.extractNNBiases(nn), TestUtils.extractNNBiases(actualNN)));
+    }
+    
+    @Test
+    public void testLoadFromTextFile_CorrectFile_CorrectNamedNetworkCreated() {
+        System.out.println("loadFromTextFile");
+        
+        String testFileName = getClass().getResource("/neuralnetwork/commons/util/named_2_3_4_correct.txt").getFile();
+        
+        NeuralNetwork nn = NeuralNetworkFileUtils.loadFromTextFile(testFileName);
+        
+        assertTrue(nn instanceof NamedNeuralNetwork);
+        NamedNeuralNetwork namedNN = (NamedNeuralNetwork)nn;
+        assertEquals("Network Name", namedNN.getName());
+        assertEquals(2, namedNN.getNumberInputs());
+        assertEquals(1, namedNN.getNumberHiddenLayers());
+        assertEquals(3, namedNN.getHiddenLayerSize(0));
+        assertEquals(4, namedNN.getNumberOutputs());
+        
+        double[][][] weights = TestUtils.extractNNWeights(namedNN);
+        double[][] biases = TestUtils.extractNNBiases(namedNN);
+        
+        double[][][] expectedWeights = {
+            {{1, 4}, {2, 5}, {3, 6}}, 
+            {{1.5, 5.5, 9.5}, {2.5, 6.5, 10.5}, {3.5, 7.5, 11.5}, {4.5, 8.5, 12.5}}
+        };
+    
+        double[][] expectedBiases = {
+            {-1, -2, -3}, 
+            {-1.5, -2.5, -3.5, -4.5}
+        };
+        
+        TestUtils.assertArraysEqual(expectedWeights, weights);
+        TestUtils.assertArraysEqual(expectedBiases, biases);
+    }
+    
+    @Test
+    public void testLoadFromTextFile_CorrectNoNameFile_CorrectNetworkCreated() {
+        System.out.println("loadFromTextFile");
+        String testFileName = getClass().getResource("/neuralnetwork/commons/util/no_named_2_3_4_correct.txt").getFile();
+        
+        NeuralNetwork nn = NeuralNetworkFileUtils.loadFromTextFile(testFileName);
+        
+        assertTrue(!(nn instanceof NamedNeuralNetwork));
+
+        assertEquals(2, nn.getNumberInputs());
+        assertEquals(1, nn.getNumberHiddenLayers());
+        assertEquals(3, nn.getHiddenLayerSize(0));
+        assertEquals(4, nn.getNumberOutputs());
+        
+        double[][][] weights = TestUtils.extractNNWeights(nn);
+        double[][] biases = TestUtils.extractNNBiases(nn);
+        
+        double[][][] expectedWeights = {
+            {{1, 4}, {2, 5}, {3, 6}}, 
+            {{1.5, 5.5, 9.5}, {2.5, 6.5, 10.5}, {3.5, 7.5, 11.5}, {4.5, 8.5, 12.5}}
+        };
+    
+        double[][] expectedBiases = {
+            {-1, -2, -3}, 
+            {-1.5, -2.5, -3.5, -4.5}
+        };
+        
+        TestUtils.assertArraysEqual(expectedWeights, weights);
+        TestUtils.assertArraysEqual(expectedBiases, biases);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadFromTextFile_TruncatedFile_Throw() throws IOException {
+        System.out.println("loadFromTextFile");
+        Files.write(Paths.get(fileName), Arrays.asList("Network Name", "2, 3, 4", "1 2 3", "4 5 6"));
+        
+        NeuralNetworkFileUtils.loadFromTextFile(fileName);
+        
+        fail("The test case must throw");
+    }
+    
+    /**
+     * Test of saveBinary method, of class NeuralNetworkFileUtils.
+     */
+    @Test
+    public void testSaveBinary_NetworkWithoutName_LoadedNamedNetworkEqual() {
+        System.out.println("saveBinary");
+        String name = "Network test";
+        NeuralNetwork nn = createTestNetwork();
+        
+        NeuralNetworkFileUtils.saveBinary(nn, name, fileName);
+        
+        NeuralNetwork actualNN = NeuralNetworkFileUtils.loadBinary(fileName);
+        assertTrue(actualNN instanceof NamedNeuralNetwork);
+        
+        TestUtils.assertNNEquals(nn, actualNN);
+        assertEquals(name, ((NamedNeuralNetwork)actualNN).getName());
+    }
+    
+    @Test
+    public void testSaveBinary_Network_FileHoldsHeaderAndRawDoubles() {
+        System.out.println("saveBinary");
+        NeuralNetwork nn = createTestNetwork();
+        
+        NeuralNetworkFileUtils.saveBinary(nn, "abc", fileName);
+        
+        // magic, version, flags, name length, name, 5 ints of signature, padding
+        int headerSize = 4 + 2 + 2 + 4 + 3 + 5 * 4 + 5;
+        int nValues = (2 * 3 + 3) + (3 * 4 + 4) + (4 * 5 + 5);
+        // checksum of every layer
+        int checksumsSize = 3 * 8;
+        assertEquals(headerSize + nValues * 8 + checksumsSize, new File(fileName).length());
+    }
+    
+    @Test
+    public void testSaveBinary_FloatPrecision_ValuesRoundedToFloat() {
+        System.out.println("saveBinary");
+        NeuralNetwork nn = createTestNetwork();
+        
+        NeuralNetworkFileUtils.saveBinary(nn, "abc", fileName, WeightPrecision.FLOAT);
+        NeuralNetwork actualNN = NeuralNetworkFileUtils.loadBinary(fileName);
+        
+        // layers of 36, 64 and 100 bytes padded to 8 before the checksums
+        assertEquals(40 + (40 + 8) + (64 + 8) + (104 + 8), new File(fileName).length());
+        assertEquals((float)4.1, actualNN.getWeight(0, 0, 1), 0);
+        assertEquals((float)-1.9, actualNN.getWeight(0, 1, 0), 0);
+        assertEquals((float)5.2, actualNN.getBias(2, 4), 0);
+        assertEquals(11.5, actualNN.getWeight(2, 3, 4), 0);
+    }
+    
+    @Test
+    public void testLoadBinaryMapped_HalfPrecision_ValuesRoundedToHalf() {
+        System.out.println("loadBinaryMapped");
+        NeuralNetwork nn = createTestNetwork();
+        
+        NeuralNetworkFileUtils.saveBinary(nn, "abc", fileName, WeightPrecision.HALF);
+        NeuralNetwork actualNN = NeuralNetworkFileUtils.loadBinaryMapped(fileName);
+        NeuralNetwork streamedNN = NeuralNetworkFileUtils.loadBinary(fileName);
+        
+        // layers of 18, 32 and 50 bytes padded to 8 before the checksums
+        assertEquals(40 + (24 + 8) + (32 + 8) + (56 + 8), new File(fileName).length());
+        TestUtils.assertNNEquals(streamedNN, actualNN);
+        assertEquals(10.5, actualNN.getWeight(0, 0, 0), 0);
+        assertEquals(4.1015625, actualNN.getWeight(0, 0, 1), 0);
+        assertEquals(-1.900390625, actualNN.getWeight(0, 1, 0), 0);
+    }
+    
+    /**
+     * Test of saveQuantized method, of class NeuralNetworkFileUtils.
+     */
+    @Test
+    public void testSaveQuantized_Network_LoadedValuesWithinErrorBound() {
+        System.out.println("saveQuantized");
+        NeuralNetwork nn = createTestNetwork();
+        
+        List<LayerQuantization> quantization = NeuralNetworkFileUtils.saveQuantized(nn, "abc", fileName);
+        NeuralNetwork actualNN = NeuralNetworkFileUtils.loadBinary(fileName);
+        
+        assertEquals(3, quantization.size());
+        for (int layerIdx = 0; layerIdx < quantization.size(); layerIdx++) {
+            LayerQuantization layer = quantization.get(layerIdx);
+            assertEquals(layerIdx, layer.getLayerIndex());
+            assertTrue(layer.getMaxError() <= layer.getErrorBound());
+        }
+        double bound0 = quantization.get(0).getErrorBound();
+        assertEquals(10.5, actualNN.getWeight(0, 0, 0), bound0);
+        assertEquals(-1.9, actualNN.getWeight(0, 1, 0), bound0);
+        assertEquals(0, actualNN.getWeight(0, 1, 2), 0);
+        double bound2 = quantization.get(2).getErrorBound();
+        assertEquals(-9, actualNN.getWeight(2, 3, 1), bound2);
+        assertEquals(5.2, actualNN.getBias(2, 4), bound2);
+        // value blocks of 9, 16 and 25 bytes padded to 16, 16 and 32, checksums
+        assertEquals(40 + 3 * 16 + 16 + 16 + 32 + 3 * 8, new File(fileName).length());
+    }
+    
+    @Test
+    public void testLoadBinaryMapped_QuantizedFile_SameAsStreamed() {
+        System.out.println("loadBinaryMapped");
+        NeuralNetworkFileUtils.saveQuantized(createTestNetwork(), "abc", fileName);
+        
+        NeuralNetwork actualNN = NeuralNetworkFileUtils.loadBinaryMapped(fileName);
+        NeuralNetwork streamedNN = NeuralNetworkFileUtils.loadBinary(fileName);
+        
+        TestUtils.assertNNEquals(streamedNN, actualNN);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testSaveQuantized_InfiniteWeight_Throw() {
+        System.out.println("saveQuantized");
+        NeuralNetwork nn = createTestNetwork();
+        nn.setWeight(1, 2, 3, Double.POSITIVE_INFINITY);
+        
+        NeuralNetworkFileUtils.saveQuantized(nn, "abc", fileName);
+        
+        fail("The test case must throw");
+    }
+    
+    @Test
+    public void testSaveWithNameAsText_Gzip_LoadedNetworkEqualAndFileCompressed() throws IOException {
+        System.out.println("saveWithNameAsText");
+        NeuralNetwork nn = createTestNetwork();
+        
+        NeuralNetworkFileUtils.saveWithNameAsText(nn, "abc", fileName, Compression.GZIP);
+        NeuralNetwork actualNN = NeuralNetworkFileUtils.loadFromTextFile(fileName);
+        
+        byte[] bytes = Files.readAllBytes(Paths.get(fileName));
+        assertEquals((byte)0x1F, bytes[0]);
+        assertEquals((byte)0x8B, bytes[1]);
+        TestUtils.assertNNEquals(nn, actualNN);
+        assertEquals("abc", ((NamedNeuralNetwork)actualNN).getName());
+    }
+    
+    @Test
+    public void testSaveBinary_Deflate_LoadedNetworkEqual() {
+        System.out.println("saveBinary");
+        NeuralNetwork nn = createTestNetwork();
+        
+        NeuralNetworkFileUtils.saveBinary(nn, "abc", fileName, WeightPrecision.DOUBLE, 
+                Compression.DEFLATE);
+        NeuralNetwork actualNN = NeuralNetworkFileUtils.loadBinary(fileName);
+        NeuralNetwork mappedNN = NeuralNetworkFileUtils.loadBinaryMapped(fileName);
+        
+        assertTrue(new File(fileName).length() < 40 + 50 * 8);
+        TestUtils.assertNNEquals(nn, actualNN);
+        TestUtils.assertNNEquals(nn, mappedNN);
+    }
+    
+    @Test
+    public void testSaveWithName_Gzip_LoadedNetworkEqual() {
+        System.out.println("saveWithName");
+        NeuralNetwork nn = createTestNetwork();
+        
+        NeuralNetworkFileUtils.saveWithName(nn, "abc", fileName, Compression.GZIP);
+        NeuralNetwork actualNN = NeuralNetworkFileUtils.load(fileName);
+        
+        TestUtils.assertNNEquals(nn, actualNN);
+        assertEquals("abc", ((NamedNeuralNetwork)actualNN).getName());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadFromTextFile_TruncatedGzipFile_Throw() throws IOException {
+        System.out.println("loadFromTextFile");
+        NeuralNetworkFileUtils.saveWithNameAsText(createTestNetwork(), "abc", fileName, 
+                Compression.GZIP);
+        try (RandomAccessFile file = new RandomAccessFile(fileName, "rw")) {
+            file.setLength(file.length() / 2);
+        }
+        
+        NeuralNetworkFileUtils.loadFromTextFile(fileName);
+        
+        fail("The test case must throw");
+    }
+    
+    /**
+     * Test of saveAsync method, of class NeuralNetworkFileUtils.
+     */
+    @Test
+    public void testSaveAsync_NetworkChangedAfterCall_SnapshotSaved() throws Exception {
+        System.out.println("saveAsync");
+        NeuralNetwork nn = createTestNetwork();
+        
+        CompletableFuture<Void> future = NeuralNetworkFileUtils.saveAsync(nn, "abc", fileName);
+        nn.setWeight(0, 0, 0, -100);
+        nn.setBias(2, 4, 100);
+        future.get();
+        NeuralNetwork actualNN = NeuralNetworkFileUtils.load(fileName);
+        
+        TestUtils.assertNNEquals(createTestNetwork(), actualNN);
+        assertEquals("abc", ((NamedNeuralNetwork)actualNN).getName());
+    }
+    
+    @Test
+    public void testSaveAsync_ManySavesIntoOneFile_AllCompletedAndLastSaved() throws Exception {
+        System.out.println("saveAsync");
+        NeuralNetwork nn = createTestNetwork();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        
+        for (int i = 0; i < 100; i++) {
+            nn.setBias(0, 0, i);
+            futures.add(NeuralNetworkFileUtils.saveAsync(nn, "abc" + i, fileName));
+        }
+        for (CompletableFuture<Void> future : futures) {
+            future.get();
+        }
+        NeuralNetwork actualNN = NeuralNetworkFileUtils.load(fileName);
+        
+        TestUtils.assertNNEquals(nn, actualNN);
+        assertEquals("abc99", ((NamedNeuralNetwork)actualNN).getName());
+    }
+    
+    @Test
+    public void testSaveAsync_WrongPath_FutureFailed() throws InterruptedException {
+        System.out.println("saveAsync");
+        
+        CompletableFuture<Void> future = NeuralNetworkFileUtils.saveAsync(createTestNetwork(), 
+                "abc", "./no/such/dir/network.bin");
+        
+        try {
+            future.get();
+            fail("The test case must throw");
+        }
+        catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+        Throwable handled = future.handle((result, e) -> e).join();
+        assertTrue(handled instanceof IllegalArgumentException);
+    }
+    
+    /**
+     * Test of loadDirectory method, of class NeuralNetworkFileUtils.
+     */
+    @Test
+    public void testLoadDirectory_MixedFiles_AllFormatsLoadedAndFailuresCollected() throws IOException {
+        System.out.println("loadDirectory");
+        Path dir = Files.createTempDirectory("networks");
+        try {
+            NeuralNetwork nn = createTestNetwork();
+            NeuralNetworkFileUtils.saveBinary(nn, "binary", dir.resolve("a.nn").toString());
+            NeuralNetworkFileUtils.saveWithNameAsText(nn, "text", dir.resolve("b.nn").toString(),
+                    Compression.GZIP);
+            NeuralNetworkFileUtils.saveWithName(nn, "serialized", dir.resolve("c.nn").toString());
+            NeuralNetworkFileUtils.saveBinary(nn, "binary", dir.resolve("d.nn").toString());
+            Files.write(dir.resolve("e.nn"), "broken".getBytes("UTF-8"));
+            Files.write(dir.resolve("f.txt"), "ignored".getBytes("UTF-8"));
+            NamedObjectRepository<NeuralNetwork> repository = new NamedObjectRepository<>();
+            
+            Map<String, Exception> failures = NeuralNetworkFileUtils.loadDirectory(
+                    dir.toString(), "*.nn", repository);
+            
+            assertEquals(Arrays.asList("binary", "text", "serialized"), repository.getNamesList());
+            for (NeuralNetwork actualNN : repository.getObjectsList()) {
+                TestUtils.assertNNEquals(nn, actualNN);
+            }
+            assertEquals(Arrays.asList(dir.resolve("d.nn").toString(), dir.resolve("e.nn").toString()),
+                    new ArrayList<>(failures.keySet()));
+            assertTrue(failures.get(dir.resolve("e.nn").toString()) instanceof IllegalArgumentException);
+        }
+        finally {
+            for (File file : dir.toFile().listFiles()) {
+                file.delete();
+            }
+            Files.delete(dir);
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadDirectory_MissingDirectory_Throw() {
+        System.out.println("loadDirectory");
+        
+        NeuralNetworkFileUtils.loadDirectory("./no/such/dir", "*", new NamedObjectRepository<>());
+        
+        fail("The test case must throw");
+    }
+    
+    /**
+     * Test of saveDelta method, of class NeuralNetworkFileUtils.
+     */
+    @Test
+    public void testSaveDelta_FewChanges_OnlyChangesSaved() {
+        System.out.println("saveDelta");
+        NeuralNetwork base = createTestNetwork();
+        NeuralNetwork current = createTestNetwork();
+        current.setWeight(0, 1, 2, 0.25);
+        current.setWeight(2, 3, 4, -11.5);
+        current.setBias(2, 4, 5.2000001);
+        
+        long nSaved = NeuralNetworkFileUtils.saveDelta(base, current, fileName);
+        NeuralNetworkFileUtils.applyDeltas(base, fileName);
+        
+        assertEquals(3, nSaved);
+        TestUtils.assertNNEquals(current, base);
+        // header, 3 layer headers, index blocks of 1 and 2 indexes, 3 values
+        assertEquals(32 + 3 * 8 + 8 + 8 + 3 * 8, new File(fileName).length());
+    }
+    
+    @Test
+    public void testSaveDelta_Tolerance_SmallChangesSkipped() {
+        System.out.println("saveDelta");
+        NeuralNetwork base = createTestNetwork();
+        NeuralNetwork current = createTestNetwork();
+        current.setWeight(1, 2, 3, 13.0005);
+        current.setBias(0, 1, -1.5);
+        
+        long nSaved = NeuralNetworkFileUtils.saveDelta(base, current, 0.001, fileName);
+        NeuralNetworkFileUtils.applyDeltas(base, fileName);
+        
+        assertEquals(1, nSaved);
+        assertEquals(13, base.getWeight(1, 2, 3), 0);
+        assertEquals(-1.5, base.getBias(0, 1), 0);
+    }
+    
+    /**
+     * Test of applyDeltas method, of class NeuralNetworkFileUtils.
+     */
+    @Test
+    public void testApplyDeltas_ChainOfDeltas_LastNetworkRestored() {
+        System.out.println("applyDeltas");
+        NeuralNetwork base = createTestNetwork();
+        NeuralNetwork first = createTestNetwork();
+        first.setWeight(0, 0, 0, 1);
+        first.setBias(1, 3, 2);
+        NeuralNetwork second = createTestNetwork();
+        second.setWeight(0, 0, 0, 1);
+        second.setBias(1, 3, 3);
+        second.setWeight(2, 0, 0, 4);
+        NeuralNetworkFileUtils.saveDelta(base, first, fileName);
+        NeuralNetworkFileUtils.saveDelta(first, second, secondFileName);
+        
+        NeuralNetworkFileUtils.applyDeltas(base, fileName, secondFileName);
+        
+        TestUtils.assertNNEquals(second, base);
+    }
+    
+    @Test
+    public void testApplyDeltas_DifferentStructure_ThrowAndNetworkUnchanged() {
+        System.out.println("applyDeltas");
+        NeuralNetwork current = createTestNetwork();
+        current.setWeight(0, 0, 0, 1);
+        NeuralNetworkFileUtils.saveDelta(createTestNetwork(), current, fileName);
+        NeuralNetwork other = new NeuralNetwork(2, new int[] {3, 3}, 5);
+        NeuralNetworkFileUtils.saveDelta(other, other, secondFileName);
+        NeuralNetwork base = createTestNetwork();
+        
+        try {
+            NeuralNetworkFileUtils.applyDeltas(base, fileName, secondFileName);
+            fail("The test case must throw");
+        }
+        catch (IllegalArgumentException e) {
+        }
+        
+        TestUtils.assertNNEquals(createTestNetwork(), base);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testSaveDelta_DifferentStructure_Throw() {
+        System.out.println("saveDelta");
+        NeuralNetwork other = new NeuralNetwork(2, new int[] {3, 5}, 5);
+        
+        NeuralNetworkFileUtils.saveDelta(createTestNetwork(), other, fileName);
+        
+        fail("The test case must throw");
+    }
+    
+    @Test
+    public void testLoadBinary_CorruptLayer_ThrowUnlessNotVerified() throws IOException {
+        System.out.println("loadBinary");
+        NeuralNetwork nn = createTestNetwork();
+        NeuralNetworkFileUtils.saveBinary(nn, "abc", fileName);
+        try (RandomAccessFile file = new RandomAccessFile(fileName, "rw")) {
+            // flip a bit of weight (1, 0, 0)
+            long offset = 40 + 9 * 8 + 8;
+            file.seek(offset);
+            int b = file.read();
+            file.seek(offset);
+            file.write(b ^ 0x01);
+        }
+        
+        for (ChecksumVerification verification : ChecksumVerification.values()) {
+            for (boolean mapped : new boolean[] {false, true}) {
+                try {
+                    NeuralNetwork actualNN = mapped ? 
+                            NeuralNetworkFileUtils.loadBinaryMapped(fileName, verification) :
+                            NeuralNetworkFileUtils.loadBinary(fileName, verification);
+                    assertTrue(verification != ChecksumVerification.ALL);
+                    assertNotEquals(nn.getWeight(1, 0, 0), actualNN.getWeight(1, 0, 0), 0);
+                }
+                catch (IllegalArgumentException e) {
+                    assertTrue(verification != ChecksumVerification.NONE);
+                    assertTrue(e.getMessage().contains("layer 1"));
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testLoadBinary_QuantizedFileVerified_LoadedNetworkSameAsMapped() {
+        System.out.println("loadBinary");
+        NeuralNetworkFileUtils.saveQuantized(createTestNetwork(), "abc", fileName);
+        
+        NeuralNetwork actualNN = NeuralNetworkFileUtils.loadBinary(fileName, 
+                ChecksumVerification.ALL);
+        NeuralNetwork mappedNN = NeuralNetworkFileUtils.loadBinaryMapped(fileName, 
+                ChecksumVerification.SAMPLED);
+        
+        TestUtils.assertNNEquals(actualNN, mappedNN);
+    }
+    
+    /**
+     * Test of readSignature method, of class NeuralNetworkFileUtils.
+     */
+    @Test
+    public void testReadSignature_TextFiles_SignatureRead() {
+        System.out.println("readSignature");
+        String namedFileName = getClass().getResource("/neuralnetwork/commons/util/named_2_3_4_correct.txt").getFile();
+        String noNamedFileName = getClass().getResource("/neuralnetwork/commons/util/no_named_2_3_4_correct.txt").getFile();
+        
+        NetworkSignature named = NeuralNetworkFileUtils.readSignature(namedFileName);
+        NetworkSignature noNamed = NeuralNetworkFileUtils.readSignature(noNamedFileName);
+        
+        assertEquals(new NetworkSignature("Network Name", 2, new int[] {3}, 4), named);
+        assertEquals(new NetworkSignature(null, 2, new int[] {3}, 4), noNamed);
+    }
+    
+    @Test
+    public void testReadSignature_AllFormats_SameSignature() {
+        System.out.println("readSignature");
+        NeuralNetwork nn = createTestNetwork();
+        NetworkSignature expected = new NetworkSignature("abc", 2, new int[] {3, 4}, 5);
+        
+        NeuralNetworkFileUtils.saveBinary(nn, "abc", fileName);
+        assertEquals(expected, NeuralNetworkFileUtils.readSignature(fileName));
+        NeuralNetworkFileUtils.saveBinary(nn, "abc", fileName, WeightPrecision.HALF, 
+                Compression.GZIP);
+        assertEquals(expected, NeuralNetworkFileUtils.readSignature(fileName));
+        NeuralNetworkFileUtils.saveWithNameAsText(nn, "abc", fileName, Compression.DEFLATE);
+        assertEquals(expected, NeuralNetworkFileUtils.readSignature(fileName));
+        NeuralNetworkFileUtils.saveWithName(nn, "abc", fileName);
+        assertEquals(expected, NeuralNetworkFileUtils.readSignature(fileName));
+    }
+    
+    @Test
+    public void testReadSignature_TruncatedBinaryFile_HeaderRead() throws IOException {
+        System.out.println("readSignature");
+        NeuralNetworkFileUtils.saveBinary(createTestNetwork(), "abc", fileName);
+        try (RandomAccessFile file = new RandomAccessFile(fileName, "rw")) {
+            file.setLength(40);
+        }
+        
+        NetworkSignature signature = NeuralNetworkFileUtils.readSignature(fileName);
+        
+        assertEquals("abc", signature.getName());
+        assertArrayEquals(new int[] {3, 4}, signature.getHiddenLayerSizes());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadBinary_TextFile_Throw() {
+        System.out.println("loadBinary");
+        String testFileName = getClass().getResource("/neuralnetwork/commons/util/named_2_3_4_correct.txt").getFile();
+        
+        NeuralNetworkFileUtils.loadBinary(testFileName);
+        
+        fail("The test case must throw");
+    }
+    
+    /**
+     * Test of loadBinaryMapped method, of class NeuralNetworkFileUtils.
+     */
+    @Test
+    public void testLoadBinaryMapped_BinaryFile_LoadedNamedNetworkEqual() {
+        System.out.println("loadBinaryMapped");
+        String name = "Network test";
+        NeuralNetwork nn = createTestNetwork();
+        NeuralNetworkFileUtils.saveBinary(nn, name, fileName);
+        
+        NeuralNetwork actualNN = NeuralNetworkFileUtils.loadBinaryMapped(fileName);
+        
+        assertTrue(actualNN instanceof NamedNeuralNetwork);
+        TestUtils.assertNNEquals(nn, actualNN);
+        assertEquals(name, ((NamedNeuralNetwork)actualNN).getName());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadBinaryMapped_TruncatedFile_Throw() throws IOException {
+        System.out.println("loadBinaryMapped");
+        NeuralNetworkFileUtils.saveBinary(createTestNetwork(), "Network test", fileName);
+        try (RandomAccessFile file = new RandomAccessFile(fileName, "rw")) {
+            file.setLength(file.length() - 8);
+        }
+        
+        NeuralNetworkFileUtils.loadBinaryMapped(fileName);
+        
+        fail("The test case must throw");
+    }
+    
+    /**
+     * Test of saveBinary and loadBinary methods with a direct buffer, of class
+     * NeuralNetworkFileUtils.
+     */
+    @Test
+    public void testSaveBinary_DirectBuffer_LoadedFromBuffer() {
+        System.out.println("saveBinary");
+        NeuralNetwork nn = createTestNetwork();
+        long size = NeuralNetworkFileUtils.binarySize(nn, "Network test", WeightPrecision.FLOAT);
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int)size + 3);
+        buffer.position(3);
+        
+        NeuralNetworkFileUtils.saveBinary(nn, "Network test", buffer, WeightPrecision.FLOAT);
+        buffer.flip().position(3);
+        NeuralNetwork actualNN = NeuralNetworkFileUtils.loadBinary(buffer);
+        
+        assertEquals(size + 3, buffer.limit());
+        assertEquals(3, buffer.position());
+        assertEquals("Network test", ((NamedNeuralNetwork)actualNN).getName());
+        for (int layer = 0; layer < 3; layer++) {
+            assertEquals((float)nn.getBias(layer, 1), actualNN.getBias(layer, 1), 0);
+        }
+        assertEquals(NetworkSignature.of(actualNN), NeuralNetworkFileUtils.readSignature(buffer));
+    }
+    
+    @Test
+    public void testSaveBinary_BufferTooSmall_ThrowPositionUnchanged() {
+        System.out.println("saveBinary");
+        NeuralNetwork nn = createTestNetwork();
+        long size = NeuralNetworkFileUtils.binarySize(nn, "Network test", WeightPrecision.DOUBLE);
+        ByteBuffer buffer = ByteBuffer.allocate((int)size - 1);
+        
+        try {
+            NeuralNetworkFileUtils.saveBinary(nn, "Network test", buffer, WeightPrecision.DOUBLE);
+            fail("The test case must throw");
+        }
+        catch (IllegalArgumentException e) {
+            assertEquals(0, buffer.position());
+        }
+    }
+    
+    /**
+     * Test of binarySize method, of class NeuralNetworkFileUtils.
+     */
+    @Test
+    public void testBinarySize_AllPrecisions_SizeOfFile() {
+        System.out.println("binarySize");
+        NeuralNetwork nn = createTestNetwork();
+        for (WeightPrecision precision : WeightPrecision.values()) {
+            NeuralNetworkFileUtils.saveBinary(nn, "Network test", fileName, precision);
+            
+            assertEquals(new File(fileName).length(), 
+                    NeuralNetworkFileUtils.binarySize(nn, "Network test", precision));
+        }
+    }
+    
+    /**
+     * Test of saveWithName and load methods with a buffer, of class 
+     * NeuralNetworkFileUtils.
+     */
+    @Test
+    public void testSaveWithName_Buffer_LoadedFromBuffer() {
+        System.out.println("saveWithName");
+        NeuralNetwork nn = createTestNetwork();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+        
+        NeuralNetworkFileUtils.saveWithName(nn, "Network test", buffer);
+        buffer.flip();
+        NeuralNetwork actualNN = NeuralNetworkFileUtils.load(buffer);
+        
+        TestUtils.assertNNEquals(nn, actualNN);
+        assertEquals("Network test", ((NamedNeuralNetwork)actualNN).getName());
+        assertEquals(0, buffer.position());
+    }
+    
+    /**
+     * Test of saveWithNameAsText and loadFromTextFile methods with a buffer, 
+     * of class NeuralNetworkFileUtils.
+     */
+    @Test
+    public void testSaveWithNameAsText_Buffer_SameAsFile() throws IOException {
+        System.out.println("saveWithNameAsText");
+        NeuralNetwork nn = createTestNetwork();
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        
+        NeuralNetworkFileUtils.saveWithNameAsText(nn, "Network test", buffer);
+        NeuralNetworkFileUtils.saveWithNameAsText(nn, "Network test", fileName);
+        buffer.flip();
+        NeuralNetwork actualNN = NeuralNetworkFileUtils.loadFromTextFile(buffer);
+        
+        assertArrayEquals(Files.readAllBytes(Paths.get(fileName)), 
+                Arrays.copyOf(buffer.array(), buffer.limit()));
+        TestUtils.assertNNEquals(nn, actualNN);
+        assertEquals("Network test", ((NamedNeuralNetwork)actualNN).getName());
+    }
+    
+    /**
+     * Test of saveBinary and loadBinary methods with channels, of class 
+     * NeuralNetworkFileUtils.
+     */
+    @Test
+    public void testSaveBinary_Pipe_LoadedFromPipe() throws Exception {
+        System.out.println("saveBinary");
+        NeuralNetwork nn = createTestNetwork();
+        Pipe pipe = Pipe.open();
+        
+        CompletableFuture<Void> writing = CompletableFuture.runAsync(() -> {
+            NeuralNetworkFileUtils.saveBinary(nn, "Network test", pipe.sink(), 
+                    WeightPrecision.DOUBLE);
+            try {
+                pipe.sink().close();
+            }
+            catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        NeuralNetwork actualNN = NeuralNetworkFileUtils.loadBinary(pipe.source());
+        writing.get();
+        pipe.source().close();
+        
+        TestUtils.assertNNEquals(nn, actualNN);
+        assertEquals("Network test", ((NamedNeuralNetwork)actualNN).getName());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadBinary_TruncatedBuffer_Throw() {
+        System.out.println("loadBinary");
+        NeuralNetwork nn = createTestNetwork();
+        ByteBuffer buffer = ByteBuffer.allocate(
+                (int)NeuralNetworkFileUtils.binarySize(nn, "Network test", WeightPrecision.DOUBLE));
+        NeuralNetworkFileUtils.saveBinary(nn, "Network test", buffer, WeightPrecision.DOUBLE);
+        buffer.flip().limit(buffer.limit() - 8);
+        
+        NeuralNetworkFileUtils.loadBinary(buffer);
+        
+        fail("The test case must throw");
+    }
+    
+    @Test
+    public void testLoadBinary_HugeLayerSizes_ThrowBeforeAllocating() throws IOException {
+        System.out.println("loadBinary");
+        // header of a network 2-1000000-1000000-2 of doubles with checksums
+        ByteBuffer header = ByteBuffer.allocate(32).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(BinaryNetworkFormat.MAGIC).putShort((short)BinaryNetworkFormat.VERSION)
+                .putShort((short)0x4).putInt(0).putInt(2).putInt(2)
+                .putInt(1000000).putInt(1000000).putInt(2);
+        Files.write(Paths.get(fileName), header.array());
+        
+        try {
+            NeuralNetworkFileUtils.loadBinary(fileName);
+            fail("The test case must throw");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("truncated"));
+        }
+        try {
+            // the size of a stream is unknown
+            NeuralNetworkFileUtils.loadBinary(Channels.newChannel(
+                    new ByteArrayInputStream(header.array())), ChecksumVerification.ALL);
+            fail("The test case must throw");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("too large"));
+        }
+    }
+    
+    /**
+     * Test of loadAny method, of class NeuralNetworkFileUtils.
+     */
+    @Test
+    public void testLoadAny_AllFormatsAndCompressions_Loaded() {
+        System.out.println("loadAny");
+        NeuralNetwork nn = createTestNetwork();
+        for (Compression compression : Compression.values()) {
+            NeuralNetworkFileUtils.saveWithName(nn, "serialized", fileName, compression);
+            NeuralNetwork serialized = NeuralNetworkFileUtils.loadAny(fileName);
+            NeuralNetworkFileUtils.saveWithNameAsText(nn, "text", fileName, compression);
+            NeuralNetwork text = NeuralNetworkFileUtils.loadAny(fileName);
+            NeuralNetworkFileUtils.saveBinary(nn, "binary", fileName, WeightPrecision.DOUBLE,
+                    compression);
+            NeuralNetwork binary = NeuralNetworkFileUtils.loadAny(fileName);
+            
+            TestUtils.assertNNEquals(nn, serialized);
+            assertEquals("serialized", ((NamedNeuralNetwork)serialized).getName());
+            TestUtils.assertNNEquals(nn, text);
+            assertEquals("text", ((NamedNeuralNetwork)text).getName());
+            TestUtils.assertNNEquals(nn, binary);
+            assertEquals("binary", ((NamedNeuralNetwork)binary).getName());
+        }
+    }
+    
+    @Test
+    public void testLoadAny_CompressedBuffer_Loaded() throws IOException {
+        System.out.println("loadAny");
+        NeuralNetwork nn = createTestNetwork();
+        NeuralNetworkFileUtils.saveWithNameAsText(nn, "text", fileName, Compression.GZIP);
+        ByteBuffer gzipped = ByteBuffer.wrap(Files.readAllBytes(Paths.get(fileName)));
+        ByteBuffer binary = ByteBuffer.allocateDirect(
+                (int)NeuralNetworkFileUtils.binarySize(nn, "binary", WeightPrecision.DOUBLE));
+        NeuralNetworkFileUtils.saveBinary(nn, "binary", binary, WeightPrecision.DOUBLE);
+        binary.flip();
+        
+        TestUtils.assertNNEquals(nn, NeuralNetworkFileUtils.loadAny(gzipped));
+        TestUtils.assertNNEquals(nn, NeuralNetworkFileUtils.loadAny(binary));
+        assertEquals(0, gzipped.position());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadAny_WrongFormat_Throw() throws IOException {
+        System.out.println("loadAny");
+        Files.write(Paths.get(fileName), new byte[] {'N', 'N', 'W', 'X', 1, 2, 3});
+        
+        NeuralNetworkFileUtils.loadAny(fileName);
+        
+        fail("The test case must throw");
+    }
+    
+    /**
+     * Test of loadFromTextFileParallel method, of class NeuralNetworkFileUtils.
+     */
+    @Test
+    public void testLoadFromTextFileParallel_ResourceFiles_SameAsSequential() {
+        System.out.println("loadFromTextFileParallel");
+        for (String resource : new String[] {"named_2_3_4_correct.txt", 
+                "no_named_2_3_4_correct.txt"}) {
+            String testFileName = getClass().getResource("/neuralnetwork/commons/util/" + 
+                    resource).getFile();
+            NeuralNetwork expectedNN = NeuralNetworkFileUtils.loadFromTextFile(testFileName);
+            
+            NeuralNetwork nn = NeuralNetworkFileUtils.loadFromTextFileParallel(testFileName);
+            
+            assertEquals(NetworkSignature.of(expectedNN), NetworkSignature.of(nn));
+            TestUtils.assertNNEquals(expectedNN, nn);
+        }
+    }
+    
+    @Test
+    public void testLoadFromTextFileParallel_RandomNetwork_LoadedNetworkEqual() {
+        System.out.println("loadFromTextFileParallel");
+        NeuralNetwork nn = new NeuralNetwork(50, new int[] {70, 30, 20}, 10);
+        Random random = new Random(1);
+        for (int layer = 0; layer < 4; layer++) {
+            for (int cur = 0; cur < NetworkLayers.layerSize(nn, layer); cur++) {
+                for (int prev = 0; prev < NetworkLayers.prevLayerSize(nn, layer); prev++) {
+                    nn.setWeight(layer, prev, cur, random.nextGaussian());
+                }
+                nn.setBias(layer, cur, random.nextGaussian());
+            }
+        }
+        NeuralNetworkFileUtils.saveWithNameAsText(nn, "Network test", fileName);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        NeuralNetwork actualNN = NeuralNetworkFileUtils.loadFromTextFileParallel(fileName, pool);
+        pool.shutdown();
+        
+        TestUtils.assertNNEquals(nn, actualNN);
+        assertEquals("Network test", ((NamedNeuralNetwork)actualNN).getName());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadFromTextFileParallel_TruncatedFile_Throw() throws IOException {
+        System.out.println("loadFromTextFileParallel");
+        Files.write(Paths.get(fileName), Arrays.asList("Network Name", "2, 3, 4", "1 2 3", "4 5 6"));
+        
+        NeuralNetworkFileUtils.loadFromTextFileParallel(fileName);
+        
+        fail("The test case must throw");
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadFromTextFileParallel_MissingWeight_Throw() throws IOException {
+        System.out.println("loadFromTextFileParallel");
+        Files.write(Paths.get(fileName), Arrays.asList("Network Name", "2, 3, 4", "1 2 3", 
+                "4 5", "-1 -2 -3", "1 2 3 4", "1 2 3 4", "1 2 3 4", "1 2 3 4"));
+        
+        NeuralNetworkFileUtils.loadFromTextFileParallel(fileName);
+        
+        fail("The test case must throw");
+    }
+    
+    /**
+     * Test of saveBinarySparse method, of class NeuralNetworkFileUtils.
+     */
+    @Test
+    public void testSaveBinarySparse_PrunedNetwork_LoadedNetworkEqualAndFileSmaller() {
+        System.out.println("saveBinarySparse");
+        NeuralNetwork nn = createPrunedNetwork(0.9);
+        NeuralNetworkFileUtils.saveBinary(nn, "abc", secondFileName);
+
+        NeuralNetworkFileUtils.saveBinarySparse(nn, "abc", fileName);
+
+        TestUtils.assertNNEquals(nn, NeuralNetworkFileUtils.loadBinary(fileName,
+                ChecksumVerification.ALL));
+        TestUtils.assertNNEquals(nn, NeuralNetworkFileUtils.loadBinaryMapped(fileName,
+                ChecksumVerification.ALL));
+        TestUtils.assertNNEquals(nn, NeuralNetworkFileUtils.loadAny(fileName));
+        assertEquals(new NetworkSignature("abc", 50, new int[] {80, 40}, 10),
+                NeuralNetworkFileUtils.readSignature(fileName));
+        assertTrue(new File(fileName).length() * 5 < new File(secondFileName).length());
+    }
+
+    @Test
+    public void testSaveBinarySparse_FloatPrecision_ValuesRoundedToFloat() {
+        System.out.println("saveBinarySparse");
+        NeuralNetwork nn = createPrunedNetwork(0.8);
+
+        NeuralNetworkFileUtils.saveBinarySparse(nn, "abc", fileName, WeightPrecision.FLOAT, 0.5);
+        NeuralNetwork actualNN = NeuralNetworkFileUtils.loadBinary(fileName);
+
+        assertEquals((float)nn.getWeight(0, 3, 7), actualNN.getWeight(0, 3, 7), 0);
+        assertEquals((float)nn.getBias(1, 5), actualNN.getBias(1, 5), 0);
+        assertEquals(nn.getWeight(2, 1, 1), actualNN.getWeight(2, 1, 1), 1e-6);
+    }
+
+    @Test
+    public void testSaveBinarySparse_DenseNetwork_SameSizeAsBinaryPlusLayerPrefixes() {
+        System.out.println("saveBinarySparse");
+        NeuralNetwork nn = createTestNetwork();
+        NeuralNetworkFileUtils.saveBinary(nn, "abc", secondFileName);
+
+        NeuralNetworkFileUtils.saveBinarySparse(nn, "abc", fileName);
+
+        TestUtils.assertNNEquals(nn, NeuralNetworkFileUtils.loadBinaryMapped(fileName));
+        assertEquals(new File(secondFileName).length() + 3 * 16, new File(fileName).length());
+    }
+
+    @Test
+    public void testSaveBinarySparse_EmptyLayer_LoadedWeightsZero() {
+        System.out.println("saveBinarySparse");
+        NeuralNetwork nn = createTestNetwork();
+        for (int prevNeuron = 0; prevNeuron < 3; prevNeuron++) {
+            for (int curNeuron = 0; curNeuron < 4; curNeuron++) {
+                nn.setWeight(1, prevNeuron, curNeuron, 0);
+            }
+        }
+
+        NeuralNetworkFileUtils.saveBinarySparse(nn, "abc", fileName);
+
+        TestUtils.assertNNEquals(nn, NeuralNetworkFileUtils.loadBinary(fileName));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSaveBinarySparse_Int8Precision_Throw() {
+        System.out.println("saveBinarySparse");
+
+        NeuralNetworkFileUtils.saveBinarySparse(createTestNetwork(), "abc", fileName,
+                WeightPrecision.INT8, 0.5);
+
+        fail("The test case must throw");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSaveBinarySparse_ZeroThreshold_Throw() {
+        System.out.println("saveBinarySparse");
+
+        NeuralNetworkFileUtils.saveBinarySparse(createTestNetwork(), "abc", fileName,
+                WeightPrecision.DOUBLE, 0);
+
+        fail("The test case must throw");
+    }
+
+    /**
+     * Test of readFingerprint method, of class NeuralNetworkFileUtils.
+     */
+    @Test
+    public void testReadFingerprint_StoredInCompressedFile_HeaderReadAndNetworkLoaded()
+            throws IOException {
+        System.out.println("readFingerprint");
+        NeuralNetwork nn = createTestNetwork();
+        NeuralNetworkFileUtils.saveBinary(nn, "abc", fileName, WeightPrecision.HALF,
+                Compression.GZIP, true);
+        NeuralNetworkFileUtils.saveBinary(nn, "abc", secondFileName);
+
+        assertEquals(NetworkFingerprint.of(NeuralNetworkFileUtils.loadBinary(fileName)),
+                NeuralNetworkFileUtils.readFingerprint(fileName));
+        assertEquals(new NetworkSignature("abc", 2, new int[] {3, 4}, 5),
+                NeuralNetworkFileUtils.readSignature(fileName));
+        assertEquals(0.2f, NeuralNetworkFileUtils.loadBinary(fileName).getWeight(0, 1, 1), 1e-3);
+
+        // truncating the layers keeps the header readable
+        NeuralNetworkFileUtils.saveBinary(nn, "abc", fileName, WeightPrecision.DOUBLE,
+                Compression.NONE, true);
+        assertEquals(new File(secondFileName).length() + 16, new File(fileName).length());
+        TestUtils.assertNNEquals(nn, NeuralNetworkFileUtils.loadBinaryMapped(fileName));
+        try (RandomAccessFile file = new RandomAccessFile(fileName, "rw")) {
+            file.setLength(64);
+        }
+        assertEquals(NetworkFingerprint.of(nn), NeuralNetworkFileUtils.readFingerprint(fileName));
+    }
+
+    @Test
+    public void testReadFingerprint_NotStored_NetworkHashed() {
+        System.out.println("readFingerprint");
+        NeuralNetwork nn = createTestNetwork();
+        NetworkFingerprint expected = NetworkFingerprint.of(nn);
+
+        NeuralNetworkFileUtils.saveBinary(nn, "abc", fileName);
+        assertEquals(expected, NeuralNetworkFileUtils.readFingerprint(fileName));
+        NeuralNetworkFileUtils.saveWithNameAsText(nn, "abc", fileName, Compression.DEFLATE);
+        assertEquals(expected, NeuralNetworkFileUtils.readFingerprint(fileName));
+    }
+
+    @Test
+    public void testReadFingerprint_ReducedPrecision_FingerprintOfLoadedNetwork() {
+        System.out.println("readFingerprint");
+        NeuralNetwork nn = createTestNetwork();
+
+        for (WeightPrecision precision : new WeightPrecision[] {WeightPrecision.FLOAT,
+                WeightPrecision.HALF, WeightPrecision.INT8}) {
+            NeuralNetworkFileUtils.saveBinary(nn, "abc", fileName, precision,
+                    Compression.NONE, true);
+            NeuralNetworkFileUtils.saveBinary(nn, "abc", secondFileName, precision,
+                    Compression.NONE, false);
+            NetworkFingerprint expected = NetworkFingerprint.of(
+                    NeuralNetworkFileUtils.loadBinary(fileName));
+
+            assertNotEquals(NetworkFingerprint.of(nn), expected);
+            assertEquals(expected, NeuralNetworkFileUtils.readFingerprint(fileName));
+            assertEquals(expected, NeuralNetworkFileUtils.readFingerprint(secondFileName));
+        }
+    }
+
+    // Network with the part pruned of the weights set to zero
+    private static NeuralNetwork createPrunedNetwork(double pruned) {
+        NeuralNetwork nn = new NeuralNetwork(50, new int[] {80, 40}, 10);
+        Random random = new Random(7);
+        int[] sizes = {50, 80, 40, 10};
+        for (int layerIdx = 0; layerIdx < 3; layerIdx++) {
+            for (int prevNeuron = 0; prevNeuron < sizes[layerIdx]; prevNeuron++) {
+                for (int curNeuron = 0; curNeuron < sizes[layerIdx + 1]; curNeuron++) {
+                    nn.setWeight(layerIdx, prevNeuron, curNeuron,
+                            random.nextDouble() < pruned ? 0 : random.nextGaussian());
+                }
+            }
+        }
+        return nn;
+    }
+
+    private static NeuralNetwork createTestNetwork() {
+        NeuralNetwork nn = new NeuralNetwork(2, new int[] {3, 4}, 5);
+        nn.setWeight(0, 0, 0, 10.5); nn.setWeight(0, 0, 1, 4.1); nn.setWeight(0, 0, 2, 1);
+        nn.setWeight(0, 1, 0, -1.9); nn.setWeight(0, 1, 1, 0.2); nn.setWeight(0, 1, 2, 0);
+        nn.setBias(0, 0, 1.4);       nn.setBias(0, 1, -1.4);     nn.setBias(0, 2, 3.2);
+        
+        nn.setWeight(1, 0, 0, 2); nn.setWeight(1, 0, 1, 5); nn.setWeight(1, 0, 2, 8); nn.setWeight(1, 0, 3, 11);
+        nn.setWeight(1, 1, 0, 3); nn.setWeight(1, 1, 1, 6); nn.setWeight(1, 1, 2, 9); nn.setWeight(1, 1, 3, 12);
+        nn.setWeight(1, 2, 0, 4); nn.setWeight(1, 2, 1, 7); nn.setWeight(1, 2, 2, 10); nn.setWeight(1, 2, 3, 13);
+        nn.setBias(1, 0, 1.4);    nn.setBias(1, 1, -1.4);   nn.setBias(1, 2, 3.2);     nn.setBias(1, 3, 4.2);
+        
+        nn.setWeight(2, 0, 0, -2); nn.setWeight(2, 0, 1, -6); nn.setWeight(2, 0, 2, 0.5); nn.setWeight(2, 0, 3, 4.5); nn.setWeight(2, 0, 4, 8.5);
+        nn.setWeight(2, 1, 0, -3); nn.setWeight(2, 1, 1, -7); nn.setWeight(2, 1, 2, 1.5); nn.setWeight(2, 1, 3, 5.5); nn.setWeight(2, 1, 4, 9.5);
+        nn.setWeight(2, 2, 0, -4); nn.setWeight(2, 2, 1, -8); nn.setWeight(2, 2, 2, 2.5); nn.setWeight(2, 2, 3, 6.5); nn.setWeight(2, 2, 4, 10.5);
+        nn.setWeight(2, 3, 0, -5); nn.setWeight(2, 3, 1, -9); nn.setWeight(2, 3, 2, 3.5); nn.setWeight(2, 3, 3, 7.5); nn.setWeight(2, 3, 4, 11.5);
+        nn.setBias(2, 0, 1.4);     nn.setBias(2, 1, -1.4);    nn.setBias(2, 2, 3.2);      nn.setBias(2, 3, 4.2);      nn.setBias(2, 4, 5.2);
+        return nn;
+    }
+    
+}
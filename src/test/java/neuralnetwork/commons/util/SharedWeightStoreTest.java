@@ -0,0 +1,177 @@
+package neuralnetwork.commons.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.DoubleBuffer;
+import neuralnetwork.NamedNeuralNetwork;
+import neuralnetwork.NeuralNetwork;
+import neuralnetwork.commons.testutil.TestUtils;
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for SharedWeightStore class
+ * @author Konstantin Zhdanov
+ */
+public class SharedWeightStoreTest {
+
+    private final String fileName = "./store.nn";
+
+    public SharedWeightStoreTest() {
+    }
+
+    @After
+    public void cleanUp() {
+        File file = new File(fileName);
+        if (file.exists()) {
+            file.delete();
+        }
+    }
+
+    /**
+     * Test of open method, of class SharedWeightStore.
+     */
+    @Test
+    public void testOpen_PublishedNetwork_SameValues() {
+        System.out.println("open");
+        NeuralNetwork nn = createTestNetwork();
+        SharedWeightStore.publish(nn, "store", fileName);
+
+        SharedWeightStore store = SharedWeightStore.open(fileName);
+
+        assertEquals(new NetworkSignature("store", 2, new int[] {3}, 2), store.getSignature());
+        assertEquals(WeightPrecision.DOUBLE, store.getPrecision());
+        for (int layer = 0; layer < 2; layer++) {
+            for (int cur = 0; cur < NetworkLayers.layerSize(nn, layer); cur++) {
+                for (int prev = 0; prev < NetworkLayers.prevLayerSize(nn, layer); prev++) {
+                    assertEquals(nn.getWeight(layer, prev, cur), store.getWeight(layer, prev, cur), 0);
+                }
+                assertEquals(nn.getBias(layer, cur), store.getBias(layer, cur), 0);
+            }
+        }
+        NeuralNetwork copy = store.toNetwork();
+        TestUtils.assertNNEquals(nn, copy);
+        assertEquals("store", ((NamedNeuralNetwork)copy).getName());
+    }
+
+    @Test
+    public void testOpen_ReducedPrecisions_ValuesWithinError() {
+        System.out.println("open");
+        NeuralNetwork nn = createTestNetwork();
+        for (WeightPrecision precision : WeightPrecision.values()) {
+            SharedWeightStore.publish(nn, "store", fileName, precision);
+
+            SharedWeightStore store = SharedWeightStore.open(fileName);
+
+            assertEquals(precision, store.getPrecision());
+            assertEquals(nn.getWeight(1, 2, 1), store.getWeight(1, 2, 1), 0.05);
+            assertEquals(nn.getBias(0, 2), store.getBias(0, 2), 0.05);
+            assertEquals(store.toNetwork().getWeight(0, 1, 2), store.getWeight(0, 1, 2), 0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOpen_CorruptFile_Throw() throws IOException {
+        System.out.println("open");
+        SharedWeightStore.publish(createTestNetwork(), "store", fileName);
+        try (RandomAccessFile file = new RandomAccessFile(fileName, "rw")) {
+            file.seek(file.length() - 12);
+            file.write(0x55);
+        }
+
+        SharedWeightStore.open(fileName);
+
+        fail("The test case must throw");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOpen_SparseFile_Throw() {
+        System.out.println("open");
+        NeuralNetwork nn = createTestNetwork();
+        nn.setWeight(0, 0, 0, 0);
+        nn.setWeight(0, 0, 1, 0);
+        nn.setWeight(0, 0, 2, 0);
+        nn.setWeight(0, 1, 0, 0);
+        NeuralNetworkFileUtils.saveBinarySparse(nn, "store", fileName);
+
+        SharedWeightStore.open(fileName);
+
+        fail("The test case must throw");
+    }
+
+    /**
+     * Test of getLayerValues method, of class SharedWeightStore.
+     */
+    @Test
+    public void testGetLayerValues_DoublePrecision_FlatReadOnlyView() {
+        System.out.println("getLayerValues");
+        NeuralNetwork nn = createTestNetwork();
+        SharedWeightStore.publish(nn, "store", fileName);
+        SharedWeightStore store = SharedWeightStore.open(fileName);
+
+        DoubleBuffer values = store.getLayerValues(1);
+
+        assertEquals((3 + 1) * 2, values.remaining());
+        assertTrue(values.isReadOnly());
+        assertTrue(values.isDirect());
+        assertEquals(nn.getWeight(1, 2, 1), values.get(2 * 2 + 1), 0);
+        assertEquals(nn.getBias(1, 1), values.get(3 * 2 + 1), 0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGetLayerValues_FloatPrecision_Throw() {
+        System.out.println("getLayerValues");
+        SharedWeightStore.publish(createTestNetwork(), "store", fileName, WeightPrecision.FLOAT);
+
+        SharedWeightStore.open(fileName).getLayerValues(0);
+
+        fail("The test case must throw");
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetWeight_WrongNeuron_Throw() {
+        System.out.println("getWeight");
+        SharedWeightStore.publish(createTestNetwork(), "store", fileName);
+
+        SharedWeightStore.open(fileName).getWeight(0, 2, 0);
+
+        fail("The test case must throw");
+    }
+
+    /**
+     * Test of publish method, of class SharedWeightStore.
+     */
+    @Test
+    public void testPublish_StoreOpen_OpenStoreKeepsOldValues() {
+        System.out.println("publish");
+        NeuralNetwork nn = createTestNetwork();
+        SharedWeightStore.publish(nn, "old", fileName);
+        SharedWeightStore oldStore = SharedWeightStore.open(fileName);
+        double oldWeight = nn.getWeight(0, 0, 0);
+        nn.setWeight(0, 0, 0, oldWeight + 1);
+
+        SharedWeightStore.publish(nn, "new", fileName);
+
+        assertEquals(oldWeight, oldStore.getWeight(0, 0, 0), 0);
+        assertEquals("old", oldStore.getSignature().getName());
+        SharedWeightStore newStore = SharedWeightStore.open(fileName);
+        assertEquals(oldWeight + 1, newStore.getWeight(0, 0, 0), 0);
+        assertEquals(0, new File(fileName).getAbsoluteFile().getParentFile().listFiles(
+                (dir, name) -> name.startsWith(".store.nn")).length);
+    }
+
+    private static NeuralNetwork createTestNetwork() {
+        NeuralNetwork nn = new NeuralNetwork(2, new int[] {3}, 2);
+        nn.setWeight(0, 0, 0, 10.5); nn.setWeight(0, 0, 1, 4.1); nn.setWeight(0, 0, 2, 1);
+        nn.setWeight(0, 1, 0, -1.9); nn.setWeight(0, 1, 1, 0.2); nn.setWeight(0, 1, 2, 0);
+        nn.setBias(0, 0, 1.4);       nn.setBias(0, 1, -1.4);     nn.setBias(0, 2, 3.2);
+
+        nn.setWeight(1, 0, 0, 2); nn.setWeight(1, 0, 1, 5);
+        nn.setWeight(1, 1, 0, 3); nn.setWeight(1, 1, 1, 6);
+        nn.setWeight(1, 2, 0, 4); nn.setWeight(1, 2, 1, 7);
+        nn.setBias(1, 0, 1.4);    nn.setBias(1, 1, -1.4);
+        return nn;
+    }
+}
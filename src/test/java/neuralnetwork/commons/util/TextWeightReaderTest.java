@@ -0,0 +1,79 @@
+package neuralnetwork.commons.util;
+
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for TextWeightReader class
+ * @author Konstantin Zhdanov
+ */
+public class TextWeightReaderTest {
+    
+    public TextWeightReaderTest() {
+    }
+    
+    /**
+     * Test of nextDouble method, of class TextWeightReader.
+     */
+    @Test
+    public void testNextDouble_LineLongerThanBuffer_AllNumbersRead() throws IOException {
+        System.out.println("nextDouble");
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            line.append(i * 0.25).append(' ');
+        }
+        line.append("-1.5\r\n7");
+        TextWeightReader instance = new TextWeightReader(new StringReader(line.toString()), 16);
+        
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i * 0.25, instance.nextDouble(), 0);
+        }
+        assertEquals(-1.5, instance.nextDouble(), 0);
+        instance.endLine();
+        assertEquals(7, instance.nextDouble(), 0);
+        instance.endLine();
+        assertNull(instance.readLine());
+    }
+    
+    @Test(expected = IOException.class)
+    public void testNextDouble_EndOfLine_Throw() throws IOException {
+        System.out.println("nextDouble");
+        TextWeightReader instance = new TextWeightReader(new StringReader("1 2\n3 4"));
+        instance.nextDouble();
+        instance.nextDouble();
+        
+        instance.nextDouble();
+        
+        fail("The test case must throw");
+    }
+    
+    /**
+     * Test of endLine method, of class TextWeightReader.
+     */
+    @Test(expected = IOException.class)
+    public void testEndLine_MoreNumbersInLine_Throw() throws IOException {
+        System.out.println("endLine");
+        TextWeightReader instance = new TextWeightReader(new StringReader("1 2\n3 4"));
+        instance.nextDouble();
+        
+        instance.endLine();
+        
+        fail("The test case must throw");
+    }
+    
+    /**
+     * Test of isSignatureNext method, of class TextWeightReader.
+     */
+    @Test
+    public void testIsSignatureNext_SignatureAndWeightLines_Detected() throws IOException {
+        System.out.println("isSignatureNext");
+        TextWeightReader instance = new TextWeightReader(new StringReader("2, 3, 4\n1 2 3\n"));
+        
+        assertTrue(instance.isSignatureNext());
+        assertEquals("2, 3, 4", instance.readLine());
+        assertFalse(instance.isSignatureNext());
+        assertEquals(1, instance.nextDouble(), 0);
+    }
+}